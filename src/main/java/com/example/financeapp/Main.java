@@ -1,11 +1,42 @@
 package com.example.financeapp;
 
+import com.example.financeapp.database.Database;
+import com.example.financeapp.models.TransactionManager;
 import com.example.financeapp.navigation.SceneManager;
+import com.example.financeapp.server.ApiServer;
+import com.example.financeapp.services.ServiceRegistry;
+import com.example.financeapp.util.StartupTimeline;
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+
 public class Main extends Application {
 
+    // Set by the appcds Maven profile: quit as soon as the first frame is up
+    private static final boolean EXIT_AFTER_STARTUP = Boolean.getBoolean("financeapp.exitAfterStartup");
+
+    @Override
+    public void init() {
+        StartupTimeline.mark("JavaFX toolkit ready");
+
+        // Schema DDL runs once here, off the FX thread, instead of on first navigation
+        try {
+            Database.migrate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        StartupTimeline.mark("database + schema ready");
+
+        // One instance of each manager for the whole app, injected into controllers
+        ServiceRegistry.initialize();
+        StartupTimeline.mark("services ready");
+    }
+
     @Override
     public void start(Stage stage) {
         // Register the primary stage with the SceneManager
@@ -13,6 +44,7 @@ public class Main extends Application {
 
         // Load the first screen (Login page)
         SceneManager.switchTo("LoginView");
+        StartupTimeline.mark("login view built");
 
         stage.setTitle("Finance App");
 
@@ -21,9 +53,48 @@ public class Main extends Application {
         stage.setMinHeight(800);
 
         stage.show();
+        StartupTimeline.mark("stage shown");
+
+        reportAfterFirstFrame(stage.getScene());
     }
 
-    public static void main(String[] args) {
+    private void reportAfterFirstFrame(Scene scene) {
+        // Runs after every layout pulse; only the first one matters
+        boolean[] done = {false};
+        scene.addPostLayoutPulseListener(() -> {
+            if (done[0]) return;
+            done[0] = true;
+            StartupTimeline.mark("first frame");
+            StartupTimeline.report();
+            if (EXIT_AFTER_STARTUP) {
+                Platform.exit();
+            }
+        });
+    }
+
+    @Override
+    public void stop() {
+        System.out.println("[Cache] Aggregates: " + TransactionManager.getAggregateCache());
+        System.out.println("[SceneManager] View switches: " + SceneManager.getSwitchStats());
+        try {
+            System.out.println("[Database] " + Database.getPoolMetrics());
+            System.out.println("[Database] " + Database.getReaderPoolMetrics());
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        // Release pooled DB connections
+        Database.shutdown();
+    }
+
+    public static void main(String[] args) throws IOException {
+        StartupTimeline.mark("main()");
+
+        // Headless mode: serve the JSON API instead of opening a window
+        if (Arrays.asList(args).contains("--server")) {
+            ApiServer.run(args);
+            return;
+        }
         launch();
     }
-}
\ No newline at end of file
+}
@@ -7,6 +7,7 @@ import com.example.financeapp.models.User;
 import com.example.financeapp.navigation.SceneManager;
 import com.example.financeapp.session.Session;
 import com.example.financeapp.session.TransactionEditContext;
+import com.example.financeapp.util.AsyncLoader;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 
@@ -24,13 +25,23 @@ public class AddTransactionController {
     @FXML private RadioButton expenseRadio;
     @FXML private ToggleGroup typeGroup;
 
-    private final TransactionManager transactionManager = new TransactionManager();
+    private final TransactionManager transactionManager;
     private Transaction editingTransaction;
 
+    public AddTransactionController(TransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
     @FXML
     private void initialize() {
-        // Categories
+        // Categories: built-in ones right away, the user's own once loaded.
+        // The combo is editable; a new name becomes a custom category on save.
         categoryCombo.getItems().setAll(Categories.getDefaultExpenseCategories());
+        User user = Session.getCurrentUser();
+        if (user != null) {
+            AsyncLoader.load(() -> transactionManager.getCategoriesForUser(user.getId()),
+                    names -> categoryCombo.getItems().setAll(names));
+        }
 
         // Default date
         if (datePicker.getValue() == null) {
@@ -18,10 +18,13 @@ public class BottomNavController {
         reportsButton.setOnMouseClicked(e -> navigate("ReportsView"));
         settingsButton.setOnMouseClicked(e -> navigate("SettingsView"));
 
-        // Highlight the tab based on current view
-        String current = SceneManager.getCurrentViewName();
-        System.out.println("[BottomNav] initialize, current view = " + current);
-        setActive(current);
+        // Highlight the tab whenever this view is put on screen. Views are cached and
+        // may be preloaded, so the current view at initialize() time is not necessarily ours.
+        homeButton.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (newScene != null) {
+                setActive(SceneManager.getCurrentViewName());
+            }
+        });
     }
 
     // Highlight the active nav item
@@ -68,6 +71,6 @@ public class BottomNavController {
     private void navigate(String target) {
         System.out.println("Navigate to: " + target);
         SceneManager.switchTo(target);
-        // New scene's BottomNav will initialize and call setActive() again
+        // The target view's BottomNav highlights itself when its root is attached
     }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.example.financeapp.controllers;
 
 import com.example.financeapp.models.*;
+import com.example.financeapp.navigation.RefreshableController;
 import com.example.financeapp.navigation.SceneManager;
 import com.example.financeapp.session.Session;
+import com.example.financeapp.util.AsyncLoader;
+import com.example.financeapp.util.Skeleton;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
@@ -11,11 +14,13 @@ import javafx.scene.control.*;
 import java.time.YearMonth;
 import java.util.List;
 
-public class BudgetsController {
+public class BudgetsController implements RefreshableController {
 
-    @FXML private TableView<Budget> budgetsTable;
-    @FXML private TableColumn<Budget, String> categoryColumn;
-    @FXML private TableColumn<Budget, Double> limitColumn;
+    @FXML private TableView<BudgetStatus> budgetsTable;
+    @FXML private TableColumn<BudgetStatus, String> categoryColumn;
+    @FXML private TableColumn<BudgetStatus, Double> limitColumn;
+    @FXML private TableColumn<BudgetStatus, Double> spentColumn;
+    @FXML private TableColumn<BudgetStatus, Double> remainingColumn;
 
     @FXML private ComboBox<String> categoryCombo;
     @FXML private TextField limitField;
@@ -23,11 +28,16 @@ public class BudgetsController {
 
     @FXML private Label infoLabel;
 
-    private final BudgetManager budgetManager = new BudgetManager();
-    private final TransactionManager transactionManager = new TransactionManager();
+    private final BudgetManager budgetManager;
+    private final TransactionManager transactionManager;
 
     private User currentUser;
 
+    public BudgetsController(BudgetManager budgetManager, TransactionManager transactionManager) {
+        this.budgetManager = budgetManager;
+        this.transactionManager = transactionManager;
+    }
+
     @FXML
     private void initialize() {
 
@@ -43,9 +53,13 @@ public class BudgetsController {
         limitColumn.setCellValueFactory(cellData ->
                 new javafx.beans.property.SimpleObjectProperty<>(cellData.getValue().getMonthlyLimit()));
 
-        categoryCombo.getItems().setAll(Categories.getDefaultExpenseCategories());
+        spentColumn.setCellValueFactory(cellData ->
+                new javafx.beans.property.SimpleObjectProperty<>(cellData.getValue().getSpent()));
 
-        loadBudgets();
+        remainingColumn.setCellValueFactory(cellData ->
+                new javafx.beans.property.SimpleObjectProperty<>(cellData.getValue().getRemaining()));
+
+        categoryCombo.getItems().setAll(Categories.getDefaultExpenseCategories());
 
         budgetsTable.getSelectionModel().selectedItemProperty().addListener(
                 (obs, oldSel, newSel) -> {
@@ -59,10 +73,25 @@ public class BudgetsController {
         saveButton.setOnAction(e -> handleSave());
     }
 
+    // Called by SceneManager each time the (possibly cached) view is shown
+    @Override
+    public void onShow() {
+        if (currentUser == null) return;
+        loadBudgets();
+    }
+
     private void loadBudgets() {
-        List<Budget> list = budgetManager.getBudgetsForUser(currentUser.getId());
-        ObservableList<Budget> observable = FXCollections.observableArrayList(list);
+        budgetsTable.setPlaceholder(Skeleton.lines(4));
+        int userId = currentUser.getId();
+        AsyncLoader.load(() -> budgetManager.getBudgetStatus(userId, YearMonth.now()), this::showBudgets);
+        AsyncLoader.load(() -> transactionManager.getCategoriesForUser(userId),
+                names -> categoryCombo.getItems().setAll(names));
+    }
+
+    private void showBudgets(List<BudgetStatus> list) {
+        ObservableList<BudgetStatus> observable = FXCollections.observableArrayList(list);
         budgetsTable.setItems(observable);
+        budgetsTable.setPlaceholder(new Label("No budgets yet."));
         infoLabel.setText("Loaded " + list.size() + " budgets.");
     }
 
@@ -93,24 +122,42 @@ public class BudgetsController {
             return;
         }
 
-        boolean ok = budgetManager.setBudget(currentUser.getId(), category, limit);
-        if (!ok) {
+        // Save and re-read this month's budget status off the FX thread. A job, not a load:
+        // navigating away must not cancel the write or leave the button disabled.
+        int userId = currentUser.getId();
+        double newLimit = limit;
+        saveButton.setDisable(true);
+
+        AsyncLoader.startJob(progress -> {
+            if (!budgetManager.setBudget(userId, category, newLimit)) {
+                return null;
+            }
+            return budgetManager.getBudgetStatus(userId, YearMonth.now());
+        }, statuses -> {
+            saveButton.setDisable(false);
+            if (statuses == null) {
+                showError("Could not save budget. Please try again.");
+                return;
+            }
+
+            double spent = statuses.stream()
+                    .filter(s -> s.getCategory().equalsIgnoreCase(category))
+                    .mapToDouble(BudgetStatus::getSpent)
+                    .findFirst()
+                    .orElse(0.0);
+
+            String msg = String.format(
+                    "Saved budget for %s: $%.2f (spent $%.2f this month).",
+                    category, newLimit, spent
+            );
+
+            showBudgets(statuses);
+            showInfo(msg);
+        }, error -> {
+            saveButton.setDisable(false);
+            error.printStackTrace();
             showError("Could not save budget. Please try again.");
-            return;
-        }
-
-        YearMonth currentMonth = YearMonth.now();
-        double spent = transactionManager
-                .getCategoryTotalsForMonth(currentUser.getId(), currentMonth, false)
-                .getOrDefault(category, 0.0);
-
-        String msg = String.format(
-                "Saved budget for %s: $%.2f (spent $%.2f this month).",
-                category, limit, spent
-        );
-
-        showInfo(msg);
-        loadBudgets();
+        }, () -> saveButton.setDisable(false));
     }
 
     private void showError(String msg) {
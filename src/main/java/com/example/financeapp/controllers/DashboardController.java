@@ -1,13 +1,17 @@
 package com.example.financeapp.controllers;
 
-import com.example.financeapp.models.Budget;
+import com.example.financeapp.models.BudgetAlert;
 import com.example.financeapp.models.BudgetManager;
+import com.example.financeapp.models.MonthlySummary;
 import com.example.financeapp.models.Transaction;
 import com.example.financeapp.models.TransactionManager;
 import com.example.financeapp.models.User;
+import com.example.financeapp.navigation.RefreshableController;
 import com.example.financeapp.navigation.SceneManager;
 import com.example.financeapp.session.Session;
+import com.example.financeapp.util.AsyncLoader;
 import com.example.financeapp.util.CurrencyUtil;
+import com.example.financeapp.util.Skeleton;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.chart.PieChart;
@@ -18,11 +22,10 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
 import java.time.YearMonth;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-public class DashboardController {
+public class DashboardController implements RefreshableController {
 
     public HBox bottomNav;
     @FXML private Label incomeLabel;
@@ -35,13 +38,20 @@ public class DashboardController {
 
     @FXML private Button addButton;
 
-    private final TransactionManager transactionManager = new TransactionManager();
-    private final BudgetManager budgetManager = new BudgetManager();
+    private final TransactionManager transactionManager;
+    private final BudgetManager budgetManager;
 
     // For expanding recent transactions
     private static final int RECENT_PAGE_SIZE = 5;
     private int recentLimit = RECENT_PAGE_SIZE;
 
+    private User currentUser;
+
+    public DashboardController(TransactionManager transactionManager, BudgetManager budgetManager) {
+        this.transactionManager = transactionManager;
+        this.budgetManager = budgetManager;
+    }
+
     @FXML
     private void initialize() {
 
@@ -50,28 +60,46 @@ public class DashboardController {
             return;
         }
 
-        User currentUser = Session.getCurrentUser();
+        currentUser = Session.getCurrentUser();
         System.out.println("Dashboard loaded for user: " + currentUser.getUsername()
                 + " (" + currentUser.getEmail() + ")");
+    }
+
+    // Called by SceneManager each time the (possibly cached) view is shown
+    @Override
+    public void onShow() {
+        if (currentUser == null) return;
 
         if (budgetAlertsContainer != null) {
             budgetAlertsContainer.getChildren().clear();
         }
-        recentTransactionsContainer.getChildren().clear();
-
-        loadSummary(currentUser);
-        loadCategoryChart(currentUser);
+        showLoading();
+
+        // One query for all current-month numbers, shared by the summary and the chart;
+        // budget alerts are read from the pending alerts table
+        int userId = currentUser.getId();
+        AsyncLoader.load(() -> transactionManager.getMonthlySummary(userId, YearMonth.now()), summary -> {
+            loadSummary(currentUser, summary);
+            loadCategoryChart(summary);
+        });
         loadAlerts(currentUser);
         loadRecentTransactions(currentUser);
     }
 
-    // ================= SUMMARY =================
-    private void loadSummary(User user) {
-        YearMonth currentMonth = YearMonth.now();
+    // ================= LOADING STATE =================
+    private void showLoading() {
+        incomeLabel.setText("…");
+        expenseLabel.setText("…");
+        balanceLabel.setText("…");
+        categoryChart.setTitle("Loading…");
+        recentTransactionsContainer.getChildren().setAll(Skeleton.lines(RECENT_PAGE_SIZE));
+    }
 
-        double income = transactionManager.getTotalIncomeForMonth(user.getId(), currentMonth);
-        double expenses = transactionManager.getTotalExpenseForMonth(user.getId(), currentMonth); // negative
-        double balance = income + expenses;
+    // ================= SUMMARY =================
+    private void loadSummary(User user, MonthlySummary summary) {
+        double income = summary.getIncome();
+        double expenses = summary.getExpense(); // negative
+        double balance = summary.getNet();
 
         String symbol = CurrencyUtil.getSymbol(user.getCurrencyCode());
 
@@ -84,13 +112,10 @@ public class DashboardController {
     }
 
     // ================= CATEGORY PIE CHART (colors via CSS) =================
-    private void loadCategoryChart(User user) {
+    private void loadCategoryChart(MonthlySummary summary) {
         categoryChart.getData().clear();
 
-        YearMonth currentMonth = YearMonth.now();
-
-        Map<String, Double> categoryTotals =
-                transactionManager.getCategoryTotalsForMonth(user.getId(), currentMonth, false);
+        Map<String, Double> categoryTotals = summary.getExpenseByCategory();
 
         if (categoryTotals.isEmpty()) {
             categoryChart.setTitle("No expenses this month");
@@ -120,79 +145,67 @@ public class DashboardController {
     }
 
     // ================= BUDGET ALERTS (separate container) =================
+    // Alerts are raised when transactions are written; here they are only read
     private void loadAlerts(User user) {
         if (budgetAlertsContainer == null) return;
-        budgetAlertsContainer.getChildren().clear();
-
-        List<Budget> budgets = budgetManager.getBudgetsForUser(user.getId());
-        System.out.println("[Alerts] Budgets for user " + user.getId() + ": " + budgets.size());
-        if (budgets.isEmpty()) return;
-
-        YearMonth currentMonth = YearMonth.now();
 
-        // Category totals for this month (from TransactionManager)
-        Map<String, Double> rawTotals =
-                transactionManager.getCategoryTotalsForMonth(user.getId(), currentMonth, false);
-
-        // Normalize category keys to lowercase for case-insensitive match
-        Map<String, Double> expenseTotals = new HashMap<>();
-        for (Map.Entry<String, Double> e : rawTotals.entrySet()) {
-            String key = e.getKey() == null ? "" : e.getKey().toLowerCase();
-            double value = Math.abs(e.getValue());
-            expenseTotals.put(key, value);
-            System.out.println("[Alerts] Category total: '" + e.getKey() + "' = " + value);
-        }
-
-        boolean anyAlert = false;
+        AsyncLoader.load(() -> budgetManager.getPendingAlerts(user.getId()), this::showAlerts);
+    }
 
-        for (Budget b : budgets) {
-            double limit = b.getMonthlyLimit();
-            if (limit <= 0) {
-                System.out.println("[Alerts] Budget " + b.getCategory() + " has non-positive limit, skipping");
-                continue;
+    private void showAlerts(List<BudgetAlert> alerts) {
+        budgetAlertsContainer.getChildren().clear();
+        if (alerts.isEmpty()) return;
+
+        Label header = new Label("Budget Alerts");
+        header.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: #b34700;");
+        budgetAlertsContainer.getChildren().add(header);
+
+        YearMonth thisMonth = YearMonth.now();
+        for (BudgetAlert alert : alerts) {
+            String msg;
+            if (alert.isExceeded()) {
+                msg = String.format(
+                        "You exceeded your %s budget: spent $%.2f of $%.2f",
+                        alert.getCategory(), alert.getSpent(), alert.getMonthlyLimit()
+                );
+            } else {
+                msg = String.format(
+                        "You used %d%% of your %s budget: spent $%.2f of $%.2f",
+                        alert.getThreshold(), alert.getCategory(), alert.getSpent(), alert.getMonthlyLimit()
+                );
             }
+            msg += alert.getMonth().equals(thisMonth) ? "." : " in " + alert.getMonth() + ".";
 
-            String catKey = b.getCategory() == null ? "" : b.getCategory().toLowerCase();
-            double spent = expenseTotals.getOrDefault(catKey, 0.0);
-            System.out.println("[Alerts] Budget " + b.getCategory()
-                    + " limit=" + limit + " spent=" + spent);
-
-            if (spent <= 0) continue;
+            Label alertLabel = new Label(msg);
+            alertLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #cc6600;");
+            alertLabel.setWrapText(true);
 
-            double ratio = spent / limit;
-            if (ratio >= 0.8) {
-                if (!anyAlert) {
-                    Label header = new Label("Budget Alerts");
-                    header.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: #b34700;");
-                    budgetAlertsContainer.getChildren().add(header);
-                    anyAlert = true;
-                }
+            Hyperlink dismiss = new Hyperlink("Dismiss");
+            dismiss.setStyle("-fx-font-size: 11px;");
+            dismiss.setOnAction(e -> dismissAlert(alert));
 
-                String msg;
-                if (ratio >= 1.0) {
-                    msg = String.format(
-                            "You exceeded your %s budget: spent $%.2f of $%.2f.",
-                            b.getCategory(), spent, limit
-                    );
-                } else {
-                    msg = String.format(
-                            "You used %.0f%% of your %s budget: spent $%.2f of $%.2f.",
-                            ratio * 100, b.getCategory(), spent, limit
-                    );
-                }
-
-                Label alertLabel = new Label(msg);
-                alertLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #cc6600;");
-                budgetAlertsContainer.getChildren().add(alertLabel);
-            }
+            budgetAlertsContainer.getChildren().add(new HBox(6, alertLabel, dismiss));
         }
     }
 
+    private void dismissAlert(BudgetAlert alert) {
+        int userId = currentUser.getId();
+        // A write: runs as a job so leaving the dashboard does not cancel it
+        AsyncLoader.startJob(progress -> budgetManager.dismissAlert(userId, alert.getId()),
+                ok -> loadAlerts(currentUser),
+                Throwable::printStackTrace,
+                () -> {});
+    }
+
     // ================= RECENT TRANSACTIONS (with "Show more") =================
     private void loadRecentTransactions(User user) {
-        recentTransactionsContainer.getChildren().clear();
+        int limit = recentLimit;
+        AsyncLoader.load(() -> transactionManager.getRecentTransactions(user.getId(), limit),
+                recent -> showRecentTransactions(user, recent));
+    }
 
-        List<Transaction> recent = transactionManager.getRecentTransactions(user.getId(), recentLimit);
+    private void showRecentTransactions(User user, List<Transaction> recent) {
+        recentTransactionsContainer.getChildren().clear();
 
         if (recent.isEmpty()) {
             Label empty = new Label("No recent transactions.");
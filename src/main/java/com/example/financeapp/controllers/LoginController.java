@@ -24,9 +24,13 @@ public class LoginController {
     @FXML
     private CheckBox rememberMeCheckBox;      // <-- bind to "Remember me" checkbox in FXML
 
-    private final UserManager userManager = new UserManager();
+    private final UserManager userManager;
     private final Preferences prefs = Preferences.userNodeForPackage(LoginController.class);
 
+    public LoginController(UserManager userManager) {
+        this.userManager = userManager;
+    }
+
     // ==========================
     // Initialization
     // ==========================
@@ -77,6 +81,7 @@ public class LoginController {
 
     private void goToDashboard() {
         SceneManager.switchTo("Dashboard");
+        SceneManager.preloadAfterLogin();
     }
 
     private void showError(String msg) {
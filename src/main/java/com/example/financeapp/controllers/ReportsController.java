@@ -1,28 +1,40 @@
 package com.example.financeapp.controllers;
 
+import com.example.financeapp.export.ExcelReportExporter;
+import com.example.financeapp.export.PdfReportExporter;
+import com.example.financeapp.export.RangeReport;
+import com.example.financeapp.export.ReportExporter;
 import com.example.financeapp.models.AnalyticsService;
-import com.example.financeapp.models.Transaction;
+import com.example.financeapp.models.PeriodTotals;
+import com.example.financeapp.models.TransactionColumns;
 import com.example.financeapp.models.TransactionManager;
+import com.example.financeapp.navigation.RefreshableController;
 import com.example.financeapp.navigation.SceneManager;
 import com.example.financeapp.session.Session;
 import com.example.financeapp.models.User;
+import com.example.financeapp.util.AsyncLoader;
 import com.example.financeapp.util.CurrencyUtil;
+import com.example.financeapp.util.Skeleton;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
 import javafx.scene.control.Button;
+import javafx.scene.control.DatePicker;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 
+import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-public class ReportsController {
+public class ReportsController implements RefreshableController {
 
     @FXML private LineChart<String, Number> incomeExpenseChart;
     @FXML private BarChart<String, Number> topCategoriesChart;
@@ -35,15 +47,26 @@ public class ReportsController {
 
     @FXML private Button exportPdfButton;
     @FXML private Button exportExcelButton;
+    @FXML private DatePicker exportFromPicker;
+    @FXML private DatePicker exportToPicker;
 
-    private final TransactionManager transactionManager = new TransactionManager();
-    private final AnalyticsService analyticsService = new AnalyticsService(transactionManager);
+    // running export, or null; its button cancels it while set
+    private Task<Long> runningExport;
+    private Button runningExportButton;
+
+    private final TransactionManager transactionManager;
+    private final AnalyticsService analyticsService;
 
     private User currentUser;
 
     private static final DateTimeFormatter MONTH_FORMAT =
             DateTimeFormatter.ofPattern("MMM yyyy");
 
+    public ReportsController(TransactionManager transactionManager, AnalyticsService analyticsService) {
+        this.transactionManager = transactionManager;
+        this.analyticsService = analyticsService;
+    }
+
     @FXML
     private void initialize() {
 
@@ -56,9 +79,17 @@ public class ReportsController {
 
         periodLabel.setText("Last 6 months overview");
 
-        // Wire exports
-        exportPdfButton.setOnAction(e -> handleExportPdf());
-        exportExcelButton.setOnAction(e -> handleExportExcel());
+        // Wire exports; the range defaults to the current month
+        exportFromPicker.setValue(YearMonth.now().atDay(1));
+        exportToPicker.setValue(YearMonth.now().atEndOfMonth());
+        exportPdfButton.setOnAction(e -> handleExport(exportPdfButton, "PDF", "*.pdf", PdfReportExporter::new));
+        exportExcelButton.setOnAction(e -> handleExport(exportExcelButton, "Excel", "*.xlsx", ExcelReportExporter::new));
+    }
+
+    // Called by SceneManager each time the (possibly cached) view is shown
+    @Override
+    public void onShow() {
+        if (currentUser == null) return;
 
         loadIncomeExpenseTrend(6);
         loadTopCategoriesForCurrentMonth();
@@ -69,26 +100,25 @@ public class ReportsController {
     private void loadIncomeExpenseTrend(int monthsBack) {
         incomeExpenseChart.getData().clear();
 
+        YearMonth now = YearMonth.now();
+        int userId = currentUser.getId();
+
+        // One pass over the in-memory columns, oldest → newest, empty months filled with 0
+        AsyncLoader.load(() -> transactionManager.getColumns(userId).monthlyTotals(now.minusMonths(monthsBack - 1), now),
+                this::showIncomeExpenseTrend);
+    }
+
+    private void showIncomeExpenseTrend(Map<YearMonth, PeriodTotals> totals) {
         XYChart.Series<String, Number> incomeSeries = new XYChart.Series<>();
         incomeSeries.setName("Income");
 
         XYChart.Series<String, Number> expenseSeries = new XYChart.Series<>();
         expenseSeries.setName("Expense");
 
-        YearMonth now = YearMonth.now();
-
-        // oldest → newest
-        for (int i = monthsBack - 1; i >= 0; i--) {
-            YearMonth month = now.minusMonths(i);
-            String label = month.format(MONTH_FORMAT);
-
-            double income = transactionManager
-                    .getTotalIncomeForMonth(currentUser.getId(), month);
-            double expenses = transactionManager
-                    .getTotalExpenseForMonth(currentUser.getId(), month);
-
-            incomeSeries.getData().add(new XYChart.Data<>(label, income));
-            expenseSeries.getData().add(new XYChart.Data<>(label, expenses));
+        for (Map.Entry<YearMonth, PeriodTotals> entry : totals.entrySet()) {
+            String label = entry.getKey().format(MONTH_FORMAT);
+            incomeSeries.getData().add(new XYChart.Data<>(label, entry.getValue().getIncome()));
+            expenseSeries.getData().add(new XYChart.Data<>(label, entry.getValue().getExpense()));
         }
 
         incomeExpenseChart.getData().addAll(incomeSeries, expenseSeries);
@@ -101,10 +131,12 @@ public class ReportsController {
         YearMonth currentMonth = YearMonth.now();
         monthLabel.setText("Month: " + currentMonth.format(MONTH_FORMAT));
 
-        // false => expenses
-        Map<String, Double> raw = transactionManager
-                .getCategoryTotalsForMonth(currentUser.getId(), currentMonth, false);
+        int userId = currentUser.getId();
+        AsyncLoader.load(() -> transactionManager.getColumns(userId).summarize(currentMonth).getExpenseByCategory(),
+                this::showTopCategories);
+    }
 
+    private void showTopCategories(Map<String, Double> raw) {
         if (raw.isEmpty()) {
             infoLabel.setText("No expenses recorded for this month yet.");
             infoLabel.setStyle("-fx-text-fill: #888; -fx-font-size: 12px;");
@@ -153,11 +185,16 @@ public class ReportsController {
 
     // ================= SMART INSIGHTS (APP-ONLY) =================
     private void loadRecommendations() {
-        recommendationsContainer.getChildren().clear();
+        recommendationsContainer.getChildren().setAll(Skeleton.lines(3));
 
         YearMonth currentMonth = YearMonth.now();
-        List<String> recs =
-                analyticsService.generateMonthlyRecommendations(currentUser.getId(), currentMonth);
+        int userId = currentUser.getId();
+        AsyncLoader.load(() -> analyticsService.generateInsights(userId, currentMonth),
+                this::showRecommendations);
+    }
+
+    private void showRecommendations(List<String> recs) {
+        recommendationsContainer.getChildren().clear();
 
         if (recs.isEmpty()) {
             Label l = new Label("No insights available yet.");
@@ -182,174 +219,82 @@ public class ReportsController {
 
     // ================= EXPORTS =================
 
-    private void handleExportPdf() {
-        // NOTE: requires OpenPDF (com.github.librepdf:openpdf).
-
-        javafx.stage.FileChooser chooser = new javafx.stage.FileChooser();
-        chooser.setTitle("Export Report as PDF");
-        chooser.getExtensionFilters().add(
-                new javafx.stage.FileChooser.ExtensionFilter("PDF Files", "*.pdf")
-        );
-        java.io.File file = chooser.showSaveDialog(null);
-        if (file == null) return;
-
-        try {
-            YearMonth currentMonth = YearMonth.now();
-            String monthStr = currentMonth.format(MONTH_FORMAT);
-
-            double income = transactionManager.getTotalIncomeForMonth(currentUser.getId(), currentMonth);
-            double expenses = transactionManager.getTotalExpenseForMonth(currentUser.getId(), currentMonth);
-            double balance = income + expenses; // expenses are negative
-
-            // Transactions for current month
-            List<Transaction> allTx = transactionManager.getTransactionsForUser(currentUser.getId());
-            List<Transaction> monthTx = allTx.stream()
-                    .filter(t -> t.getDate() != null &&
-                            YearMonth.from(t.getDate()).equals(currentMonth))
-                    .collect(Collectors.toList());
-
-            String symbol = CurrencyUtil.getSymbol(currentUser.getCurrencyCode());
-
-            com.lowagie.text.Document document = new com.lowagie.text.Document();
-            com.lowagie.text.pdf.PdfWriter.getInstance(document, new java.io.FileOutputStream(file));
-            document.open();
-
-            document.add(new com.lowagie.text.Paragraph("Finance Report - " + monthStr));
-            document.add(new com.lowagie.text.Paragraph("User: " + currentUser.getUsername()));
-            document.add(new com.lowagie.text.Paragraph(" "));
-
-            document.add(new com.lowagie.text.Paragraph(String.format("Income: %s%.2f", symbol, income)));
-            document.add(new com.lowagie.text.Paragraph(String.format("Expenses: %s%.2f", symbol, expenses)));
-            document.add(new com.lowagie.text.Paragraph(String.format("Balance: %s%.2f", symbol, balance)));
-            document.add(new com.lowagie.text.Paragraph(" "));
-
-            // Transactions table (only)
-            document.add(new com.lowagie.text.Paragraph("Transactions (" + monthStr + "):"));
-            document.add(new com.lowagie.text.Paragraph(" "));
-
-            if (monthTx.isEmpty()) {
-                document.add(new com.lowagie.text.Paragraph("No transactions for this month."));
-            } else {
-                com.lowagie.text.pdf.PdfPTable table =
-                        new com.lowagie.text.pdf.PdfPTable(4); // Date, Title, Category, Amount
-                table.setWidthPercentage(100);
-
-                table.addCell("Date");
-                table.addCell("Title");
-                table.addCell("Category");
-                table.addCell("Amount");
-
-                for (Transaction t : monthTx) {
-                    table.addCell(t.getDate() != null ? t.getDate().toString() : "");
-                    String title = (t.getTitle() == null || t.getTitle().isBlank())
-                            ? t.getCategory()
-                            : t.getTitle();
-                    table.addCell(title != null ? title : "");
-                    table.addCell(t.getCategory() != null ? t.getCategory() : "");
-                    String amt = String.format("%s%.2f", symbol, t.getAmount());
-                    table.addCell(amt);
-                }
-
-                document.add(table);
+    /**
+     * Exports the chosen range in the background; clicking the same button again cancels it.
+     * The exporter is created on the background thread, so OpenPDF / POI load only when used.
+     */
+    private void handleExport(Button button, String format, String extension,
+                              Supplier<ReportExporter> exporter) {
+        if (runningExport != null) {
+            if (button == runningExportButton) {
+                runningExport.cancel(); // interrupts the export; onCancelled resets the button
             }
+            return;
+        }
 
-            document.close();
-
-            infoLabel.setText("Exported PDF to: " + file.getAbsolutePath());
-            infoLabel.setStyle("-fx-text-fill: #2e7d32; -fx-font-size: 12px;");
-
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            infoLabel.setText("Failed to export PDF: " + ex.getMessage());
+        LocalDate from = exportFromPicker.getValue();
+        LocalDate to = exportToPicker.getValue();
+        if (from == null || to == null || from.isAfter(to)) {
+            infoLabel.setText("Choose an export range: the start date must not be after the end date.");
             infoLabel.setStyle("-fx-text-fill: red; -fx-font-size: 12px;");
+            return;
         }
-    }
-
-    private void handleExportExcel() {
-        // NOTE: requires Apache POI: org.apache.poi:poi-ooxml
 
         javafx.stage.FileChooser chooser = new javafx.stage.FileChooser();
-        chooser.setTitle("Export Report as Excel");
+        chooser.setTitle("Export Report as " + format);
         chooser.getExtensionFilters().add(
-                new javafx.stage.FileChooser.ExtensionFilter("Excel Files", "*.xlsx")
+                new javafx.stage.FileChooser.ExtensionFilter(format + " Files", extension)
         );
         java.io.File file = chooser.showSaveDialog(null);
         if (file == null) return;
 
-        try {
-            YearMonth currentMonth = YearMonth.now();
-            String monthStr = currentMonth.format(MONTH_FORMAT);
-
-            double income = transactionManager.getTotalIncomeForMonth(currentUser.getId(), currentMonth);
-            double expenses = transactionManager.getTotalExpenseForMonth(currentUser.getId(), currentMonth);
-            double balance = income + expenses; // expenses are negative
-
-            // Transactions for current month
-            List<Transaction> allTx = transactionManager.getTransactionsForUser(currentUser.getId());
-            List<Transaction> monthTx = allTx.stream()
-                    .filter(t -> t.getDate() != null &&
-                            YearMonth.from(t.getDate()).equals(currentMonth))
-                    .collect(Collectors.toList());
-
-            org.apache.poi.xssf.usermodel.XSSFWorkbook workbook = new org.apache.poi.xssf.usermodel.XSSFWorkbook();
-
-            // Summary sheet
-            org.apache.poi.ss.usermodel.Sheet summarySheet = workbook.createSheet("Summary");
-            org.apache.poi.ss.usermodel.Row r0 = summarySheet.createRow(0);
-            r0.createCell(0).setCellValue("Finance Report - " + monthStr);
-            org.apache.poi.ss.usermodel.Row r1 = summarySheet.createRow(2);
-            r1.createCell(0).setCellValue("Income");
-            r1.createCell(1).setCellValue(income);
-            org.apache.poi.ss.usermodel.Row r2 = summarySheet.createRow(3);
-            r2.createCell(0).setCellValue("Expenses");
-            r2.createCell(1).setCellValue(expenses);
-            org.apache.poi.ss.usermodel.Row r3 = summarySheet.createRow(4);
-            r3.createCell(0).setCellValue("Balance");
-            r3.createCell(1).setCellValue(balance);
-
-            // Transactions sheet
-            org.apache.poi.ss.usermodel.Sheet txSheet = workbook.createSheet("Transactions");
-            org.apache.poi.ss.usermodel.Row txHeader = txSheet.createRow(0);
-            txHeader.createCell(0).setCellValue("Date");
-            txHeader.createCell(1).setCellValue("Title");
-            txHeader.createCell(2).setCellValue("Category");
-            txHeader.createCell(3).setCellValue("Amount");
-
-            int txRowIndex = 1;
-            for (Transaction t : monthTx) {
-                org.apache.poi.ss.usermodel.Row row = txSheet.createRow(txRowIndex++);
-
-                row.createCell(0).setCellValue(
-                        t.getDate() != null ? t.getDate().toString() : "");
-
-                String title = (t.getTitle() == null || t.getTitle().isBlank())
-                        ? t.getCategory()
-                        : t.getTitle();
-                row.createCell(1).setCellValue(title != null ? title : "");
-                row.createCell(2).setCellValue(t.getCategory() != null ? t.getCategory() : "");
-                row.createCell(3).setCellValue(t.getAmount()); // numeric
-            }
-
-            // Autosize columns
-            for (org.apache.poi.ss.usermodel.Sheet sheet : new org.apache.poi.ss.usermodel.Sheet[]{summarySheet, txSheet}) {
-                int cols = sheet.getRow(0) != null ? sheet.getRow(0).getPhysicalNumberOfCells() : 0;
-                for (int c = 0; c < cols; c++) {
-                    sheet.autoSizeColumn(c);
-                }
-            }
-
-            try (java.io.FileOutputStream fos = new java.io.FileOutputStream(file)) {
-                workbook.write(fos);
+        int userId = currentUser.getId();
+        String username = currentUser.getUsername();
+        String symbol = CurrencyUtil.getSymbol(currentUser.getCurrencyCode());
+        String buttonText = button.getText();
+
+        // Only the chosen range is read, row by row, on a background thread
+        Task<Long> task = AsyncLoader.startJob(progress -> {
+                    TransactionColumns columns = transactionManager.getColumns(userId);
+                    PeriodTotals totals = columns.totalsBetween(from, to);
+                    RangeReport report = new RangeReport(from, to, username, symbol, columns.getScale(),
+                            totals.getIncome(), totals.getExpense(), columns.countBetween(from, to),
+                            handler -> transactionManager.forEachTransaction(userId, from, to, handler));
+                    return exporter.get().export(report, file, progress::update);
+                },
+                rows -> {
+                    finishExport(buttonText);
+                    infoLabel.setText("Exported " + format + " (" + rows + " transactions) to: "
+                            + file.getAbsolutePath());
+                    infoLabel.setStyle("-fx-text-fill: #2e7d32; -fx-font-size: 12px;");
+                },
+                ex -> {
+                    finishExport(buttonText);
+                    ex.printStackTrace();
+                    infoLabel.setText("Failed to export " + format + ": " + ex.getMessage());
+                    infoLabel.setStyle("-fx-text-fill: red; -fx-font-size: 12px;");
+                },
+                () -> {
+                    finishExport(buttonText);
+                    infoLabel.setText(format + " export cancelled.");
+                    infoLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
+                });
+
+        runningExport = task;
+        runningExportButton = button;
+        button.setText("Cancel export");
+        infoLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
+        infoLabel.setText("Exporting " + format + "...");
+        task.progressProperty().addListener((obs, old, value) -> {
+            if (runningExport == task && value.doubleValue() >= 0) {
+                infoLabel.setText(String.format("Exporting %s... %.0f%%", format, value.doubleValue() * 100));
             }
-            workbook.close();
-
-            infoLabel.setText("Exported Excel to: " + file.getAbsolutePath());
-            infoLabel.setStyle("-fx-text-fill: #2e7d32; -fx-font-size: 12px;");
+        });
+    }
 
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            infoLabel.setText("Failed to export Excel: " + ex.getMessage());
-            infoLabel.setStyle("-fx-text-fill: red; -fx-font-size: 12px;");
-        }
+    private void finishExport(String buttonText) {
+        runningExportButton.setText(buttonText);
+        runningExport = null;
+        runningExportButton = null;
     }
-}
\ No newline at end of file
+}
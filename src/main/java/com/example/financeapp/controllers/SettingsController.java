@@ -1,16 +1,20 @@
 package com.example.financeapp.controllers;
 
 import com.example.financeapp.models.*;
+import com.example.financeapp.navigation.RefreshableController;
 import com.example.financeapp.navigation.SceneManager;
 import com.example.financeapp.session.Session;
+import com.example.financeapp.util.AsyncLoader;
+import com.example.financeapp.util.Skeleton;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
+import java.time.YearMonth;
 import java.util.List;
 
-public class SettingsController {
+public class SettingsController implements RefreshableController {
 
     // Account
     @FXML private TextField usernameField;
@@ -37,10 +41,15 @@ public class SettingsController {
 
     @FXML private Label infoLabel;
 
-    private final BudgetManager budgetManager = new BudgetManager();
-    private final UserManager userManager = new UserManager();
+    private final BudgetManager budgetManager;
+    private final UserManager userManager;
     private User currentUser;
 
+    public SettingsController(BudgetManager budgetManager, UserManager userManager) {
+        this.budgetManager = budgetManager;
+        this.userManager = userManager;
+    }
+
     @FXML
     private void initialize() {
 
@@ -51,16 +60,8 @@ public class SettingsController {
 
         currentUser = Session.getCurrentUser();
 
-        // Prefill account info
-        usernameField.setText(currentUser.getUsername());
-        emailField.setText(currentUser.getEmail());
-
         // Currency choices
         currencyCombo.getItems().addAll("USD", "EUR", "GBP", "HUF", "JPY");
-        currencyCombo.setValue(currentUser.getCurrencyCode());
-
-        // Goal
-        goalField.setText(currentUser.getGoal());
 
         // Wire buttons
         saveButton.setOnAction(e -> saveSettings());
@@ -70,11 +71,31 @@ public class SettingsController {
         changePasswordButton.setOnAction(e -> handleChangePassword());
 
         loadBudgetCategories();
-        loadBudgets();
 
         addBudgetButton.setOnAction(e -> handleAddOrUpdateBudget());
     }
 
+    // Called by SceneManager each time the (possibly cached) view is shown
+    @Override
+    public void onShow() {
+        if (currentUser == null) return;
+
+        // Prefill account info
+        usernameField.setText(currentUser.getUsername());
+        emailField.setText(currentUser.getEmail());
+        currencyCombo.setValue(currentUser.getCurrencyCode());
+
+        // Goal
+        goalField.setText(currentUser.getGoal());
+
+        currentPasswordField.clear();
+        newPasswordField.clear();
+        confirmPasswordField.clear();
+        infoLabel.setText("");
+
+        loadBudgets();
+    }
+
     private void loadBudgetCategories() {
         budgetCategoryBox.getItems().setAll(Categories.getDefaultExpenseCategories());
     }
@@ -106,33 +127,24 @@ public class SettingsController {
             return;
         }
 
-        // See if there is already a budget for this category
-        List<Budget> budgets = budgetManager.getBudgetsForUser(user.getId());
-        Budget existing = budgets.stream()
-                .filter(b -> b.getCategory().equalsIgnoreCase(category))
-                .findFirst()
-                .orElse(null);
-
-        if (existing == null) {
-            // Create new
-            budgetManager.addBudget(user.getId(), category, limit);
-        } else {
-            // Update existing
-            existing.setMonthlyLimit(limit);
-            budgetManager.updateBudget(existing);   // make sure this method exists
-        }
+        // Creates the budget or replaces its limit
+        budgetManager.setBudget(user.getId(), category, limit);
 
         budgetLimitField.clear();
         loadBudgets();
     }
 
     private void loadBudgets() {
-        budgetListContainer.getChildren().clear();
-
         User user = Session.getCurrentUser();
         if (user == null) return;
 
-        List<Budget> budgets = budgetManager.getBudgetsForUser(user.getId());
+        budgetListContainer.getChildren().setAll(Skeleton.lines(3));
+        AsyncLoader.load(() -> budgetManager.getBudgetStatus(user.getId(), YearMonth.now()), this::showBudgets);
+    }
+
+    private void showBudgets(List<BudgetStatus> budgets) {
+        budgetListContainer.getChildren().clear();
+
         if (budgets.isEmpty()) {
             Label empty = new Label("No budgets set yet.");
             empty.setStyle("-fx-font-size: 12px; -fx-text-fill: #888;");
@@ -140,12 +152,12 @@ public class SettingsController {
             return;
         }
 
-        for (Budget b : budgets) {
+        for (BudgetStatus b : budgets) {
             budgetListContainer.getChildren().add(createBudgetRow(b));
         }
     }
 
-    private javafx.scene.Node createBudgetRow(Budget budget) {
+    private javafx.scene.Node createBudgetRow(BudgetStatus budget) {
         HBox row = new HBox(10);
         row.setFillHeight(true);
 
@@ -165,7 +177,7 @@ public class SettingsController {
         return row;
     }
 
-    private void handleSaveBudget(Budget budget, TextField limitField) {
+    private void handleSaveBudget(BudgetStatus budget, TextField limitField) {
         String text = limitField.getText();
         if (text == null || text.isBlank()) {
             showError("Please enter a budget amount.");
@@ -184,12 +196,11 @@ public class SettingsController {
             return;
         }
 
-        budget.setMonthlyLimit(limit);
-        budgetManager.updateBudget(budget);   // make sure this exists
+        budgetManager.setBudget(currentUser.getId(), budget.getCategory(), limit);
         loadBudgets();
     }
 
-    private void handleDeleteBudget(Budget budget) {
+    private void handleDeleteBudget(BudgetStatus budget) {
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setHeaderText("Delete budget?");
         confirm.setContentText("This will remove the budget for " + budget.getCategory() + ".");
@@ -197,7 +208,7 @@ public class SettingsController {
 
         confirm.showAndWait().ifPresent(btn -> {
             if (btn == ButtonType.OK) {
-                budgetManager.deleteBudget(budget.getId());  // ensure this exists
+                budgetManager.deleteBudget(budget.getBudgetId());
                 loadBudgets();
             }
         });
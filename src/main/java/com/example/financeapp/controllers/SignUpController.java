@@ -29,7 +29,11 @@ public class SignUpController {
     @FXML
     private CheckBox agreeTerms;
 
-    private final UserManager userManager = new UserManager();
+    private final UserManager userManager;
+
+    public SignUpController(UserManager userManager) {
+        this.userManager = userManager;
+    }
 
     // ==========================
     // Create Account (Normal method)
@@ -111,6 +115,7 @@ public class SignUpController {
                     Session.setOAuthLogin(tokenJson);
 
                     SceneManager.switchTo("Dashboard");
+                    SceneManager.preloadAfterLogin();
                 });
             }
 
@@ -154,6 +159,7 @@ public class SignUpController {
                     Session.setOAuthLogin(tokenJson);
 
                     SceneManager.switchTo("Dashboard");
+                    SceneManager.preloadAfterLogin();
                 });
             }
 
@@ -1,12 +1,22 @@
 package com.example.financeapp.controllers;
 
+import com.example.financeapp.importer.StatementImportReport;
+import com.example.financeapp.importer.StatementImporter;
+import com.example.financeapp.models.PageCursor;
 import com.example.financeapp.models.Transaction;
 import com.example.financeapp.models.TransactionManager;
+import com.example.financeapp.models.TransactionPage;
 import com.example.financeapp.models.User;
+import com.example.financeapp.navigation.RefreshableController;
 import com.example.financeapp.navigation.SceneManager;
 import com.example.financeapp.session.Session;
 import com.example.financeapp.session.TransactionEditContext;
+import com.example.financeapp.util.AsyncLoader;
 import com.example.financeapp.util.CurrencyUtil;
+import com.example.financeapp.util.Skeleton;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
@@ -16,15 +26,34 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 
-import java.util.List;
+import java.io.File;
 
-public class TransactionsListController {
+public class TransactionsListController implements RefreshableController {
 
-    @FXML private VBox transactionsContainer;
+    private static final int PAGE_SIZE = 100;
+    // start fetching the next page when the user scrolls this close to the end
+    private static final int PREFETCH_DISTANCE = 20;
+
+    // decoded once and shared by every row
+    private static final Image EDIT_ICON = loadIcon("edit.png");
+    private static final Image DELETE_ICON = loadIcon("delete.png");
+
+    @FXML private ListView<Transaction> transactionsList;
     @FXML private Button addButton;
+    @FXML private Button importButton;
 
-    private final TransactionManager transactionManager = new TransactionManager();
+    private final TransactionManager transactionManager;
+    private final ObservableList<Transaction> items = FXCollections.observableArrayList();
     private User currentUser;
+    private String currencySymbol;
+
+    private PageCursor nextCursor;
+    private boolean hasMore;
+    private Task<TransactionPage> pageLoad; // in-flight page fetch, if any
+
+    public TransactionsListController(TransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
 
     @FXML
     private void initialize() {
@@ -42,100 +71,226 @@ public class TransactionsListController {
             SceneManager.switchTo("AddTransaction");
         });
 
+        importButton.setOnAction(e -> handleImport());
+
+        // Only the visible rows get nodes; cells are recycled while scrolling
+        transactionsList.setItems(items);
+        transactionsList.setCellFactory(lv -> new TransactionCell());
+    }
+
+    // Called by SceneManager each time the (possibly cached) view is shown
+    @Override
+    public void onShow() {
+        if (currentUser == null) return;
+        currencySymbol = CurrencyUtil.getSymbol(currentUser.getCurrencyCode()); // may change in Settings
         loadTransactions();
     }
 
     // ===================== LOAD REAL TRANSACTIONS =====================
     private void loadTransactions() {
-        transactionsContainer.getChildren().clear();
-
-        List<Transaction> txs = transactionManager.getTransactionsForUser(currentUser.getId());
-
-        if (txs.isEmpty()) {
-            Label empty = new Label("No transactions yet.");
-            empty.setStyle("-fx-font-size: 14px; -fx-text-fill: #777;");
-            transactionsContainer.getChildren().add(empty);
-            return;
+        if (pageLoad != null) {
+            pageLoad.cancel(); // its rows belong to the list we are about to clear
+            pageLoad = null;
         }
+        items.clear();
+        nextCursor = null;
+        hasMore = true;
+        transactionsList.setPlaceholder(Skeleton.lines(6));
+        loadNextPage();
+    }
 
-        for (Transaction t : txs) {
-            addTransactionCard(t);
+    private void loadNextPage() {
+        if (!hasMore || pageLoad != null) return;
+
+        int userId = currentUser.getId();
+        PageCursor cursor = nextCursor;
+        pageLoad = AsyncLoader.load(() -> transactionManager.getTransactionsPage(userId, cursor, PAGE_SIZE), page -> {
+            pageLoad = null;
+            items.addAll(page.getItems());
+            nextCursor = page.getNextCursor();
+            hasMore = page.hasMore();
+
+            if (items.isEmpty()) {
+                Label empty = new Label("No transactions yet.");
+                empty.setStyle("-fx-font-size: 14px; -fx-text-fill: #777;");
+                transactionsList.setPlaceholder(empty);
+            }
+        }, error -> {
+            pageLoad = null;
+            error.printStackTrace();
+        });
+    }
+
+    /**
+     * Called by cells as they are shown; fetches the next page once the user nears the end.
+     */
+    private void onRowShown(int index) {
+        if (index >= items.size() - PREFETCH_DISTANCE) {
+            loadNextPage(); // rows arrive on a later pulse, not during this layout pass
         }
     }
 
-    // ===================== CREATE CARD UI =====================
-    private void addTransactionCard(Transaction t) {
+    private static Image loadIcon(String name) {
+        return new Image(TransactionsListController.class.getResourceAsStream(
+                "/com/example/financeapp/icons/" + name));
+    }
 
-        boolean isIncome = t.isIncome();
+    // ===================== ROW UI =====================
+    /**
+     * One reusable transaction card. The nodes are built once per cell and only
+     * their text and styles change when the cell is moved to another row.
+     */
+    private class TransactionCell extends ListCell<Transaction> {
+
+        private final VBox card = new VBox();
+        private final Label titleLabel = new Label();
+        private final Label amountLabel = new Label();
+        private final Label categoryLabel = new Label();
+        private final Label dateLabel = new Label();
+
+        TransactionCell() {
+            card.getStyleClass().add("transaction-card");
+            card.setPadding(new Insets(10));
+            card.setSpacing(5);
+
+            // ---- TOP ROW (title + amount) ----
+            HBox topRow = new HBox(10);
+            titleLabel.getStyleClass().add("transaction-title");
+            HBox.setMargin(amountLabel, new Insets(0, 0, 0, 20));
+            topRow.getChildren().addAll(titleLabel, amountLabel);
+
+            // ---- BOTTOM ROW: category + date + actions ----
+            HBox bottomRow = new HBox(10);
+            categoryLabel.getStyleClass().add("transaction-category");
+            dateLabel.setStyle("-fx-text-fill: #777; -fx-font-size: 12px;");
+
+            HBox spacer = new HBox();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+
+            // Edit icon
+            ImageView editIcon = new ImageView(EDIT_ICON);
+            editIcon.setFitHeight(18);
+            editIcon.setPreserveRatio(true);
+            editIcon.setOnMouseClicked(e -> {
+                TransactionEditContext.startEditing(getItem());
+                SceneManager.switchTo("AddTransaction");
+            });
+
+            // Delete icon
+            ImageView deleteIcon = new ImageView(DELETE_ICON);
+            deleteIcon.setFitHeight(18);
+            deleteIcon.setPreserveRatio(true);
+            deleteIcon.setOnMouseClicked(e -> handleDelete(getItem()));
+
+            bottomRow.getChildren().addAll(categoryLabel, dateLabel, spacer, editIcon, deleteIcon);
+
+            // Combine rows
+            card.getChildren().addAll(topRow, bottomRow);
+        }
 
-        VBox card = new VBox();
-        card.getStyleClass().add("transaction-card");
-        card.setPadding(new Insets(10));
-        card.setSpacing(5);
+        @Override
+        protected void updateItem(Transaction t, boolean empty) {
+            super.updateItem(t, empty);
+            if (empty || t == null) {
+                setGraphic(null);
+                return;
+            }
 
-        // ---- TOP ROW (title + amount) ----
-        HBox topRow = new HBox(10);
+            boolean isIncome = t.isIncome();
 
-        String titleText = t.getTitle();
-        if (titleText == null || titleText.isBlank()) {
-            titleText = t.getCategory(); // fallback if title not set (old rows)
+            String titleText = t.getTitle();
+            if (titleText == null || titleText.isBlank()) {
+                titleText = t.getCategory(); // fallback if title not set (old rows)
+            }
+            titleLabel.setText(titleText);
+
+            // Currency-aware amount formatting
+            amountLabel.setText(String.format("%s%s%.2f",
+                    isIncome ? "+" : "-",
+                    currencySymbol,
+                    Math.abs(t.getAmount())
+            ));
+            amountLabel.getStyleClass().removeAll("amount-income", "amount-expense");
+            amountLabel.getStyleClass().add(isIncome ? "amount-income" : "amount-expense");
+
+            categoryLabel.setText(t.getCategory());
+            dateLabel.setText(t.getDate().toString());
+
+            setGraphic(card);
+            onRowShown(getIndex());
         }
+    }
 
-        Label titleLabel = new Label(titleText);
-        titleLabel.getStyleClass().add("transaction-title");
-
-        // Currency-aware amount formatting
-        String symbol = CurrencyUtil.getSymbol(currentUser.getCurrencyCode());
-        double amountAbs = Math.abs(t.getAmount());
-        String amountText = String.format("%s%s%.2f",
-                isIncome ? "+" : "-",
-                symbol,
-                amountAbs
+    // ===================== IMPORT CSV / OFX =====================
+    private void handleImport() {
+        javafx.stage.FileChooser chooser = new javafx.stage.FileChooser();
+        chooser.setTitle("Import bank statement");
+        chooser.getExtensionFilters().addAll(
+                new javafx.stage.FileChooser.ExtensionFilter("Bank statements", "*.csv", "*.ofx", "*.qfx"),
+                new javafx.stage.FileChooser.ExtensionFilter("All files", "*.*")
         );
-
-        Label amountLabel = new Label(amountText);
-        amountLabel.getStyleClass().add(isIncome ? "amount-income" : "amount-expense");
-
-        HBox.setMargin(amountLabel, new Insets(0, 0, 0, 20));
-        topRow.getChildren().addAll(titleLabel, amountLabel);
-
-        // ---- BOTTOM ROW: category + date + actions ----
-        HBox bottomRow = new HBox(10);
-
-        Label categoryLabel = new Label(t.getCategory());
-        categoryLabel.getStyleClass().add("transaction-category");
-
-        Label dateLabel = new Label(t.getDate().toString());
-        dateLabel.setStyle("-fx-text-fill: #777; -fx-font-size: 12px;");
-
-        HBox spacer = new HBox();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-
-        // Edit icon
-        ImageView editIcon = new ImageView(new Image(
-                getClass().getResourceAsStream("/com/example/financeapp/icons/edit.png")
-        ));
-        editIcon.setFitHeight(18);
-        editIcon.setPreserveRatio(true);
-        editIcon.setOnMouseClicked(e -> {
-            TransactionEditContext.startEditing(t);
-            SceneManager.switchTo("AddTransaction");
+        File file = chooser.showOpenDialog(null);
+        if (file == null) return;
+
+        int userId = currentUser.getId();
+        StatementImporter importer = new StatementImporter(transactionManager);
+
+        // Large exports take a while; keep the UI responsive
+        Task<StatementImportReport> task = new Task<>() {
+            @Override
+            protected StatementImportReport call() throws Exception {
+                updateMessage("Importing...");
+                return importer.importFile(file.toPath(), userId,
+                        (ids, rowsSoFar, rate) -> updateMessage(
+                                String.format("Imported %d rows (%.0f rows/s)...", rowsSoFar, rate)));
+            }
+        };
+
+        importButton.setDisable(true);
+        importButton.textProperty().bind(task.messageProperty());
+
+        task.setOnSucceeded(e -> {
+            finishImport();
+            StatementImportReport report = task.getValue();
+            if (report.getInsertResult().isComplete()) {
+                Alert info = new Alert(Alert.AlertType.INFORMATION);
+                info.setHeaderText("Import finished");
+                info.setContentText(String.format(
+                        "Imported %d transactions.%nSkipped %d duplicates and %d unreadable rows.",
+                        report.getInsertedCount(), report.getDuplicatesSkipped(), report.getRowsRejected()));
+                info.showAndWait();
+            } else {
+                // A chunk failed to save: earlier chunks are committed, the rest of the file is not
+                Alert warning = new Alert(Alert.AlertType.WARNING);
+                warning.setHeaderText("Import stopped early");
+                warning.setContentText(String.format(
+                        "Only the first %d transactions were saved; saving the rest failed.%n"
+                                + "Import the file again to add the missing rows (saved ones are skipped as duplicates).",
+                        report.getInsertedCount()));
+                warning.showAndWait();
+            }
+            loadTransactions();
         });
 
-        // Delete icon
-        ImageView deleteIcon = new ImageView(new Image(
-                getClass().getResourceAsStream("/com/example/financeapp/icons/delete.png")
-        ));
-        deleteIcon.setFitHeight(18);
-        deleteIcon.setPreserveRatio(true);
-        deleteIcon.setOnMouseClicked(e -> handleDelete(t));
-
-        bottomRow.getChildren().addAll(categoryLabel, dateLabel, spacer, editIcon, deleteIcon);
+        task.setOnFailed(e -> {
+            finishImport();
+            task.getException().printStackTrace();
+            Alert error = new Alert(Alert.AlertType.ERROR);
+            error.setHeaderText("Import failed");
+            error.setContentText(String.valueOf(task.getException().getMessage()));
+            error.showAndWait();
+            loadTransactions();
+        });
 
-        // Combine rows
-        card.getChildren().addAll(topRow, bottomRow);
+        Thread worker = new Thread(task, "statement-import");
+        worker.setDaemon(true);
+        worker.start();
+    }
 
-        transactionsContainer.getChildren().add(card);
+    private void finishImport() {
+        importButton.textProperty().unbind();
+        importButton.setText("Import statement");
+        importButton.setDisable(false);
     }
 
     private void handleDelete(Transaction t) {
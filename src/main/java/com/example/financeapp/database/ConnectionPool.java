@@ -0,0 +1,274 @@
+package com.example.financeapp.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small bounded JDBC connection pool.
+ *
+ * - At most {@code maxSize} connections are open at once; borrowers wait up to
+ *   {@code borrowTimeoutMillis} for a free slot.
+ * - Idle connections are reused most-recently-used first, so rarely needed
+ *   extras age out and are closed by the idle evictor.
+ * - Connections are validated on borrow (optional) and reset (rollback,
+ *   auto-commit on) when returned.
+ * - Each physical connection keeps its compiled statements in a
+ *   {@link StatementCache} for as long as it stays open.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final ScheduledExecutorService EVICTOR =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "db-pool-evictor");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private final String name;
+    private final ConnectionFactory factory;
+    private final PoolConfig config;
+    private final Semaphore permits;
+
+    // Most recently returned connection sits at the head
+    private final Deque<IdleConnection> idle = new ArrayDeque<>();
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+    private final LongAdder statementEvictions = new LongAdder();
+
+    private final ScheduledFuture<?> evictionTask;
+    private volatile boolean closed;
+
+    public ConnectionPool(String name, ConnectionFactory factory, PoolConfig config) {
+        this.name = name;
+        this.factory = factory;
+        this.config = config.copy();
+        this.permits = new Semaphore(this.config.getMaxSize(), true);
+
+        long period = Math.max(1_000, this.config.getIdleTimeoutMillis() / 2);
+        this.evictionTask = EVICTOR.scheduleWithFixedDelay(
+                this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // ==========================
+    // Borrow / release
+    // ==========================
+
+    /**
+     * Borrows a connection. Closing the returned connection gives it back to the pool.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool '" + name + "' is closed");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(config.getBorrowTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + config.getBorrowTimeoutMillis()
+                        + " ms waiting for a connection from pool '" + name + "'");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection from pool '" + name + "'", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            Connection physical = takeIdle();
+            if (physical == null) {
+                physical = factory.create();
+                createdCount.increment();
+                if (config.getStatementCacheSize() > 0) {
+                    statementCaches.put(physical, new StatementCache(physical, config.getStatementCacheSize(),
+                            statementHits, statementMisses, statementEvictions));
+                }
+            }
+            active.incrementAndGet();
+            borrowCount.increment();
+            return PooledConnection.wrap(physical, this, statementCaches.get(physical));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    void release(Connection physical) {
+        active.decrementAndGet();
+        try {
+            if (closed || physical.isClosed()) {
+                closeQuietly(physical);
+                return;
+            }
+
+            // Never hand out a connection with a half-finished transaction
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+
+            synchronized (idle) {
+                idle.addFirst(new IdleConnection(physical, System.currentTimeMillis()));
+            }
+        } catch (SQLException e) {
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Connection takeIdle() {
+        while (true) {
+            IdleConnection candidate;
+            synchronized (idle) {
+                candidate = idle.pollFirst();
+            }
+            if (candidate == null) {
+                return null;
+            }
+
+            if (isExpired(candidate, System.currentTimeMillis())) {
+                evictedCount.increment();
+                closeQuietly(candidate.connection);
+                continue;
+            }
+
+            if (config.isValidateOnBorrow() && !isValid(candidate.connection)) {
+                validationFailures.increment();
+                closeQuietly(candidate.connection);
+                continue;
+            }
+
+            return candidate.connection;
+        }
+    }
+
+    // ==========================
+    // Maintenance
+    // ==========================
+
+    /**
+     * Closes idle connections that have not been used for longer than the idle timeout.
+     *
+     * @return number of connections closed
+     */
+    public int evictIdle() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+
+        synchronized (idle) {
+            Iterator<IdleConnection> it = idle.descendingIterator(); // oldest first
+            while (it.hasNext()) {
+                IdleConnection c = it.next();
+                if (!isExpired(c, now)) {
+                    break;
+                }
+                it.remove();
+                closeQuietly(c.connection);
+                evicted++;
+            }
+        }
+
+        evictedCount.add(evicted);
+        return evicted;
+    }
+
+    public PoolMetrics getMetrics() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        int cachedStatements = 0;
+        for (StatementCache cache : statementCaches.values()) {
+            cachedStatements += cache.size();
+        }
+        return new PoolMetrics(name, active.get(), idleCount, config.getMaxSize(),
+                borrowCount.sum(), createdCount.sum(), evictedCount.sum(),
+                validationFailures.sum(), totalWaitNanos.get(), maxWaitNanos.get(),
+                statementHits.sum(), statementMisses.sum(), statementEvictions.sum(), cachedStatements);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Closes all idle connections. Borrowed connections are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        evictionTask.cancel(false);
+        synchronized (idle) {
+            for (IdleConnection c : idle) {
+                closeQuietly(c.connection);
+            }
+            idle.clear();
+        }
+    }
+
+    // ==========================
+    // Helpers
+    // ==========================
+
+    private boolean isExpired(IdleConnection c, long now) {
+        return config.getIdleTimeoutMillis() > 0
+                && now - c.returnedAt > config.getIdleTimeoutMillis();
+    }
+
+    private boolean isValid(Connection conn) {
+        try {
+            return conn.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void closeQuietly(Connection conn) {
+        StatementCache statements = statementCaches.remove(conn);
+        if (statements != null) {
+            statements.close();
+        }
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // Nothing useful to do with a connection we are throwing away
+        }
+    }
+
+    private static final class IdleConnection {
+        final Connection connection;
+        final long returnedAt;
+
+        IdleConnection(Connection connection, long returnedAt) {
+            this.connection = connection;
+            this.returnedAt = returnedAt;
+        }
+    }
+}
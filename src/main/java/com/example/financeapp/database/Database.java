@@ -1,14 +1,35 @@
 package com.example.financeapp.database;
 
+import org.sqlite.SQLiteConfig;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 
+/**
+ * Entry point for all DB access.
+ *
+ * SQLite allows one writer at a time, so connections are split in two pools:
+ *  - a single writer connection ({@link #getConnection()}) used for DDL and writes
+ *  - several read-only connections ({@link #getReadConnection()}) for queries
+ * With the default WAL profile, readers keep working while an import is writing.
+ */
 public class Database {
 
     // Default DB file
     private static String url = "jdbc:sqlite:financeapp.db";
 
+    private static EngineProfile profile = EngineProfile.tuned();
+
+    // Long-lived connections for the active DB file (created lazily)
+    private static PoolConfig writerPoolConfig = new PoolConfig(1);
+    private static PoolConfig readerPoolConfig = new PoolConfig(4);
+    private static volatile Pools pools;
+
+    // Bumped whenever a different DB file is selected, so in-memory lookups keyed by row ids
+    // (category dictionary, currency scales) know to reload
+    private static volatile long fileGeneration;
+
     static {
         try {
             // Ensure the SQLite JDBC driver loads
@@ -23,7 +44,7 @@ public class Database {
      * Called in unit tests (e.g. @BeforeAll).
      */
     public static void useTestDatabase() {
-        url = "jdbc:sqlite:test_financeapp.db";
+        switchUrl("jdbc:sqlite:test_financeapp.db");
         System.out.println("[Database] Switched to TEST database: test_financeapp.db");
     }
 
@@ -32,14 +53,156 @@ public class Database {
      * Useful for migrations or multiple profiles.
      */
     public static void useDatabaseFile(String filename) {
-        url = "jdbc:sqlite:" + filename;
+        switchUrl("jdbc:sqlite:" + filename);
         System.out.println("[Database] Switched database file to: " + filename);
     }
 
     /**
-     * Returns a connection to whichever DB file is currently active.
+     * Selects the PRAGMA profile for new connections. Open connections are closed.
+     */
+    public static synchronized void useEngineProfile(EngineProfile newProfile) {
+        profile = newProfile;
+        closePools();
+        System.out.println("[Database] Using engine profile: " + newProfile);
+    }
+
+    public static synchronized EngineProfile getEngineProfile() {
+        return profile;
+    }
+
+    /**
+     * Replaces the reader pool settings. Open connections are closed and the pools are rebuilt on next use.
+     */
+    public static synchronized void configureReaderPool(PoolConfig config) {
+        readerPoolConfig = config.copy();
+        closePools();
+    }
+
+    /**
+     * Sets how many prepared statements each pooled connection keeps compiled (0 turns
+     * the cache off). Open connections are closed and the pools are rebuilt on next use.
+     */
+    public static synchronized void configureStatementCache(int statementsPerConnection) {
+        writerPoolConfig.setStatementCacheSize(statementsPerConnection);
+        readerPoolConfig.setStatementCacheSize(statementsPerConnection);
+        closePools();
+    }
+
+    /**
+     * Returns the writer connection for whichever DB file is currently active.
+     * Use it for INSERT/UPDATE/DELETE and DDL. Closing it hands it back to the pool;
+     * other writers wait until then.
      */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(url);
+        FxThreadGuard.checkBorrow("writer");
+        return pools().writer.borrow();
+    }
+
+    /**
+     * Returns a read-only connection. Writes through it fail with SQLITE_READONLY.
+     */
+    public static Connection getReadConnection() throws SQLException {
+        FxThreadGuard.checkBorrow("reader");
+        return pools().reader.borrow();
+    }
+
+    /**
+     * Opens the active DB file and creates or upgrades its schema (see {@link Migrations}).
+     * Called once at boot so the DDL is off the navigation path; the first connection
+     * requested for a newly selected file does the same, and later calls return immediately.
+     */
+    public static void migrate() throws SQLException {
+        pools();
+    }
+
+    public static long getFileGeneration() {
+        return fileGeneration;
+    }
+
+    public static PoolMetrics getPoolMetrics() throws SQLException {
+        return pools().writer.getMetrics();
+    }
+
+    public static PoolMetrics getReaderPoolMetrics() throws SQLException {
+        return pools().reader.getMetrics();
+    }
+
+    /**
+     * Closes every pooled connection. Call on application exit.
+     */
+    public static synchronized void shutdown() {
+        closePools();
+    }
+
+    // ==========================
+    // Pool management
+    // ==========================
+
+    private static synchronized void switchUrl(String newUrl) {
+        closePools();
+        url = newUrl;
+        fileGeneration++;
+    }
+
+    private static Pools pools() throws SQLException {
+        Pools current = pools;
+        if (current != null) {
+            return current;
+        }
+        synchronized (Database.class) {
+            if (pools == null) {
+                String target = url;
+                EngineProfile p = profile;
+
+                ConnectionPool writer = new ConnectionPool("sqlite-writer",
+                        () -> openConnection(target, p, false), writerPoolConfig);
+
+                // Open the writer once so the file exists, its journal mode is set and the
+                // schema is current before any read-only connection looks at it.
+                try (Connection conn = writer.borrow()) {
+                    new SchemaMigrator(Migrations.all()).migrate(conn);
+                } catch (SQLException e) {
+                    writer.close();
+                    throw e;
+                }
+
+                ConnectionPool reader = new ConnectionPool("sqlite-reader",
+                        () -> openConnection(target, p, true), readerPoolConfig);
+                pools = new Pools(writer, reader);
+            }
+            return pools;
+        }
+    }
+
+    private static Connection openConnection(String target, EngineProfile p, boolean readOnly) throws SQLException {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(readOnly);
+
+        Connection conn = DriverManager.getConnection(target, config.toProperties());
+        try {
+            p.applyTo(conn, readOnly);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return conn;
+    }
+
+    private static void closePools() {
+        if (pools != null) {
+            pools.writer.close();
+            pools.reader.close();
+            pools = null;
+        }
+    }
+
+    private static final class Pools {
+        final ConnectionPool writer;
+        final ConnectionPool reader;
+
+        Pools(ConnectionPool writer, ConnectionPool reader) {
+            this.writer = writer;
+            this.reader = reader;
+        }
     }
-}
\ No newline at end of file
+}
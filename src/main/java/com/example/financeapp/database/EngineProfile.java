@@ -0,0 +1,136 @@
+package com.example.financeapp.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * SQLite PRAGMA settings applied to every new physical connection.
+ *
+ * {@link #tuned()} is the app default: WAL journal so readers never block behind
+ * the writer, synchronous=NORMAL (safe in WAL mode, only the last commits can be
+ * lost on power failure), a memory-mapped file and a larger page cache.
+ * {@link #legacy()} matches SQLite's stock settings and is kept for comparisons.
+ */
+public class EngineProfile {
+
+    public enum JournalMode { DELETE, TRUNCATE, PERSIST, MEMORY, WAL }
+
+    public enum Synchronous { OFF, NORMAL, FULL, EXTRA }
+
+    public enum TempStore { DEFAULT, FILE, MEMORY }
+
+    private String name;
+    private JournalMode journalMode = JournalMode.WAL;
+    private Synchronous synchronous = Synchronous.NORMAL;
+    private long mmapSizeBytes = 64L * 1024 * 1024;
+    private int cacheSizeKib = 8 * 1024;
+    private TempStore tempStore = TempStore.MEMORY;
+    private int busyTimeoutMillis = 5_000;
+
+    public EngineProfile(String name) {
+        this.name = name;
+    }
+
+    /**
+     * WAL + NORMAL sync + mmap: the default profile.
+     */
+    public static EngineProfile tuned() {
+        return new EngineProfile("tuned");
+    }
+
+    /**
+     * SQLite's out-of-the-box behaviour (rollback journal, FULL sync, no mmap).
+     */
+    public static EngineProfile legacy() {
+        EngineProfile p = new EngineProfile("legacy");
+        p.setJournalMode(JournalMode.DELETE);
+        p.setSynchronous(Synchronous.FULL);
+        p.setMmapSizeBytes(0);
+        p.setCacheSizeKib(2_000);
+        p.setTempStore(TempStore.DEFAULT);
+        p.setBusyTimeoutMillis(0);
+        return p;
+    }
+
+    /**
+     * Applies the profile to a freshly opened connection.
+     * The journal mode is stored in the database file, so only the writer sets it.
+     */
+    public void applyTo(Connection conn, boolean readOnly) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+            if (!readOnly) {
+                st.execute("PRAGMA journal_mode = " + journalMode.name());
+                st.execute("PRAGMA synchronous = " + synchronous.name());
+            }
+            st.execute("PRAGMA cache_size = " + (-cacheSizeKib)); // negative = KiB, not pages
+            st.execute("PRAGMA mmap_size = " + mmapSizeBytes);
+            st.execute("PRAGMA temp_store = " + tempStore.name());
+        }
+    }
+
+    // ========= Getters & Setters =========
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public JournalMode getJournalMode() {
+        return journalMode;
+    }
+
+    public void setJournalMode(JournalMode journalMode) {
+        this.journalMode = journalMode;
+    }
+
+    public Synchronous getSynchronous() {
+        return synchronous;
+    }
+
+    public void setSynchronous(Synchronous synchronous) {
+        this.synchronous = synchronous;
+    }
+
+    public long getMmapSizeBytes() {
+        return mmapSizeBytes;
+    }
+
+    public void setMmapSizeBytes(long mmapSizeBytes) {
+        this.mmapSizeBytes = mmapSizeBytes;
+    }
+
+    public int getCacheSizeKib() {
+        return cacheSizeKib;
+    }
+
+    public void setCacheSizeKib(int cacheSizeKib) {
+        this.cacheSizeKib = cacheSizeKib;
+    }
+
+    public TempStore getTempStore() {
+        return tempStore;
+    }
+
+    public void setTempStore(TempStore tempStore) {
+        this.tempStore = tempStore;
+    }
+
+    public int getBusyTimeoutMillis() {
+        return busyTimeoutMillis;
+    }
+
+    public void setBusyTimeoutMillis(int busyTimeoutMillis) {
+        this.busyTimeoutMillis = busyTimeoutMillis;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{journal=" + journalMode + ", sync=" + synchronous + ", mmap=" + mmapSizeBytes
+                + ", cacheKiB=" + cacheSizeKib + ", temp=" + tempStore + ", busy=" + busyTimeoutMillis + "ms}";
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.financeapp.database;
+
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flags JDBC work done on the JavaFX Application Thread, where every query freezes the UI.
+ *
+ * {@link Database} calls {@link #checkBorrow} whenever a connection is borrowed. By default
+ * a violation is logged once per call site; start with {@code -Dfinanceapp.fxThreadJdbc=fail}
+ * to throw instead. The FX thread is recognised by name, so this package does not need JavaFX.
+ */
+public final class FxThreadGuard {
+
+    private static final String FX_THREAD_NAME = "JavaFX Application Thread";
+    private static final String APP_PACKAGE = "com.example.financeapp.";
+    private static final String DB_PACKAGE = APP_PACKAGE + "database.";
+
+    private static final boolean FAIL =
+            "fail".equalsIgnoreCase(System.getProperty("financeapp.fxThreadJdbc"));
+
+    private static final Set<String> reportedCallers = ConcurrentHashMap.newKeySet();
+    private static final AtomicLong violations = new AtomicLong();
+
+    private FxThreadGuard() {}
+
+    static void checkBorrow(String poolName) throws SQLException {
+        if (!FX_THREAD_NAME.equals(Thread.currentThread().getName())) {
+            return;
+        }
+        violations.incrementAndGet();
+
+        String caller = findCaller();
+        if (FAIL) {
+            throw new SQLException("JDBC on the FX thread (" + poolName + " pool) from " + caller);
+        }
+        if (reportedCallers.add(caller)) {
+            System.out.println("[FxThreadGuard] JDBC on the FX thread (" + poolName + " pool) from " + caller);
+        }
+    }
+
+    /**
+     * Number of connections borrowed on the FX thread since start-up.
+     */
+    public static long getViolationCount() {
+        return violations.get();
+    }
+
+    /**
+     * The app frame that asked for the connection, preferring UI code over the managers
+     * it went through (e.g. "DashboardController.initialize:63 via TransactionManager.getMonthlySummary:380").
+     */
+    private static String findCaller() {
+        return StackWalker.getInstance().walk(frames -> {
+            String manager = null;
+            for (StackWalker.StackFrame f : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String cls = f.getClassName();
+                if (!cls.startsWith(APP_PACKAGE) || cls.startsWith(DB_PACKAGE)) {
+                    continue;
+                }
+                String site = cls.substring(cls.lastIndexOf('.') + 1) + "." + f.getMethodName() + ":" + f.getLineNumber();
+                if (cls.startsWith(APP_PACKAGE + "models.")) {
+                    if (manager == null) manager = site;
+                    continue;
+                }
+                return manager == null ? site : site + " via " + manager;
+            }
+            return manager == null ? "unknown" : manager;
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.financeapp.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * One numbered schema change. Applied at most once per database file,
+ * tracked through SQLite's {@code PRAGMA user_version}.
+ */
+public final class Migration {
+
+    @FunctionalInterface
+    public interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private final int version;
+    private final String description;
+    private final Step step;
+
+    public Migration(int version, String description, Step step) {
+        if (version < 1) {
+            throw new IllegalArgumentException("Migration versions start at 1, got " + version);
+        }
+        this.version = version;
+        this.description = description;
+        this.step = step;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    void apply(Connection conn) throws SQLException {
+        step.apply(conn);
+    }
+
+    @Override
+    public String toString() {
+        return "v" + version + " (" + description + ")";
+    }
+}
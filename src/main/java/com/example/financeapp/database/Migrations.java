@@ -0,0 +1,454 @@
+package com.example.financeapp.database;
+
+import com.example.financeapp.util.CurrencyUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static com.example.financeapp.database.SchemaMigrator.columnExists;
+import static com.example.financeapp.database.SchemaMigrator.execute;
+
+/**
+ * Schema history of the app database. Append new steps at the end with the next
+ * version number; never edit a step that has already shipped.
+ *
+ * Steps 1-3 reproduce what the managers used to do ad hoc in their constructors,
+ * written so they are no-ops on databases created by older builds.
+ */
+public final class Migrations {
+
+    /**
+     * Recomputes every rollup bucket from the raw rows. Expects an empty monthly_rollups table.
+     */
+    public static final String REBUILD_ROLLUPS = rebuildRollups("category_id");
+
+    private static final String CREATE_USER_DATE_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_transactions_user_date ON transactions(user_id, date DESC, id DESC)";
+
+    // Built-in categories as of step 8 (Categories.getDefaultExpenseCategories() at the time)
+    private static final List<String> SEED_CATEGORIES =
+            List.of("Food", "Transport", "Entertainment", "Bills", "Subscriptions", "Salary", "Others");
+
+    private static final List<String> SEED_PAYMENT_METHODS = List.of("Cash", "Card", "Bank transfer");
+
+    private Migrations() {}
+
+    // ==========================
+    // Rollup DDL, by category column
+    // ==========================
+    // Steps 6-7 bucket by the category text, step 8 by category_id; the SQL is otherwise identical.
+
+    private static String rebuildRollups(String categoryColumn) {
+        return """
+                INSERT INTO monthly_rollups (user_id, month, is_income, %1$s, amount_sum, tx_count)
+                SELECT user_id, substr(date, 1, 7), is_income, %1$s, SUM(amount), COUNT(*)
+                FROM transactions
+                GROUP BY user_id, substr(date, 1, 7), is_income, %1$s
+                """.formatted(categoryColumn);
+    }
+
+    private static String[] rollupTriggers(String categoryColumn) {
+        String addNew = """
+                INSERT INTO monthly_rollups (user_id, month, is_income, %1$s, amount_sum, tx_count)
+                VALUES (NEW.user_id, substr(NEW.date, 1, 7), NEW.is_income, NEW.%1$s, NEW.amount, 1)
+                ON CONFLICT (user_id, month, is_income, %1$s) DO UPDATE
+                SET amount_sum = amount_sum + excluded.amount_sum,
+                    tx_count = tx_count + 1;
+                """.formatted(categoryColumn);
+
+        String removeOld = """
+                UPDATE monthly_rollups
+                SET amount_sum = amount_sum - OLD.amount,
+                    tx_count = tx_count - 1
+                WHERE user_id = OLD.user_id AND month = substr(OLD.date, 1, 7)
+                  AND is_income = OLD.is_income AND %1$s = OLD.%1$s;
+                DELETE FROM monthly_rollups
+                WHERE user_id = OLD.user_id AND month = substr(OLD.date, 1, 7)
+                  AND is_income = OLD.is_income AND %1$s = OLD.%1$s
+                  AND tx_count <= 0;
+                """.formatted(categoryColumn);
+
+        return new String[]{
+                "CREATE TRIGGER IF NOT EXISTS trg_transactions_rollup_insert\n"
+                        + "AFTER INSERT ON transactions\nBEGIN\n" + addNew + "END",
+                "CREATE TRIGGER IF NOT EXISTS trg_transactions_rollup_delete\n"
+                        + "AFTER DELETE ON transactions\nBEGIN\n" + removeOld + "END",
+                "CREATE TRIGGER IF NOT EXISTS trg_transactions_rollup_update\n"
+                        + "AFTER UPDATE OF user_id, date, amount, is_income, " + categoryColumn + " ON transactions\n"
+                        + "BEGIN\n" + removeOld + addNew + "END"
+        };
+    }
+
+    private static String createRollupTable(String categoryColumn, String categoryType, String amountType) {
+        return """
+                CREATE TABLE IF NOT EXISTS monthly_rollups (
+                    user_id INTEGER NOT NULL,
+                    month TEXT NOT NULL,
+                    is_income INTEGER NOT NULL,
+                    %1$s %2$s NOT NULL,
+                    amount_sum %3$s NOT NULL,
+                    tx_count INTEGER NOT NULL,
+                    PRIMARY KEY (user_id, month, is_income, %1$s)
+                ) WITHOUT ROWID
+                """.formatted(categoryColumn, categoryType, amountType);
+    }
+
+    private static String createAggregateIndex(String categoryColumn) {
+        return "CREATE INDEX IF NOT EXISTS idx_transactions_user_income_date "
+                + "ON transactions(user_id, is_income, date, " + categoryColumn + ", amount)";
+    }
+
+    public static List<Migration> all() {
+        return List.of(
+                new Migration(1, "create base tables", conn -> execute(conn,
+                        """
+                        CREATE TABLE IF NOT EXISTS users (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            username TEXT NOT NULL COLLATE NOCASE UNIQUE,
+                            email TEXT NOT NULL COLLATE NOCASE UNIQUE,
+                            password_hash TEXT NOT NULL,
+                            salt TEXT NOT NULL,
+                            goal TEXT,
+                            currency_code TEXT NOT NULL DEFAULT 'USD'
+                        )
+                        """,
+                        """
+                        CREATE TABLE IF NOT EXISTS budgets (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            user_id INTEGER NOT NULL,
+                            category TEXT NOT NULL,
+                            monthly_limit REAL NOT NULL,
+                            UNIQUE(user_id, category),
+                            FOREIGN KEY (user_id) REFERENCES users(id)
+                        )
+                        """,
+                        """
+                        CREATE TABLE IF NOT EXISTS transactions (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            user_id INTEGER NOT NULL,
+                            date TEXT NOT NULL,
+                            title TEXT,
+                            amount REAL NOT NULL,
+                            is_income INTEGER NOT NULL,
+                            category TEXT NOT NULL,
+                            payment_method TEXT,
+                            notes TEXT,
+                            recurring INTEGER DEFAULT 0,
+                            recurrence_rule TEXT,
+                            FOREIGN KEY (user_id) REFERENCES users(id)
+                        )
+                        """)),
+
+                new Migration(2, "add transactions.title", conn -> {
+                    if (!columnExists(conn, "transactions", "title")) {
+                        execute(conn, "ALTER TABLE transactions ADD COLUMN title TEXT");
+                    }
+                }),
+
+                new Migration(3, "add users.currency_code", conn -> {
+                    if (!columnExists(conn, "users", "currency_code")) {
+                        execute(conn, "ALTER TABLE users ADD COLUMN currency_code TEXT NOT NULL DEFAULT 'USD'");
+                    }
+                }),
+
+                // Transaction list / recent transactions: seek by user, newest first, no sort step
+                new Migration(4, "index transactions by user and date", conn -> execute(conn,
+                        CREATE_USER_DATE_INDEX)),
+
+                // Monthly totals and per-category totals: covering index, table rows never touched
+                new Migration(5, "covering index for monthly aggregates", conn -> execute(conn,
+                        createAggregateIndex("category"))),
+
+                // Pre-aggregated month buckets. Kept in step with transactions by triggers, so every
+                // write path (single rows, bulk import, raw SQL) updates them in the same transaction.
+                new Migration(6, "monthly rollups maintained by triggers", conn -> {
+                    execute(conn, createRollupTable("category", "TEXT", "REAL"));
+                    execute(conn, rollupTriggers("category"));
+                    execute(conn, "DELETE FROM monthly_rollups", rebuildRollups("category"));
+                }),
+
+                // Amounts become INTEGER minor units of the owner's currency (cents, whole yen),
+                // so SUM() is exact. SQLite cannot change a column type in place: the table is
+                // copied, and the rollups (whose sums change type too) are rebuilt from it.
+                new Migration(7, "store amounts as integer minor units", Migrations::convertAmountsToMinorUnits),
+
+                // Categories and payment methods move to dictionary tables; rows, budgets and
+                // rollups carry integer ids. Names match case-insensitively once, here, instead
+                // of on every aggregation.
+                new Migration(8, "dictionary tables for categories and payment methods",
+                        Migrations::encodeCategoriesAndPaymentMethods),
+
+                // Per-user insight rules (InsightRule). Users without rows get the built-in defaults.
+                // category_id is only used by CATEGORY_SPEND rules; NULL there means every category.
+                new Migration(9, "configurable insight rules", conn -> execute(conn,
+                        """
+                        CREATE TABLE IF NOT EXISTS insight_rules (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            user_id INTEGER NOT NULL,
+                            name TEXT NOT NULL,
+                            metric TEXT NOT NULL,
+                            category_id INTEGER,
+                            baseline TEXT NOT NULL,
+                            window_months INTEGER NOT NULL DEFAULT 3,
+                            threshold REAL NOT NULL,
+                            direction TEXT NOT NULL DEFAULT 'UP',
+                            min_amount REAL NOT NULL DEFAULT 0,
+                            enabled INTEGER NOT NULL DEFAULT 1,
+                            FOREIGN KEY (user_id) REFERENCES users(id),
+                            FOREIGN KEY (category_id) REFERENCES categories(id)
+                        )
+                        """,
+                        "CREATE INDEX IF NOT EXISTS idx_insight_rules_user ON insight_rules(user_id)")),
+
+                // Budget threshold crossings (BudgetAlertEvaluator). One row per budget, month and
+                // threshold: the UNIQUE key is what stops an alert from being raised twice, and its
+                // user_id prefix serves the dashboard's pending-alerts read.
+                new Migration(10, "budget alerts", conn -> execute(conn,
+                        """
+                        CREATE TABLE IF NOT EXISTS budget_alerts (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT,
+                            user_id INTEGER NOT NULL,
+                            category_id INTEGER NOT NULL,
+                            month TEXT NOT NULL,
+                            threshold INTEGER NOT NULL,
+                            spent INTEGER NOT NULL,
+                            monthly_limit REAL NOT NULL,
+                            created_at TEXT NOT NULL,
+                            dismissed INTEGER NOT NULL DEFAULT 0,
+                            UNIQUE (user_id, category_id, month, threshold),
+                            FOREIGN KEY (user_id) REFERENCES users(id),
+                            FOREIGN KEY (category_id) REFERENCES categories(id)
+                        )
+                        """)),
+
+                // Scale of the user's stored amounts once it stops following the currency: switching
+                // to a currency with fewer decimals (USD -> JPY) keeps the finer scale instead of
+                // rounding rows away. NULL means the currency's own scale, which is every existing user.
+                new Migration(11, "add users.amount_scale", conn -> {
+                    if (!columnExists(conn, "users", "amount_scale")) {
+                        execute(conn, "ALTER TABLE users ADD COLUMN amount_scale INTEGER");
+                    }
+                })
+        );
+    }
+
+    private static void convertAmountsToMinorUnits(Connection conn) throws SQLException {
+        execute(conn, "CREATE TEMP TABLE amount_scale (user_id INTEGER PRIMARY KEY, factor INTEGER NOT NULL)");
+        try (Statement st = conn.createStatement();
+             ResultSet users = st.executeQuery("SELECT id, currency_code FROM users");
+             PreparedStatement ins = conn.prepareStatement("INSERT INTO amount_scale (user_id, factor) VALUES (?, ?)")) {
+            while (users.next()) {
+                ins.setInt(1, users.getInt("id"));
+                ins.setLong(2, (long) Math.pow(10, CurrencyUtil.getFractionDigits(users.getString("currency_code"))));
+                ins.executeUpdate();
+            }
+        }
+
+        copyTable(conn, "transactions",
+                """
+                CREATE TABLE transactions_copy (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    user_id INTEGER NOT NULL,
+                    date TEXT NOT NULL,
+                    title TEXT,
+                    amount INTEGER NOT NULL,
+                    is_income INTEGER NOT NULL,
+                    category TEXT NOT NULL,
+                    payment_method TEXT,
+                    notes TEXT,
+                    recurring INTEGER DEFAULT 0,
+                    recurrence_rule TEXT,
+                    FOREIGN KEY (user_id) REFERENCES users(id)
+                )
+                """,
+                // users without a row (or a currency) get the USD factor, as at runtime
+                """
+                INSERT INTO transactions_copy
+                    (id, user_id, date, title, amount, is_income, category, payment_method, notes,
+                     recurring, recurrence_rule)
+                SELECT t.id, t.user_id, t.date, t.title,
+                       CAST(ROUND(t.amount * IFNULL(s.factor, 100)) AS INTEGER),
+                       t.is_income, t.category, t.payment_method, t.notes, t.recurring, t.recurrence_rule
+                FROM transactions t
+                LEFT JOIN amount_scale s ON s.user_id = t.user_id
+                """);
+
+        execute(conn,
+                CREATE_USER_DATE_INDEX,
+                createAggregateIndex("category"),
+                "DROP TABLE monthly_rollups",
+                createRollupTable("category", "TEXT", "INTEGER"));
+        execute(conn, rollupTriggers("category"));
+        execute(conn,
+                rebuildRollups("category"),
+                "DROP TABLE temp.amount_scale");
+    }
+
+    private static void encodeCategoriesAndPaymentMethods(Connection conn) throws SQLException {
+        execute(conn,
+                // owner_id 0 = built-in, shared by every user; otherwise the user who created it
+                """
+                CREATE TABLE categories (
+                    id INTEGER PRIMARY KEY,
+                    owner_id INTEGER NOT NULL DEFAULT 0,
+                    name TEXT NOT NULL COLLATE NOCASE,
+                    UNIQUE (owner_id, name)
+                )
+                """,
+                """
+                CREATE TABLE payment_methods (
+                    id INTEGER PRIMARY KEY,
+                    name TEXT NOT NULL COLLATE NOCASE UNIQUE
+                )
+                """);
+
+        try (PreparedStatement category = conn.prepareStatement(
+                     "INSERT OR IGNORE INTO categories (owner_id, name) VALUES (0, ?)");
+             PreparedStatement method = conn.prepareStatement(
+                     "INSERT OR IGNORE INTO payment_methods (name) VALUES (?)")) {
+            for (String name : SEED_CATEGORIES) {
+                category.setString(1, name);
+                category.executeUpdate();
+            }
+            for (String name : SEED_PAYMENT_METHODS) {
+                method.setString(1, name);
+                method.executeUpdate();
+            }
+        }
+
+        // Names already in use that are not built-in become the owner's custom entries.
+        // name is COLLATE NOCASE, so 'food' maps to the built-in 'Food'.
+        execute(conn,
+                """
+                INSERT OR IGNORE INTO categories (owner_id, name)
+                SELECT DISTINCT user_id, trim(category) FROM (
+                    SELECT user_id, category FROM transactions
+                    UNION ALL
+                    SELECT user_id, category FROM budgets
+                ) used
+                WHERE trim(category) <> ''
+                  AND NOT EXISTS (SELECT 1 FROM categories c WHERE c.owner_id = 0 AND c.name = trim(used.category))
+                """,
+                """
+                INSERT OR IGNORE INTO payment_methods (name)
+                SELECT DISTINCT trim(payment_method) FROM transactions
+                WHERE payment_method IS NOT NULL AND trim(payment_method) <> ''
+                """,
+                """
+                CREATE TEMP TABLE category_map AS
+                SELECT DISTINCT u.user_id, u.category,
+                       COALESCE((SELECT id FROM categories WHERE owner_id = 0 AND name = trim(u.category)),
+                                (SELECT id FROM categories WHERE owner_id = u.user_id AND name = trim(u.category)),
+                                (SELECT id FROM categories WHERE owner_id = 0 AND name = 'Others')) AS category_id
+                FROM (SELECT user_id, category FROM transactions
+                      UNION
+                      SELECT user_id, category FROM budgets) u
+                """);
+
+        copyTable(conn, "transactions",
+                """
+                CREATE TABLE transactions_copy (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    user_id INTEGER NOT NULL,
+                    date TEXT NOT NULL,
+                    title TEXT,
+                    amount INTEGER NOT NULL,
+                    is_income INTEGER NOT NULL,
+                    category_id INTEGER NOT NULL,
+                    payment_method_id INTEGER,
+                    notes TEXT,
+                    recurring INTEGER DEFAULT 0,
+                    recurrence_rule TEXT,
+                    FOREIGN KEY (user_id) REFERENCES users(id),
+                    FOREIGN KEY (category_id) REFERENCES categories(id),
+                    FOREIGN KEY (payment_method_id) REFERENCES payment_methods(id)
+                )
+                """,
+                """
+                INSERT INTO transactions_copy
+                    (id, user_id, date, title, amount, is_income, category_id, payment_method_id, notes,
+                     recurring, recurrence_rule)
+                SELECT t.id, t.user_id, t.date, t.title, t.amount, t.is_income, m.category_id,
+                       (SELECT id FROM payment_methods p WHERE p.name = trim(t.payment_method)),
+                       t.notes, t.recurring, t.recurrence_rule
+                FROM transactions t
+                JOIN category_map m ON m.user_id = t.user_id AND m.category = t.category
+                """);
+
+        execute(conn,
+                CREATE_USER_DATE_INDEX,
+                createAggregateIndex("category_id"),
+                "DROP TABLE monthly_rollups",
+                createRollupTable("category_id", "INTEGER", "INTEGER"));
+        execute(conn, rollupTriggers("category_id"));
+
+        copyTable(conn, "budgets",
+                """
+                CREATE TABLE budgets_copy (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    user_id INTEGER NOT NULL,
+                    category_id INTEGER NOT NULL,
+                    monthly_limit REAL NOT NULL,
+                    UNIQUE(user_id, category_id),
+                    FOREIGN KEY (user_id) REFERENCES users(id),
+                    FOREIGN KEY (category_id) REFERENCES categories(id)
+                )
+                """,
+                // 'food' and 'Food' budgets of one user collapse into one; the larger limit wins
+                """
+                INSERT INTO budgets_copy (id, user_id, category_id, monthly_limit)
+                SELECT MIN(b.id), b.user_id, m.category_id, MAX(b.monthly_limit)
+                FROM budgets b
+                JOIN category_map m ON m.user_id = b.user_id AND m.category = b.category
+                GROUP BY b.user_id, m.category_id
+                """);
+
+        execute(conn,
+                rebuildRollups("category_id"),
+                "DROP TABLE temp.category_map");
+    }
+
+    /**
+     * Replaces {@code table} with {@code <table>_copy}, created by {@code createSql} and filled
+     * by {@code fillSql}. SQLite cannot change column types in place. Dropping the old table
+     * also drops its indexes and triggers; callers recreate them.
+     */
+    private static void copyTable(Connection conn, String table, String createSql, String fillSql) throws SQLException {
+        Long sequence = null;
+        try (PreparedStatement ps = conn.prepareStatement("SELECT seq FROM sqlite_sequence WHERE name = ?")) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    sequence = rs.getLong(1);
+                }
+            }
+        }
+
+        execute(conn,
+                createSql,
+                fillSql,
+                "DROP TABLE " + table,
+                "ALTER TABLE " + table + "_copy RENAME TO " + table);
+
+        // AUTOINCREMENT must never hand out ids of rows deleted before the copy
+        if (sequence != null) {
+            try (PreparedStatement update = conn.prepareStatement(
+                    "UPDATE sqlite_sequence SET seq = MAX(seq, ?) WHERE name = ?")) {
+                update.setLong(1, sequence);
+                update.setString(2, table);
+                if (update.executeUpdate() == 0) {
+                    try (PreparedStatement insert = conn.prepareStatement(
+                            "INSERT INTO sqlite_sequence (name, seq) VALUES (?, ?)")) {
+                        insert.setString(1, table);
+                        insert.setLong(2, sequence);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+        }
+    }
+}
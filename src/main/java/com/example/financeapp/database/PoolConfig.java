@@ -0,0 +1,86 @@
+package com.example.financeapp.database;
+
+/**
+ * Tunables for {@link ConnectionPool}.
+ * Defaults are sized for a single desktop user on a local SQLite file.
+ */
+public class PoolConfig {
+
+    private int maxSize = 4;                   // hard upper bound on open connections
+    private long borrowTimeoutMillis = 5_000;  // how long getConnection() waits for a free slot
+    private long idleTimeoutMillis = 60_000;   // idle connections older than this are closed
+    private int validationTimeoutSeconds = 2;  // passed to Connection.isValid()
+    private boolean validateOnBorrow = true;
+    private int statementCacheSize = 32;       // idle prepared statements kept per connection; 0 = off
+
+    public PoolConfig() {
+    }
+
+    public PoolConfig(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, got " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    public long getBorrowTimeoutMillis() {
+        return borrowTimeoutMillis;
+    }
+
+    public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    public boolean isValidateOnBorrow() {
+        return validateOnBorrow;
+    }
+
+    public void setValidateOnBorrow(boolean validateOnBorrow) {
+        this.validateOnBorrow = validateOnBorrow;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("Statement cache size cannot be negative, got " + statementCacheSize);
+        }
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    public PoolConfig copy() {
+        PoolConfig c = new PoolConfig(maxSize);
+        c.borrowTimeoutMillis = borrowTimeoutMillis;
+        c.idleTimeoutMillis = idleTimeoutMillis;
+        c.validationTimeoutSeconds = validationTimeoutSeconds;
+        c.validateOnBorrow = validateOnBorrow;
+        c.statementCacheSize = statementCacheSize;
+        return c;
+    }
+}
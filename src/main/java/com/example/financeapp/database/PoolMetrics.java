@@ -0,0 +1,118 @@
+package com.example.financeapp.database;
+
+/**
+ * Point-in-time snapshot of a {@link ConnectionPool}'s counters.
+ */
+public class PoolMetrics {
+
+    private final String poolName;
+    private final int active;
+    private final int idle;
+    private final int maxSize;
+    private final long borrowCount;
+    private final long createdCount;
+    private final long evictedCount;
+    private final long validationFailures;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long statementHits;
+    private final long statementMisses;
+    private final long statementEvictions;
+    private final int cachedStatements;
+
+    public PoolMetrics(String poolName, int active, int idle, int maxSize,
+                       long borrowCount, long createdCount, long evictedCount,
+                       long validationFailures, long totalWaitNanos, long maxWaitNanos,
+                       long statementHits, long statementMisses, long statementEvictions,
+                       int cachedStatements) {
+        this.poolName = poolName;
+        this.active = active;
+        this.idle = idle;
+        this.maxSize = maxSize;
+        this.borrowCount = borrowCount;
+        this.createdCount = createdCount;
+        this.evictedCount = evictedCount;
+        this.validationFailures = validationFailures;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.statementHits = statementHits;
+        this.statementMisses = statementMisses;
+        this.statementEvictions = statementEvictions;
+        this.cachedStatements = cachedStatements;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public int getActive() {
+        return active;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public long getEvictedCount() {
+        return evictedCount;
+    }
+
+    public long getValidationFailures() {
+        return validationFailures;
+    }
+
+    public double getAverageWaitMillis() {
+        return borrowCount == 0 ? 0.0 : (totalWaitNanos / (double) borrowCount) / 1_000_000.0;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos / 1_000_000.0;
+    }
+
+    public long getStatementHits() {
+        return statementHits;
+    }
+
+    public long getStatementMisses() {
+        return statementMisses;
+    }
+
+    public long getStatementEvictions() {
+        return statementEvictions;
+    }
+
+    /**
+     * Idle prepared statements currently held across all of the pool's connections.
+     */
+    public int getCachedStatements() {
+        return cachedStatements;
+    }
+
+    public double getStatementHitRate() {
+        long total = statementHits + statementMisses;
+        return total == 0 ? 0.0 : statementHits / (double) total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "[%s] active=%d idle=%d max=%d borrows=%d created=%d evicted=%d invalid=%d avgWait=%.3fms maxWait=%.3fms"
+                        + " stmtHits=%d stmtMisses=%d stmtEvicted=%d stmtCached=%d stmtHitRate=%.1f%%",
+                poolName, active, idle, maxSize, borrowCount, createdCount, evictedCount,
+                validationFailures, getAverageWaitMillis(), getMaxWaitMillis(),
+                statementHits, statementMisses, statementEvictions, cachedStatements,
+                getStatementHitRate() * 100);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.financeapp.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Dynamic proxy handed out by {@link ConnectionPool#borrow()}.
+ * Everything is forwarded to the physical connection except close(),
+ * which returns the connection to the pool instead of closing it, and
+ * prepareStatement(sql[, autoGeneratedKeys]), which is served from the
+ * connection's {@link StatementCache} when the pool has one.
+ * This keeps the usual try-with-resources pattern in the managers working unchanged.
+ */
+final class PooledConnection implements InvocationHandler {
+
+    private final Connection physical;
+    private final ConnectionPool pool;
+    private final StatementCache statements; // null when statement caching is off
+    private boolean closed;
+
+    private PooledConnection(Connection physical, ConnectionPool pool, StatementCache statements) {
+        this.physical = physical;
+        this.pool = pool;
+        this.statements = statements;
+    }
+
+    static Connection wrap(Connection physical, ConnectionPool pool, StatementCache statements) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new PooledConnection(physical, pool, statements));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close" -> {
+                if (!closed) {
+                    closed = true;
+                    pool.release(physical);
+                }
+                return null;
+            }
+            case "isClosed" -> {
+                return closed || physical.isClosed();
+            }
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "toString" -> {
+                return "PooledConnection[" + physical + (closed ? ", returned" : "") + "]";
+            }
+            default -> {
+                if (closed) {
+                    throw new SQLException("Connection has already been returned to the pool");
+                }
+                if (statements != null && isCacheablePrepare(method)) {
+                    int keys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                    return statements.prepare((Connection) proxy, (String) args[0], keys);
+                }
+            }
+        }
+
+        try {
+            return method.invoke(physical, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isCacheablePrepare(Method method) {
+        if (!method.getName().equals("prepareStatement")) {
+            return false;
+        }
+        Class<?>[] params = method.getParameterTypes();
+        return params.length == 1 || (params.length == 2 && params[1] == int.class);
+    }
+}
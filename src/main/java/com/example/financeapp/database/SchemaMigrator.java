@@ -0,0 +1,107 @@
+package com.example.financeapp.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Applies pending {@link Migration}s in version order.
+ *
+ * The current schema version lives in {@code PRAGMA user_version}. Each migration
+ * runs in its own transaction together with the version bump, so a failed step
+ * leaves the database at the previous version and is retried on the next start.
+ */
+public class SchemaMigrator {
+
+    private final List<Migration> migrations;
+
+    public SchemaMigrator(List<Migration> migrations) {
+        List<Migration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(Migration::getVersion));
+
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getVersion() == sorted.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Duplicate migration version " + sorted.get(i).getVersion());
+            }
+        }
+        this.migrations = sorted;
+    }
+
+    /**
+     * Brings the schema up to the latest version.
+     *
+     * @return number of migrations applied
+     */
+    public int migrate(Connection conn) throws SQLException {
+        int current = getUserVersion(conn);
+        int applied = 0;
+
+        for (Migration m : migrations) {
+            if (m.getVersion() <= current) {
+                continue;
+            }
+
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                m.apply(conn);
+                setUserVersion(conn, m.getVersion());
+                conn.commit();
+                applied++;
+                System.out.println("[Schema] Applied migration " + m);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw new SQLException("Migration " + m + " failed: " + e.getMessage(), e);
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        return applied;
+    }
+
+    public int getLatestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).getVersion();
+    }
+
+    public static int getUserVersion(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void setUserVersion(Connection conn, int version) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            // PRAGMA does not accept bind parameters; version is an int so this is safe
+            st.execute("PRAGMA user_version = " + version);
+        }
+    }
+
+    // ==========================
+    // Helpers for migration steps
+    // ==========================
+
+    public static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public static void execute(Connection conn, String... statements) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            for (String sql : statements) {
+                st.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.financeapp.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compiled statements of one physical connection, keyed by SQL text.
+ *
+ * The managers keep writing {@code try (PreparedStatement ps = conn.prepareStatement(SQL))};
+ * closing the returned statement puts it back here instead of finalizing it, so the
+ * next call with the same SQL skips SQLite's parse/plan step.
+ *
+ * A statement is either checked out (owned by one caller) or idle in the cache. Only idle
+ * statements count towards {@code maxSize}; the least recently used one is closed when
+ * the cache overflows. Preparing the same SQL twice while the first copy is still open
+ * simply compiles a second one.
+ */
+final class StatementCache {
+
+    private record Key(String sql, int autoGeneratedKeys) {}
+
+    private final Connection physical;
+    private final int maxSize;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    private final LinkedHashMap<Key, PreparedStatement> idle = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean closed;
+
+    StatementCache(Connection physical, int maxSize, LongAdder hits, LongAdder misses, LongAdder evictions) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * Returns a statement for {@code sql}; {@code owner} is what its getConnection() reports.
+     */
+    PreparedStatement prepare(Connection owner, String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        PreparedStatement ps;
+        synchronized (this) {
+            ps = idle.remove(key);
+        }
+        if (ps != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            ps = physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+        return CachedStatement.wrap(ps, key, owner, this);
+    }
+
+    /**
+     * Called when a caller closes its statement. Resets it and keeps it for the next caller.
+     */
+    void giveBack(Key key, PreparedStatement ps) {
+        try {
+            ps.clearParameters();
+            ps.clearBatch();
+        } catch (SQLException e) {
+            closeQuietly(ps); // don't reuse a statement in an unknown state
+            return;
+        }
+
+        List<PreparedStatement> toClose = new ArrayList<>(2);
+        synchronized (this) {
+            if (closed) {
+                toClose.add(ps);
+            } else {
+                PreparedStatement displaced = idle.put(key, ps);
+                if (displaced != null && displaced != ps) {
+                    toClose.add(displaced);
+                }
+                Iterator<PreparedStatement> it = idle.values().iterator();
+                while (idle.size() > maxSize && it.hasNext()) {
+                    toClose.add(it.next());
+                    it.remove();
+                    evictions.increment();
+                }
+            }
+        }
+        toClose.forEach(StatementCache::closeQuietly);
+    }
+
+    synchronized int size() {
+        return idle.size();
+    }
+
+    /**
+     * Closes every idle statement. Checked-out statements are closed when their owners give them back.
+     */
+    void close() {
+        List<PreparedStatement> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayList<>(idle.values());
+            idle.clear();
+        }
+        toClose.forEach(StatementCache::closeQuietly);
+    }
+
+    private static void closeQuietly(PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException ignored) {
+            // Statement is being discarded either way
+        }
+    }
+
+    // ==========================
+    // Statement proxy
+    // ==========================
+
+    /**
+     * What the caller actually holds. close() returns the statement to the cache; the
+     * last result set is closed first so no read snapshot outlives the caller.
+     */
+    private static final class CachedStatement implements InvocationHandler {
+
+        private final PreparedStatement physical;
+        private final Key key;
+        private final Connection owner;
+        private final StatementCache cache;
+        private ResultSet lastResultSet;
+        private boolean closed;
+
+        private CachedStatement(PreparedStatement physical, Key key, Connection owner, StatementCache cache) {
+            this.physical = physical;
+            this.key = key;
+            this.owner = owner;
+            this.cache = cache;
+        }
+
+        static PreparedStatement wrap(PreparedStatement physical, Key key, Connection owner, StatementCache cache) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new CachedStatement(physical, key, owner, cache));
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        try {
+                            if (lastResultSet != null && !lastResultSet.isClosed()) {
+                                lastResultSet.close();
+                            }
+                        } finally {
+                            cache.giveBack(key, physical);
+                        }
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || physical.isClosed();
+                }
+                case "getConnection" -> {
+                    return owner;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "CachedStatement[" + key.sql() + (closed ? ", returned" : "") + "]";
+                }
+                default -> {
+                    if (closed) {
+                        throw new SQLException("Statement has already been closed");
+                    }
+                }
+            }
+
+            Object result;
+            try {
+                result = method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet rs) {
+                lastResultSet = rs;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.financeapp.export;
+
+import com.example.financeapp.models.Money;
+import com.example.financeapp.models.Transaction;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes a {@link RangeReport} as an .xlsx workbook (Apache POI) with a Summary sheet,
+ * a Categories pivot (net amount per category and month), a Transactions sheet and one
+ * sheet per month.
+ *
+ * Built on SXSSF: each sheet keeps only the last {@code rowWindow} rows in memory and
+ * spills older ones to a temp file, and month sheets are flushed as soon as the stream
+ * moves past them. Column widths come from the longest value written to each column
+ * rather than autoSizeColumn, which would re-measure every cell.
+ *
+ * Kept out of the controllers so POI, which is large, is only loaded the first
+ * time a workbook is actually exported.
+ */
+public class ExcelReportExporter implements ReportExporter {
+
+    public static final int DEFAULT_ROW_WINDOW = 100;
+
+    // rows between progress callbacks and interrupt checks
+    static final int PROGRESS_ROWS = 1_000;
+
+    private static final String[] TRANSACTION_HEADERS = {"Date", "Title", "Category", "Amount"};
+    private static final int MAX_COLUMN_CHARS = 80;
+
+    private final int rowWindow;
+
+    public ExcelReportExporter() {
+        this(DEFAULT_ROW_WINDOW);
+    }
+
+    /**
+     * @param rowWindow rows per sheet kept in memory while writing
+     */
+    public ExcelReportExporter(int rowWindow) {
+        if (rowWindow < 1) {
+            throw new IllegalArgumentException("rowWindow must be positive, got " + rowWindow);
+        }
+        this.rowWindow = rowWindow;
+    }
+
+    @Override
+    public long export(RangeReport report, File file, ExportProgressListener listener) throws IOException {
+        boolean done = false;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            long rows = write(report, out, listener);
+            done = true;
+            return rows;
+        } finally {
+            if (!done) {
+                file.delete(); // no half-written workbooks left behind
+            }
+        }
+    }
+
+    private long write(RangeReport report, OutputStream out, ExportProgressListener listener) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+        try {
+            int scale = report.getScale();
+            long total = report.getTransactionCount();
+
+            // Summary sheet (totals are known before the rows)
+            SheetWriter summary = new SheetWriter(workbook.createSheet("Summary"), 2);
+            summary.text(summary.newRow(), 0, "Finance Report - " + report.getLabel());
+            summary.newRow();
+            summaryRow(summary, "Income", report.getIncome());
+            summaryRow(summary, "Expenses", report.getExpenses());
+            summaryRow(summary, "Balance", report.getBalance());
+
+            // Transactions sheet plus one sheet per month; rows arrive oldest first
+            YearMonth firstMonth = YearMonth.from(report.getFrom());
+            int monthCount = (int) firstMonth.until(YearMonth.from(report.getTo()), ChronoUnit.MONTHS) + 1;
+            Map<String, long[]> pivot = new TreeMap<>(String.CASE_INSENSITIVE_ORDER); // minor units per month
+
+            SheetWriter all = transactionSheet(workbook, "Transactions");
+            SheetWriter[] month = {null};
+            YearMonth[] currentMonth = {null};
+            long[] written = {0};
+
+            report.getRows().forEach(t -> {
+                YearMonth ym = YearMonth.from(t.getDate());
+                if (!ym.equals(currentMonth[0])) {
+                    if (month[0] != null) {
+                        month[0].finish(); // this month is complete: free its rows now
+                    }
+                    currentMonth[0] = ym;
+                    month[0] = transactionSheet(workbook, ym.toString());
+                }
+                transactionRow(all, t);
+                transactionRow(month[0], t);
+
+                String category = t.getCategory() != null ? t.getCategory() : "";
+                int m = (int) firstMonth.until(ym, ChronoUnit.MONTHS);
+                if (m >= 0 && m < monthCount) {
+                    pivot.computeIfAbsent(category, c -> new long[monthCount])[m] += Money.toMinor(t.getAmount(), scale);
+                }
+
+                if (++written[0] % PROGRESS_ROWS == 0) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("Excel export cancelled");
+                    }
+                    if (listener != null) {
+                        listener.onProgress(written[0], Math.max(total, written[0]));
+                    }
+                }
+                return true;
+            });
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Excel export cancelled");
+            }
+            if (month[0] != null) {
+                month[0].finish();
+            }
+            all.finish();
+            summary.finish();
+
+            writePivot(workbook, pivot, firstMonth, monthCount, scale);
+            workbook.setSheetOrder("Categories", 1);
+
+            workbook.write(out);
+            if (listener != null) {
+                listener.onProgress(written[0], written[0]);
+            }
+            return written[0];
+        } finally {
+            workbook.dispose(); // deletes the temp files of flushed rows
+            workbook.close();
+        }
+    }
+
+    private static void summaryRow(SheetWriter sheet, String label, double value) {
+        Row row = sheet.newRow();
+        sheet.text(row, 0, label);
+        sheet.number(row, 1, value);
+    }
+
+    private static SheetWriter transactionSheet(SXSSFWorkbook workbook, String name) {
+        SheetWriter sheet = new SheetWriter(workbook.createSheet(name), TRANSACTION_HEADERS.length);
+        Row header = sheet.newRow();
+        for (int c = 0; c < TRANSACTION_HEADERS.length; c++) {
+            sheet.text(header, c, TRANSACTION_HEADERS[c]);
+        }
+        return sheet;
+    }
+
+    private static void transactionRow(SheetWriter sheet, Transaction t) {
+        Row row = sheet.newRow();
+        sheet.text(row, 0, t.getDate() != null ? t.getDate().toString() : "");
+        sheet.text(row, 1, RangeReport.displayTitle(t));
+        sheet.text(row, 2, t.getCategory() != null ? t.getCategory() : "");
+        sheet.number(row, 3, t.getAmount());
+    }
+
+    /**
+     * Category rows, month columns and a total column. Small (categories x months), written last.
+     */
+    private static void writePivot(SXSSFWorkbook workbook, Map<String, long[]> pivot, YearMonth firstMonth,
+                                   int monthCount, int scale) throws IOException {
+        SheetWriter sheet = new SheetWriter(workbook.createSheet("Categories"), monthCount + 2);
+        Row header = sheet.newRow();
+        sheet.text(header, 0, "Category");
+        for (int m = 0; m < monthCount; m++) {
+            sheet.text(header, m + 1, firstMonth.plusMonths(m).toString());
+        }
+        sheet.text(header, monthCount + 1, "Total");
+
+        for (Map.Entry<String, long[]> entry : pivot.entrySet()) {
+            Row row = sheet.newRow();
+            sheet.text(row, 0, entry.getKey());
+            long sum = 0;
+            for (int m = 0; m < monthCount; m++) {
+                long value = entry.getValue()[m];
+                sum += value;
+                if (value != 0) {
+                    sheet.number(row, m + 1, Money.toMajor(value, scale));
+                }
+            }
+            sheet.number(row, monthCount + 1, Money.toMajor(sum, scale));
+        }
+        sheet.finish();
+    }
+
+    /**
+     * Appends rows to one sheet and tracks the widest value of each column.
+     */
+    private static final class SheetWriter {
+
+        private final SXSSFSheet sheet;
+        private final int[] widths;
+        private int nextRow;
+
+        SheetWriter(SXSSFSheet sheet, int columns) {
+            this.sheet = sheet;
+            this.widths = new int[columns];
+        }
+
+        Row newRow() {
+            return sheet.createRow(nextRow++);
+        }
+
+        void text(Row row, int column, String value) {
+            row.createCell(column).setCellValue(value);
+            track(column, value.length());
+        }
+
+        void number(Row row, int column, double value) {
+            row.createCell(column).setCellValue(value);
+            // digits before the point, sign, point and two decimals
+            track(column, (int) Math.log10(Math.abs(value) + 1) + 5);
+        }
+
+        private void track(int column, int chars) {
+            if (chars > widths[column]) {
+                widths[column] = chars;
+            }
+        }
+
+        /**
+         * Applies the tracked widths and writes the rows still held in memory to the temp file.
+         */
+        void finish() throws IOException {
+            for (int c = 0; c < widths.length; c++) {
+                int chars = Math.min(MAX_COLUMN_CHARS, Math.max(widths[c], 4) + 2);
+                sheet.setColumnWidth(c, chars * 256);
+            }
+            sheet.flushRows();
+        }
+    }
+}
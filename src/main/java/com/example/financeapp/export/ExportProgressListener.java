@@ -0,0 +1,14 @@
+package com.example.financeapp.export;
+
+/**
+ * Progress callback of the report exporters, called on the exporting thread.
+ */
+@FunctionalInterface
+public interface ExportProgressListener {
+
+    /**
+     * @param rowsWritten transactions written so far
+     * @param totalRows   expected total ({@link RangeReport#getTransactionCount()})
+     */
+    void onProgress(long rowsWritten, long totalRows);
+}
@@ -0,0 +1,126 @@
+package com.example.financeapp.export;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a {@link RangeReport} as PDF (OpenPDF).
+ *
+ * Rows are streamed from the report into an incomplete table that is added to the document
+ * every {@link #FLUSH_ROWS} rows; OpenPDF then writes the finished rows out and drops them,
+ * so memory stays flat however long the range.
+ *
+ * Kept out of the controllers so OpenPDF classes are only loaded the first time
+ * a PDF is actually exported, not while the Reports screen starts up.
+ */
+public class PdfReportExporter implements ReportExporter {
+
+    static final int FLUSH_ROWS = 200;
+
+    /**
+     * Progress is reported after every flush.
+     */
+    @Override
+    public long export(RangeReport report, File file, ExportProgressListener listener) throws IOException {
+        boolean done = false;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            long rows = write(report, out, listener);
+            done = true;
+            return rows;
+        } finally {
+            if (!done) {
+                file.delete(); // no half-written reports left behind
+            }
+        }
+    }
+
+    private long write(RangeReport report, OutputStream out, ExportProgressListener listener) throws IOException {
+        String symbol = report.getCurrencySymbol();
+        long total = report.getTransactionCount();
+
+        Document document = new Document();
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+
+            document.add(new Paragraph("Finance Report - " + report.getLabel()));
+            document.add(new Paragraph("User: " + report.getUsername()));
+            document.add(new Paragraph(" "));
+
+            document.add(new Paragraph(String.format("Income: %s%.2f", symbol, report.getIncome())));
+            document.add(new Paragraph(String.format("Expenses: %s%.2f", symbol, report.getExpenses())));
+            document.add(new Paragraph(String.format("Balance: %s%.2f", symbol, report.getBalance())));
+            document.add(new Paragraph(" "));
+
+            document.add(new Paragraph("Transactions (" + report.getLabel() + "):"));
+            document.add(new Paragraph(" "));
+
+            PdfPTable table = new PdfPTable(4); // Date, Title, Category, Amount
+            table.setWidthPercentage(100);
+            table.setHeaderRows(1);  // repeated on every page
+            table.setComplete(false); // lets document.add() flush the rows written so far
+            table.addCell("Date");
+            table.addCell("Title");
+            table.addCell("Category");
+            table.addCell("Amount");
+
+            long[] written = {0};
+            report.getRows().forEach(t -> {
+                table.addCell(t.getDate() != null ? t.getDate().toString() : "");
+                table.addCell(RangeReport.displayTitle(t));
+                table.addCell(t.getCategory() != null ? t.getCategory() : "");
+                table.addCell(String.format("%s%.2f", symbol, t.getAmount()));
+
+                if (++written[0] % FLUSH_ROWS == 0) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("PDF export cancelled");
+                    }
+                    flush(document, table);
+                    if (listener != null) {
+                        listener.onProgress(written[0], Math.max(total, written[0]));
+                    }
+                }
+                return true;
+            });
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("PDF export cancelled");
+            }
+
+            table.setComplete(true);
+            if (written[0] == 0) {
+                document.add(new Paragraph("No transactions in this period."));
+            } else {
+                document.add(table);
+            }
+            if (listener != null) {
+                listener.onProgress(written[0], written[0]);
+            }
+
+            document.close(); // writes the trailer; must happen before the stream is closed
+            return written[0];
+        } catch (DocumentException e) {
+            throw new IOException("Could not write PDF: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the table's finished rows and releases them (the table is still incomplete).
+     */
+    private static void flush(Document document, PdfPTable table) throws IOException {
+        try {
+            document.add(table);
+        } catch (DocumentException e) {
+            throw new IOException("Could not write PDF: " + e.getMessage(), e);
+        }
+    }
+}
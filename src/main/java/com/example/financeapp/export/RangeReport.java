@@ -0,0 +1,118 @@
+package com.example.financeapp.export;
+
+import com.example.financeapp.models.Transaction;
+import com.example.financeapp.models.TransactionHandler;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Everything the report exporters print for a date range. The totals are known up
+ * front; the transactions are not held here but streamed from {@link RowSource} while
+ * the file is written, so a report over years of data needs no more memory than one
+ * over a week. Amounts keep the database signs: income positive, expenses negative.
+ */
+public class RangeReport {
+
+    /**
+     * Pushes the report's transactions, oldest first, into a handler.
+     * Usually {@code handler -> transactionManager.forEachTransaction(userId, from, to, handler)}.
+     */
+    @FunctionalInterface
+    public interface RowSource {
+        long forEach(TransactionHandler handler) throws IOException;
+    }
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMM yyyy");
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("d MMM yyyy");
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final String username;
+    private final String currencySymbol;
+    private final int scale;
+    private final double income;
+    private final double expenses;
+    private final long transactionCount;
+    private final RowSource rows;
+
+    public RangeReport(LocalDate from, LocalDate to, String username, String currencySymbol, int scale,
+                       double income, double expenses, long transactionCount, RowSource rows) {
+        this.from = from;
+        this.to = to;
+        this.username = username;
+        this.currencySymbol = currencySymbol;
+        this.scale = scale;
+        this.income = income;
+        this.expenses = expenses;
+        this.transactionCount = transactionCount;
+        this.rows = rows;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * "Mar 2024" for a whole calendar month, "3 Mar 2024 - 9 Mar 2024" otherwise.
+     */
+    public String getLabel() {
+        YearMonth month = YearMonth.from(from);
+        if (from.equals(month.atDay(1)) && to.equals(month.atEndOfMonth())) {
+            return month.format(MONTH_FORMAT);
+        }
+        return from.format(DAY_FORMAT) + " - " + to.format(DAY_FORMAT);
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getCurrencySymbol() {
+        return currencySymbol;
+    }
+
+    /**
+     * Decimal places of the user's currency; exporters that add amounts up do it in minor units.
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    public double getIncome() {
+        return income;
+    }
+
+    public double getExpenses() {
+        return expenses;
+    }
+
+    public double getBalance() {
+        return income + expenses; // expenses are negative
+    }
+
+    /**
+     * Expected number of rows, for progress; the stream may differ slightly if rows change meanwhile.
+     */
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public RowSource getRows() {
+        return rows;
+    }
+
+    /**
+     * Title shown for a transaction; older rows have no title and fall back to the category.
+     */
+    static String displayTitle(Transaction t) {
+        String title = (t.getTitle() == null || t.getTitle().isBlank()) ? t.getCategory() : t.getTitle();
+        return title != null ? title : "";
+    }
+}
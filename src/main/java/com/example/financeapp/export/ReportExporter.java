@@ -0,0 +1,20 @@
+package com.example.financeapp.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * Writes a {@link RangeReport} to a file, streaming its rows.
+ *
+ * Implementations run off the FX thread; an interrupt of the exporting thread stops the
+ * export with an {@link InterruptedIOException} and the partial file is removed.
+ */
+public interface ReportExporter {
+
+    /**
+     * @param listener optional progress callback (may be null)
+     * @return number of transactions written
+     */
+    long export(RangeReport report, File file, ExportProgressListener listener) throws IOException;
+}
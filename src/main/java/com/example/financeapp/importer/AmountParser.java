@@ -0,0 +1,66 @@
+package com.example.financeapp.importer;
+
+/**
+ * Parses the amount formats found in bank exports:
+ * "1234.56", "-1,234.56", "1.234,56", "$12.00", "(45.10)", "12.50 EUR".
+ */
+final class AmountParser {
+
+    private AmountParser() {}
+
+    static double parse(String raw) {
+        if (raw == null) {
+            throw new NumberFormatException("empty amount");
+        }
+
+        String s = raw.trim();
+        boolean negative = false;
+
+        // Accounting style negatives: (45.10)
+        if (s.startsWith("(") && s.endsWith(")")) {
+            negative = true;
+            s = s.substring(1, s.length() - 1);
+        }
+
+        // Keep digits, separators and sign only (drops currency symbols, spaces, codes)
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if ((c >= '0' && c <= '9') || c == '.' || c == ',') {
+                sb.append(c);
+            } else if (c == '-' || c == '−') {
+                negative = !negative;
+            }
+        }
+        String digits = sb.toString();
+        if (digits.isEmpty()) {
+            throw new NumberFormatException("no digits in amount '" + raw + "'");
+        }
+
+        int lastDot = digits.lastIndexOf('.');
+        int lastComma = digits.lastIndexOf(',');
+
+        String normalized;
+        if (lastDot >= 0 && lastComma >= 0) {
+            // Whichever separator comes last is the decimal separator
+            if (lastComma > lastDot) {
+                normalized = digits.replace(".", "").replace(',', '.');
+            } else {
+                normalized = digits.replace(",", "");
+            }
+        } else if (lastComma >= 0) {
+            // "12,50" is a decimal comma; "1,234" and "1,234,567" use thousands separators
+            int decimals = digits.length() - lastComma - 1;
+            boolean thousands = decimals == 3 || digits.indexOf(',') != lastComma;
+            normalized = thousands ? digits.replace(",", "") : digits.replace(',', '.');
+        } else if (lastDot >= 0 && digits.indexOf('.') != lastDot) {
+            // "1.234.567" (dots as thousands separators)
+            normalized = digits.replace(".", "");
+        } else {
+            normalized = digits;
+        }
+
+        double value = Double.parseDouble(normalized);
+        return negative ? -value : value;
+    }
+}
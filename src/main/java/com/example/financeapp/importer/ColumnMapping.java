@@ -0,0 +1,198 @@
+package com.example.financeapp.importer;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tells {@link CsvStatementReader} which CSV columns hold which Transaction fields.
+ * Column indexes are 0-based; -1 means "not present in this file".
+ */
+public class ColumnMapping {
+
+    // Date formats seen in bank exports, most specific first. Day-first wins over month-first
+    // when every sampled date fits both (e.g. 03/04/2024).
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            datePattern("uuuu/M/d"),
+            datePattern("d.M.uuuu"),
+            datePattern("d/M/uuuu"),
+            datePattern("M/d/uuuu"),
+            datePattern("d-M-uuuu"),
+            datePattern("M-d-uuuu"),
+            datePattern("d MMM uuuu"),
+            datePattern("uuuuMMdd"));
+
+    private int dateColumn = -1;
+    private int titleColumn = -1;
+    private int amountColumn = -1;
+    private int incomeFlagColumn = -1;   // optional: "credit"/"debit", "income"/"expense", ...
+    private int categoryColumn = -1;     // optional
+
+    private char delimiter = ',';
+    private boolean hasHeader = true;
+    private DateTimeFormatter dateFormat = DateTimeFormatter.ISO_LOCAL_DATE;
+    private String defaultCategory = "Others";
+
+    /**
+     * Guesses the mapping from a header row using common bank export column names.
+     * Unknown columns are ignored; date and amount are required.
+     */
+    public static ColumnMapping fromHeader(String[] header) {
+        ColumnMapping m = new ColumnMapping();
+
+        for (int i = 0; i < header.length; i++) {
+            String name = header[i] == null ? "" : header[i].trim().toLowerCase(Locale.ROOT);
+
+            switch (name) {
+                case "date", "transaction date", "posted date", "booking date", "value date" -> {
+                    if (m.dateColumn < 0) m.dateColumn = i;
+                }
+                case "title", "description", "payee", "name", "merchant", "details" -> {
+                    if (m.titleColumn < 0) m.titleColumn = i;
+                }
+                case "amount", "value", "sum" -> {
+                    if (m.amountColumn < 0) m.amountColumn = i;
+                }
+                case "type", "credit/debit", "debit/credit", "income", "direction" -> {
+                    if (m.incomeFlagColumn < 0) m.incomeFlagColumn = i;
+                }
+                case "category" -> {
+                    if (m.categoryColumn < 0) m.categoryColumn = i;
+                }
+                default -> {
+                    // not a column we map
+                }
+            }
+        }
+
+        if (m.dateColumn < 0 || m.amountColumn < 0) {
+            throw new IllegalArgumentException(
+                    "CSV header needs at least a date and an amount column: " + String.join(",", header));
+        }
+        return m;
+    }
+
+    /**
+     * Interprets an income-flag cell. Returns null when the value is not recognised,
+     * in which case the sign of the amount decides.
+     */
+    static Boolean parseIncomeFlag(String value) {
+        if (value == null) return null;
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "income", "credit", "cr", "in", "deposit", "true", "1", "+" -> Boolean.TRUE;
+            case "expense", "debit", "dr", "out", "withdrawal", "false", "0", "-" -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    /**
+     * Picks the date format that parses the most of {@code samples} (date cells from the
+     * first data rows). Returns null when none parses any of them.
+     */
+    static DateTimeFormatter detectDateFormat(List<String> samples) {
+        DateTimeFormatter best = null;
+        int bestCount = 0;
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            int count = 0;
+            for (String sample : samples) {
+                try {
+                    LocalDate.parse(sample.trim(), format);
+                    count++;
+                } catch (DateTimeParseException e) {
+                    // not this format
+                }
+            }
+            if (count > bestCount) {
+                best = format;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    private static DateTimeFormatter datePattern(String pattern) {
+        return DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH).withResolverStyle(ResolverStyle.STRICT);
+    }
+
+    // ========= Getters & Setters =========
+
+    public int getDateColumn() {
+        return dateColumn;
+    }
+
+    public void setDateColumn(int dateColumn) {
+        this.dateColumn = dateColumn;
+    }
+
+    public int getTitleColumn() {
+        return titleColumn;
+    }
+
+    public void setTitleColumn(int titleColumn) {
+        this.titleColumn = titleColumn;
+    }
+
+    public int getAmountColumn() {
+        return amountColumn;
+    }
+
+    public void setAmountColumn(int amountColumn) {
+        this.amountColumn = amountColumn;
+    }
+
+    public int getIncomeFlagColumn() {
+        return incomeFlagColumn;
+    }
+
+    public void setIncomeFlagColumn(int incomeFlagColumn) {
+        this.incomeFlagColumn = incomeFlagColumn;
+    }
+
+    public int getCategoryColumn() {
+        return categoryColumn;
+    }
+
+    public void setCategoryColumn(int categoryColumn) {
+        this.categoryColumn = categoryColumn;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public void setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    public boolean hasHeader() {
+        return hasHeader;
+    }
+
+    public void setHasHeader(boolean hasHeader) {
+        this.hasHeader = hasHeader;
+    }
+
+    public DateTimeFormatter getDateFormat() {
+        return dateFormat;
+    }
+
+    public void setDateFormat(DateTimeFormatter dateFormat) {
+        this.dateFormat = dateFormat;
+    }
+
+    public void setDatePattern(String pattern) {
+        this.dateFormat = DateTimeFormatter.ofPattern(pattern);
+    }
+
+    public String getDefaultCategory() {
+        return defaultCategory;
+    }
+
+    public void setDefaultCategory(String defaultCategory) {
+        this.defaultCategory = defaultCategory;
+    }
+}
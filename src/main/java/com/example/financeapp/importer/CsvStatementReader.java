@@ -0,0 +1,233 @@
+package com.example.financeapp.importer;
+
+import com.example.financeapp.models.Transaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Streams transactions out of a CSV bank export.
+ * Supports quoted fields (including embedded delimiters, doubled quotes and line breaks).
+ */
+public class CsvStatementReader extends StatementReader {
+
+    // A quoted field may span lines, but not the rest of the file: past this the quote is unbalanced
+    static final int MAX_RECORD_LINES = 50;
+
+    // Data rows read ahead to guess the date format
+    private static final int DATE_SAMPLE_LINES = 20;
+
+    private final ColumnMapping mapping;
+    private long lineNumber;
+
+    // lines read but not consumed yet (date sample, or the tail of an unterminated record)
+    private final Deque<String> pushedBack = new ArrayDeque<>();
+
+    /**
+     * Uses the given mapping. If the mapping says the file has a header, the first record is skipped.
+     */
+    public CsvStatementReader(BufferedReader reader, int userId, ColumnMapping mapping) throws IOException {
+        super(reader, userId);
+        this.mapping = mapping;
+        if (mapping.hasHeader()) {
+            readRecord();
+        }
+    }
+
+    /**
+     * Reads the header row and guesses the column mapping from it, and the date format
+     * from the first data rows.
+     */
+    public static CsvStatementReader withDetectedColumns(BufferedReader reader, int userId) throws IOException {
+        String first = reader.readLine();
+        if (first == null) {
+            throw new IOException("CSV file is empty");
+        }
+        if (first.startsWith("\uFEFF")) {
+            first = first.substring(1); // UTF-8 BOM written by Excel
+        }
+
+        char delimiter = detectDelimiter(first);
+        String[] header = splitLine(first, delimiter).toArray(new String[0]);
+
+        ColumnMapping mapping = ColumnMapping.fromHeader(header);
+        mapping.setDelimiter(delimiter);
+        mapping.setHasHeader(false); // already consumed
+
+        List<String> sample = new ArrayList<>();
+        List<String> dates = new ArrayList<>();
+        String line;
+        while (sample.size() < DATE_SAMPLE_LINES && (line = reader.readLine()) != null) {
+            sample.add(line);
+            List<String> fields = splitLine(line, delimiter);
+            if (mapping.getDateColumn() < fields.size()) {
+                dates.add(fields.get(mapping.getDateColumn()));
+            }
+        }
+        DateTimeFormatter dateFormat = ColumnMapping.detectDateFormat(dates);
+        if (dateFormat != null) {
+            mapping.setDateFormat(dateFormat);
+        }
+
+        CsvStatementReader csv = new CsvStatementReader(reader, userId, mapping);
+        csv.pushedBack.addAll(sample);
+        csv.lineNumber = 1;
+        return csv;
+    }
+
+    @Override
+    protected Transaction readNext() throws IOException {
+        while (true) {
+            List<String> fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue; // empty line
+            }
+
+            try {
+                return toTransaction(fields);
+            } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+                reject("line " + lineNumber, e.getMessage());
+            }
+        }
+    }
+
+    private Transaction toTransaction(List<String> f) {
+        LocalDate date = LocalDate.parse(f.get(mapping.getDateColumn()).trim(), mapping.getDateFormat());
+        double amount = AmountParser.parse(f.get(mapping.getAmountColumn()));
+
+        Boolean incomeFlag = mapping.getIncomeFlagColumn() >= 0
+                ? ColumnMapping.parseIncomeFlag(cell(f, mapping.getIncomeFlagColumn()))
+                : null;
+        boolean income = incomeFlag != null ? incomeFlag : amount > 0;
+
+        // App convention: income positive, expenses negative
+        amount = income ? Math.abs(amount) : -Math.abs(amount);
+
+        String title = cell(f, mapping.getTitleColumn());
+        String category = cell(f, mapping.getCategoryColumn());
+        if (category == null || category.isBlank()) {
+            category = mapping.getDefaultCategory();
+        }
+
+        return new Transaction(userId, date, title, amount, income,
+                category.trim(), null, null, false, null);
+    }
+
+    private static String cell(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) return null;
+        String v = fields.get(index);
+        return v == null ? null : v.trim();
+    }
+
+    // ==========================
+    // CSV tokenizing
+    // ==========================
+
+    /**
+     * Reads one logical record, joining physical lines while inside a quoted field.
+     * A quote still open after {@link #MAX_RECORD_LINES} lines (or at end of input) is
+     * unbalanced: its first line is rejected and reading resumes on the line after it.
+     */
+    private List<String> readRecord() throws IOException {
+        while (true) {
+            String line = nextLine();
+            if (line == null) return null;
+            if (!endsInQuotes(line, false)) {
+                return splitLine(line, mapping.getDelimiter());
+            }
+
+            long firstLine = lineNumber;
+            List<String> lines = new ArrayList<>();
+            lines.add(line);
+            boolean inQuotes = true;
+            while (inQuotes && lines.size() < MAX_RECORD_LINES) {
+                String more = nextLine();
+                if (more == null) break;
+                lines.add(more);
+                inQuotes = endsInQuotes(more, true);
+            }
+            if (!inQuotes) {
+                return splitLine(String.join("\n", lines), mapping.getDelimiter());
+            }
+
+            reject("line " + firstLine, "unterminated quoted field");
+            for (int i = lines.size() - 1; i > 0; i--) {
+                pushedBack.addFirst(lines.get(i));
+            }
+            lineNumber = firstLine;
+        }
+    }
+
+    private String nextLine() throws IOException {
+        String line = pushedBack.isEmpty() ? reader.readLine() : pushedBack.removeFirst();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+
+    /**
+     * Quote state at the end of {@code line}, given the state at its start. Only the new
+     * line is scanned, so joining a long record stays linear.
+     */
+    private static boolean endsInQuotes(String line, boolean inQuotes) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') inQuotes = !inQuotes;
+        }
+        return inQuotes;
+    }
+
+    static List<String> splitLine(CharSequence line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inQuotes = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"'); // escaped quote
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+            } else if (c == delimiter) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static char detectDelimiter(String headerLine) {
+        char best = ',';
+        int bestCount = 0;
+        for (char candidate : new char[]{',', ';', '\t', '|'}) {
+            int count = splitLine(headerLine, candidate).size();
+            if (count > bestCount) {
+                best = candidate;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.financeapp.importer;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.models.Money;
+import com.example.financeapp.models.Transaction;
+import com.example.financeapp.models.UserCurrencyScales;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Drops statement rows that are already stored for the user, so re-importing an
+ * overlapping export does not double-count.
+ *
+ * A row is a duplicate when an existing transaction has the same date, amount and
+ * title. Identical rows are matched one-to-one: if the database holds two identical
+ * coffees on a day and the file has three, one is imported. Only rows that existed
+ * before the import started are considered, so rows committed by earlier chunks of
+ * the same import never hide later ones.
+ *
+ * Each lookup is a point query on idx_transactions_user_date; memory only grows with
+ * the number of rows that actually match existing data.
+ */
+public class DuplicateFilter implements Iterator<Transaction>, AutoCloseable {
+
+    private static final String SQL_MATCHES = """
+            SELECT COUNT(*)
+            FROM transactions
+            WHERE user_id = ?
+              AND date = ?
+              AND amount = ?
+              AND IFNULL(title, '') = ?
+              AND id <= ?
+            """;
+
+    private final Iterator<Transaction> source;
+    private final int userId;
+    private final Connection conn;
+    private final PreparedStatement ps;
+    private final long maxExistingId;
+    private final int scale; // decimal places of the user's stored amounts
+
+    // key -> existing matches not yet paired with a file row
+    private final Map<String, Integer> remainingMatches = new HashMap<>();
+
+    private Transaction lookahead;
+    private long skipped;
+
+    public DuplicateFilter(Iterator<Transaction> source, int userId) throws SQLException {
+        this.source = source;
+        this.userId = userId;
+        this.conn = Database.getReadConnection();
+        try {
+            this.maxExistingId = queryMaxId(conn);
+            this.scale = UserCurrencyScales.forUser(conn, userId);
+            this.ps = conn.prepareStatement(SQL_MATCHES);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (lookahead == null && source.hasNext()) {
+            Transaction candidate = source.next();
+            if (isDuplicate(candidate)) {
+                skipped++;
+            } else {
+                lookahead = candidate;
+            }
+        }
+        return lookahead != null;
+    }
+
+    @Override
+    public Transaction next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Transaction t = lookahead;
+        lookahead = null;
+        return t;
+    }
+
+    public long getSkippedCount() {
+        return skipped;
+    }
+
+    private boolean isDuplicate(Transaction t) {
+        String title = t.getTitle() == null ? "" : t.getTitle();
+        long amount;
+        try {
+            amount = Money.toMinor(t.getAmount(), scale);
+        } catch (ArithmeticException | NumberFormatException e) {
+            return false; // cannot match anything stored; the insert reports it
+        }
+        String key = t.getDate() + "|" + amount + "|" + title;
+
+        Integer remaining = remainingMatches.get(key);
+        if (remaining == null) {
+            remaining = countExisting(t, amount, title);
+        }
+        if (remaining == 0) {
+            return false;
+        }
+        remainingMatches.put(key, remaining - 1);
+        return true;
+    }
+
+    private int countExisting(Transaction t, long amount, String title) {
+        if (maxExistingId == 0) {
+            return 0; // user had nothing stored before this import
+        }
+        try {
+            ps.setInt(1, userId);
+            ps.setString(2, t.getDate().toString());
+            ps.setLong(3, amount);
+            ps.setString(4, title);
+            ps.setLong(5, maxExistingId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    private long queryMaxId(Connection c) throws SQLException {
+        try (PreparedStatement max = c.prepareStatement(
+                "SELECT IFNULL(MAX(id), 0) FROM transactions WHERE user_id = ?")) {
+            max.setInt(1, userId);
+            try (ResultSet rs = max.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            ps.close();
+        } finally {
+            conn.close();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.financeapp.importer;
+
+import com.example.financeapp.models.Categories;
+import com.example.financeapp.models.Transaction;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Streams transactions out of an OFX statement (both SGML OFX 1.x, where leaf
+ * tags are not closed, and XML OFX 2.x).
+ *
+ * Only {@code <STMTTRN>} blocks are read: DTPOSTED, TRNAMT, NAME and MEMO.
+ * The tokenizer works character by character, so the file is never held in memory.
+ */
+public class OfxStatementReader extends StatementReader {
+
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.BASIC_ISO_DATE; // yyyyMMdd
+
+    private final String defaultCategory;
+    private int transactionIndex;
+
+    public OfxStatementReader(BufferedReader reader, int userId) {
+        this(reader, userId, Categories.OTHERS);
+    }
+
+    public OfxStatementReader(BufferedReader reader, int userId, String defaultCategory) {
+        super(reader, userId);
+        this.defaultCategory = defaultCategory;
+    }
+
+    @Override
+    protected Transaction readNext() throws IOException {
+        while (true) {
+            if (!skipToTransactionStart()) {
+                return null;
+            }
+            transactionIndex++;
+
+            String posted = null, amount = null, name = null, memo = null;
+
+            String tag;
+            while ((tag = readTag()) != null) {
+                String upper = tag.toUpperCase(Locale.ROOT);
+                if (upper.equals("/STMTTRN")) {
+                    break;
+                }
+                if (upper.startsWith("/")) {
+                    continue; // closing tag of a leaf element (XML flavour)
+                }
+                String value = readText();
+                switch (upper) {
+                    case "DTPOSTED" -> posted = value;
+                    case "TRNAMT" -> amount = value;
+                    case "NAME" -> name = value;
+                    case "MEMO" -> memo = value;
+                    default -> {
+                        // FITID, TRNTYPE, CHECKNUM... not mapped
+                    }
+                }
+            }
+
+            try {
+                return toTransaction(posted, amount, name, memo);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                reject("STMTTRN #" + transactionIndex, e.getMessage());
+            }
+        }
+    }
+
+    private Transaction toTransaction(String posted, String amountText, String name, String memo) {
+        if (posted == null || posted.length() < 8) {
+            throw new DateTimeParseException("missing DTPOSTED", String.valueOf(posted), 0);
+        }
+        // DTPOSTED may carry time and zone: 20240131120000.000[-5:EST]
+        LocalDate date = LocalDate.parse(posted.substring(0, 8), OFX_DATE);
+        double amount = AmountParser.parse(amountText);
+        boolean income = amount > 0;
+
+        String title = (name != null && !name.isBlank()) ? name : memo;
+        String notes = (name != null && !name.isBlank()) ? memo : null;
+
+        return new Transaction(userId, date, title, amount, income,
+                defaultCategory, null, notes, false, null);
+    }
+
+    // ==========================
+    // Tokenizing
+    // ==========================
+
+    private boolean skipToTransactionStart() throws IOException {
+        String tag;
+        while ((tag = readTag()) != null) {
+            if (tag.equalsIgnoreCase("STMTTRN")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Advances past the next '<' and returns the tag name, or null at end of input.
+     */
+    private String readTag() throws IOException {
+        int c;
+        while ((c = reader.read()) != -1 && c != '<') {
+            // skip text between tags
+        }
+        if (c == -1) return null;
+
+        StringBuilder sb = new StringBuilder(16);
+        while ((c = reader.read()) != -1 && c != '>') {
+            sb.append((char) c);
+        }
+        return sb.toString().trim();
+    }
+
+    /**
+     * Reads the text after a tag up to (not including) the next '<'.
+     */
+    private String readText() throws IOException {
+        StringBuilder sb = new StringBuilder(32);
+        while (true) {
+            reader.mark(1);
+            int c = reader.read();
+            if (c == -1) break;
+            if (c == '<') {
+                reader.reset();
+                break;
+            }
+            sb.append((char) c);
+        }
+        return unescape(sb.toString().trim());
+    }
+
+    private static String unescape(String s) {
+        if (s.indexOf('&') < 0) return s;
+        return s.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+}
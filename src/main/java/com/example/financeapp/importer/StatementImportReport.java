@@ -0,0 +1,56 @@
+package com.example.financeapp.importer;
+
+import com.example.financeapp.models.ImportResult;
+
+/**
+ * What happened during one statement import.
+ */
+public class StatementImportReport {
+
+    private final ImportResult insert;
+    private final long rowsRead;
+    private final long duplicatesSkipped;
+    private final int rowsRejected;
+
+    public StatementImportReport(ImportResult insert, long rowsRead, long duplicatesSkipped, int rowsRejected) {
+        this.insert = insert;
+        this.rowsRead = rowsRead;
+        this.duplicatesSkipped = duplicatesSkipped;
+        this.rowsRejected = rowsRejected;
+    }
+
+    public ImportResult getInsertResult() {
+        return insert;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getInsertedCount() {
+        return insert.getInsertedCount();
+    }
+
+    public long getDuplicatesSkipped() {
+        return duplicatesSkipped;
+    }
+
+    public int getRowsRejected() {
+        return rowsRejected;
+    }
+
+    /**
+     * Parsed rows per second over the whole run (parse + de-dup + insert).
+     */
+    public double getRowsPerSecond() {
+        double secs = insert.getElapsedSeconds();
+        return secs > 0 ? rowsRead / secs : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("read %d, imported %d, duplicates %d, rejected %d (%.0f rows/s)%s",
+                rowsRead, insert.getInsertedCount(), duplicatesSkipped, rowsRejected, getRowsPerSecond(),
+                insert.isComplete() ? "" : " [incomplete]");
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.financeapp.importer;
+
+import com.example.financeapp.models.ImportProgressListener;
+import com.example.financeapp.models.ImportResult;
+import com.example.financeapp.models.TransactionManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Imports CSV and OFX bank statements for a user.
+ *
+ * The pipeline is fully streaming: reader -> {@link DuplicateFilter} ->
+ * {@link TransactionManager#importTransactions} (batched, chunked commits).
+ */
+public class StatementImporter {
+
+    private final TransactionManager transactionManager;
+    private int chunkSize = TransactionManager.DEFAULT_IMPORT_CHUNK_SIZE;
+
+    public StatementImporter(TransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Picks the parser from the file extension (.ofx/.qfx, otherwise CSV with detected columns).
+     */
+    public StatementImportReport importFile(Path file, int userId, ImportProgressListener listener)
+            throws IOException, SQLException {
+
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+
+        StatementReader reader;
+        try {
+            reader = (name.endsWith(".ofx") || name.endsWith(".qfx"))
+                    ? new OfxStatementReader(in, userId)
+                    : CsvStatementReader.withDetectedColumns(in, userId);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+
+        return importFrom(reader, userId, listener);
+    }
+
+    /**
+     * Imports everything the reader yields and closes it.
+     */
+    public StatementImportReport importFrom(StatementReader reader, int userId, ImportProgressListener listener)
+            throws IOException, SQLException {
+
+        try (reader; DuplicateFilter deduped = new DuplicateFilter(reader, userId)) {
+            ImportResult result = transactionManager.importTransactions(deduped, chunkSize, listener);
+
+            StatementImportReport report = new StatementImportReport(
+                    result, reader.getRowCount(), deduped.getSkippedCount(), reader.getRejectedCount());
+            System.out.println("[Import] " + report);
+            return report;
+        }
+    }
+}
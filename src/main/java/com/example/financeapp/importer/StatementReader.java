@@ -0,0 +1,89 @@
+package com.example.financeapp.importer;
+
+import com.example.financeapp.models.Transaction;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Base class for streaming bank statement parsers.
+ *
+ * Rows are parsed lazily one at a time from a {@link BufferedReader}, so a file of
+ * any size can be fed into {@code TransactionManager.importTransactions} while only
+ * the current row (plus the insert chunk) is kept in memory.
+ * Rows that cannot be parsed are skipped and counted in {@link #getRejectedCount()}.
+ */
+public abstract class StatementReader implements Iterator<Transaction>, Closeable {
+
+    private static final int MAX_LOGGED_REJECTS = 5;
+
+    protected final BufferedReader reader;
+    protected final int userId;
+
+    private Transaction lookahead;
+    private boolean finished;
+    private long rowCount;
+    private int rejectedCount;
+
+    protected StatementReader(BufferedReader reader, int userId) {
+        this.reader = reader;
+        this.userId = userId;
+    }
+
+    /**
+     * Parses the next transaction, or returns null at end of input.
+     */
+    protected abstract Transaction readNext() throws IOException;
+
+    @Override
+    public boolean hasNext() {
+        if (lookahead != null) return true;
+        if (finished) return false;
+
+        try {
+            lookahead = readNext();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (lookahead == null) {
+            finished = true;
+            return false;
+        }
+        rowCount++;
+        return true;
+    }
+
+    @Override
+    public Transaction next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Transaction t = lookahead;
+        lookahead = null;
+        return t;
+    }
+
+    protected void reject(String where, String reason) {
+        rejectedCount++;
+        if (rejectedCount <= MAX_LOGGED_REJECTS) {
+            System.err.println("[Import] Skipping " + where + ": " + reason);
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.financeapp.models;
+
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of {@link MonthlySummary} per (user, month).
+ *
+ * Filled on read by {@link TransactionManager} and invalidated by its write methods
+ * for exactly the months they touch. Summaries are immutable, so cached instances
+ * are handed out as-is.
+ *
+ * A load that started before an invalidation is not stored (see {@link #stamp()}),
+ * so a slow read can never put stale totals back after a concurrent write.
+ */
+public class AggregateCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, MonthlySummary> entries;
+
+    // bumped on every invalidation; loads compare it before storing
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    public AggregateCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive, got " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, MonthlySummary> eldest) {
+                if (size() > AggregateCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Cached summary, or null on a miss.
+     */
+    public synchronized MonthlySummary get(int userId, YearMonth month) {
+        MonthlySummary summary = entries.get(new Key(userId, month));
+        if (summary != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return summary;
+    }
+
+    /**
+     * Current generation; take it before loading from the database and pass it to {@link #put}.
+     */
+    public synchronized long stamp() {
+        return generation;
+    }
+
+    /**
+     * Stores a freshly loaded summary unless something was invalidated since {@code stamp}.
+     */
+    public synchronized void put(int userId, MonthlySummary summary, long stamp) {
+        if (stamp == generation) {
+            entries.put(new Key(userId, summary.getMonth()), summary);
+        }
+    }
+
+    public synchronized void invalidate(int userId, YearMonth month) {
+        generation++;
+        if (entries.remove(new Key(userId, month)) != null) {
+            invalidations++;
+        }
+    }
+
+    /**
+     * Drops every cached month of one user (e.g. after their data was bulk edited or rescaled).
+     */
+    public synchronized void invalidateUser(int userId) {
+        generation++;
+        Iterator<Key> it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().userId == userId) {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    // ========= Counters =========
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("size=%d/%d hits=%d misses=%d hitRate=%.1f%% evictions=%d invalidations=%d",
+                entries.size(), maxEntries, hits, misses, getHitRate() * 100, evictions, invalidations);
+    }
+
+    private record Key(int userId, YearMonth month) {
+    }
+}
@@ -1,11 +1,14 @@
 package com.example.financeapp.models;
 
 import java.time.YearMonth;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class AnalyticsService {
 
     private final TransactionManager transactionManager;
+    private final InsightRuleManager ruleManager;
 
     // Tunable thresholds
     private static final double CATEGORY_CHANGE_THRESHOLD = 0.20; // 20%
@@ -14,8 +17,37 @@ public class AnalyticsService {
     private static final double TOP_CATEGORY_SHARE_MIN    = 0.15; // 15% of total spend
     private static final double MIN_CATEGORY_AMOUNT       = 10.0; // ignore tiny stuff
 
+    // one reusable accumulator; see borrowAccumulator()
+    private final AtomicReference<MonthOverMonth> spare = new AtomicReference<>();
+
     public AnalyticsService(TransactionManager transactionManager) {
+        this(transactionManager, new InsightRuleManager());
+    }
+
+    public AnalyticsService(TransactionManager transactionManager, InsightRuleManager ruleManager) {
         this.transactionManager = transactionManager;
+        this.ruleManager = ruleManager;
+    }
+
+    /**
+     * Month-over-month recommendations followed by the messages of the user's insight rules.
+     */
+    public List<String> generateInsights(int userId, YearMonth currentMonth) {
+        List<String> messages = generateMonthlyRecommendations(userId, currentMonth);
+        for (Insight insight : evaluateRules(userId, currentMonth)) {
+            messages.add(insight.getMessage());
+        }
+        return messages;
+    }
+
+    /**
+     * Runs the user's insight rules (rolling averages, year over year, seasonal) for the month.
+     * Works on the per-month aggregates of the column snapshot: no query once it is loaded.
+     */
+    public List<Insight> evaluateRules(int userId, YearMonth month) {
+        TransactionColumns columns = transactionManager.getColumns(userId);
+        return InsightEngine.evaluate(columns.monthlyAggregates(), month,
+                ruleManager.getActiveRules(userId), columns::categoryName);
     }
 
     /**
@@ -28,42 +60,32 @@ public class AnalyticsService {
     public List<String> generateMonthlyRecommendations(int userId, YearMonth currentMonth) {
         List<String> recommendations = new ArrayList<>();
 
-        YearMonth prevMonth = currentMonth.minusMonths(1);
-
-        // Signed category totals (likely negative for expenses)
-        Map<String, Double> currentExpensesSigned =
-                transactionManager.getCategoryTotalsForMonth(userId, currentMonth, false);
+        // Both months come from the in-memory column snapshot in one pass, no query once it is loaded
+        TransactionColumns columns = transactionManager.getColumns(userId);
+        MonthOverMonth months = borrowAccumulator();
+        try {
+            columns.compareMonths(currentMonth, months);
 
-        Map<String, Double> prevExpensesSigned =
-                transactionManager.getCategoryTotalsForMonth(userId, prevMonth, false);
-
-        // Sums of signed values (negative if there are expenses, 0 if none)
-        double totalCurrentSigned = currentExpensesSigned.values()
-                .stream().mapToDouble(Double::doubleValue).sum();
-        double totalPrevSigned = prevExpensesSigned.values()
-                .stream().mapToDouble(Double::doubleValue).sum();
-
-        // If there is almost no data, show a friendly message
-        if (totalCurrentSigned == 0 && totalPrevSigned == 0) {
-            recommendations.add("Not enough data yet to generate insights. Start adding some transactions!");
-            return recommendations;
-        }
-
-        // Convert to absolute (positive) amounts for "how much you spent"
-        Map<String, Double> currentAbs = toPositive(currentExpensesSigned);
-        Map<String, Double> prevAbs    = toPositive(prevExpensesSigned);
+            // If there is almost no data, show a friendly message
+            if (months.getCurrentExpense() == 0 && months.getPreviousExpense() == 0) {
+                recommendations.add("Not enough data yet to generate insights. Start adding some transactions!");
+                return recommendations;
+            }
 
-        // 1) Category-level comparison (current vs last month)
-        addCategoryChangeInsights(recommendations, currentAbs, prevAbs);
+            // 1) Category-level comparison (current vs last month)
+            addCategoryChangeInsights(recommendations, columns, months);
 
-        // 2) Overall spending trend (total expenses this month vs last)
-        addOverallSpendingInsight(recommendations, currentAbs, prevAbs);
+            // 2) Overall spending trend (total expenses this month vs last)
+            addOverallSpendingInsight(recommendations, months);
 
-        // 3) Overall savings insight (net)
-        addSavingsInsights(recommendations, userId, currentMonth, prevMonth);
+            // 3) Overall savings insight (net)
+            addSavingsInsights(recommendations, months);
 
-        // 4) Top category share (which categories dominate)
-        addTopCategoryShareInsights(recommendations, currentAbs);
+            // 4) Top category share (which categories dominate)
+            addTopCategoryShareInsights(recommendations, columns, months);
+        } finally {
+            spare.set(months);
+        }
 
         // If still empty, add a generic helpful hint
         if (recommendations.isEmpty()) {
@@ -79,22 +101,20 @@ public class AnalyticsService {
     // =========================================================
 
     private void addCategoryChangeInsights(List<String> recommendations,
-                                           Map<String, Double> currentAbs,
-                                           Map<String, Double> prevAbs) {
-
-        Set<String> allCategories = new HashSet<>();
-        allCategories.addAll(currentAbs.keySet());
-        allCategories.addAll(prevAbs.keySet());
+                                           TransactionColumns columns,
+                                           MonthOverMonth months) {
 
-        for (String category : allCategories) {
-            double curr = currentAbs.getOrDefault(category, 0.0);
-            double prev = prevAbs.getOrDefault(category, 0.0);
+        for (int i = 0; i < months.getCategoryCount(); i++) {
+            int categoryId = months.getCategoryId(i);
+            double curr = months.toMajor(months.getCurrentSpend(categoryId));
+            double prev = months.toMajor(months.getPreviousSpend(categoryId));
 
             // Ignore very small categories to avoid noisy messages
             if (curr < MIN_CATEGORY_AMOUNT && prev < MIN_CATEGORY_AMOUNT) {
                 continue;
             }
 
+            String category = columns.categoryName(categoryId);
             if (prev > 0 && curr > 0) {
                 double changeRatio = (curr - prev) / prev; // >0 means increased
                 double changePercent = changeRatio * 100.0;
@@ -131,12 +151,10 @@ public class AnalyticsService {
     // 2) Overall spending trend (total expenses)
     // =========================================================
 
-    private void addOverallSpendingInsight(List<String> recommendations,
-                                           Map<String, Double> currentAbs,
-                                           Map<String, Double> prevAbs) {
+    private void addOverallSpendingInsight(List<String> recommendations, MonthOverMonth months) {
 
-        double totalCurrent = currentAbs.values().stream().mapToDouble(Double::doubleValue).sum();
-        double totalPrev    = prevAbs.values().stream().mapToDouble(Double::doubleValue).sum();
+        double totalCurrent = months.toMajor(months.getCurrentSpendTotal());
+        double totalPrev    = months.toMajor(months.getPreviousSpendTotal());
 
         if (totalPrev <= 0 || totalCurrent <= 0) {
             return;
@@ -165,16 +183,13 @@ public class AnalyticsService {
     // 3) Savings / net insight (your original logic, extended)
     // =========================================================
 
-    private void addSavingsInsights(List<String> recommendations,
-                                    int userId,
-                                    YearMonth currentMonth,
-                                    YearMonth prevMonth) {
+    private void addSavingsInsights(List<String> recommendations, MonthOverMonth months) {
 
-        double currentIncome = transactionManager.getTotalIncomeForMonth(userId, currentMonth);
-        double prevIncome    = transactionManager.getTotalIncomeForMonth(userId, prevMonth);
+        double currentIncome = months.toMajor(months.getCurrentIncome());
+        double prevIncome    = months.toMajor(months.getPreviousIncome());
 
-        double currentExpensesMonth = transactionManager.getTotalExpenseForMonth(userId, currentMonth); // negative
-        double prevExpensesMonth    = transactionManager.getTotalExpenseForMonth(userId, prevMonth);    // negative
+        double currentExpensesMonth = months.toMajor(months.getCurrentExpense());  // negative
+        double prevExpensesMonth    = months.toMajor(months.getPreviousExpense()); // negative
 
         // Net savings / balance for the month (same rule as dashboard & PDF)
         double currentNet = currentIncome + currentExpensesMonth;
@@ -251,30 +266,20 @@ public class AnalyticsService {
     // =========================================================
 
     private void addTopCategoryShareInsights(List<String> recommendations,
-                                             Map<String, Double> currentAbs) {
+                                             TransactionColumns columns,
+                                             MonthOverMonth months) {
 
-        if (currentAbs.isEmpty()) return;
-
-        double total = currentAbs.values().stream().mapToDouble(Double::doubleValue).sum();
-        if (total <= 0) return;
-
-        // Sort categories by amount descending
-        List<Map.Entry<String, Double>> sorted = new ArrayList<>(currentAbs.entrySet());
-        sorted.sort((a, b) -> Double.compare(b.getValue(), a.getValue()));
-
-        // Look at top 3 categories
-        int limit = Math.min(3, sorted.size());
-        for (int i = 0; i < limit; i++) {
-            Map.Entry<String, Double> e = sorted.get(i);
-            String category = e.getKey();
-            double amt = e.getValue();
-            double share = amt / total;
+        // Top 3 categories by amount, already picked during the aggregation pass
+        for (int rank = 0; rank < months.getTopCount(); rank++) {
+            int categoryId = months.getTopCategory(rank);
+            double amt = months.toMajor(months.getCurrentSpend(categoryId));
+            double share = months.getCurrentShare(categoryId);
 
             if (amt >= MIN_CATEGORY_AMOUNT && share >= TOP_CATEGORY_SHARE_MIN) {
                 recommendations.add(String.format(
                         "%s accounts for about %.0f%% of your total expenses this month ($%.2f). " +
                                 "If this isn’t essential, consider setting a clear limit next month.",
-                        category, share * 100, amt
+                        columns.categoryName(categoryId), share * 100, amt
                 ));
             }
         }
@@ -284,11 +289,12 @@ public class AnalyticsService {
     // Helpers
     // =========================================================
 
-    private Map<String, Double> toPositive(Map<String, Double> signedMap) {
-        Map<String, Double> result = new HashMap<>();
-        for (Map.Entry<String, Double> e : signedMap.entrySet()) {
-            result.put(e.getKey(), Math.abs(e.getValue()));
-        }
-        return result;
+    /**
+     * A warm accumulator if one is free, so repeated runs reuse its arrays; concurrent
+     * callers simply get a new one.
+     */
+    private MonthOverMonth borrowAccumulator() {
+        MonthOverMonth months = spare.getAndSet(null);
+        return months != null ? months : new MonthOverMonth();
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ public class Budget {
     private int id;
     private int userId;
     private String category;
+    private int categoryId;
     private double monthlyLimit;
 
     public Budget() {}
@@ -39,6 +40,14 @@ public class Budget {
         this.category = category;
     }
 
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(int categoryId) {
+        this.categoryId = categoryId;
+    }
+
     public double getMonthlyLimit() {
         return monthlyLimit;
     }
@@ -0,0 +1,69 @@
+package com.example.financeapp.models;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * A budget threshold that spending in one month reached, as recorded by
+ * {@link BudgetAlertEvaluator}. Threshold is a percentage of the limit; spent is
+ * positive and is the amount at the time the threshold was crossed.
+ */
+public class BudgetAlert {
+
+    private final int id;
+    private final int categoryId;
+    private final String category;
+    private final YearMonth month;
+    private final int threshold;
+    private final double spent;
+    private final double monthlyLimit;
+    private final LocalDateTime createdAt;
+
+    public BudgetAlert(int id, int categoryId, String category, YearMonth month, int threshold,
+                       double spent, double monthlyLimit, LocalDateTime createdAt) {
+        this.id = id;
+        this.categoryId = categoryId;
+        this.category = category;
+        this.month = month;
+        this.threshold = threshold;
+        this.spent = spent;
+        this.monthlyLimit = monthlyLimit;
+        this.createdAt = createdAt;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public double getSpent() {
+        return spent;
+    }
+
+    public double getMonthlyLimit() {
+        return monthlyLimit;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isExceeded() {
+        return threshold >= 100;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.financeapp.models;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Raises budget alerts as transactions are written, instead of recomputing every
+ * budget when the dashboard is drawn.
+ *
+ * Called by the managers after each write with the one (user, category, month) bucket
+ * the write touched. The month's spend counter for that bucket is the monthly_rollups row,
+ * which the triggers have already updated, so evaluating is two index seeks and at most
+ * one insert per threshold, whatever the size of the history.
+ *
+ * Each threshold is recorded once per budget and month in budget_alerts (its UNIQUE key
+ * drops repeats). When spending falls back below a threshold, e.g. after a delete, an alert
+ * the user has not dismissed yet is withdrawn, so it can be raised again later.
+ */
+public class BudgetAlertEvaluator {
+
+    /** Percentages of the monthly limit that raise an alert, lowest first. */
+    public static final int[] DEFAULT_THRESHOLDS = {50, 80, 100};
+
+    // Limit and month spending of one budget: UNIQUE(user_id, category_id) and rollup key seeks
+    static final String SQL_SPEND_AGAINST_BUDGET = """
+            SELECT b.monthly_limit, IFNULL(r.amount_sum, 0) AS amount_sum
+            FROM budgets b
+            LEFT JOIN monthly_rollups r
+                   ON r.user_id = b.user_id AND r.month = ? AND r.is_income = 0 AND r.category_id = b.category_id
+            WHERE b.user_id = ? AND b.category_id = ?
+            """;
+
+    private static final String SQL_RAISE = """
+            INSERT OR IGNORE INTO budget_alerts
+            (user_id, category_id, month, threshold, spent, monthly_limit, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String SQL_WITHDRAW = """
+            DELETE FROM budget_alerts
+            WHERE user_id = ? AND category_id = ? AND month = ? AND threshold > ? AND dismissed = 0
+            """;
+
+    private final int[] thresholds;
+
+    public BudgetAlertEvaluator() {
+        this(DEFAULT_THRESHOLDS);
+    }
+
+    /**
+     * @param thresholds percentages of the monthly limit, e.g. 50, 80, 100
+     */
+    public BudgetAlertEvaluator(int... thresholds) {
+        if (thresholds.length == 0) {
+            throw new IllegalArgumentException("At least one threshold is required");
+        }
+        for (int t : thresholds) {
+            if (t <= 0) {
+                throw new IllegalArgumentException("Thresholds must be positive, got " + t);
+            }
+        }
+        this.thresholds = thresholds.clone();
+        Arrays.sort(this.thresholds);
+    }
+
+    public int[] getThresholds() {
+        return thresholds.clone();
+    }
+
+    /**
+     * Re-checks the budget of one category in one month after its spending changed.
+     * Does nothing if the user has no budget for the category. Errors are logged, not
+     * thrown: the write that triggered the check has already happened.
+     *
+     * @return number of alerts raised by this call
+     */
+    public int evaluate(Connection conn, int userId, int categoryId, YearMonth month) {
+        String monthKey = month.toString();
+        try {
+            double limit;
+            long spent;
+            try (PreparedStatement ps = conn.prepareStatement(SQL_SPEND_AGAINST_BUDGET)) {
+                ps.setString(1, monthKey);
+                ps.setInt(2, userId);
+                ps.setInt(3, categoryId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        return 0; // no budget for this category
+                    }
+                    limit = rs.getDouble("monthly_limit");
+                    spent = -rs.getLong("amount_sum"); // expense buckets are negative
+                }
+            }
+            if (limit <= 0) {
+                return 0;
+            }
+
+            int scale = UserCurrencyScales.forUser(conn, userId);
+            long limitMinor = Money.toMinor(limit, scale);
+
+            // Highest threshold reached; compared in minor units so 100% means exactly the limit
+            int reached = 0;
+            for (int t : thresholds) {
+                if (spent * 100 >= limitMinor * t) {
+                    reached = t;
+                }
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(SQL_WITHDRAW)) {
+                ps.setInt(1, userId);
+                ps.setInt(2, categoryId);
+                ps.setString(3, monthKey);
+                ps.setInt(4, reached);
+                ps.executeUpdate();
+            }
+            if (reached == 0) {
+                return 0;
+            }
+
+            int raised = 0;
+            try (PreparedStatement ps = conn.prepareStatement(SQL_RAISE)) {
+                String now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).toString();
+                for (int t : thresholds) {
+                    if (t > reached) break;
+                    ps.setInt(1, userId);
+                    ps.setInt(2, categoryId);
+                    ps.setString(3, monthKey);
+                    ps.setInt(4, t);
+                    ps.setLong(5, spent);
+                    ps.setDouble(6, limit);
+                    ps.setString(7, now);
+                    raised += ps.executeUpdate(); // 0 if this threshold was already recorded
+                }
+            }
+            if (raised > 0) {
+                System.out.println("[Alerts] User " + userId + " category " + categoryId + " reached "
+                        + reached + "% of its " + monthKey + " budget");
+            }
+            return raised;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+}
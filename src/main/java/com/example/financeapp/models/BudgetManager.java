@@ -3,68 +3,137 @@ package com.example.financeapp.models;
 import com.example.financeapp.database.Database;
 
 import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 
 public class BudgetManager {
 
+    private static final CategoryDictionary DICTIONARY = CategoryDictionary.shared();
+
+    private final BudgetAlertEvaluator alerts;
+
     public BudgetManager() {
-        createTableIfNotExists();
+        this(new BudgetAlertEvaluator());
     }
 
-    private void createTableIfNotExists() {
-        String sql = """
-                CREATE TABLE IF NOT EXISTS budgets (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    user_id INTEGER NOT NULL,
-                    category TEXT NOT NULL,
-                    monthly_limit REAL NOT NULL,
-                    UNIQUE(user_id, category),
-                    FOREIGN KEY (user_id) REFERENCES users(id)
-                );
-                """;
+    /**
+     * @param alerts re-checks this month's alerts of a budget whose limit changes
+     */
+    public BudgetManager(BudgetAlertEvaluator alerts) {
+        this.alerts = alerts;
+    }
+
+    // Insert or replace the limit of a (user, category) budget in one statement, no read first
+    static final String SQL_UPSERT_BUDGET = """
+            INSERT INTO budgets (user_id, category_id, monthly_limit) VALUES (?, ?, ?)
+            ON CONFLICT (user_id, category_id) DO UPDATE SET monthly_limit = excluded.monthly_limit
+            """;
+
+    // Every budget of a user with the month's spending of its category. Budgets are found via
+    // the UNIQUE(user_id, category_id) index, spending via the monthly_rollups primary key.
+    static final String SQL_BUDGET_STATUS = """
+            SELECT b.id, b.category_id, c.name, b.monthly_limit, IFNULL(r.amount_sum, 0) AS spent
+            FROM budgets b
+            JOIN categories c ON c.id = b.category_id
+            LEFT JOIN monthly_rollups r
+                   ON r.user_id = b.user_id AND r.month = ? AND r.is_income = 0 AND r.category_id = b.category_id
+            WHERE b.user_id = ?
+            ORDER BY c.name
+            """;
 
+    // Highest pending threshold of each budget and month (SQLite takes the bare columns from
+    // the MAX row). The UNIQUE(user_id, category_id, month, threshold) index yields the groups in order.
+    static final String SQL_PENDING_ALERTS = """
+            SELECT a.id, a.category_id, c.name, a.month, MAX(a.threshold) AS threshold,
+                   a.spent, a.monthly_limit, a.created_at
+            FROM budget_alerts a
+            JOIN categories c ON c.id = a.category_id
+            WHERE a.user_id = ? AND a.dismissed = 0
+            GROUP BY a.category_id, a.month
+            ORDER BY a.month DESC, threshold DESC
+            """;
+
+    // Dismisses an alert and the lower thresholds of the same budget and month
+    private static final String SQL_DISMISS_ALERT = """
+            UPDATE budget_alerts SET dismissed = 1
+            WHERE dismissed = 0
+              AND EXISTS (SELECT 1 FROM budget_alerts a
+                          WHERE a.id = ? AND a.user_id = ?
+                            AND a.user_id = budget_alerts.user_id
+                            AND a.category_id = budget_alerts.category_id
+                            AND a.month = budget_alerts.month
+                            AND a.threshold >= budget_alerts.threshold)
+            """;
+
+    /**
+     * Sets the monthly limit of the user's budget for {@code category}, creating the budget
+     * (and a custom category, for a name the user has not used) if needed. This month's
+     * alerts for the budget are re-checked against the new limit.
+     */
+    public boolean setBudget(int userId, String category, double monthlyLimit) {
         try (Connection conn = Database.getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.execute(sql);
+             PreparedStatement ps = conn.prepareStatement(SQL_UPSERT_BUDGET)) {
+
+            int categoryId = DICTIONARY.categoryId(conn, userId, category);
+            ps.setInt(1, userId);
+            ps.setInt(2, categoryId);
+            ps.setDouble(3, monthlyLimit);
+
+            if (ps.executeUpdate() == 0) return false;
+            alerts.evaluate(conn, userId, categoryId, YearMonth.now());
+            return true;
+
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
     }
 
     /**
-     * Legacy "upsert" method kept for compatibility.
-     * If a budget exists for (userId, category), update it; otherwise insert it.
+     * Each of the user's budgets with spent, remaining and alert level for {@code month},
+     * ordered by category name. Empty on error.
      */
-    public boolean setBudget(int userId, String category, double monthlyLimit) {
-        // Try update first; if nothing updated, insert.
-        List<Budget> budgets = getBudgetsForUser(userId);
-        Budget existing = budgets.stream()
-                .filter(b -> b.getCategory().equalsIgnoreCase(category))
-                .findFirst()
-                .orElse(null);
-
-        if (existing != null) {
-            existing.setMonthlyLimit(monthlyLimit);
-            return updateBudget(existing);
-        } else {
-            return addBudget(userId, category, monthlyLimit);
+    public List<BudgetStatus> getBudgetStatus(int userId, YearMonth month) {
+        List<BudgetStatus> list = new ArrayList<>();
+
+        try (Connection conn = Database.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_BUDGET_STATUS)) {
+
+            int scale = UserCurrencyScales.forUser(conn, userId);
+            ps.setString(1, month.toString());
+            ps.setInt(2, userId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    // Expense buckets are negative: spent is the magnitude
+                    double spent = Math.abs(Money.toMajor(rs.getLong("spent"), scale));
+                    list.add(new BudgetStatus(rs.getInt("id"), rs.getInt("category_id"), rs.getString("name"),
+                            rs.getDouble("monthly_limit"), spent));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
+
+        return list;
     }
 
     /**
      * Insert a new budget for the given user/category.
      * Will fail (return false) if a budget for that (user, category) already exists
-     * due to the UNIQUE(user_id, category) constraint.
+     * due to the UNIQUE(user_id, category_id) constraint.
+     * A category name the user has not used before becomes one of their custom categories.
      */
     public boolean addBudget(int userId, String category, double monthlyLimit) {
-        String insert = "INSERT INTO budgets(user_id, category, monthly_limit) VALUES (?, ?, ?)";
+        String insert = "INSERT INTO budgets(user_id, category_id, monthly_limit) VALUES (?, ?, ?)";
 
         try (Connection conn = Database.getConnection();
              PreparedStatement psIns = conn.prepareStatement(insert)) {
 
             psIns.setInt(1, userId);
-            psIns.setString(2, category);
+            psIns.setInt(2, DICTIONARY.categoryId(conn, userId, category));
             psIns.setDouble(3, monthlyLimit);
 
             return psIns.executeUpdate() > 0;
@@ -78,20 +147,57 @@ public class BudgetManager {
 
     /**
      * Update an existing budget row (by id).
-     * Updates the category and monthly_limit for safety.
+     * Updates the category and monthly_limit for safety. A budget moved to another category
+     * takes none of the old category's alerts along; this month's alerts are re-checked
+     * against the new category and limit.
      */
     public boolean updateBudget(Budget budget) {
-        String update = "UPDATE budgets SET category = ?, monthly_limit = ? WHERE id = ?";
+        String select = "SELECT category_id FROM budgets WHERE id = ? AND user_id = ?";
+        String update = "UPDATE budgets SET category_id = ?, monthly_limit = ? WHERE id = ?";
+        String deleteAlerts = "DELETE FROM budget_alerts WHERE user_id = ? AND category_id = ?";
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement psUpd = conn.prepareStatement(update)) {
+        try (Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
 
-            psUpd.setString(1, budget.getCategory());
-            psUpd.setDouble(2, budget.getMonthlyLimit());
-            psUpd.setInt(3, budget.getId());
+            try (PreparedStatement psSel = conn.prepareStatement(select);
+                 PreparedStatement psUpd = conn.prepareStatement(update);
+                 PreparedStatement psAlerts = conn.prepareStatement(deleteAlerts)) {
 
-            return psUpd.executeUpdate() > 0;
+                psSel.setInt(1, budget.getId());
+                psSel.setInt(2, budget.getUserId());
+                int oldCategoryId;
+                try (ResultSet rs = psSel.executeQuery()) {
+                    if (!rs.next()) {
+                        conn.rollback();
+                        return false;
+                    }
+                    oldCategoryId = rs.getInt(1);
+                }
 
+                budget.setCategoryId(DICTIONARY.categoryId(conn, budget.getUserId(), budget.getCategory()));
+                psUpd.setInt(1, budget.getCategoryId());
+                psUpd.setDouble(2, budget.getMonthlyLimit());
+                psUpd.setInt(3, budget.getId());
+                psUpd.executeUpdate();
+
+                // UNIQUE(user_id, category_id): the old category is left without a budget
+                if (oldCategoryId != budget.getCategoryId()) {
+                    psAlerts.setInt(1, budget.getUserId());
+                    psAlerts.setInt(2, oldCategoryId);
+                    psAlerts.executeUpdate();
+                }
+                alerts.evaluate(conn, budget.getUserId(), budget.getCategoryId(), YearMonth.now());
+
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                DICTIONARY.invalidate();
+                e.printStackTrace();
+                return false;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -99,16 +205,88 @@ public class BudgetManager {
     }
 
     /**
-     * Delete a budget by its id.
+     * Delete a budget by its id, along with its alerts.
      */
     public boolean deleteBudget(int budgetId) {
+        String deleteAlerts = """
+                DELETE FROM budget_alerts
+                WHERE EXISTS (SELECT 1 FROM budgets b
+                              WHERE b.id = ? AND b.user_id = budget_alerts.user_id
+                                AND b.category_id = budget_alerts.category_id)
+                """;
         String delete = "DELETE FROM budgets WHERE id = ?";
 
+        try (Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement psAlerts = conn.prepareStatement(deleteAlerts);
+                 PreparedStatement psDel = conn.prepareStatement(delete)) {
+
+                psAlerts.setInt(1, budgetId);
+                psAlerts.executeUpdate();
+
+                psDel.setInt(1, budgetId);
+                int rows = psDel.executeUpdate();
+
+                conn.commit();
+                return rows > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                e.printStackTrace();
+                return false;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // ==========================
+    // Alerts
+    // ==========================
+
+    /**
+     * Alerts the user has not dismissed, newest month first. Raised as transactions are
+     * written (see {@link BudgetAlertEvaluator}); only the highest threshold reached is
+     * returned for each budget and month. Empty on error.
+     */
+    public List<BudgetAlert> getPendingAlerts(int userId) {
+        List<BudgetAlert> list = new ArrayList<>();
+
+        try (Connection conn = Database.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_PENDING_ALERTS)) {
+
+            int scale = UserCurrencyScales.forUser(conn, userId);
+            ps.setInt(1, userId);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    list.add(new BudgetAlert(rs.getInt("id"), rs.getInt("category_id"), rs.getString("name"),
+                            YearMonth.parse(rs.getString("month")), rs.getInt("threshold"),
+                            Money.toMajor(rs.getLong("spent"), scale), rs.getDouble("monthly_limit"),
+                            LocalDateTime.parse(rs.getString("created_at"))));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return list;
+    }
+
+    /**
+     * Dismisses one of the user's alerts together with the lower thresholds of the same
+     * budget and month. A dismissed threshold is not raised again for that month.
+     */
+    public boolean dismissAlert(int userId, int alertId) {
         try (Connection conn = Database.getConnection();
-             PreparedStatement psDel = conn.prepareStatement(delete)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_DISMISS_ALERT)) {
 
-            psDel.setInt(1, budgetId);
-            return psDel.executeUpdate() > 0;
+            ps.setInt(1, alertId);
+            ps.setInt(2, userId);
+            return ps.executeUpdate() > 0;
 
         } catch (SQLException e) {
             e.printStackTrace();
@@ -120,7 +298,7 @@ public class BudgetManager {
         String sql = "SELECT * FROM budgets WHERE user_id = ?";
         List<Budget> list = new ArrayList<>();
 
-        try (Connection conn = Database.getConnection();
+        try (Connection conn = Database.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, userId);
@@ -130,7 +308,8 @@ public class BudgetManager {
                 Budget b = new Budget();
                 b.setId(rs.getInt("id"));
                 b.setUserId(rs.getInt("user_id"));
-                b.setCategory(rs.getString("category"));
+                b.setCategoryId(rs.getInt("category_id"));
+                b.setCategory(DICTIONARY.categoryName(conn, b.getCategoryId()));
                 b.setMonthlyLimit(rs.getDouble("monthly_limit"));
                 list.add(b);
             }
@@ -0,0 +1,72 @@
+package com.example.financeapp.models;
+
+/**
+ * One budget with what was spent against it in a month. Spent is positive (the
+ * expenses of the budget's category, sign flipped); remaining goes negative once
+ * the limit is exceeded.
+ */
+public class BudgetStatus {
+
+    /** Share of the limit from which a budget is reported as close to its limit. */
+    public static final double WARNING_RATIO = 0.8;
+
+    public enum AlertLevel {
+        OK, WARNING, EXCEEDED
+    }
+
+    private final int budgetId;
+    private final int categoryId;
+    private final String category;
+    private final double monthlyLimit;
+    private final double spent;
+
+    public BudgetStatus(int budgetId, int categoryId, String category, double monthlyLimit, double spent) {
+        this.budgetId = budgetId;
+        this.categoryId = categoryId;
+        this.category = category;
+        this.monthlyLimit = monthlyLimit;
+        this.spent = spent;
+    }
+
+    public int getBudgetId() {
+        return budgetId;
+    }
+
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public double getMonthlyLimit() {
+        return monthlyLimit;
+    }
+
+    public double getSpent() {
+        return spent;
+    }
+
+    public double getRemaining() {
+        return monthlyLimit - spent;
+    }
+
+    /**
+     * Spent divided by the limit; 0 for a non-positive limit.
+     */
+    public double getRatio() {
+        return monthlyLimit > 0 ? spent / monthlyLimit : 0;
+    }
+
+    public AlertLevel getAlertLevel() {
+        if (monthlyLimit <= 0 || spent <= 0) {
+            return AlertLevel.OK;
+        }
+        double ratio = getRatio();
+        if (ratio >= 1.0) {
+            return AlertLevel.EXCEEDED;
+        }
+        return ratio >= WARNING_RATIO ? AlertLevel.WARNING : AlertLevel.OK;
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.financeapp.models;
+
+import com.example.financeapp.database.Database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the {@code categories} and {@code payment_methods} tables.
+ *
+ * Transactions and budgets store integer ids; this maps them back to display names and
+ * resolves typed-in names to ids without a query. Names are matched case-insensitively
+ * (like the NOCASE columns), a user's own categories after the built-in ones.
+ *
+ * Loaded on first use through the caller's connection and reloaded when another DB file
+ * is selected. Every method takes the connection the caller already holds, so resolving a
+ * name inside an import never borrows a second writer connection.
+ */
+public final class CategoryDictionary {
+
+    /** owner_id of the built-in categories */
+    public static final int BUILT_IN = 0;
+
+    private static final CategoryDictionary SHARED = new CategoryDictionary();
+
+    private volatile Entries entries;
+
+    public static CategoryDictionary shared() {
+        return SHARED;
+    }
+
+    /**
+     * One loaded copy of both tables. Lookups read the maps without locking;
+     * additions happen under the dictionary's lock.
+     */
+    private static final class Entries {
+        final long fileGeneration;
+        final Map<Integer, String> categoryNames = new ConcurrentHashMap<>();
+        final Map<Integer, Integer> categoryOwners = new ConcurrentHashMap<>();
+        final Map<String, Integer> categoryIds = new ConcurrentHashMap<>(); // key(owner, name) -> id
+        final Map<Integer, String> paymentMethodNames = new ConcurrentHashMap<>();
+        final Map<String, Integer> paymentMethodIds = new ConcurrentHashMap<>(); // folded name -> id
+
+        Entries(long fileGeneration) {
+            this.fileGeneration = fileGeneration;
+        }
+
+        void putCategory(int id, int ownerId, String name) {
+            categoryNames.put(id, name);
+            categoryOwners.put(id, ownerId);
+            categoryIds.put(key(ownerId, name), id);
+        }
+
+        void putPaymentMethod(int id, String name) {
+            paymentMethodNames.put(id, name);
+            paymentMethodIds.put(fold(name), id);
+        }
+    }
+
+    // ==========================
+    // Categories
+    // ==========================
+
+    /**
+     * Id for a category name as typed by the user, creating a custom category for the user
+     * if neither a built-in nor one of theirs matches. Blank names map to "Others".
+     * {@code conn} must be the writer connection.
+     */
+    public int categoryId(Connection conn, int userId, String name) throws SQLException {
+        int id = findCategoryId(conn, userId, name);
+        if (id != -1) {
+            return id;
+        }
+
+        synchronized (this) {
+            Entries e = entries(conn);
+            String trimmed = name.trim();
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT OR IGNORE INTO categories (owner_id, name) VALUES (?, ?)")) {
+                ps.setInt(1, userId);
+                ps.setString(2, trimmed);
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT id, name FROM categories WHERE owner_id = ? AND name = ?")) {
+                ps.setInt(1, userId);
+                ps.setString(2, trimmed);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new SQLException("Category could not be created: " + trimmed);
+                    }
+                    id = rs.getInt("id");
+                    e.putCategory(id, userId, rs.getString("name"));
+                }
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Id of a built-in or the user's own category, or -1 if there is none.
+     * Blank names map to "Others".
+     */
+    public int findCategoryId(Connection conn, int userId, String name) throws SQLException {
+        Entries e = entries(conn);
+        if (name == null || name.isBlank()) {
+            name = Categories.OTHERS;
+        }
+        Integer id = e.categoryIds.get(key(BUILT_IN, name));
+        if (id == null && userId != BUILT_IN) {
+            id = e.categoryIds.get(key(userId, name));
+        }
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Display name of a category id. Ids this copy has not seen (added by another
+     * process) trigger one reload; unknown ids read as "Others".
+     */
+    public String categoryName(Connection conn, int id) throws SQLException {
+        String name = entries(conn).categoryNames.get(id);
+        if (name == null) {
+            name = reload(conn).categoryNames.get(id);
+        }
+        return name != null ? name : Categories.OTHERS;
+    }
+
+    /**
+     * Built-in categories followed by the user's own, in creation order.
+     */
+    public List<String> categoriesForUser(Connection conn, int userId) throws SQLException {
+        Entries e = entries(conn);
+        List<Integer> ids = new ArrayList<>();
+        e.categoryOwners.forEach((id, owner) -> {
+            if (owner == BUILT_IN || owner == userId) {
+                ids.add(id);
+            }
+        });
+        ids.sort((a, b) -> {
+            int byOwner = Boolean.compare(e.categoryOwners.get(a) != BUILT_IN, e.categoryOwners.get(b) != BUILT_IN);
+            return byOwner != 0 ? byOwner : Integer.compare(a, b);
+        });
+
+        List<String> names = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            names.add(e.categoryNames.get(id));
+        }
+        return names;
+    }
+
+    // ==========================
+    // Payment methods
+    // ==========================
+
+    /**
+     * Id for a payment method name, added to the table if new; null for a blank name.
+     * {@code conn} must be the writer connection.
+     */
+    public Integer paymentMethodId(Connection conn, String name) throws SQLException {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        Integer id = entries(conn).paymentMethodIds.get(fold(name));
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (this) {
+            Entries e = entries(conn);
+            String trimmed = name.trim();
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT OR IGNORE INTO payment_methods (name) VALUES (?)")) {
+                ps.setString(1, trimmed);
+                ps.executeUpdate();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT id, name FROM payment_methods WHERE name = ?")) {
+                ps.setString(1, trimmed);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new SQLException("Payment method could not be created: " + trimmed);
+                    }
+                    id = rs.getInt("id");
+                    e.putPaymentMethod(id, rs.getString("name"));
+                }
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Display name of a payment method id; null for a null id.
+     */
+    public String paymentMethodName(Connection conn, Integer id) throws SQLException {
+        if (id == null) {
+            return null;
+        }
+        String name = entries(conn).paymentMethodNames.get(id);
+        if (name == null) {
+            name = reload(conn).paymentMethodNames.get(id);
+        }
+        return name;
+    }
+
+    // ==========================
+    // Loading
+    // ==========================
+
+    /**
+     * Drops the loaded copy, e.g. after a rollback that may have undone additions
+     * or after a user's categories were deleted. The next lookup reloads.
+     */
+    public synchronized void invalidate() {
+        entries = null;
+    }
+
+    private Entries entries(Connection conn) throws SQLException {
+        Entries e = entries;
+        if (e != null && e.fileGeneration == Database.getFileGeneration()) {
+            return e;
+        }
+        return reload(conn);
+    }
+
+    private synchronized Entries reload(Connection conn) throws SQLException {
+        Entries e = new Entries(Database.getFileGeneration());
+        try (Statement st = conn.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT id, owner_id, name FROM categories")) {
+                while (rs.next()) {
+                    e.putCategory(rs.getInt("id"), rs.getInt("owner_id"), rs.getString("name"));
+                }
+            }
+            try (ResultSet rs = st.executeQuery("SELECT id, name FROM payment_methods")) {
+                while (rs.next()) {
+                    e.putPaymentMethod(rs.getInt("id"), rs.getString("name"));
+                }
+            }
+        }
+        entries = e;
+        return e;
+    }
+
+    private static String key(int ownerId, String name) {
+        return ownerId + ":" + fold(name);
+    }
+
+    private static String fold(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
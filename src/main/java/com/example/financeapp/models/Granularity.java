@@ -0,0 +1,46 @@
+package com.example.financeapp.models;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Bucket size for {@link TransactionManager#getTotalsSeries}.
+ * Weeks start on Monday (ISO).
+ */
+public enum Granularity {
+
+    DAY("date"),
+    WEEK("date(date, '-' || ((CAST(strftime('%w', date) AS INTEGER) + 6) % 7) || ' days')"),
+    MONTH("substr(date, 1, 7) || '-01'");
+
+    // SQLite expression mapping the ISO date column to the first day of its bucket
+    private final String bucketSql;
+
+    Granularity(String bucketSql) {
+        this.bucketSql = bucketSql;
+    }
+
+    String bucketSql() {
+        return bucketSql;
+    }
+
+    /**
+     * First day of the bucket containing the given date.
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate next(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+}
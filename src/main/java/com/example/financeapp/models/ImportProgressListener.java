@@ -0,0 +1,16 @@
+package com.example.financeapp.models;
+
+/**
+ * Receives progress callbacks from {@link TransactionManager#importTransactions}.
+ * Called once per committed chunk, on the importing thread.
+ */
+@FunctionalInterface
+public interface ImportProgressListener {
+
+    /**
+     * @param chunkIds      generated ids of the rows committed in this chunk, in input order
+     * @param rowsSoFar     total rows committed so far
+     * @param rowsPerSecond average throughput since the import started
+     */
+    void onChunkCommitted(int[] chunkIds, long rowsSoFar, double rowsPerSecond);
+}
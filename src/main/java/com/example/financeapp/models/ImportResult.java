@@ -0,0 +1,49 @@
+package com.example.financeapp.models;
+
+/**
+ * Outcome of a bulk insert through {@link TransactionManager#importTransactions}.
+ */
+public class ImportResult {
+
+    private final long insertedCount;
+    private final int chunkCount;
+    private final long elapsedNanos;
+    private final boolean complete;
+
+    public ImportResult(long insertedCount, int chunkCount, long elapsedNanos, boolean complete) {
+        this.insertedCount = insertedCount;
+        this.chunkCount = chunkCount;
+        this.elapsedNanos = elapsedNanos;
+        this.complete = complete;
+    }
+
+    public long getInsertedCount() {
+        return insertedCount;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1e9;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : insertedCount / getElapsedSeconds();
+    }
+
+    /**
+     * False if a chunk failed; rows from earlier chunks stay committed.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows in %d chunks, %.2fs (%.0f rows/s)%s",
+                insertedCount, chunkCount, getElapsedSeconds(), getRowsPerSecond(),
+                complete ? "" : " [incomplete]");
+    }
+}
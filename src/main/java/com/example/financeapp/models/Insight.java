@@ -0,0 +1,60 @@
+package com.example.financeapp.models;
+
+/**
+ * One fired {@link InsightRule}: the month's value, the baseline it was compared with and
+ * the relative change. Amounts are in the user's currency (major units).
+ */
+public class Insight {
+
+    private final int ruleId;
+    private final String ruleName;
+    private final int categoryId; // 0 unless the rule is per category
+    private final double current;
+    private final double baseline;
+    private final double ratio;   // (current - baseline) / |baseline|
+    private final String message;
+
+    public Insight(int ruleId, String ruleName, int categoryId, double current, double baseline,
+                   double ratio, String message) {
+        this.ruleId = ruleId;
+        this.ruleName = ruleName;
+        this.categoryId = categoryId;
+        this.current = current;
+        this.baseline = baseline;
+        this.ratio = ratio;
+        this.message = message;
+    }
+
+    public int getRuleId() {
+        return ruleId;
+    }
+
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public double getCurrent() {
+        return current;
+    }
+
+    public double getBaseline() {
+        return baseline;
+    }
+
+    public double getRatio() {
+        return ratio;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return message;
+    }
+}
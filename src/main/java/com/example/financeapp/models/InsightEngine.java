@@ -0,0 +1,118 @@
+package com.example.financeapp.models;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Evaluates {@link InsightRule}s for one month against {@link MonthlyAggregates}.
+ *
+ * Every baseline is a handful of prefix-sum lookups, so a rule costs O(1) (O(categories)
+ * for rules that cover every category) no matter how many years of history there are.
+ */
+public final class InsightEngine {
+
+    private static final int MONTHS_PER_YEAR = 12;
+
+    private InsightEngine() {}
+
+    /**
+     * @param names category id to display name, for messages
+     * @return the rules that fired, in rule order (per-category rules by ascending category id)
+     */
+    public static List<Insight> evaluate(MonthlyAggregates aggregates, YearMonth month,
+                                         List<InsightRule> rules, IntFunction<String> names) {
+        List<Insight> insights = new ArrayList<>();
+        int m = aggregates.indexOf(month);
+        if (m <= 0) {
+            return insights; // nothing before this month to compare with
+        }
+
+        for (InsightRule rule : rules) {
+            if (!rule.isEnabled()) continue;
+
+            if (rule.getMetric() == InsightRule.Metric.CATEGORY_SPEND && rule.getCategoryId() <= 0) {
+                for (int i = 0; i < aggregates.getCategoryCount(); i++) {
+                    Insight insight = evaluate(aggregates, m, rule, aggregates.getCategoryId(i), names);
+                    if (insight != null) insights.add(insight);
+                }
+            } else {
+                Insight insight = evaluate(aggregates, m, rule, rule.getCategoryId(), names);
+                if (insight != null) insights.add(insight);
+            }
+        }
+        return insights;
+    }
+
+    private static Insight evaluate(MonthlyAggregates aggregates, int m, InsightRule rule, int categoryId,
+                                    IntFunction<String> names) {
+        InsightRule.Metric metric = rule.getMetric();
+        int window = Math.max(1, rule.getWindowMonths());
+
+        double baseline; // minor units
+        switch (rule.getBaseline()) {
+            case PREVIOUS_MONTH -> baseline = aggregates.sum(metric, categoryId, m - 1, m);
+            case ROLLING_AVERAGE -> {
+                if (m < window) return null;
+                baseline = (double) aggregates.sum(metric, categoryId, m - window, m) / window;
+            }
+            case YEAR_OVER_YEAR -> {
+                if (m < MONTHS_PER_YEAR) return null;
+                baseline = aggregates.sum(metric, categoryId, m - MONTHS_PER_YEAR, m - MONTHS_PER_YEAR + 1);
+            }
+            case SEASONAL -> {
+                // last year's month, scaled by how the level moved: recent window vs the same window a year ago
+                int lastYear = m - MONTHS_PER_YEAR;
+                if (lastYear < window) return null;
+                long before = aggregates.sum(metric, categoryId, lastYear - window, lastYear);
+                if (before == 0) return null;
+                long recent = aggregates.sum(metric, categoryId, m - window, m);
+                baseline = (double) aggregates.sum(metric, categoryId, lastYear, lastYear + 1) * recent / before;
+            }
+            default -> {
+                return null;
+            }
+        }
+        if (baseline == 0) return null;
+
+        int scale = aggregates.getScale();
+        double current = Money.toMajor(aggregates.sum(metric, categoryId, m, m + 1), scale);
+        double base = baseline / Math.pow(10, scale);
+        if (Math.abs(current) < rule.getMinAmount() && Math.abs(base) < rule.getMinAmount()) {
+            return null; // too small to be worth a message
+        }
+
+        double ratio = (current - base) / Math.abs(base);
+        boolean fired = switch (rule.getDirection()) {
+            case UP -> ratio >= rule.getThreshold();
+            case DOWN -> ratio <= -rule.getThreshold();
+            case EITHER -> Math.abs(ratio) >= rule.getThreshold();
+        };
+        if (!fired) return null;
+
+        String message = String.format("%s is %.0f%% %s %s ($%.2f vs $%.2f).",
+                subject(metric, categoryId, names), Math.abs(ratio) * 100.0, ratio >= 0 ? "above" : "below",
+                describe(rule.getBaseline(), window), current, base);
+        return new Insight(rule.getId(), rule.getName(), metric == InsightRule.Metric.CATEGORY_SPEND ? categoryId : 0,
+                current, base, ratio, message);
+    }
+
+    private static String subject(InsightRule.Metric metric, int categoryId, IntFunction<String> names) {
+        return switch (metric) {
+            case SPEND -> "Your spending";
+            case INCOME -> "Your income";
+            case NET -> "Your net savings";
+            case CATEGORY_SPEND -> "Spending on " + names.apply(categoryId);
+        };
+    }
+
+    private static String describe(InsightRule.Baseline baseline, int window) {
+        return switch (baseline) {
+            case PREVIOUS_MONTH -> "last month";
+            case ROLLING_AVERAGE -> "your " + window + "-month average";
+            case YEAR_OVER_YEAR -> "the same month last year";
+            case SEASONAL -> "what is usual for this time of year";
+        };
+    }
+}
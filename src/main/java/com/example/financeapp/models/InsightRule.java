@@ -0,0 +1,163 @@
+package com.example.financeapp.models;
+
+import java.util.List;
+
+/**
+ * One configurable insight: compare a metric for the month against a baseline and
+ * report it when the relative change passes the threshold.
+ *
+ * Stored per user in insight_rules; users without rules get {@link #defaults(int)}.
+ */
+public class InsightRule {
+
+    public enum Metric {
+        SPEND,          // all expenses, positive
+        INCOME,
+        NET,            // income - spend
+        CATEGORY_SPEND  // expenses of one category, or of each category if categoryId is 0
+    }
+
+    public enum Baseline {
+        PREVIOUS_MONTH,
+        ROLLING_AVERAGE,  // mean of the windowMonths months before
+        YEAR_OVER_YEAR,   // same month one year earlier
+        SEASONAL          // same month last year, scaled by how the rolling average moved since
+    }
+
+    public enum Direction {
+        UP, DOWN, EITHER
+    }
+
+    private int id;
+    private int userId;
+    private String name;
+    private Metric metric;
+    private int categoryId;        // CATEGORY_SPEND only; 0 = every category
+    private Baseline baseline;
+    private int windowMonths = 3;  // ROLLING_AVERAGE and SEASONAL
+    private double threshold;      // relative change, 0.2 = 20%
+    private Direction direction = Direction.UP;
+    private double minAmount;      // ignore months where both sides are below this
+    private boolean enabled = true;
+
+    public InsightRule() {}
+
+    public InsightRule(int userId, String name, Metric metric, int categoryId, Baseline baseline,
+                       int windowMonths, double threshold, Direction direction, double minAmount) {
+        this.userId = userId;
+        this.name = name;
+        this.metric = metric;
+        this.categoryId = categoryId;
+        this.baseline = baseline;
+        this.windowMonths = windowMonths;
+        this.threshold = threshold;
+        this.direction = direction;
+        this.minAmount = minAmount;
+    }
+
+    /**
+     * Rules used for a user who has not configured any.
+     */
+    public static List<InsightRule> defaults(int userId) {
+        return List.of(
+                new InsightRule(userId, "Spending vs 3-month average", Metric.SPEND, 0,
+                        Baseline.ROLLING_AVERAGE, 3, 0.15, Direction.UP, 50),
+                new InsightRule(userId, "Spending vs last year", Metric.SPEND, 0,
+                        Baseline.YEAR_OVER_YEAR, 0, 0.20, Direction.EITHER, 50),
+                new InsightRule(userId, "Category vs 6-month average", Metric.CATEGORY_SPEND, 0,
+                        Baseline.ROLLING_AVERAGE, 6, 0.30, Direction.UP, 25),
+                new InsightRule(userId, "Category vs season", Metric.CATEGORY_SPEND, 0,
+                        Baseline.SEASONAL, 3, 0.30, Direction.UP, 25),
+                new InsightRule(userId, "Income vs 12-month average", Metric.INCOME, 0,
+                        Baseline.ROLLING_AVERAGE, 12, 0.15, Direction.DOWN, 100)
+        );
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public void setUserId(int userId) {
+        this.userId = userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Metric getMetric() {
+        return metric;
+    }
+
+    public void setMetric(Metric metric) {
+        this.metric = metric;
+    }
+
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(int categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Baseline getBaseline() {
+        return baseline;
+    }
+
+    public void setBaseline(Baseline baseline) {
+        this.baseline = baseline;
+    }
+
+    public int getWindowMonths() {
+        return windowMonths;
+    }
+
+    public void setWindowMonths(int windowMonths) {
+        this.windowMonths = windowMonths;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public void setDirection(Direction direction) {
+        this.direction = direction;
+    }
+
+    public double getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(double minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.financeapp.models;
+
+import com.example.financeapp.database.Database;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores each user's {@link InsightRule}s. The rules AnalyticsService evaluates are kept in
+ * memory per user and dropped on every change made through this class.
+ */
+public class InsightRuleManager {
+
+    private static final Map<Integer, List<InsightRule>> ACTIVE = new ConcurrentHashMap<>();
+    private static volatile long fileGeneration = Database.getFileGeneration();
+
+    /**
+     * Insert a rule; its generated id is set on {@code rule}.
+     */
+    public boolean addRule(InsightRule rule) {
+        String insert = """
+                INSERT INTO insight_rules(user_id, name, metric, category_id, baseline, window_months,
+                                          threshold, direction, min_amount, enabled)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """;
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(insert, Statement.RETURN_GENERATED_KEYS)) {
+
+            ps.setInt(1, rule.getUserId());
+            bindRule(ps, 2, rule);
+            if (ps.executeUpdate() == 0) {
+                return false;
+            }
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (keys.next()) {
+                    rule.setId(keys.getInt(1));
+                }
+            }
+            forget(rule.getUserId());
+            return true;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public boolean updateRule(InsightRule rule) {
+        String update = """
+                UPDATE insight_rules
+                SET name = ?, metric = ?, category_id = ?, baseline = ?, window_months = ?,
+                    threshold = ?, direction = ?, min_amount = ?, enabled = ?
+                WHERE id = ? AND user_id = ?
+                """;
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(update)) {
+
+            int next = bindRule(ps, 1, rule);
+            ps.setInt(next, rule.getId());
+            ps.setInt(next + 1, rule.getUserId());
+            boolean updated = ps.executeUpdate() > 0;
+            forget(rule.getUserId());
+            return updated;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public boolean deleteRule(int ruleId, int userId) {
+        String delete = "DELETE FROM insight_rules WHERE id = ? AND user_id = ?";
+
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(delete)) {
+
+            ps.setInt(1, ruleId);
+            ps.setInt(2, userId);
+            boolean deleted = ps.executeUpdate() > 0;
+            forget(userId);
+            return deleted;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * The user's stored rules (enabled or not); empty if they never configured any.
+     */
+    public List<InsightRule> getRulesForUser(int userId) {
+        String sql = "SELECT * FROM insight_rules WHERE user_id = ? ORDER BY id";
+        List<InsightRule> list = new ArrayList<>();
+
+        try (Connection conn = Database.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, userId);
+            ResultSet rs = ps.executeQuery();
+
+            while (rs.next()) {
+                InsightRule r = new InsightRule();
+                r.setId(rs.getInt("id"));
+                r.setUserId(rs.getInt("user_id"));
+                r.setName(rs.getString("name"));
+                r.setMetric(InsightRule.Metric.valueOf(rs.getString("metric")));
+                r.setCategoryId(rs.getInt("category_id")); // NULL reads as 0 = every category
+                r.setBaseline(InsightRule.Baseline.valueOf(rs.getString("baseline")));
+                r.setWindowMonths(rs.getInt("window_months"));
+                r.setThreshold(rs.getDouble("threshold"));
+                r.setDirection(InsightRule.Direction.valueOf(rs.getString("direction")));
+                r.setMinAmount(rs.getDouble("min_amount"));
+                r.setEnabled(rs.getInt("enabled") == 1);
+                list.add(r);
+            }
+        } catch (SQLException | IllegalArgumentException e) {
+            e.printStackTrace();
+        }
+
+        return list;
+    }
+
+    /**
+     * Rules to evaluate for the user: their stored rules, or {@link InsightRule#defaults} if none.
+     */
+    public List<InsightRule> getActiveRules(int userId) {
+        if (fileGeneration != Database.getFileGeneration()) {
+            ACTIVE.clear();
+            fileGeneration = Database.getFileGeneration();
+        }
+        List<InsightRule> cached = ACTIVE.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<InsightRule> stored = getRulesForUser(userId);
+        List<InsightRule> rules = stored.isEmpty() ? InsightRule.defaults(userId) : List.copyOf(stored);
+        ACTIVE.put(userId, rules);
+        return rules;
+    }
+
+    public static void forget(int userId) {
+        ACTIVE.remove(userId);
+    }
+
+    // ==========================
+    // Helpers
+    // ==========================
+
+    /**
+     * Binds every column except id and user_id, starting at {@code index}; returns the next index.
+     */
+    private static int bindRule(PreparedStatement ps, int index, InsightRule rule) throws SQLException {
+        ps.setString(index++, rule.getName());
+        ps.setString(index++, rule.getMetric().name());
+        if (rule.getMetric() == InsightRule.Metric.CATEGORY_SPEND && rule.getCategoryId() > 0) {
+            ps.setInt(index++, rule.getCategoryId());
+        } else {
+            ps.setNull(index++, Types.INTEGER);
+        }
+        ps.setString(index++, rule.getBaseline().name());
+        ps.setInt(index++, rule.getWindowMonths());
+        ps.setDouble(index++, rule.getThreshold());
+        ps.setString(index++, rule.getDirection().name());
+        ps.setDouble(index++, rule.getMinAmount());
+        ps.setInt(index++, rule.isEnabled() ? 1 : 0);
+        return index;
+    }
+}
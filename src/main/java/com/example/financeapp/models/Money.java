@@ -0,0 +1,161 @@
+package com.example.financeapp.models;
+
+import com.example.financeapp.util.CurrencyUtil;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An exact amount of money: a count of minor units (cents, or whole yen) plus the number of
+ * decimal places those units carry. This is how amounts are stored in the database, so sums
+ * are plain long additions and never pick up floating-point error.
+ *
+ * Signs follow the transactions table: income positive, expenses negative.
+ */
+public final class Money implements Comparable<Money> {
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+    private final long minorUnits;
+    private final int scale;
+
+    private Money(long minorUnits, int scale) {
+        this.minorUnits = minorUnits;
+        this.scale = scale;
+    }
+
+    public static Money ofMinor(long minorUnits, int scale) {
+        checkScale(scale);
+        return new Money(minorUnits, scale);
+    }
+
+    /**
+     * Rounds {@code amount} half-up to {@code scale} decimal places.
+     */
+    public static Money of(BigDecimal amount, int scale) {
+        checkScale(scale);
+        return new Money(amount.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact(), scale);
+    }
+
+    public static Money of(double amount, int scale) {
+        return ofMinor(toMinor(amount, scale), scale);
+    }
+
+    public static Money of(double amount, String currencyCode) {
+        return of(amount, CurrencyUtil.getFractionDigits(currencyCode));
+    }
+
+    public static Money zero(int scale) {
+        return ofMinor(0, scale);
+    }
+
+    // ==========================
+    // Conversions used on hot paths (no Money allocated)
+    // ==========================
+
+    /**
+     * Minor units for a major-unit double as typed by the user or parsed from a file.
+     * Goes through the double's shortest decimal form, so 0.29 becomes 29, not 28.
+     */
+    public static long toMinor(double amount, int scale) {
+        checkScale(scale);
+        return BigDecimal.valueOf(amount).setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * The double closest to {@code minorUnits / 10^scale}.
+     */
+    public static double toMajor(long minorUnits, int scale) {
+        checkScale(scale);
+        return minorUnits / (double) POWERS_OF_TEN[scale];
+    }
+
+    // ==========================
+    // Arithmetic
+    // ==========================
+
+    public Money plus(Money other) {
+        checkSameScale(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), scale);
+    }
+
+    public Money minus(Money other) {
+        checkSameScale(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), scale);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), scale);
+    }
+
+    public Money abs() {
+        return minorUnits < 0 ? negate() : this;
+    }
+
+    /**
+     * Same amount with a different number of decimal places, rounding half-up when places are dropped.
+     */
+    public Money withScale(int newScale) {
+        if (newScale == scale) return this;
+        return of(toBigDecimal(), newScale);
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    // ==========================
+    // Getters
+    // ==========================
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    public double toDouble() {
+        return toMajor(minorUnits, scale);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return scale == other.scale
+                ? Long.compare(minorUnits, other.minorUnits)
+                : toBigDecimal().compareTo(other.toBigDecimal());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money m && m.minorUnits == minorUnits && m.scale == scale;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + scale;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private void checkSameScale(Money other) {
+        if (other.scale != scale) {
+            throw new IllegalArgumentException("Cannot combine amounts with " + scale + " and "
+                    + other.scale + " decimal places");
+        }
+    }
+
+    private static void checkScale(int scale) {
+        if (scale < 0 || scale >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported number of decimal places: " + scale);
+        }
+    }
+}
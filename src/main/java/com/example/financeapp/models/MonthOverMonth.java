@@ -0,0 +1,200 @@
+package com.example.financeapp.models;
+
+import java.util.Arrays;
+
+/**
+ * A month and the month before it, side by side: expense per category plus income and
+ * expense totals. Filled by {@link TransactionColumns#compareMonths} in one pass.
+ *
+ * Per-category arrays are indexed by category dictionary id and hold minor units with the
+ * database sign (expenses negative). An instance is meant to be reused: the next fill
+ * clears only the slots the previous one touched, so a warm instance does not allocate.
+ */
+public final class MonthOverMonth {
+
+    public static final int TOP_N = 3;
+
+    private long[] currentExpense = new long[16];
+    private long[] previousExpense = new long[16];
+    private boolean[] seen = new boolean[16];
+    private int[] categories = new int[16]; // ids with expenses in either month
+    private int categoryCount;
+
+    private long currentIncome;
+    private long previousIncome;
+    private long currentExpenseTotal;
+    private long previousExpenseTotal;
+    private long currentSpend;
+    private long previousSpend;
+    private int scale = 2;
+
+    private final int[] top = new int[TOP_N];
+    private int topCount;
+
+    // ==========================
+    // Filling (TransactionColumns)
+    // ==========================
+
+    void reset(int maxCategoryId, int scale) {
+        for (int i = 0; i < categoryCount; i++) {
+            int c = categories[i];
+            currentExpense[c] = 0;
+            previousExpense[c] = 0;
+            seen[c] = false;
+        }
+        if (currentExpense.length <= maxCategoryId) {
+            int length = Math.max(maxCategoryId + 1, currentExpense.length * 2);
+            currentExpense = new long[length];
+            previousExpense = new long[length];
+            seen = new boolean[length];
+        }
+        categoryCount = 0;
+        currentIncome = previousIncome = 0;
+        currentExpenseTotal = previousExpenseTotal = 0;
+        currentSpend = previousSpend = 0;
+        topCount = 0;
+        this.scale = scale;
+    }
+
+    void addIncome(long amount, boolean current) {
+        if (current) {
+            currentIncome += amount;
+        } else {
+            previousIncome += amount;
+        }
+    }
+
+    void addExpense(int categoryId, long amount, boolean current) {
+        if (!seen[categoryId]) {
+            seen[categoryId] = true;
+            if (categoryCount == categories.length) {
+                categories = Arrays.copyOf(categories, categoryCount * 2);
+            }
+            categories[categoryCount++] = categoryId;
+        }
+        if (current) {
+            currentExpense[categoryId] += amount;
+            currentExpenseTotal += amount;
+        } else {
+            previousExpense[categoryId] += amount;
+            previousExpenseTotal += amount;
+        }
+    }
+
+    /**
+     * Sorts the touched ids, sums absolute spend and picks the top categories of the current month.
+     */
+    void finish() {
+        for (int i = 1; i < categoryCount; i++) {
+            int c = categories[i];
+            int j = i - 1;
+            while (j >= 0 && categories[j] > c) {
+                categories[j + 1] = categories[j];
+                j--;
+            }
+            categories[j + 1] = c;
+        }
+
+        for (int i = 0; i < categoryCount; i++) {
+            int c = categories[i];
+            long spend = Math.abs(currentExpense[c]);
+            currentSpend += spend;
+            previousSpend += Math.abs(previousExpense[c]);
+
+            // keep top[] sorted by spend, largest first; ties keep the lower id
+            if (spend == 0) continue;
+            int pos = topCount;
+            while (pos > 0 && Math.abs(currentExpense[top[pos - 1]]) < spend) {
+                pos--;
+            }
+            if (pos < TOP_N) {
+                int last = Math.min(topCount, TOP_N - 1);
+                System.arraycopy(top, pos, top, pos + 1, last - pos);
+                top[pos] = c;
+                topCount = Math.min(topCount + 1, TOP_N);
+            }
+        }
+    }
+
+    // ==========================
+    // Results
+    // ==========================
+
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Number of categories with expenses in either month; ids via {@link #getCategoryId}, ascending.
+     */
+    public int getCategoryCount() {
+        return categoryCount;
+    }
+
+    public int getCategoryId(int index) {
+        return categories[index];
+    }
+
+    /**
+     * Amount spent in the category this month, positive, in minor units.
+     */
+    public long getCurrentSpend(int categoryId) {
+        return categoryId < currentExpense.length ? Math.abs(currentExpense[categoryId]) : 0;
+    }
+
+    public long getPreviousSpend(int categoryId) {
+        return categoryId < previousExpense.length ? Math.abs(previousExpense[categoryId]) : 0;
+    }
+
+    /**
+     * Sum of per-category spend this month (positive).
+     */
+    public long getCurrentSpendTotal() {
+        return currentSpend;
+    }
+
+    public long getPreviousSpendTotal() {
+        return previousSpend;
+    }
+
+    /**
+     * Fraction of this month's spend that went to the category (0 if nothing was spent).
+     */
+    public double getCurrentShare(int categoryId) {
+        return currentSpend == 0 ? 0.0 : (double) getCurrentSpend(categoryId) / currentSpend;
+    }
+
+    /**
+     * Signed expense total of the month (negative, or 0 if none).
+     */
+    public long getCurrentExpense() {
+        return currentExpenseTotal;
+    }
+
+    public long getPreviousExpense() {
+        return previousExpenseTotal;
+    }
+
+    public long getCurrentIncome() {
+        return currentIncome;
+    }
+
+    public long getPreviousIncome() {
+        return previousIncome;
+    }
+
+    /**
+     * Categories with the most spend this month, largest first (at most {@link #TOP_N}).
+     */
+    public int getTopCount() {
+        return topCount;
+    }
+
+    public int getTopCategory(int rank) {
+        return top[rank];
+    }
+
+    public double toMajor(long minorUnits) {
+        return Money.toMajor(minorUnits, scale);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.financeapp.models;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Per-month totals of one user's whole history, as prefix sums: the total over any window
+ * of months is two array reads. Built from {@link TransactionColumns#monthlyAggregates()}
+ * in one pass; {@link InsightEngine} evaluates its rules on top.
+ *
+ * Spend is positive (negated expenses). Category columns are indexed by dictionary id.
+ * Months without transactions (including months after the last one) count as zero.
+ */
+public final class MonthlyAggregates {
+
+    private final YearMonth firstMonth;
+    private final int months;
+    private final int width;
+    private final int scale;
+
+    // entry [m] holds the total of months [0, m)
+    private final long[] incomePrefix;
+    private final long[] spendPrefix;
+    private final long[] categoryPrefix; // [(m) * width + categoryId]
+    private final int[] categories;      // ids with any spend, ascending
+
+    /**
+     * @param income   income per month, oldest first
+     * @param spend    spend per month
+     * @param category spend per month and category, {@code [month * width + categoryId]}
+     */
+    MonthlyAggregates(YearMonth firstMonth, int width, int scale, long[] income, long[] spend, long[] category) {
+        this.firstMonth = firstMonth;
+        this.months = income.length;
+        this.width = width;
+        this.scale = scale;
+
+        incomePrefix = new long[months + 1];
+        spendPrefix = new long[months + 1];
+        categoryPrefix = new long[(months + 1) * width];
+        boolean[] used = new boolean[width];
+        int usedCount = 0;
+        for (int m = 0; m < months; m++) {
+            incomePrefix[m + 1] = incomePrefix[m] + income[m];
+            spendPrefix[m + 1] = spendPrefix[m] + spend[m];
+            for (int c = 0; c < width; c++) {
+                long v = category[m * width + c];
+                categoryPrefix[(m + 1) * width + c] = categoryPrefix[m * width + c] + v;
+                if (v != 0 && !used[c]) {
+                    used[c] = true;
+                    usedCount++;
+                }
+            }
+        }
+        categories = new int[usedCount];
+        for (int c = 0, i = 0; c < width; c++) {
+            if (used[c]) {
+                categories[i++] = c;
+            }
+        }
+    }
+
+    public static MonthlyAggregates empty(YearMonth month, int scale) {
+        return new MonthlyAggregates(month, 1, scale, new long[0], new long[0], new long[0]);
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public YearMonth getFirstMonth() {
+        return firstMonth;
+    }
+
+    public int getMonthCount() {
+        return months;
+    }
+
+    /**
+     * Month index relative to the first month with data; negative before it.
+     */
+    public int indexOf(YearMonth month) {
+        return (int) firstMonth.until(month, ChronoUnit.MONTHS);
+    }
+
+    public int getCategoryCount() {
+        return categories.length;
+    }
+
+    public int getCategoryId(int index) {
+        return categories[index];
+    }
+
+    /**
+     * Total of the metric over months [from, to) in minor units. Callers make sure
+     * {@code from >= 0}; months past the end count as zero.
+     */
+    public long sum(InsightRule.Metric metric, int categoryId, int from, int to) {
+        int lo = Math.min(from, months);
+        int hi = Math.min(to, months);
+        return switch (metric) {
+            case SPEND -> spendPrefix[hi] - spendPrefix[lo];
+            case INCOME -> incomePrefix[hi] - incomePrefix[lo];
+            case NET -> (incomePrefix[hi] - incomePrefix[lo]) - (spendPrefix[hi] - spendPrefix[lo]);
+            case CATEGORY_SPEND -> categoryId <= 0 || categoryId >= width ? 0
+                    : categoryPrefix[hi * width + categoryId] - categoryPrefix[lo * width + categoryId];
+        };
+    }
+}
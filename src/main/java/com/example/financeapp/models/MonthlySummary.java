@@ -0,0 +1,123 @@
+package com.example.financeapp.models;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * All the per-month numbers the screens need, loaded in one grouped query by
+ * {@link TransactionManager#getMonthlySummary}.
+ *
+ * Totals are kept as exact minor units per category id; the double getters convert once
+ * per call site, so no rounding error accumulates across categories. Budgets are matched
+ * by id ({@link #getExpenseForCategory}); the name-keyed maps are for display.
+ * Signs follow the transactions table: income positive, expenses negative.
+ */
+public class MonthlySummary {
+
+    private final YearMonth month;
+    private final int scale;
+    private final Map<Integer, Long> incomeByCategory;
+    private final Map<Integer, Long> expenseByCategory;
+    private final Map<Integer, String> categoryNames;
+    private final long income;
+    private final long expense;
+    private final int transactionCount;
+
+    /**
+     * @param categoryNames display name of every category id in the two totals maps
+     * @param scale decimal places of the minor units in both maps
+     */
+    public MonthlySummary(YearMonth month,
+                          Map<Integer, Long> incomeByCategory,
+                          Map<Integer, Long> expenseByCategory,
+                          Map<Integer, String> categoryNames,
+                          int transactionCount,
+                          int scale) {
+        this.month = month;
+        this.scale = scale;
+        this.incomeByCategory = Collections.unmodifiableMap(new HashMap<>(incomeByCategory));
+        this.expenseByCategory = Collections.unmodifiableMap(new HashMap<>(expenseByCategory));
+        this.categoryNames = Collections.unmodifiableMap(new HashMap<>(categoryNames));
+        this.income = sum(incomeByCategory);
+        this.expense = sum(expenseByCategory);
+        this.transactionCount = transactionCount;
+    }
+
+    public static MonthlySummary empty(YearMonth month) {
+        return new MonthlySummary(month, Map.of(), Map.of(), Map.of(), 0, 2);
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public double getIncome() {
+        return Money.toMajor(income, scale);
+    }
+
+    /**
+     * Total expenses for the month (negative, or 0 if none).
+     */
+    public double getExpense() {
+        return Money.toMajor(expense, scale);
+    }
+
+    public double getNet() {
+        return Money.toMajor(income + expense, scale);
+    }
+
+    public Money getIncomeMoney() {
+        return Money.ofMinor(income, scale);
+    }
+
+    public Money getExpenseMoney() {
+        return Money.ofMinor(expense, scale);
+    }
+
+    public Money getNetMoney() {
+        return Money.ofMinor(income + expense, scale);
+    }
+
+    public Map<String, Double> getIncomeByCategory() {
+        return toMajor(incomeByCategory);
+    }
+
+    /**
+     * Expense totals per category (negative values).
+     */
+    public Map<String, Double> getExpenseByCategory() {
+        return toMajor(expenseByCategory);
+    }
+
+    /**
+     * Expense total of one category (negative, or 0 if none).
+     */
+    public double getExpenseForCategory(int categoryId) {
+        return Money.toMajor(expenseByCategory.getOrDefault(categoryId, 0L), scale);
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    public boolean isEmpty() {
+        return transactionCount == 0;
+    }
+
+    private Map<String, Double> toMajor(Map<Integer, Long> minor) {
+        Map<String, Double> out = new HashMap<>(minor.size() * 2);
+        minor.forEach((categoryId, units) ->
+                out.merge(categoryNames.getOrDefault(categoryId, Categories.OTHERS), Money.toMajor(units, scale), Double::sum));
+        return Collections.unmodifiableMap(out);
+    }
+
+    private static long sum(Map<Integer, Long> map) {
+        long total = 0;
+        for (long v : map.values()) {
+            total = Math.addExact(total, v);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.financeapp.models;
+
+import java.time.LocalDate;
+
+/**
+ * Position in the newest-first transaction list: the (date, id) of the last row seen.
+ * The next page starts strictly after it, so inserts and deletes elsewhere never
+ * shift or repeat rows the way OFFSET paging does.
+ */
+public class PageCursor {
+
+    private final LocalDate date;
+    private final int id;
+
+    public PageCursor(LocalDate date, int id) {
+        this.date = date;
+        this.id = id;
+    }
+
+    public static PageCursor after(Transaction t) {
+        return new PageCursor(t.getDate(), t.getId());
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return date + "#" + id;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.financeapp.models;
+
+import java.time.LocalDate;
+
+/**
+ * Income and expense totals for one bucket of a time series.
+ * Expense is negative (same sign as stored transactions).
+ */
+public class PeriodTotals {
+
+    private final LocalDate periodStart;
+    private final double income;
+    private final double expense;
+
+    public PeriodTotals(LocalDate periodStart, double income, double expense) {
+        this.periodStart = periodStart;
+        this.income = income;
+        this.expense = expense;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public double getIncome() {
+        return income;
+    }
+
+    public double getExpense() {
+        return expense;
+    }
+
+    public double getNet() {
+        return income + expense;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.financeapp.models;
+
+/**
+ * One monthly_rollups bucket that does not match the raw transactions.
+ * A missing side has sum 0 and count 0. Sums are raw minor units, as stored.
+ */
+public class RollupDrift {
+
+    private final int userId;
+    private final String month;
+    private final boolean income;
+    private final String category;
+    private final long expectedSum;
+    private final int expectedCount;
+    private final long actualSum;
+    private final int actualCount;
+
+    public RollupDrift(int userId, String month, boolean income, String category,
+                       long expectedSum, int expectedCount, long actualSum, int actualCount) {
+        this.userId = userId;
+        this.month = month;
+        this.income = income;
+        this.category = category;
+        this.expectedSum = expectedSum;
+        this.expectedCount = expectedCount;
+        this.actualSum = actualSum;
+        this.actualCount = actualCount;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public boolean isIncome() {
+        return income;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getExpectedSum() {
+        return expectedSum;
+    }
+
+    public int getExpectedCount() {
+        return expectedCount;
+    }
+
+    public long getActualSum() {
+        return actualSum;
+    }
+
+    public int getActualCount() {
+        return actualCount;
+    }
+
+    @Override
+    public String toString() {
+        return "user " + userId + " " + month + " " + (income ? "income" : "expense") + " " + category
+                + ": expected " + expectedSum + " (" + expectedCount + " rows)"
+                + ", rollup has " + actualSum + " (" + actualCount + " rows)";
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.financeapp.models;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.database.Migrations;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks and repairs the monthly_rollups table against the raw transactions.
+ *
+ * The rollups are normally kept exact by triggers; this is for databases that were
+ * edited by hand or restored from an older backup.
+ * Run from the command line with {@code verify} (default) or {@code rebuild}.
+ */
+public class RollupManager {
+
+    private static final String SQL_EXPECTED = """
+            SELECT user_id, substr(date, 1, 7) AS month, is_income, category_id,
+                   SUM(amount) AS amount_sum, COUNT(*) AS tx_count
+            FROM transactions
+            GROUP BY user_id, substr(date, 1, 7), is_income, category_id
+            """;
+
+    private static final String SQL_ACTUAL = """
+            SELECT user_id, month, is_income, category_id, amount_sum, tx_count
+            FROM monthly_rollups
+            """;
+
+    /**
+     * Compares every bucket with the raw rows. Returns an empty list when nothing drifted.
+     */
+    public List<RollupDrift> verify() {
+        try (Connection conn = Database.getReadConnection()) {
+            conn.setAutoCommit(false); // both reads see the same snapshot
+            try {
+                return findDrift(conn);
+            } finally {
+                conn.rollback();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return List.of();
+    }
+
+    /**
+     * Recomputes all rollups from the raw rows in one transaction.
+     *
+     * @return the drift that was found (and fixed), or null if the rebuild failed
+     */
+    public List<RollupDrift> rebuild() {
+        try (Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement st = conn.createStatement()) {
+                List<RollupDrift> drift = findDrift(conn);
+                st.executeUpdate("DELETE FROM monthly_rollups");
+                st.executeUpdate(Migrations.REBUILD_ROLLUPS);
+                conn.commit();
+                TransactionManager.getAggregateCache().clear();
+                return drift;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    private List<RollupDrift> findDrift(Connection conn) throws SQLException {
+        Map<String, Object[]> expected = load(conn, SQL_EXPECTED);
+        Map<String, Object[]> actual = load(conn, SQL_ACTUAL);
+
+        List<RollupDrift> drift = new ArrayList<>();
+        for (Map.Entry<String, Object[]> e : expected.entrySet()) {
+            Object[] exp = e.getValue();
+            Object[] act = actual.remove(e.getKey());
+            long actSum = act == null ? 0 : (long) act[4];
+            int actCount = act == null ? 0 : (int) act[5];
+
+            // amounts are integer minor units, so the sums must match exactly
+            if (actCount != (int) exp[5] || actSum != (long) exp[4]) {
+                drift.add(toDrift(conn, exp, (long) exp[4], (int) exp[5], actSum, actCount));
+            }
+        }
+        // buckets with no raw rows behind them
+        for (Object[] act : actual.values()) {
+            drift.add(toDrift(conn, act, 0, 0, (long) act[4], (int) act[5]));
+        }
+        return drift;
+    }
+
+    private static Map<String, Object[]> load(Connection conn, String sql) throws SQLException {
+        Map<String, Object[]> rows = new HashMap<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                Object[] row = {
+                        rs.getInt("user_id"), rs.getString("month"), rs.getInt("is_income"),
+                        rs.getInt("category_id"), rs.getLong("amount_sum"), rs.getInt("tx_count")
+                };
+                rows.put(row[0] + "|" + row[1] + "|" + row[2] + "|" + row[3], row);
+            }
+        }
+        return rows;
+    }
+
+    private static RollupDrift toDrift(Connection conn, Object[] key, long expectedSum, int expectedCount,
+                                       long actualSum, int actualCount) throws SQLException {
+        String category = CategoryDictionary.shared().categoryName(conn, (int) key[3]);
+        return new RollupDrift((int) key[0], (String) key[1], (int) key[2] == 1, category,
+                expectedSum, expectedCount, actualSum, actualCount);
+    }
+
+    // ==========================
+    // Command line
+    // ==========================
+
+    public static void main(String[] args) {
+        boolean rebuild = args.length > 0 && args[0].equalsIgnoreCase("rebuild");
+        if (args.length > 1) {
+            Database.useDatabaseFile(args[1]);
+        }
+
+        RollupManager manager = new RollupManager();
+        List<RollupDrift> drift = rebuild ? manager.rebuild() : manager.verify();
+
+        if (drift == null) {
+            System.out.println("[Rollups] Rebuild failed, see stack trace above");
+        } else {
+            drift.forEach(d -> System.out.println("[Rollups] Drift: " + d));
+            System.out.println("[Rollups] " + drift.size() + " drifted bucket(s)"
+                    + (rebuild ? ", rollups rebuilt" : ""));
+        }
+        Database.shutdown();
+    }
+}
@@ -10,6 +10,7 @@ public class Transaction {
     private double amount;
     private boolean income;     // true = income, false = expense
     private String category;    // Food, Transport, etc.
+    private int categoryId;     // categories.id, 0 until saved or loaded
     private String paymentMethod; // Cash, Card, etc.
     private String notes;
     private boolean recurring;
@@ -84,6 +85,14 @@ public class Transaction {
         this.category = category;
     }
 
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(int categoryId) {
+        this.categoryId = categoryId;
+    }
+
     public String getPaymentMethod() {
         return paymentMethod;
     }
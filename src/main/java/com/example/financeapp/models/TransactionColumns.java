@@ -0,0 +1,429 @@
+package com.example.financeapp.models;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Column-oriented, in-memory copy of one user's transactions for analytics.
+ *
+ * One primitive array per column (epoch day, amount in minor units, category id) plus a
+ * BitSet for the income flag. Rows are sorted by (date, id), so a date range is a
+ * contiguous slice found by binary search and every aggregate is a plain loop over
+ * primitives with no boxing per row.
+ *
+ * Instances are immutable. TransactionManager swaps in an updated copy after each single-row
+ * write ({@link #withRow}, {@link #withoutRow}) and drops the copy after bulk imports.
+ */
+public final class TransactionColumns {
+
+    // One sequential pass over the user's slice of idx_transactions_user_date (walked backwards)
+    static final String SQL_LOAD = """
+            SELECT id, date, amount, is_income, category_id
+            FROM transactions
+            WHERE user_id = ?
+            ORDER BY date, id
+            """;
+
+    private final int userId;
+    private final int scale;
+    private final int size;
+    private final int[] ids;
+    private final int[] epochDays;
+    private final long[] amounts;
+    private final int[] categoryIds;
+    private final BitSet income;
+    private final int maxCategoryId;
+    private final Map<Integer, String> categoryNames;
+    private volatile MonthlyAggregates aggregates; // built on first use; racing builds are harmless
+
+    private TransactionColumns(int userId, int scale, int size, int[] ids, int[] epochDays, long[] amounts,
+                               int[] categoryIds, BitSet income, Map<Integer, String> categoryNames) {
+        this.userId = userId;
+        this.scale = scale;
+        this.size = size;
+        this.ids = ids;
+        this.epochDays = epochDays;
+        this.amounts = amounts;
+        this.categoryIds = categoryIds;
+        this.income = income;
+        this.categoryNames = categoryNames;
+
+        int max = 0;
+        for (int id : categoryNames.keySet()) {
+            max = Math.max(max, id);
+        }
+        this.maxCategoryId = max;
+    }
+
+    public static TransactionColumns empty(int userId, int scale) {
+        return new TransactionColumns(userId, scale, 0, new int[0], new int[0], new long[0],
+                new int[0], new BitSet(), Map.of());
+    }
+
+    /**
+     * Reads all of the user's rows in one query through {@code conn}.
+     */
+    public static TransactionColumns load(Connection conn, int userId) throws SQLException {
+        int scale = UserCurrencyScales.forUser(conn, userId);
+        int capacity = 1024;
+        int[] ids = new int[capacity];
+        int[] days = new int[capacity];
+        long[] amounts = new long[capacity];
+        int[] categories = new int[capacity];
+        BitSet income = new BitSet();
+        int n = 0;
+
+        try (PreparedStatement ps = conn.prepareStatement(SQL_LOAD)) {
+            ps.setInt(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (n == capacity) {
+                        capacity *= 2;
+                        ids = Arrays.copyOf(ids, capacity);
+                        days = Arrays.copyOf(days, capacity);
+                        amounts = Arrays.copyOf(amounts, capacity);
+                        categories = Arrays.copyOf(categories, capacity);
+                    }
+                    ids[n] = rs.getInt(1);
+                    days[n] = epochDay(rs.getString(2));
+                    amounts[n] = rs.getLong(3);
+                    if (rs.getInt(4) == 1) {
+                        income.set(n);
+                    }
+                    categories[n] = rs.getInt(5);
+                    n++;
+                }
+            }
+        }
+
+        Map<Integer, String> names = new HashMap<>();
+        CategoryDictionary dictionary = CategoryDictionary.shared();
+        for (int i = 0; i < n; i++) {
+            if (!names.containsKey(categories[i])) {
+                names.put(categories[i], dictionary.categoryName(conn, categories[i]));
+            }
+        }
+
+        return new TransactionColumns(userId, scale, n, Arrays.copyOf(ids, n), Arrays.copyOf(days, n),
+                Arrays.copyOf(amounts, n), Arrays.copyOf(categories, n), income, Map.copyOf(names));
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    /**
+     * Decimal places of the amounts (the user's currency).
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String categoryName(int categoryId) {
+        return categoryNames.getOrDefault(categoryId, Categories.OTHERS);
+    }
+
+    // ==========================
+    // Aggregates
+    // ==========================
+
+    /**
+     * Same numbers as {@link TransactionManager#getMonthlySummary}, from one slice of the columns.
+     */
+    public MonthlySummary summarize(YearMonth month) {
+        int from = lowerBound((int) month.atDay(1).toEpochDay());
+        int to = lowerBound((int) month.plusMonths(1).atDay(1).toEpochDay());
+
+        long[] incomeSums = new long[maxCategoryId + 1];
+        long[] expenseSums = new long[maxCategoryId + 1];
+        BitSet seenIncome = new BitSet();
+        BitSet seenExpense = new BitSet();
+        for (int i = from; i < to; i++) {
+            int category = categoryIds[i];
+            if (income.get(i)) {
+                incomeSums[category] += amounts[i];
+                seenIncome.set(category);
+            } else {
+                expenseSums[category] += amounts[i];
+                seenExpense.set(category);
+            }
+        }
+
+        Map<Integer, Long> incomeByCategory = new HashMap<>();
+        Map<Integer, Long> expenseByCategory = new HashMap<>();
+        for (int c = seenIncome.nextSetBit(0); c >= 0; c = seenIncome.nextSetBit(c + 1)) {
+            incomeByCategory.put(c, incomeSums[c]);
+        }
+        for (int c = seenExpense.nextSetBit(0); c >= 0; c = seenExpense.nextSetBit(c + 1)) {
+            expenseByCategory.put(c, expenseSums[c]);
+        }
+        return new MonthlySummary(month, incomeByCategory, expenseByCategory, categoryNames, to - from, scale);
+    }
+
+    /**
+     * Fills {@code out} with {@code month} and the month before it. Both months are adjacent
+     * in the columns, so this is a single pass with no allocation once {@code out} is warm.
+     */
+    public void compareMonths(YearMonth month, MonthOverMonth out) {
+        int currentStart = (int) month.atDay(1).toEpochDay();
+        int from = lowerBound((int) month.minusMonths(1).atDay(1).toEpochDay());
+        int to = lowerBound((int) month.plusMonths(1).atDay(1).toEpochDay());
+
+        out.reset(maxCategoryId, scale);
+        for (int i = from; i < to; i++) {
+            boolean current = epochDays[i] >= currentStart;
+            if (income.get(i)) {
+                out.addIncome(amounts[i], current);
+            } else {
+                out.addExpense(categoryIds[i], amounts[i], current);
+            }
+        }
+        out.finish();
+    }
+
+    /**
+     * Income, spend and per-category spend for every month from the first row to the last,
+     * as prefix sums. Computed once per snapshot in a single forward pass.
+     */
+    public MonthlyAggregates monthlyAggregates() {
+        MonthlyAggregates result = aggregates;
+        if (result == null) {
+            result = buildAggregates();
+            aggregates = result;
+        }
+        return result;
+    }
+
+    private MonthlyAggregates buildAggregates() {
+        if (size == 0) {
+            return MonthlyAggregates.empty(YearMonth.now(), scale);
+        }
+        YearMonth first = YearMonth.from(LocalDate.ofEpochDay(epochDays[0]));
+        YearMonth last = YearMonth.from(LocalDate.ofEpochDay(epochDays[size - 1]));
+        int months = (int) first.until(last, ChronoUnit.MONTHS) + 1;
+        int width = maxCategoryId + 1;
+
+        long[] incomeSums = new long[months];
+        long[] spendSums = new long[months];
+        long[] categorySums = new long[months * width];
+
+        // rows are date-ordered, so the month index only moves forward
+        int m = 0;
+        int nextStart = (int) first.plusMonths(1).atDay(1).toEpochDay();
+        for (int i = 0; i < size; i++) {
+            while (epochDays[i] >= nextStart) {
+                m++;
+                nextStart = (int) first.plusMonths(m + 1).atDay(1).toEpochDay();
+            }
+            if (income.get(i)) {
+                incomeSums[m] += amounts[i];
+            } else {
+                spendSums[m] -= amounts[i];
+                categorySums[m * width + categoryIds[i]] -= amounts[i];
+            }
+        }
+        return new MonthlyAggregates(first, width, scale, incomeSums, spendSums, categorySums);
+    }
+
+    /**
+     * Income and expense totals of the rows between two dates (inclusive).
+     */
+    public PeriodTotals totalsBetween(LocalDate from, LocalDate toInclusive) {
+        long incomeSum = 0;
+        long expenseSum = 0;
+        int end = lowerBound((int) toInclusive.toEpochDay() + 1);
+        for (int i = lowerBound((int) from.toEpochDay()); i < end; i++) {
+            if (income.get(i)) {
+                incomeSum += amounts[i];
+            } else {
+                expenseSum += amounts[i];
+            }
+        }
+        return new PeriodTotals(from, Money.toMajor(incomeSum, scale), Money.toMajor(expenseSum, scale));
+    }
+
+    /**
+     * Number of rows between two dates (inclusive): two binary searches.
+     */
+    public int countBetween(LocalDate from, LocalDate toInclusive) {
+        return Math.max(0, lowerBound((int) toInclusive.toEpochDay() + 1) - lowerBound((int) from.toEpochDay()));
+    }
+
+    /**
+     * Same result as {@link TransactionManager#getMonthlyTotals}: every month in the range, oldest first.
+     */
+    public Map<YearMonth, PeriodTotals> monthlyTotals(YearMonth fromMonth, YearMonth toMonth) {
+        Map<YearMonth, PeriodTotals> result = new LinkedHashMap<>();
+        totalsSeries(fromMonth.atDay(1), toMonth.atEndOfMonth(), Granularity.MONTH)
+                .forEach((start, totals) -> result.put(YearMonth.from(start), totals));
+        return result;
+    }
+
+    /**
+     * Same result as {@link TransactionManager#getTotalsSeries}: rows between the two dates
+     * (inclusive) bucketed at the given granularity, empty buckets zero-filled.
+     */
+    public Map<LocalDate, PeriodTotals> totalsSeries(LocalDate from, LocalDate toInclusive, Granularity granularity) {
+        int buckets = 0;
+        for (LocalDate d = granularity.bucketStart(from); !d.isAfter(toInclusive); d = granularity.next(d)) {
+            buckets++;
+        }
+        int[] starts = new int[buckets];
+        int b = 0;
+        for (LocalDate d = granularity.bucketStart(from); !d.isAfter(toInclusive); d = granularity.next(d)) {
+            starts[b++] = (int) d.toEpochDay();
+        }
+
+        long[] incomeSums = new long[buckets];
+        long[] expenseSums = new long[buckets];
+
+        // rows and bucket starts are both ascending, so one forward walk assigns every row
+        int end = lowerBound((int) toInclusive.toEpochDay() + 1);
+        b = 0;
+        for (int i = lowerBound((int) from.toEpochDay()); i < end; i++) {
+            while (b + 1 < buckets && epochDays[i] >= starts[b + 1]) {
+                b++;
+            }
+            if (income.get(i)) {
+                incomeSums[b] += amounts[i];
+            } else {
+                expenseSums[b] += amounts[i];
+            }
+        }
+
+        Map<LocalDate, PeriodTotals> series = new LinkedHashMap<>();
+        for (int i = 0; i < buckets; i++) {
+            series.put(LocalDate.ofEpochDay(starts[i]), new PeriodTotals(LocalDate.ofEpochDay(starts[i]),
+                    Money.toMajor(incomeSums[i], scale), Money.toMajor(expenseSums[i], scale)));
+        }
+        return series;
+    }
+
+    // ==========================
+    // Copy-on-write updates
+    // ==========================
+
+    /**
+     * Copy with one more row, inserted at its (date, id) position.
+     */
+    public TransactionColumns withRow(int id, LocalDate date, long amount, int categoryId, boolean isIncome,
+                                      String categoryName) {
+        int day = (int) date.toEpochDay();
+        int pos = lowerBound(day);
+        while (pos < size && epochDays[pos] == day && ids[pos] < id) {
+            pos++;
+        }
+
+        int[] newIds = insert(ids, pos, id);
+        int[] newDays = insert(epochDays, pos, day);
+        long[] newAmounts = new long[size + 1];
+        System.arraycopy(amounts, 0, newAmounts, 0, pos);
+        newAmounts[pos] = amount;
+        System.arraycopy(amounts, pos, newAmounts, pos + 1, size - pos);
+        int[] newCategories = insert(categoryIds, pos, categoryId);
+
+        BitSet newIncome = income.get(0, pos);
+        for (int i = income.nextSetBit(pos); i >= 0; i = income.nextSetBit(i + 1)) {
+            newIncome.set(i + 1);
+        }
+        if (isIncome) {
+            newIncome.set(pos);
+        }
+
+        Map<Integer, String> names = categoryNames;
+        if (!names.containsKey(categoryId)) {
+            Map<Integer, String> copy = new HashMap<>(names);
+            copy.put(categoryId, categoryName);
+            names = Map.copyOf(copy);
+        }
+        return new TransactionColumns(userId, scale, size + 1, newIds, newDays, newAmounts, newCategories,
+                newIncome, names);
+    }
+
+    /**
+     * Copy without the row with this id (or this instance if there is none).
+     */
+    public TransactionColumns withoutRow(int id) {
+        int pos = -1;
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                pos = i;
+                break;
+            }
+        }
+        if (pos < 0) {
+            return this;
+        }
+
+        long[] newAmounts = new long[size - 1];
+        System.arraycopy(amounts, 0, newAmounts, 0, pos);
+        System.arraycopy(amounts, pos + 1, newAmounts, pos, size - pos - 1);
+
+        BitSet newIncome = income.get(0, pos);
+        for (int i = income.nextSetBit(pos + 1); i >= 0; i = income.nextSetBit(i + 1)) {
+            newIncome.set(i - 1);
+        }
+        return new TransactionColumns(userId, scale, size - 1, remove(ids, pos), remove(epochDays, pos),
+                newAmounts, remove(categoryIds, pos), newIncome, categoryNames);
+    }
+
+    // ==========================
+    // Helpers
+    // ==========================
+
+    /**
+     * Index of the first row on or after {@code epochDay}.
+     */
+    private int lowerBound(int epochDay) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[mid] < epochDay) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int[] insert(int[] values, int pos, int value) {
+        int[] out = new int[values.length + 1];
+        System.arraycopy(values, 0, out, 0, pos);
+        out[pos] = value;
+        System.arraycopy(values, pos, out, pos + 1, values.length - pos);
+        return out;
+    }
+
+    private static int[] remove(int[] values, int pos) {
+        int[] out = new int[values.length - 1];
+        System.arraycopy(values, 0, out, 0, pos);
+        System.arraycopy(values, pos + 1, out, pos, values.length - pos - 1);
+        return out;
+    }
+
+    /**
+     * Epoch day of an ISO yyyy-MM-dd string without going through a DateTimeFormatter.
+     */
+    static int epochDay(String iso) {
+        return (int) LocalDate.of(
+                Integer.parseInt(iso, 0, 4, 10),
+                Integer.parseInt(iso, 5, 7, 10),
+                Integer.parseInt(iso, 8, 10, 10)).toEpochDay();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.financeapp.models;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded LRU of {@link TransactionColumns}, one per user.
+ *
+ * Snapshots are loaded on first use and then patched by TransactionManager's single-row
+ * writes ({@link #update}), so they stay current without another scan. Same stamp
+ * rule as {@link AggregateCache}: a load that started before any write is not stored.
+ */
+public class TransactionColumnsCache {
+
+    private final int maxUsers;
+    private final LinkedHashMap<Integer, TransactionColumns> entries;
+
+    // bumped on every write or invalidation; loads compare it before storing
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long loads;
+
+    public TransactionColumnsCache(int maxUsers) {
+        if (maxUsers < 1) {
+            throw new IllegalArgumentException("maxUsers must be positive, got " + maxUsers);
+        }
+        this.maxUsers = maxUsers;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, TransactionColumns> eldest) {
+                return size() > TransactionColumnsCache.this.maxUsers;
+            }
+        };
+    }
+
+    /**
+     * Cached snapshot, or null on a miss.
+     */
+    public synchronized TransactionColumns get(int userId) {
+        TransactionColumns columns = entries.get(userId);
+        if (columns != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return columns;
+    }
+
+    /**
+     * Current generation; take it before loading from the database and pass it to {@link #put}.
+     */
+    public synchronized long stamp() {
+        return generation;
+    }
+
+    /**
+     * Stores a freshly loaded snapshot unless something was written since {@code stamp}.
+     */
+    public synchronized void put(TransactionColumns columns, long stamp) {
+        loads++;
+        if (stamp == generation) {
+            entries.put(columns.getUserId(), columns);
+        }
+    }
+
+    /**
+     * Applies a committed single-row write to the user's snapshot, if one is cached.
+     */
+    public synchronized void update(int userId, UnaryOperator<TransactionColumns> change) {
+        generation++;
+        entries.computeIfPresent(userId, (id, columns) -> change.apply(columns));
+    }
+
+    public synchronized void invalidateUser(int userId) {
+        generation++;
+        entries.remove(userId);
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("users=%d/%d hits=%d misses=%d loads=%d", entries.size(), maxUsers, hits, misses, loads);
+    }
+}
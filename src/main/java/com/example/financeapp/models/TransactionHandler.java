@@ -0,0 +1,16 @@
+package com.example.financeapp.models;
+
+import java.io.IOException;
+
+/**
+ * Receives rows from {@link TransactionManager#forEachTransaction}, one at a time,
+ * on the reading thread.
+ */
+@FunctionalInterface
+public interface TransactionHandler {
+
+    /**
+     * @return false to stop reading (e.g. the export was cancelled)
+     */
+    boolean handle(Transaction t) throws IOException;
+}
@@ -2,56 +2,107 @@ package com.example.financeapp.models;
 
 import com.example.financeapp.database.Database;
 
+import java.io.IOException;
 import java.sql.*;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 public class TransactionManager {
 
-    public TransactionManager() {
-        createTableIfNotExists();
-    }
+    public static final int DEFAULT_IMPORT_CHUNK_SIZE = 1_000;
 
-    private void createTableIfNotExists() {
-        String sql = """
-            CREATE TABLE IF NOT EXISTS transactions (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                user_id INTEGER NOT NULL,
-                date TEXT NOT NULL,
-                title TEXT,
-                amount REAL NOT NULL,
-                is_income INTEGER NOT NULL,
-                category TEXT NOT NULL,
-                payment_method TEXT,
-                notes TEXT,
-                recurring INTEGER DEFAULT 0,
-                recurrence_rule TEXT,
-                FOREIGN KEY (user_id) REFERENCES users(id)
-            );
+    // (user, month) summaries kept in memory; least recently used months go first
+    public static final int AGGREGATE_CACHE_SIZE = 240;
+
+    // shared by all TransactionManager instances so every screen sees the same cache
+    private static final AggregateCache AGGREGATE_CACHE = new AggregateCache(AGGREGATE_CACHE_SIZE);
+
+    // per-user column snapshots for analytics; each can be large, so only a few users at a time
+    public static final int COLUMNS_CACHE_SIZE = 4;
+
+    private static final TransactionColumnsCache COLUMNS_CACHE = new TransactionColumnsCache(COLUMNS_CACHE_SIZE);
+
+    private static final CategoryDictionary DICTIONARY = CategoryDictionary.shared();
+
+    private static final String SQL_INSERT = """
+            INSERT INTO transactions
+            (user_id, date, title, amount, is_income, category_id, payment_method_id, notes, recurring, recurrence_rule)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
             """;
 
-        try (Connection conn = Database.getConnection();
-             Statement stmt = conn.createStatement()) {
+    // Read queries (package-private so query-plan tests can check index usage)
+    static final String SQL_TRANSACTIONS_FOR_USER =
+            "SELECT * FROM transactions WHERE user_id = ? ORDER BY date DESC, id DESC";
+
+    static final String SQL_RECENT_TRANSACTIONS =
+            "SELECT * FROM transactions WHERE user_id = ? ORDER BY date DESC, id DESC LIMIT ?";
+
+    // Keyset paging: seek past the last (date, id) seen instead of OFFSET, so every page
+    // costs the same no matter how deep the user has scrolled
+    static final String SQL_TRANSACTIONS_PAGE_AFTER = """
+            SELECT * FROM transactions
+            WHERE user_id = ?
+              AND (date, id) < (?, ?)
+            ORDER BY date DESC, id DESC
+            LIMIT ?
+            """;
 
-            stmt.execute(sql);
+    // Report export: one date range, oldest first, walked on idx_transactions_user_date
+    static final String SQL_TRANSACTIONS_BETWEEN = """
+            SELECT * FROM transactions
+            WHERE user_id = ? AND date >= ? AND date <= ?
+            ORDER BY date, id
+            """;
 
-            // Migration: add title column if the table existed without it
-            try (Statement alter = conn.createStatement()) {
-                alter.execute("ALTER TABLE transactions ADD COLUMN title TEXT");
-            } catch (SQLException e) {
-                // Ignore if column already exists
-                if (!e.getMessage().toLowerCase().contains("duplicate column name")) {
-                    e.printStackTrace();
-                }
-            }
+    // Rows the driver fetches per round trip when streaming a range
+    public static final int STREAM_FETCH_SIZE = 500;
+
+    // Month aggregates read the monthly_rollups buckets (kept current by triggers, see
+    // Migrations) instead of re-aggregating raw rows: one row per category at most.
+    static final String SQL_MONTHLY_SUMMARY = """
+            SELECT is_income, category_id, amount_sum AS total, tx_count AS cnt
+            FROM monthly_rollups
+            WHERE user_id = ?
+              AND month = ?
+              AND is_income IN (0, 1)
+            """;
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    static final String SQL_MONTHLY_TOTALS_RANGE = """
+            SELECT month, is_income, SUM(amount_sum) AS total
+            FROM monthly_rollups
+            WHERE user_id = ?
+              AND month >= ?
+              AND month <= ?
+              AND is_income IN (0, 1)
+            GROUP BY month, is_income
+            """;
+
+    private final BudgetAlertEvaluator alerts;
+
+    public TransactionManager() {
+        this(new BudgetAlertEvaluator());
+    }
+
+    /**
+     * @param alerts re-checks the affected budget after every write
+     */
+    public TransactionManager(BudgetAlertEvaluator alerts) {
+        this.alerts = alerts;
+    }
+
+    public static AggregateCache getAggregateCache() {
+        return AGGREGATE_CACHE;
+    }
+
+    public static TransactionColumnsCache getColumnsCache() {
+        return COLUMNS_CACHE;
     }
 
     // ==========================
@@ -59,33 +110,21 @@ public class TransactionManager {
     // ==========================
 
     public int addTransaction(Transaction t) {
-        String sql = """
-            INSERT INTO transactions
-            (user_id, date, title, amount, is_income, category, payment_method, notes, recurring, recurrence_rule)
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-            """;
-
         try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            ps.setInt(1, t.getUserId());
-            ps.setString(2, t.getDate().toString());
-            ps.setString(3, t.getTitle());
-            ps.setDouble(4, t.getAmount());
-            ps.setInt(5, t.isIncome() ? 1 : 0);
-            ps.setString(6, t.getCategory());
-            ps.setString(7, t.getPaymentMethod());
-            ps.setString(8, t.getNotes());
-            ps.setInt(9, t.isRecurring() ? 1 : 0);
-            ps.setString(10, t.getRecurrenceRule());
+             PreparedStatement ps = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+
+            bindInsert(conn, ps, t);
 
             int affected = ps.executeUpdate();
             if (affected == 0) return -1;
+            AGGREGATE_CACHE.invalidate(t.getUserId(), YearMonth.from(t.getDate()));
+            evaluateAlerts(conn, Bucket.of(t));
 
             try (ResultSet keys = ps.getGeneratedKeys()) {
                 if (keys.next()) {
                     int id = keys.getInt(1);
                     t.setId(id);
+                    putInColumns(conn, t, false);
                     return id;
                 }
             }
@@ -95,10 +134,137 @@ public class TransactionManager {
         return -1;
     }
 
+    // ==========================
+    // Bulk insert
+    // ==========================
+
+    /**
+     * Inserts many transactions using JDBC batches, committing every
+     * {@link #DEFAULT_IMPORT_CHUNK_SIZE} rows instead of once per row.
+     *
+     * @return generated ids in input order; -1 for rows that were not inserted
+     */
+    public int[] addTransactions(List<Transaction> transactions) {
+        int[] ids = new int[transactions.size()];
+        Arrays.fill(ids, -1);
+
+        int[] next = {0};
+        importTransactions(transactions.iterator(), DEFAULT_IMPORT_CHUNK_SIZE, (chunkIds, rowsSoFar, rate) -> {
+            System.arraycopy(chunkIds, 0, ids, next[0], chunkIds.length);
+            next[0] += chunkIds.length;
+        });
+        return ids;
+    }
+
+    /**
+     * Streams transactions into the database in chunks. Each chunk is one batched
+     * INSERT inside its own DB transaction, so memory stays bounded by the chunk
+     * size and a failure only rolls back the current chunk.
+     * Generated ids are set on each Transaction and reported per chunk.
+     *
+     * The writer connection is borrowed per chunk, and the next chunk is pulled from
+     * {@code source} (e.g. parsed from a file) after it is released, so single-row
+     * writes from the UI can run between chunks.
+     *
+     * @param listener optional progress callback (may be null)
+     */
+    public ImportResult importTransactions(Iterator<Transaction> source, int chunkSize,
+                                           ImportProgressListener listener) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive, got " + chunkSize);
+        }
+
+        long start = System.nanoTime();
+        long inserted = 0;
+        int chunks = 0;
+        List<Transaction> chunk = new ArrayList<>(chunkSize);
+
+        while (source.hasNext()) {
+            chunk.clear();
+            while (chunk.size() < chunkSize && source.hasNext()) {
+                chunk.add(source.next());
+            }
+
+            int[] chunkIds;
+            try {
+                chunkIds = writeChunk(chunk);
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return new ImportResult(inserted, chunks, System.nanoTime() - start, false);
+            }
+            for (Transaction t : chunk) {
+                AGGREGATE_CACHE.invalidate(t.getUserId(), YearMonth.from(t.getDate()));
+            }
+            // cheaper to rescan once than to patch a snapshot row by row
+            chunk.stream().mapToInt(Transaction::getUserId).distinct()
+                    .forEach(COLUMNS_CACHE::invalidateUser);
+
+            inserted += chunk.size();
+            chunks++;
+            if (listener != null) {
+                double secs = (System.nanoTime() - start) / 1e9;
+                listener.onChunkCommitted(chunkIds, inserted, secs > 0 ? inserted / secs : 0.0);
+            }
+        }
+
+        return new ImportResult(inserted, chunks, System.nanoTime() - start, true);
+    }
+
+    /**
+     * Inserts one chunk in its own DB transaction on a freshly borrowed writer connection.
+     * On failure the chunk is rolled back and the exception rethrown.
+     */
+    private int[] writeChunk(List<Transaction> chunk) throws SQLException {
+        try (Connection conn = Database.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_INSERT)) {
+
+            conn.setAutoCommit(false);
+            try {
+                int[] chunkIds = insertChunk(conn, ps, chunk);
+                // one budget check per bucket the chunk touched, committed with its rows
+                chunk.stream().map(Bucket::of).distinct()
+                        .forEach(b -> evaluateAlerts(conn, b));
+                conn.commit();
+                return chunkIds;
+            } catch (SQLException e) {
+                conn.rollback();
+                DICTIONARY.invalidate(); // categories added by this chunk were rolled back too
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private int[] insertChunk(Connection conn, PreparedStatement ps, List<Transaction> chunk) throws SQLException {
+        for (Transaction t : chunk) {
+            bindInsert(conn, ps, t);
+            ps.addBatch();
+        }
+        ps.executeBatch();
+
+        // We hold the only writer connection inside one transaction, so AUTOINCREMENT
+        // hands out consecutive ids ending at last_insert_rowid().
+        long lastId;
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT last_insert_rowid()")) {
+            rs.next();
+            lastId = rs.getLong(1);
+        }
+
+        int[] ids = new int[chunk.size()];
+        int firstId = (int) (lastId - chunk.size() + 1);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = firstId + i;
+            chunk.get(i).setId(ids[i]);
+        }
+        return ids;
+    }
+
     public boolean updateTransaction(Transaction t) {
         String sql = """
             UPDATE transactions
-            SET date = ?, title = ?, amount = ?, is_income = ?, category = ?, payment_method = ?,
+            SET date = ?, title = ?, amount = ?, is_income = ?, category_id = ?, payment_method_id = ?,
                 notes = ?, recurring = ?, recurrence_rule = ?
             WHERE id = ? AND user_id = ?
             """;
@@ -108,17 +274,29 @@ public class TransactionManager {
 
             ps.setString(1, t.getDate().toString());
             ps.setString(2, t.getTitle());
-            ps.setDouble(3, t.getAmount());
+            ps.setLong(3, minorUnits(t, UserCurrencyScales.forUser(conn, t.getUserId())));
             ps.setInt(4, t.isIncome() ? 1 : 0);
-            ps.setString(5, t.getCategory());
-            ps.setString(6, t.getPaymentMethod());
+            t.setCategoryId(DICTIONARY.categoryId(conn, t.getUserId(), t.getCategory()));
+            ps.setInt(5, t.getCategoryId());
+            setNullableInt(ps, 6, DICTIONARY.paymentMethodId(conn, t.getPaymentMethod()));
             ps.setString(7, t.getNotes());
             ps.setInt(8, t.isRecurring() ? 1 : 0);
             ps.setString(9, t.getRecurrenceRule());
             ps.setInt(10, t.getId());
             ps.setInt(11, t.getUserId());
 
-            return ps.executeUpdate() > 0;
+            Bucket old = findBucket(conn, t.getId(), t.getUserId());
+            if (ps.executeUpdate() == 0) return false;
+
+            Bucket current = Bucket.of(t);
+            if (old != null) AGGREGATE_CACHE.invalidate(t.getUserId(), old.month());
+            AGGREGATE_CACHE.invalidate(t.getUserId(), current.month());
+            putInColumns(conn, t, true);
+            if (old != null && !old.equals(current)) {
+                evaluateAlerts(conn, old); // spending moved out of this bucket
+            }
+            evaluateAlerts(conn, current);
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -134,7 +312,15 @@ public class TransactionManager {
             ps.setInt(1, id);
             ps.setInt(2, userId);
 
-            return ps.executeUpdate() > 0;
+            Bucket old = findBucket(conn, id, userId);
+            if (ps.executeUpdate() == 0) return false;
+
+            if (old != null) {
+                AGGREGATE_CACHE.invalidate(userId, old.month());
+                evaluateAlerts(conn, old);
+            }
+            COLUMNS_CACHE.update(userId, c -> c.withoutRow(id));
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -146,17 +332,17 @@ public class TransactionManager {
     // ==========================
 
     public List<Transaction> getTransactionsForUser(int userId) {
-        String sql = "SELECT * FROM transactions WHERE user_id = ? ORDER BY date DESC, id DESC";
         List<Transaction> list = new ArrayList<>();
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection conn = Database.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_TRANSACTIONS_FOR_USER)) {
 
+            int scale = UserCurrencyScales.forUser(conn, userId);
             ps.setInt(1, userId);
             ResultSet rs = ps.executeQuery();
 
             while (rs.next()) {
-                list.add(mapRowToTransaction(rs));
+                list.add(mapRowToTransaction(conn, rs, scale));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -164,19 +350,73 @@ public class TransactionManager {
         return list;
     }
 
+    /**
+     * Streams the user's transactions between two dates (inclusive), oldest first, straight
+     * from the ResultSet: only the current row is in memory, whatever the size of the range.
+     *
+     * @return rows passed to {@code handler}; reading stops early if it returns false
+     * @throws IOException thrown by the handler, or wrapping a database error
+     */
+    public long forEachTransaction(int userId, LocalDate from, LocalDate toInclusive,
+                                   TransactionHandler handler) throws IOException {
+        long rows = 0;
+        try (Connection conn = Database.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_TRANSACTIONS_BETWEEN)) {
+
+            int scale = UserCurrencyScales.forUser(conn, userId);
+            ps.setInt(1, userId);
+            ps.setString(2, from.toString());
+            ps.setString(3, toInclusive.toString());
+            ps.setFetchSize(STREAM_FETCH_SIZE);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows++;
+                    if (!handler.handle(mapRowToTransaction(conn, rs, scale))) {
+                        break;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not read transactions: " + e.getMessage(), e);
+        }
+        return rows;
+    }
+
+    /**
+     * One of the user's transactions by id, or null if the user has no such row.
+     */
+    public Transaction getTransaction(int id, int userId) {
+        try (Connection conn = Database.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT * FROM transactions WHERE id = ? AND user_id = ?")) {
+
+            int scale = UserCurrencyScales.forUser(conn, userId);
+            ps.setInt(1, id);
+            ps.setInt(2, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return mapRowToTransaction(conn, rs, scale);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     public List<Transaction> getRecentTransactions(int userId, int limit) {
-        String sql = "SELECT * FROM transactions WHERE user_id = ? ORDER BY date DESC, id DESC LIMIT ?";
         List<Transaction> list = new ArrayList<>();
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection conn = Database.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_RECENT_TRANSACTIONS)) {
 
+            int scale = UserCurrencyScales.forUser(conn, userId);
             ps.setInt(1, userId);
             ps.setInt(2, limit);
             ResultSet rs = ps.executeQuery();
 
             while (rs.next()) {
-                list.add(mapRowToTransaction(rs));
+                list.add(mapRowToTransaction(conn, rs, scale));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -184,6 +424,59 @@ public class TransactionManager {
         return list;
     }
 
+    /**
+     * Newest-first page of a user's transactions.
+     *
+     * @param after cursor from the previous page, or null for the first page
+     */
+    public TransactionPage getTransactionsPage(int userId, PageCursor after, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive, got " + pageSize);
+        }
+        List<Transaction> list = new ArrayList<>(pageSize + 1);
+
+        try (Connection conn = Database.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                     after == null ? SQL_RECENT_TRANSACTIONS : SQL_TRANSACTIONS_PAGE_AFTER)) {
+
+            int scale = UserCurrencyScales.forUser(conn, userId);
+            ps.setInt(1, userId);
+            if (after == null) {
+                ps.setInt(2, pageSize + 1);
+            } else {
+                ps.setString(2, after.getDate().toString());
+                ps.setInt(3, after.getId());
+                ps.setInt(4, pageSize + 1);
+            }
+
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                list.add(mapRowToTransaction(conn, rs, scale));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        // one extra row tells us whether another page exists
+        boolean hasMore = list.size() > pageSize;
+        if (hasMore) {
+            list.remove(list.size() - 1);
+        }
+        return new TransactionPage(list, hasMore);
+    }
+
+    /**
+     * Category names offered to the user: the built-in ones, then the user's own.
+     */
+    public List<String> getCategoriesForUser(int userId) {
+        try (Connection conn = Database.getReadConnection()) {
+            return DICTIONARY.categoriesForUser(conn, userId);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return Categories.getDefaultExpenseCategories();
+    }
+
     public double getTotalIncomeForMonth(int userId, YearMonth month) {
         return getTotalForMonth(userId, month, true);
     }
@@ -193,85 +486,258 @@ public class TransactionManager {
     }
 
     private double getTotalForMonth(int userId, YearMonth month, boolean income) {
-        String sql = """
-                SELECT SUM(amount) AS total
-                FROM transactions
-                WHERE user_id = ?
-                  AND is_income = ?
-                  AND date >= ?
-                  AND date <  ?
-                """;
+        MonthlySummary summary = getMonthlySummary(userId, month);
+        return income ? summary.getIncome() : summary.getExpense();
+    }
 
-        LocalDate start = month.atDay(1);
-        LocalDate endExclusive = month.plusMonths(1).atDay(1);
+    public Map<String, Double> getCategoryTotalsForMonth(int userId, YearMonth month, boolean income) {
+        MonthlySummary summary = getMonthlySummary(userId, month);
+        return new HashMap<>(income ? summary.getIncomeByCategory() : summary.getExpenseByCategory());
+    }
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+    /**
+     * Income, expense, net and per-category totals for a month from a single query.
+     * Served from the {@link AggregateCache} when possible.
+     */
+    public MonthlySummary getMonthlySummary(int userId, YearMonth month) {
+        MonthlySummary cached = AGGREGATE_CACHE.get(userId, month);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = AGGREGATE_CACHE.stamp();
+        Map<Integer, Long> income = new HashMap<>();
+        Map<Integer, Long> expense = new HashMap<>();
+        Map<Integer, String> names = new HashMap<>();
+        int count = 0;
+        int scale;
 
+        try (Connection conn = Database.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_MONTHLY_SUMMARY)) {
+
+            scale = UserCurrencyScales.forUser(conn, userId);
             ps.setInt(1, userId);
-            ps.setInt(2, income ? 1 : 0);
-            ps.setString(3, start.toString());
-            ps.setString(4, endExclusive.toString());
+            ps.setString(2, month.toString());
 
             ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                return rs.getDouble("total");
+            while (rs.next()) {
+                int categoryId = rs.getInt("category_id");
+                Map<Integer, Long> target = rs.getInt("is_income") == 1 ? income : expense;
+                target.put(categoryId, rs.getLong("total"));
+                count += rs.getInt("cnt");
+            }
+            for (Integer categoryId : income.keySet()) {
+                names.put(categoryId, DICTIONARY.categoryName(conn, categoryId));
+            }
+            for (Integer categoryId : expense.keySet()) {
+                names.put(categoryId, DICTIONARY.categoryName(conn, categoryId));
             }
         } catch (SQLException e) {
             e.printStackTrace();
+            return MonthlySummary.empty(month); // not cached
         }
-        return 0.0;
+
+        MonthlySummary summary = new MonthlySummary(month, income, expense, names, count, scale);
+        AGGREGATE_CACHE.put(userId, summary, stamp);
+        return summary;
     }
 
-    public Map<String, Double> getCategoryTotalsForMonth(int userId, YearMonth month, boolean income) {
-        String sql = """
-                SELECT category, SUM(amount) AS total
-                FROM transactions
-                WHERE user_id = ?
-                  AND is_income = ?
-                  AND date >= ?
-                  AND date <  ?
-                GROUP BY category
-                """;
+    // ==========================
+    // Column snapshot for analytics
+    // ==========================
+
+    /**
+     * All of the user's transactions as primitive columns, loaded with one scan on first use
+     * and kept current by this class's writes. Analytics and charts aggregate over it in memory.
+     */
+    public TransactionColumns getColumns(int userId) {
+        TransactionColumns cached = COLUMNS_CACHE.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = COLUMNS_CACHE.stamp();
+        try (Connection conn = Database.getReadConnection()) {
+            TransactionColumns columns = TransactionColumns.load(conn, userId);
+            COLUMNS_CACHE.put(columns, stamp);
+            return columns;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return TransactionColumns.empty(userId, 2); // not cached
+    }
 
-        LocalDate start = month.atDay(1);
-        LocalDate endExclusive = month.plusMonths(1).atDay(1);
+    // ==========================
+    // Time series for charts
+    // ==========================
 
-        Map<String, Double> result = new HashMap<>();
+    /**
+     * Income/expense per month for an inclusive month range, from one query over the rollups.
+     * Every month in the range is present (zero when there is no data), oldest first.
+     */
+    public Map<YearMonth, PeriodTotals> getMonthlyTotals(int userId, YearMonth fromMonth, YearMonth toMonth) {
+        Map<YearMonth, long[]> sums = new HashMap<>(); // [income, expense] in minor units
+        int scale = 2;
 
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection conn = Database.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_MONTHLY_TOTALS_RANGE)) {
 
+            scale = UserCurrencyScales.forUser(conn, userId);
             ps.setInt(1, userId);
-            ps.setInt(2, income ? 1 : 0);
-            ps.setString(3, start.toString());
-            ps.setString(4, endExclusive.toString());
+            ps.setString(2, fromMonth.toString());
+            ps.setString(3, toMonth.toString());
 
             ResultSet rs = ps.executeQuery();
             while (rs.next()) {
-                result.put(rs.getString("category"), rs.getDouble("total"));
+                long[] bucket = sums.computeIfAbsent(YearMonth.parse(rs.getString("month")), k -> new long[2]);
+                bucket[rs.getInt("is_income") == 1 ? 0 : 1] += rs.getLong("total");
             }
         } catch (SQLException e) {
             e.printStackTrace();
         }
 
+        Map<YearMonth, PeriodTotals> result = new LinkedHashMap<>();
+        for (YearMonth m = fromMonth; !m.isAfter(toMonth); m = m.plusMonths(1)) {
+            long[] bucket = sums.getOrDefault(m, new long[2]);
+            result.put(m, new PeriodTotals(m.atDay(1),
+                    Money.toMajor(bucket[0], scale), Money.toMajor(bucket[1], scale)));
+        }
         return result;
     }
 
+    /**
+     * Dense time series between two dates (inclusive) at the given granularity.
+     * Keys are bucket start dates in ascending order; empty buckets are zero-filled.
+     */
+    public Map<LocalDate, PeriodTotals> getTotalsSeries(int userId, LocalDate from, LocalDate toInclusive,
+                                                       Granularity granularity) {
+        String sql = "SELECT " + granularity.bucketSql() + " AS period, is_income, SUM(amount) AS total"
+                + " FROM transactions"
+                + " WHERE user_id = ? AND is_income IN (0, 1) AND date >= ? AND date < ?"
+                + " GROUP BY period, is_income";
+
+        Map<LocalDate, long[]> sums = new HashMap<>(); // [income, expense] in minor units
+        int scale = 2;
+
+        try (Connection conn = Database.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            scale = UserCurrencyScales.forUser(conn, userId);
+            ps.setInt(1, userId);
+            ps.setString(2, from.toString());
+            ps.setString(3, toInclusive.plusDays(1).toString());
+
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                long[] bucket = sums.computeIfAbsent(LocalDate.parse(rs.getString("period")), k -> new long[2]);
+                bucket[rs.getInt("is_income") == 1 ? 0 : 1] += rs.getLong("total");
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        Map<LocalDate, PeriodTotals> series = new LinkedHashMap<>();
+        for (LocalDate d = granularity.bucketStart(from); !d.isAfter(toInclusive); d = granularity.next(d)) {
+            long[] bucket = sums.getOrDefault(d, new long[2]);
+            series.put(d, new PeriodTotals(d, Money.toMajor(bucket[0], scale), Money.toMajor(bucket[1], scale)));
+        }
+        return series;
+    }
+
     // ==========================
     // Helper
     // ==========================
 
-    private Transaction mapRowToTransaction(ResultSet rs) throws SQLException {
+    /**
+     * Rollup bucket of a stored row, read before it is updated or deleted; null if there is no such row.
+     */
+    private Bucket findBucket(Connection conn, int id, int userId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT date, is_income, category_id FROM transactions WHERE id = ? AND user_id = ?")) {
+            ps.setInt(1, id);
+            ps.setInt(2, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return null;
+                return new Bucket(userId, YearMonth.from(LocalDate.parse(rs.getString("date"))),
+                        rs.getInt("category_id"), rs.getInt("is_income") == 1);
+            }
+        }
+    }
+
+    private void evaluateAlerts(Connection conn, Bucket bucket) {
+        if (!bucket.income()) { // budgets only cover expenses
+            alerts.evaluate(conn, bucket.userId(), bucket.categoryId(), bucket.month());
+        }
+    }
+
+    /**
+     * The monthly_rollups row a transaction counts towards.
+     */
+    private record Bucket(int userId, YearMonth month, int categoryId, boolean income) {
+        static Bucket of(Transaction t) {
+            return new Bucket(t.getUserId(), YearMonth.from(t.getDate()), t.getCategoryId(), t.isIncome());
+        }
+    }
+
+    /**
+     * Binds one row for SQL_INSERT. The amount is stored in minor units of the owner's currency;
+     * category and payment method names are stored as dictionary ids (new names are added).
+     */
+    private void bindInsert(Connection conn, PreparedStatement ps, Transaction t) throws SQLException {
+        t.setCategoryId(DICTIONARY.categoryId(conn, t.getUserId(), t.getCategory()));
+
+        ps.setInt(1, t.getUserId());
+        ps.setString(2, t.getDate().toString());
+        ps.setString(3, t.getTitle());
+        ps.setLong(4, minorUnits(t, UserCurrencyScales.forUser(conn, t.getUserId())));
+        ps.setInt(5, t.isIncome() ? 1 : 0);
+        ps.setInt(6, t.getCategoryId());
+        setNullableInt(ps, 7, DICTIONARY.paymentMethodId(conn, t.getPaymentMethod()));
+        ps.setString(8, t.getNotes());
+        ps.setInt(9, t.isRecurring() ? 1 : 0);
+        ps.setString(10, t.getRecurrenceRule());
+    }
+
+    /**
+     * Puts a just-written row into the user's column snapshot, if one is cached.
+     *
+     * @param replace true when the row existed before (an update), so its old version goes first
+     */
+    private void putInColumns(Connection conn, Transaction t, boolean replace) throws SQLException {
+        long amount = minorUnits(t, UserCurrencyScales.forUser(conn, t.getUserId()));
+        String categoryName = DICTIONARY.categoryName(conn, t.getCategoryId());
+        COLUMNS_CACHE.update(t.getUserId(), c -> (replace ? c.withoutRow(t.getId()) : c)
+                .withRow(t.getId(), t.getDate(), amount, t.getCategoryId(), t.isIncome(), categoryName));
+    }
+
+    private static long minorUnits(Transaction t, int scale) throws SQLException {
+        try {
+            return Money.toMinor(t.getAmount(), scale);
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new SQLException("Amount cannot be stored: " + t.getAmount(), e);
+        }
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private Transaction mapRowToTransaction(Connection conn, ResultSet rs, int scale) throws SQLException {
         Transaction t = new Transaction();
         t.setId(rs.getInt("id"));
         t.setUserId(rs.getInt("user_id"));
         t.setDate(LocalDate.parse(rs.getString("date")));
         t.setTitle(rs.getString("title"));      // 👈 add this
-        t.setAmount(rs.getDouble("amount"));
+        t.setAmount(Money.toMajor(rs.getLong("amount"), scale));
         t.setIncome(rs.getInt("is_income") == 1);
-        t.setCategory(rs.getString("category"));
-        t.setPaymentMethod(rs.getString("payment_method"));
+        t.setCategoryId(rs.getInt("category_id"));
+        t.setCategory(DICTIONARY.categoryName(conn, t.getCategoryId()));
+        int paymentMethodId = rs.getInt("payment_method_id");
+        t.setPaymentMethod(rs.wasNull() ? null : DICTIONARY.paymentMethodName(conn, paymentMethodId));
         t.setNotes(rs.getString("notes"));
         t.setRecurring(rs.getInt("recurring") == 1);
         t.setRecurrenceRule(rs.getString("recurrence_rule"));
@@ -0,0 +1,34 @@
+package com.example.financeapp.models;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of {@link TransactionManager#getTransactionsPage}.
+ */
+public class TransactionPage {
+
+    private final List<Transaction> items;
+    private final boolean hasMore;
+
+    public TransactionPage(List<Transaction> items, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.hasMore = hasMore;
+    }
+
+    public List<Transaction> getItems() {
+        return items;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    /**
+     * Cursor for the following page, or null when this is the last one.
+     */
+    public PageCursor getNextCursor() {
+        if (!hasMore || items.isEmpty()) return null;
+        return PageCursor.after(items.get(items.size() - 1));
+    }
+}
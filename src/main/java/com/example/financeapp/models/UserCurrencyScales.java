@@ -0,0 +1,69 @@
+package com.example.financeapp.models;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.util.CurrencyUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scale of each user's stored amounts: users.amount_scale when set, otherwise the decimal
+ * places of the user's currency. Looked up once per user and kept in memory; UserManager
+ * forgets an entry when the currency changes or the user is deleted.
+ */
+public final class UserCurrencyScales {
+
+    private static final String DEFAULT_CURRENCY = "USD";
+
+    private static final Map<Integer, Integer> SCALES = new ConcurrentHashMap<>();
+    private static volatile long fileGeneration = Database.getFileGeneration();
+
+    private UserCurrencyScales() {}
+
+    /**
+     * Scale for the user's amounts, read through {@code conn} on a cache miss.
+     * Users without a row (e.g. in tests) get the default currency's scale.
+     */
+    public static int forUser(Connection conn, int userId) throws SQLException {
+        if (fileGeneration != Database.getFileGeneration()) {
+            SCALES.clear(); // another DB file: same ids, different users
+            fileGeneration = Database.getFileGeneration();
+        }
+        Integer cached = SCALES.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        String code = DEFAULT_CURRENCY;
+        Integer stored = null;
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT currency_code, amount_scale FROM users WHERE id = ?")) {
+            ps.setInt(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    if (rs.getString(1) != null) {
+                        code = rs.getString(1);
+                    }
+                    int scale = rs.getInt(2);
+                    stored = rs.wasNull() ? null : scale;
+                }
+            }
+        }
+
+        int scale = stored != null ? stored : CurrencyUtil.getFractionDigits(code);
+        SCALES.put(userId, scale);
+        return scale;
+    }
+
+    public static void forget(int userId) {
+        SCALES.remove(userId);
+    }
+
+    public static void clear() {
+        SCALES.clear();
+    }
+}
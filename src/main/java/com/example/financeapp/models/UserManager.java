@@ -1,12 +1,12 @@
 package com.example.financeapp.models;
 
 import com.example.financeapp.database.Database;
+import com.example.financeapp.util.CurrencyUtil;
 
 import java.sql.*;
 
 /**
  * Handles all database operations related to users:
- *  - create users table (if not exists)
  *  - register new user
  *  - login existing user
  *  - update goal / currency
@@ -14,50 +14,6 @@ import java.sql.*;
  */
 public class UserManager {
 
-    public UserManager() {
-        createTableIfNotExists();
-    }
-
-    // ==========================
-    // TABLE SETUP
-    // ==========================
-
-    private void createTableIfNotExists() {
-        String createSql = """
-             CREATE TABLE IF NOT EXISTS users (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                username TEXT NOT NULL COLLATE NOCASE UNIQUE,
-                email TEXT NOT NULL COLLATE NOCASE UNIQUE,
-                password_hash TEXT NOT NULL,
-                salt TEXT NOT NULL,
-                goal TEXT,
-                currency_code TEXT NOT NULL DEFAULT 'USD'
-             );
-         """;
-
-        try (Connection conn = Database.getConnection();
-             Statement stmt = conn.createStatement()) {
-
-            // Create table if it doesn't exist at all
-            stmt.execute(createSql);
-
-            // Ensure currency_code column exists (for older DBs)
-            try {
-                stmt.execute("ALTER TABLE users ADD COLUMN currency_code TEXT NOT NULL DEFAULT 'USD';");
-                System.out.println("Added currency_code column to users table.");
-            } catch (SQLException e) {
-                // If column already exists, SQLite will throw an error; we can safely ignore it
-                if (!e.getMessage().toLowerCase().contains("duplicate column")
-                        && !e.getMessage().toLowerCase().contains("already exists")) {
-                    e.printStackTrace();
-                }
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-
     // ==========================
     // REGISTER
     // ==========================
@@ -120,7 +76,7 @@ public class UserManager {
         String sql = "SELECT * FROM users " +
                 "WHERE LOWER(username) = LOWER(?) OR LOWER(email) = LOWER(?)";
 
-        try (Connection conn = Database.getConnection();
+        try (Connection conn = Database.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, usernameOrEmail);
@@ -163,16 +119,43 @@ public class UserManager {
         return false;
     }
 
+    /**
+     * Changes the user's currency. Stored amounts are minor units at the user's scale, which
+     * only ever grows: a currency with more decimal places (JPY -> USD) rescales the user's
+     * transactions and alerts in the same DB transaction, one with fewer (USD -> JPY) keeps
+     * the current scale so no row is rounded and switching back restores every amount.
+     */
     public boolean updateCurrency(int userId, String currencyCode) {
-        String sql = "UPDATE users SET currency_code = ? WHERE id = ?";
-
-        try (Connection conn = Database.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+        String sql = "UPDATE users SET currency_code = ?, amount_scale = ? WHERE id = ?";
 
-            ps.setString(1, currencyCode);
-            ps.setInt(2, userId);
+        try (Connection conn = Database.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                int oldScale = UserCurrencyScales.forUser(conn, userId);
+                int newScale = Math.max(oldScale, CurrencyUtil.getFractionDigits(currencyCode));
+
+                ps.setString(1, currencyCode);
+                ps.setInt(2, newScale);
+                ps.setInt(3, userId);
+                if (ps.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
 
-            return ps.executeUpdate() > 0;
+                if (newScale > oldScale) {
+                    rescaleAmounts(conn, userId, (long) Math.pow(10, newScale - oldScale));
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+                UserCurrencyScales.forget(userId);
+                TransactionManager.getAggregateCache().invalidateUser(userId);
+                TransactionManager.getColumnsCache().invalidateUser(userId);
+            }
+            return true;
 
         } catch (SQLException e) {
             e.printStackTrace();
@@ -180,6 +163,20 @@ public class UserManager {
         return false;
     }
 
+    private void rescaleAmounts(Connection conn, int userId, long factor) throws SQLException {
+        String[] sqls = {
+                "UPDATE transactions SET amount = amount * ? WHERE user_id = ?",
+                "UPDATE budget_alerts SET spent = spent * ? WHERE user_id = ?"
+        };
+        for (String sql : sqls) {
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setLong(1, factor);
+                ps.setInt(2, userId);
+                ps.executeUpdate();
+            }
+        }
+    }
+
     // ==========================
     // LOAD BY ID
     // ==========================
@@ -187,7 +184,7 @@ public class UserManager {
     public User getUserById(int id) {
         String sql = "SELECT * FROM users WHERE id = ?";
 
-        try (Connection conn = Database.getConnection();
+        try (Connection conn = Database.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, id);
@@ -213,7 +210,7 @@ public class UserManager {
     public User getUserByEmailOrUsername(String input) {
         String sql = "SELECT * FROM users WHERE LOWER(email) = LOWER(?) OR LOWER(username) = LOWER(?)";
 
-        try (Connection conn = Database.getConnection();
+        try (Connection conn = Database.getReadConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setString(1, input);
@@ -330,6 +327,9 @@ public class UserManager {
     public boolean deleteUser(int userId) {
         String deleteTransactions = "DELETE FROM transactions WHERE user_id = ?";
         String deleteBudgets = "DELETE FROM budgets WHERE user_id = ?";
+        String deleteCategories = "DELETE FROM categories WHERE owner_id = ?";
+        String deleteRules = "DELETE FROM insight_rules WHERE user_id = ?";
+        String deleteAlerts = "DELETE FROM budget_alerts WHERE user_id = ?";
         String deleteUser = "DELETE FROM users WHERE id = ?";
 
         try (Connection conn = Database.getConnection()) {
@@ -337,7 +337,10 @@ public class UserManager {
 
             try (PreparedStatement ps1 = conn.prepareStatement(deleteTransactions);
                  PreparedStatement ps2 = conn.prepareStatement(deleteBudgets);
-                 PreparedStatement ps3 = conn.prepareStatement(deleteUser)) {
+                 PreparedStatement ps3 = conn.prepareStatement(deleteUser);
+                 PreparedStatement ps4 = conn.prepareStatement(deleteCategories);
+                 PreparedStatement ps5 = conn.prepareStatement(deleteRules);
+                 PreparedStatement ps6 = conn.prepareStatement(deleteAlerts)) {
 
                 ps1.setInt(1, userId);
                 ps1.executeUpdate();
@@ -345,10 +348,24 @@ public class UserManager {
                 ps2.setInt(1, userId);
                 ps2.executeUpdate();
 
+                ps6.setInt(1, userId);
+                ps6.executeUpdate();
+
+                ps4.setInt(1, userId); // custom categories only; built-ins have owner 0
+                ps4.executeUpdate();
+
+                ps5.setInt(1, userId);
+                ps5.executeUpdate();
+
                 ps3.setInt(1, userId);
                 int rows = ps3.executeUpdate();
 
                 conn.commit();
+                UserCurrencyScales.forget(userId);
+                CategoryDictionary.shared().invalidate();
+                TransactionManager.getAggregateCache().invalidateUser(userId);
+                TransactionManager.getColumnsCache().invalidateUser(userId);
+                InsightRuleManager.forget(userId);
                 return rows > 0;
             } catch (SQLException e) {
                 conn.rollback();
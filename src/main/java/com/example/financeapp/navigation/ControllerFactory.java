@@ -0,0 +1,57 @@
+package com.example.financeapp.navigation;
+
+import com.example.financeapp.services.ServiceRegistry;
+import javafx.util.Callback;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Creates FXML controllers with their services injected through the constructor.
+ *
+ * A controller declares what it needs as constructor parameters (e.g.
+ * {@code DashboardController(TransactionManager, BudgetManager)}); each parameter is
+ * resolved by type from the {@link ServiceRegistry}. Controllers without such a
+ * constructor are created with their no-argument one.
+ */
+public class ControllerFactory implements Callback<Class<?>, Object> {
+
+    private final ServiceRegistry registry;
+
+    public ControllerFactory(ServiceRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object call(Class<?> type) {
+        try {
+            Constructor<?> constructor = pickConstructor(type);
+            Class<?>[] params = constructor.getParameterTypes();
+
+            Object[] args = new Object[params.length];
+            for (int i = 0; i < params.length; i++) {
+                args[i] = registry.require(params[i]);
+            }
+            return constructor.newInstance(args);
+
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Controller " + type.getName() + " failed to construct", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create controller " + type.getName(), e);
+        }
+    }
+
+    /**
+     * The public constructor with the most parameters (the injection constructor),
+     * falling back to the no-argument one.
+     */
+    private static Constructor<?> pickConstructor(Class<?> type) throws NoSuchMethodException {
+        Constructor<?> best = null;
+        for (Constructor<?> c : type.getConstructors()) {
+            if (best == null || c.getParameterCount() > best.getParameterCount()) {
+                best = c;
+            }
+        }
+        return best != null ? best : type.getDeclaredConstructor();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.financeapp.navigation;
+
+/**
+ * Implemented by controllers whose views {@link SceneManager} may keep in its cache.
+ *
+ * {@link #onShow()} runs every time the view becomes visible, the first time included,
+ * so screen data should be loaded there rather than in {@code initialize()}.
+ */
+public interface RefreshableController {
+
+    void onShow();
+}
@@ -1,41 +1,84 @@
 package com.example.financeapp.navigation;
 
+import com.example.financeapp.services.ServiceRegistry;
+import com.example.financeapp.util.AsyncLoader;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.io.IOException;
 import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class SceneManager {
 
+    // Bottom-nav tabs plus Budgets; older views are evicted LRU
+    private static final int MAX_CACHED_VIEWS = 5;
+
+    // Views the user most likely opens right after logging in
+    private static final String[] PRELOAD_AFTER_LOGIN = {"TransactionsList", "ReportsView", "SettingsView"};
+
     private static Stage stage;
     private static Scene scene;              // 👈 Persist ONE scene
     private static String currentViewName;
 
+    // Parsed views whose controller can refresh itself (FX thread only)
+    private static final LinkedHashMap<String, LoadedView> viewCache =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, LoadedView> eldest) {
+                    if (size() > MAX_CACHED_VIEWS) {
+                        System.out.println("[SceneManager] Evicted cached view " + eldest.getKey());
+                        return true;
+                    }
+                    return false;
+                }
+            };
+
+    // builds controllers with the app-wide services injected (created on first load)
+    private static volatile ControllerFactory controllerFactory;
+
+    // bumped by clearCache() so preloads started for a previous session are dropped
+    private static int cacheGeneration;
+
+    // switch latency, split by cache hit / fresh parse
+    private static long cachedSwitches, cachedSwitchNanos;
+    private static long parsedSwitches, parsedSwitchNanos;
+
     public static void setStage(Stage primaryStage) {
         stage = primaryStage;
     }
 
     public static void switchTo(String fxmlName) {
+        long start = System.nanoTime();
         try {
+            // Results of the previous screen's loads would land in nodes that are gone
+            int cancelled = AsyncLoader.cancelPending();
+            if (cancelled > 0) {
+                System.out.println("[SceneManager] Cancelled " + cancelled + " pending load(s) of " + currentViewName);
+            }
+
             currentViewName = fxmlName;
 
-            String fxmlPath = "/com/example/financeapp/views/" + fxmlName + ".fxml";
-            URL location = SceneManager.class.getResource(fxmlPath);
+            LoadedView view = viewCache.get(fxmlName);
+            boolean cached = view != null;
 
-            if (location == null) {
-                System.out.println("❌ FXML NOT FOUND at: " + fxmlPath);
-                return;
+            if (!cached) {
+                view = load(fxmlName);
+                if (view == null) {
+                    return;
+                }
+                if (view.controller instanceof RefreshableController) {
+                    viewCache.put(fxmlName, view);
+                }
             }
 
-            System.out.println("📄 Loading FXML: " + location);
-            FXMLLoader loader = new FXMLLoader(location);
-            Parent root = loader.load();   // 👈 Load only the root
-
             if (scene == null) {
                 // FIRST LOAD → create the Scene once
-                scene = new Scene(root);
+                scene = new Scene(view.root);
 
                 URL css = SceneManager.class.getResource("/com/example/financeapp/styles/app.css");
                 if (css != null) {
@@ -46,21 +89,122 @@ public class SceneManager {
                 stage.show();
             } else {
                 // NEXT LOADS → reuse the same Scene, swap root
-                scene.setRoot(root);
+                scene.setRoot(view.root);
             }
 
+            if (view.controller instanceof RefreshableController refreshable) {
+                refreshable.onShow();
+            }
+
+            recordSwitch(fxmlName, cached, System.nanoTime() - start);
+
         } catch (Exception e) {
             System.out.println("❌ Failed to load scene: " + fxmlName);
             e.printStackTrace();
         }
     }
 
+    /**
+     * Parses the given views on a background thread and adds them to the cache,
+     * so the first switch to them does not pay for FXML parsing.
+     */
+    public static void preload(String... fxmlNames) {
+        int generation = cacheGeneration;
+
+        Thread worker = new Thread(() -> {
+            for (String name : fxmlNames) {
+                try {
+                    // Building nodes off the FX thread is fine while they are not in a scene
+                    LoadedView view = load(name);
+                    if (view == null || !(view.controller instanceof RefreshableController)) {
+                        continue;
+                    }
+                    Platform.runLater(() -> {
+                        if (generation == cacheGeneration && !viewCache.containsKey(name)) {
+                            viewCache.put(name, view);
+                            System.out.println("[SceneManager] Preloaded " + name);
+                        }
+                    });
+                } catch (Exception e) {
+                    System.out.println("[SceneManager] Preload failed for " + name);
+                    e.printStackTrace();
+                }
+            }
+        }, "view-preloader");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public static void preloadAfterLogin() {
+        preload(PRELOAD_AFTER_LOGIN);
+    }
+
+    private static LoadedView load(String fxmlName) throws IOException {
+        String fxmlPath = "/com/example/financeapp/views/" + fxmlName + ".fxml";
+        URL location = SceneManager.class.getResource(fxmlPath);
+
+        if (location == null) {
+            System.out.println("❌ FXML NOT FOUND at: " + fxmlPath);
+            return null;
+        }
+
+        System.out.println("📄 Loading FXML: " + location);
+        FXMLLoader loader = new FXMLLoader(location);
+        loader.setControllerFactory(controllerFactory()); // fx:include children inherit it
+        Parent root = loader.load();   // 👈 Load only the root
+        return new LoadedView(root, loader.getController());
+    }
+
+    private static ControllerFactory controllerFactory() {
+        ControllerFactory factory = controllerFactory;
+        if (factory == null) {
+            factory = new ControllerFactory(ServiceRegistry.get());
+            controllerFactory = factory;
+        }
+        return factory;
+    }
+
+    private static void recordSwitch(String fxmlName, boolean cached, long nanos) {
+        if (cached) {
+            cachedSwitches++;
+            cachedSwitchNanos += nanos;
+        } else {
+            parsedSwitches++;
+            parsedSwitchNanos += nanos;
+        }
+        System.out.printf("[SceneManager] %s shown in %.1f ms (%s)%n",
+                fxmlName, nanos / 1e6, cached ? "cached" : "parsed");
+    }
+
+    /**
+     * Average switch latency for cached vs freshly parsed views since start-up.
+     */
+    public static String getSwitchStats() {
+        return String.format("cached: %d switches, avg %.1f ms; parsed: %d switches, avg %.1f ms",
+                cachedSwitches, cachedSwitches == 0 ? 0.0 : cachedSwitchNanos / 1e6 / cachedSwitches,
+                parsedSwitches, parsedSwitches == 0 ? 0.0 : parsedSwitchNanos / 1e6 / parsedSwitches);
+    }
+
     public static String getCurrentViewName() {
         return currentViewName;
     }
 
+    /**
+     * Drops all cached views, e.g. on logout so the next user gets fresh controllers.
+     */
     public static void clearCache() {
-        // We no longer cache scenes; kept for compatibility
-        System.out.println("SceneManager.clearCache(): no cached scenes to clear.");
+        cacheGeneration++;
+        System.out.println("[SceneManager] Cleared " + viewCache.size() + " cached view(s)");
+        viewCache.clear();
+    }
+
+    private static class LoadedView {
+        final Parent root;
+        final Object controller;
+
+        LoadedView(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
     }
-}
\ No newline at end of file
+}
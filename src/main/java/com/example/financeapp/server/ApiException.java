@@ -0,0 +1,18 @@
+package com.example.financeapp.server;
+
+/**
+ * Ends an API request with an HTTP error status and a JSON {"error": message} body.
+ */
+public class ApiException extends RuntimeException {
+
+    private final int status;
+
+    public ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
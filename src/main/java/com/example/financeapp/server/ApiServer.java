@@ -0,0 +1,493 @@
+package com.example.financeapp.server;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.models.AnalyticsService;
+import com.example.financeapp.models.BudgetAlert;
+import com.example.financeapp.models.BudgetManager;
+import com.example.financeapp.models.BudgetStatus;
+import com.example.financeapp.models.MonthlySummary;
+import com.example.financeapp.models.PageCursor;
+import com.example.financeapp.models.Transaction;
+import com.example.financeapp.models.TransactionManager;
+import com.example.financeapp.models.TransactionPage;
+import com.example.financeapp.models.User;
+import com.example.financeapp.models.UserManager;
+import com.example.financeapp.services.ServiceRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless JSON API over the same managers the desktop app uses, for serving several
+ * household members from one database. Started with {@code --server} (see Main); no
+ * JavaFX class is touched.
+ *
+ * Every request runs on its own virtual thread, so a request waiting for a pooled DB
+ * connection parks cheaply instead of holding a platform thread. The caller is identified
+ * by a bearer token from {@code POST /api/login} and passed to handlers as a
+ * {@link RequestContext}.
+ *
+ * <pre>
+ *   GET    /api/health
+ *   POST   /api/login               {"username": ..., "password": ...}
+ *   POST   /api/logout
+ *   GET    /api/transactions        ?limit=50&amp;afterDate=2024-03-01&amp;afterId=123
+ *   POST   /api/transactions        {"date", "title", "amount", "income", "category", "paymentMethod", "notes",
+ *                                     "recurring", "recurrenceRule"}
+ *   PUT    /api/transactions/{id}   same fields, all optional; fields left out are kept
+ *   DELETE /api/transactions/{id}
+ *   GET    /api/summary             ?month=2024-03
+ *   GET    /api/budgets             ?month=2024-03
+ *   PUT    /api/budgets             {"category": ..., "monthlyLimit": ...}
+ *   DELETE /api/budgets/{id}
+ *   GET    /api/alerts              pending budget alerts
+ *   DELETE /api/alerts/{id}         dismiss
+ *   GET    /api/insights            ?month=2024-03
+ * </pre>
+ */
+public class ApiServer {
+
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final UserManager userManager;
+    private final TransactionManager transactionManager;
+    private final BudgetManager budgetManager;
+    private final AnalyticsService analyticsService;
+    private final ApiSessions sessions = new ApiSessions();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public ApiServer(ServiceRegistry services) {
+        this.userManager = services.require(UserManager.class);
+        this.transactionManager = services.require(TransactionManager.class);
+        this.budgetManager = services.require(BudgetManager.class);
+        this.analyticsService = services.require(AnalyticsService.class);
+    }
+
+    /**
+     * Entry point of {@code --server [--port=N]}: migrates the database and serves until killed.
+     */
+    public static void run(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            }
+        }
+
+        try {
+            Database.migrate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        ApiServer server = new ApiServer(ServiceRegistry.initialize());
+        server.start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            Database.shutdown();
+        }));
+    }
+
+    /**
+     * Binds and starts serving.
+     *
+     * @param port 0 picks a free port; see {@link #getPort()}
+     */
+    public synchronized void start(int port) throws IOException {
+        executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("api-", 0).factory());
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/api/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        System.out.println("[ApiServer] Listening on port " + getPort());
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.close();
+            server = null;
+            System.out.println("[ApiServer] Stopped");
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public ApiSessions getSessions() {
+        return sessions;
+    }
+
+    // ==========================
+    // Dispatch
+    // ==========================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            int status = 200;
+            Object body;
+            try {
+                String method = exchange.getRequestMethod();
+                String path = exchange.getRequestURI().getPath();
+                Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+                if (path.equals("/api/health")) {
+                    body = Map.of("status", "ok");
+                } else if (path.equals("/api/login") && method.equals("POST")) {
+                    body = login(readBody(exchange));
+                } else {
+                    RequestContext ctx = authenticate(exchange);
+                    String[] parts = path.substring("/api/".length()).split("/");
+                    String resource = parts[0];
+                    Integer id = parts.length > 1 ? parseId(parts[1]) : null;
+
+                    body = switch (method + " " + resource + (id != null ? "/{id}" : "")) {
+                        case "POST logout" -> logout(ctx);
+                        case "GET transactions" -> listTransactions(ctx, query);
+                        case "POST transactions" -> {
+                            status = 201;
+                            yield addTransaction(ctx, readBody(exchange));
+                        }
+                        case "PUT transactions/{id}" -> updateTransaction(ctx, id, readBody(exchange));
+                        case "DELETE transactions/{id}" -> deleteTransaction(ctx, id);
+                        case "GET summary" -> summary(ctx, query);
+                        case "GET budgets" -> listBudgets(ctx, query);
+                        case "PUT budgets" -> setBudget(ctx, readBody(exchange));
+                        case "DELETE budgets/{id}" -> deleteBudget(ctx, id);
+                        case "GET alerts" -> listAlerts(ctx);
+                        case "DELETE alerts/{id}" -> dismissAlert(ctx, id);
+                        case "GET insights" -> insights(ctx, query);
+                        default -> throw new ApiException(404, "No route for " + method + " " + path);
+                    };
+                }
+            } catch (ApiException e) {
+                status = e.getStatus();
+                body = Map.of("error", e.getMessage());
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                status = 400;
+                body = Map.of("error", String.valueOf(e.getMessage()));
+            } catch (Exception e) {
+                e.printStackTrace();
+                status = 500;
+                body = Map.of("error", "Internal error");
+            }
+            send(exchange, status, body);
+        }
+    }
+
+    private RequestContext authenticate(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        String token = header != null && header.startsWith("Bearer ") ? header.substring(7).trim() : null;
+        RequestContext ctx = sessions.resolve(token);
+        if (ctx == null) {
+            throw new ApiException(401, "Missing or invalid bearer token");
+        }
+        return ctx;
+    }
+
+    // ==========================
+    // Handlers
+    // ==========================
+
+    private Object login(Map<String, Object> body) {
+        User user = userManager.login(requireString(body, "username"), requireString(body, "password"));
+        if (user == null) {
+            throw new ApiException(401, "Invalid username or password");
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("token", sessions.open(user));
+        result.put("user", toJson(user));
+        return result;
+    }
+
+    private Object logout(RequestContext ctx) {
+        sessions.close(ctx.getToken());
+        return Map.of("loggedOut", true);
+    }
+
+    private Object listTransactions(RequestContext ctx, Map<String, String> query) {
+        int limit = query.containsKey("limit") ? Integer.parseInt(query.get("limit")) : DEFAULT_PAGE_SIZE;
+        limit = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PageCursor after = null;
+        if (query.containsKey("afterDate") && query.containsKey("afterId")) {
+            after = new PageCursor(LocalDate.parse(query.get("afterDate")), Integer.parseInt(query.get("afterId")));
+        }
+
+        TransactionPage page = transactionManager.getTransactionsPage(ctx.getUserId(), after, limit);
+        List<Object> items = new ArrayList<>(page.getItems().size());
+        for (Transaction t : page.getItems()) {
+            items.add(toJson(t));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("items", items);
+        PageCursor next = page.getNextCursor();
+        result.put("next", next == null ? null : Map.of("afterDate", next.getDate(), "afterId", next.getId()));
+        return result;
+    }
+
+    private Object addTransaction(RequestContext ctx, Map<String, Object> body) {
+        Transaction t = new Transaction();
+        t.setUserId(ctx.getUserId());
+        fillTransaction(t, body, false);
+        int id = transactionManager.addTransaction(t);
+        if (id < 0) {
+            throw new ApiException(500, "Could not save the transaction");
+        }
+        return Map.of("id", id);
+    }
+
+    private Object updateTransaction(RequestContext ctx, int id, Map<String, Object> body) {
+        // Start from the stored row so fields the body leaves out are kept
+        Transaction t = transactionManager.getTransaction(id, ctx.getUserId());
+        if (t == null) {
+            throw new ApiException(404, "No transaction " + id);
+        }
+        fillTransaction(t, body, true);
+        if (!transactionManager.updateTransaction(t)) {
+            throw new ApiException(404, "No transaction " + id);
+        }
+        return Map.of("updated", true);
+    }
+
+    private Object deleteTransaction(RequestContext ctx, int id) {
+        if (!transactionManager.deleteTransaction(id, ctx.getUserId())) {
+            throw new ApiException(404, "No transaction " + id);
+        }
+        return Map.of("deleted", true);
+    }
+
+    private Object summary(RequestContext ctx, Map<String, String> query) {
+        YearMonth month = query.containsKey("month") ? YearMonth.parse(query.get("month")) : YearMonth.now();
+        MonthlySummary summary = transactionManager.getMonthlySummary(ctx.getUserId(), month);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("month", month);
+        result.put("income", summary.getIncome());
+        result.put("expense", summary.getExpense());
+        result.put("net", summary.getNet());
+        result.put("transactionCount", summary.getTransactionCount());
+        result.put("expenseByCategory", summary.getExpenseByCategory());
+        result.put("incomeByCategory", summary.getIncomeByCategory());
+        return result;
+    }
+
+    private Object listBudgets(RequestContext ctx, Map<String, String> query) {
+        YearMonth month = query.containsKey("month") ? YearMonth.parse(query.get("month")) : YearMonth.now();
+        List<Object> items = new ArrayList<>();
+        for (BudgetStatus b : budgetManager.getBudgetStatus(ctx.getUserId(), month)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", b.getBudgetId());
+            item.put("category", b.getCategory());
+            item.put("monthlyLimit", b.getMonthlyLimit());
+            item.put("spent", b.getSpent());
+            item.put("remaining", b.getRemaining());
+            item.put("ratio", b.getRatio());
+            item.put("alertLevel", b.getAlertLevel());
+            items.add(item);
+        }
+        return Map.of("month", month, "items", items);
+    }
+
+    private Object setBudget(RequestContext ctx, Map<String, Object> body) {
+        double limit = requireNumber(body, "monthlyLimit");
+        if (limit <= 0) {
+            throw new ApiException(400, "monthlyLimit must be positive");
+        }
+        if (!budgetManager.setBudget(ctx.getUserId(), requireString(body, "category"), limit)) {
+            throw new ApiException(500, "Could not save the budget");
+        }
+        return Map.of("saved", true);
+    }
+
+    private Object deleteBudget(RequestContext ctx, int id) {
+        // BudgetManager deletes by id alone: check ownership first
+        boolean owned = budgetManager.getBudgetsForUser(ctx.getUserId()).stream().anyMatch(b -> b.getId() == id);
+        if (!owned || !budgetManager.deleteBudget(id)) {
+            throw new ApiException(404, "No budget " + id);
+        }
+        return Map.of("deleted", true);
+    }
+
+    private Object listAlerts(RequestContext ctx) {
+        List<Object> items = new ArrayList<>();
+        for (BudgetAlert a : budgetManager.getPendingAlerts(ctx.getUserId())) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", a.getId());
+            item.put("category", a.getCategory());
+            item.put("month", a.getMonth());
+            item.put("threshold", a.getThreshold());
+            item.put("spent", a.getSpent());
+            item.put("monthlyLimit", a.getMonthlyLimit());
+            item.put("createdAt", a.getCreatedAt());
+            items.add(item);
+        }
+        return Map.of("items", items);
+    }
+
+    private Object dismissAlert(RequestContext ctx, int id) {
+        if (!budgetManager.dismissAlert(ctx.getUserId(), id)) {
+            throw new ApiException(404, "No pending alert " + id);
+        }
+        return Map.of("dismissed", true);
+    }
+
+    private Object insights(RequestContext ctx, Map<String, String> query) {
+        YearMonth month = query.containsKey("month") ? YearMonth.parse(query.get("month")) : YearMonth.now();
+        return Map.of("month", month, "items", analyticsService.generateInsights(ctx.getUserId(), month));
+    }
+
+    // ==========================
+    // Helpers
+    // ==========================
+
+    /**
+     * Sets the fields of the request body on {@code t}. The amount's sign follows the
+     * income flag, as in the desktop form: expenses are stored negative. With
+     * {@code keepOmitted} (PUT) only the fields the body sends change; otherwise (POST)
+     * date, amount and category are required. Recurrence is only changed when sent.
+     */
+    private static void fillTransaction(Transaction t, Map<String, Object> body, boolean keepOmitted) {
+        boolean income = keepOmitted && !body.containsKey("income")
+                ? t.isIncome()
+                : Boolean.TRUE.equals(body.get("income"));
+        double amount = keepOmitted && !body.containsKey("amount")
+                ? Math.abs(t.getAmount())
+                : Math.abs(requireNumber(body, "amount"));
+        t.setAmount(income ? amount : -amount);
+        t.setIncome(income);
+
+        if (!keepOmitted || body.containsKey("date")) {
+            t.setDate(LocalDate.parse(requireString(body, "date")));
+        }
+        if (!keepOmitted || body.containsKey("category")) {
+            t.setCategory(requireString(body, "category"));
+        }
+        if (!keepOmitted || body.containsKey("title")) {
+            t.setTitle(optionalString(body, "title"));
+        }
+        if (!keepOmitted || body.containsKey("paymentMethod")) {
+            t.setPaymentMethod(optionalString(body, "paymentMethod"));
+        }
+        if (!keepOmitted || body.containsKey("notes")) {
+            t.setNotes(optionalString(body, "notes"));
+        }
+        if (body.containsKey("recurring")) {
+            t.setRecurring(Boolean.TRUE.equals(body.get("recurring")));
+        }
+        if (body.containsKey("recurrenceRule")) {
+            t.setRecurrenceRule(optionalString(body, "recurrenceRule"));
+        }
+    }
+
+    private static Map<String, Object> toJson(Transaction t) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", t.getId());
+        item.put("date", t.getDate());
+        item.put("title", t.getTitle());
+        item.put("amount", t.getAmount());
+        item.put("income", t.isIncome());
+        item.put("category", t.getCategory());
+        item.put("paymentMethod", t.getPaymentMethod());
+        item.put("notes", t.getNotes());
+        item.put("recurring", t.isRecurring());
+        item.put("recurrenceRule", t.getRecurrenceRule());
+        return item;
+    }
+
+    private static Map<String, Object> toJson(User user) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", user.getId());
+        item.put("username", user.getUsername());
+        item.put("email", user.getEmail());
+        item.put("currency", user.getCurrencyCode());
+        return item;
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Request body too large");
+            }
+            if (bytes.length == 0) {
+                throw new ApiException(400, "Request body required");
+            }
+            return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static Integer parseId(String segment) {
+        try {
+            return Integer.valueOf(segment);
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "Not found: " + segment);
+        }
+    }
+
+    private static String requireString(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        if (!(value instanceof String s) || s.isBlank()) {
+            throw new ApiException(400, "Missing string field '" + key + "'");
+        }
+        return s;
+    }
+
+    private static String optionalString(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        return value instanceof String s ? s : null;
+    }
+
+    private static double requireNumber(Map<String, Object> body, String key) {
+        Object value = body.get(key);
+        if (!(value instanceof Number n)) {
+            throw new ApiException(400, "Missing number field '" + key + "'");
+        }
+        return n.doubleValue();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.financeapp.server;
+
+import com.example.financeapp.models.User;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bearer tokens handed out by {@code POST /api/login}, kept in memory: restarting
+ * the server logs everybody out.
+ */
+public final class ApiSessions {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+
+    public String open(User user) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        users.put(token, user);
+        return token;
+    }
+
+    /**
+     * Context for a token, or null if it is unknown (or was closed).
+     */
+    public RequestContext resolve(String token) {
+        User user = token != null ? users.get(token) : null;
+        return user != null ? new RequestContext(user, token) : null;
+    }
+
+    public void close(String token) {
+        users.remove(token);
+    }
+
+    /**
+     * Logs out every session of the user (e.g. after the account is deleted).
+     */
+    public void closeAll(int userId) {
+        users.values().removeIf(u -> u.getId() == userId);
+    }
+
+    public int size() {
+        return users.size();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.financeapp.server;
+
+import com.example.financeapp.models.User;
+
+/**
+ * The authenticated user of one API request. Handlers get it as a parameter; the
+ * desktop app's static {@link com.example.financeapp.session.Session} is never used
+ * by the server, so concurrent requests from different users cannot see each other.
+ */
+public final class RequestContext {
+
+    private final User user;
+    private final String token;
+
+    RequestContext(User user, String token) {
+        this.user = user;
+        this.token = token;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public int getUserId() {
+        return user.getId();
+    }
+
+    String getToken() {
+        return token;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.financeapp.services;
+
+import com.example.financeapp.models.AnalyticsService;
+import com.example.financeapp.models.BudgetAlertEvaluator;
+import com.example.financeapp.models.BudgetManager;
+import com.example.financeapp.models.InsightRuleManager;
+import com.example.financeapp.models.TransactionManager;
+import com.example.financeapp.models.UserManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Application-scoped services, one instance each, looked up by type.
+ *
+ * Built once at start-up ({@link #initialize()}) and injected into controllers by
+ * {@link com.example.financeapp.navigation.ControllerFactory}, so managers and whatever
+ * they cache live as long as the app rather than as long as one screen.
+ */
+public final class ServiceRegistry {
+
+    private static volatile ServiceRegistry instance;
+
+    private final Map<Class<?>, Object> services = new LinkedHashMap<>();
+
+    /**
+     * Registry with the default set of managers.
+     */
+    public static ServiceRegistry createDefault() {
+        ServiceRegistry registry = new ServiceRegistry();
+
+        // Transaction writes and budget changes raise alerts through the same evaluator
+        BudgetAlertEvaluator alerts = new BudgetAlertEvaluator();
+        TransactionManager transactionManager = new TransactionManager(alerts);
+        InsightRuleManager insightRuleManager = new InsightRuleManager();
+        registry.register(UserManager.class, new UserManager());
+        registry.register(BudgetAlertEvaluator.class, alerts);
+        registry.register(BudgetManager.class, new BudgetManager(alerts));
+        registry.register(TransactionManager.class, transactionManager);
+        registry.register(InsightRuleManager.class, insightRuleManager);
+        registry.register(AnalyticsService.class, new AnalyticsService(transactionManager, insightRuleManager));
+        return registry;
+    }
+
+    /**
+     * Builds the app-wide registry if it does not exist yet. Called from Main at boot.
+     */
+    public static ServiceRegistry initialize() {
+        ServiceRegistry current = instance;
+        if (current == null) {
+            synchronized (ServiceRegistry.class) {
+                if (instance == null) {
+                    instance = createDefault();
+                    System.out.println("[Services] Registered " + instance.services.keySet());
+                }
+                current = instance;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * The app-wide registry (built on first use if boot did not do it).
+     */
+    public static ServiceRegistry get() {
+        return initialize();
+    }
+
+    /**
+     * Replaces the app-wide registry, e.g. with fakes in tests.
+     */
+    public static synchronized void install(ServiceRegistry registry) {
+        instance = registry;
+    }
+
+    public synchronized <T> void register(Class<T> type, T service) {
+        services.put(type, type.cast(service));
+    }
+
+    /**
+     * The service registered for {@code type}, or null.
+     */
+    public synchronized <T> T lookup(Class<T> type) {
+        return type.cast(services.get(type));
+    }
+
+    /**
+     * The service registered for {@code type}; fails if there is none.
+     */
+    public <T> T require(Class<T> type) {
+        T service = lookup(type);
+        if (service == null) {
+            throw new IllegalStateException("No service registered for " + type.getName());
+        }
+        return service;
+    }
+}
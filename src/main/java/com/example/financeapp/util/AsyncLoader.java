@@ -0,0 +1,118 @@
+package com.example.financeapp.util;
+
+import javafx.concurrent.Task;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs the screens' database reads off the JavaFX Application Thread.
+ *
+ * Each load is a JavaFX {@link Task} on its own virtual thread; the callbacks run back on
+ * the FX thread. {@link com.example.financeapp.navigation.SceneManager} calls
+ * {@link #cancelPending()} before every navigation, so a slow query never paints into a
+ * screen the user already left. Call {@link #load} from the FX thread only.
+ */
+public final class AsyncLoader {
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("data-loader-", 0).factory());
+
+    // loads started by the current screen (FX thread only)
+    private static final Set<Task<?>> pending = new HashSet<>();
+
+    /**
+     * Work started by the user (exports, saves) that must finish even if they navigate away,
+     * reporting progress as it goes.
+     */
+    @FunctionalInterface
+    public interface Job<T> {
+        T run(Progress progress) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Progress {
+        void update(long done, long total);
+    }
+
+    private AsyncLoader() {}
+
+    /**
+     * Runs {@code query} in the background and passes its result to {@code onLoaded} on the FX thread.
+     * Failures are logged.
+     */
+    public static <T> Task<T> load(Callable<T> query, Consumer<T> onLoaded) {
+        return load(query, onLoaded, AsyncLoader::logFailure);
+    }
+
+    public static <T> Task<T> load(Callable<T> query, Consumer<T> onLoaded, Consumer<Throwable> onFailed) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return query.call();
+            }
+        };
+
+        // A cancelled task never reaches SUCCEEDED/FAILED, so stale results are dropped
+        task.setOnSucceeded(e -> {
+            pending.remove(task);
+            onLoaded.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            pending.remove(task);
+            onFailed.accept(task.getException());
+        });
+        task.setOnCancelled(e -> pending.remove(task));
+
+        pending.add(task);
+        EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Runs a {@link Job} in the background. Unlike {@link #load}, a job is not cancelled on
+     * navigation; the caller keeps the returned task to show its progress and to cancel it,
+     * which interrupts the job's thread. Callbacks run on the FX thread.
+     */
+    public static <T> Task<T> startJob(Job<T> job, Consumer<T> onDone, Consumer<Throwable> onFailed,
+                                       Runnable onCancelled) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return job.run(this::updateProgress);
+            }
+        };
+        task.setOnSucceeded(e -> onDone.accept(task.getValue()));
+        task.setOnFailed(e -> onFailed.accept(task.getException()));
+        task.setOnCancelled(e -> onCancelled.run());
+
+        EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Cancels every load started by the current screen.
+     *
+     * @return how many were still running
+     */
+    public static int cancelPending() {
+        int cancelled = 0;
+        for (Task<?> task : new ArrayList<>(pending)) {
+            if (task.cancel()) {
+                cancelled++;
+            }
+        }
+        pending.clear();
+        return cancelled;
+    }
+
+    private static void logFailure(Throwable error) {
+        System.out.println("[AsyncLoader] Load failed: " + error);
+        error.printStackTrace();
+    }
+}
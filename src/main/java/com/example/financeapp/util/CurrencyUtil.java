@@ -1,5 +1,6 @@
 package com.example.financeapp.util;
 
+import java.util.Currency;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -7,6 +8,9 @@ public class CurrencyUtil {
 
     private static final Map<String, String> SYMBOLS = new HashMap<>();
 
+    // Decimal places the app keeps for a currency (amounts are stored in these minor units)
+    private static final Map<String, Integer> FRACTION_DIGITS = new HashMap<>();
+
     static {
         SYMBOLS.put("USD", "$");
         SYMBOLS.put("EUR", "€");
@@ -14,10 +18,31 @@ public class CurrencyUtil {
         SYMBOLS.put("GBP", "£");
         SYMBOLS.put("JPY", "¥");
         // add more as needed
+
+        FRACTION_DIGITS.put("JPY", 0);
+        FRACTION_DIGITS.put("HUF", 0); // ISO still lists 2, but fillér coins are gone and banks book whole forints
     }
 
     public static String getSymbol(String currencyCode) {
         if (currencyCode == null) return "$";
         return SYMBOLS.getOrDefault(currencyCode.toUpperCase(), currencyCode.toUpperCase());
     }
-}
\ No newline at end of file
+
+    /**
+     * Number of decimal places for amounts in this currency: 0 for JPY/HUF, 2 for USD/EUR/GBP,
+     * ISO 4217 for other known codes, 2 when the code is unknown.
+     */
+    public static int getFractionDigits(String currencyCode) {
+        if (currencyCode == null) return 2;
+        String code = currencyCode.toUpperCase();
+
+        Integer digits = FRACTION_DIGITS.get(code);
+        if (digits != null) return digits;
+        try {
+            int iso = Currency.getInstance(code).getDefaultFractionDigits();
+            return iso >= 0 ? iso : 2; // -1 for pseudo-currencies like XAU
+        } catch (IllegalArgumentException e) {
+            return 2;
+        }
+    }
+}
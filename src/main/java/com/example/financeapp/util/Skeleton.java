@@ -0,0 +1,36 @@
+package com.example.financeapp.util;
+
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+
+/**
+ * Grey placeholder shapes shown while a screen's data is loading.
+ */
+public final class Skeleton {
+
+    private static final String STYLE =
+            "-fx-background-color: linear-gradient(to right, #e9e9e9, #f4f4f4, #e9e9e9); -fx-background-radius: 6;";
+
+    private static final double[] LINE_WIDTHS = {260, 200, 230, 170};
+
+    private Skeleton() {}
+
+    public static Region bar(double width, double height) {
+        Region bar = new Region();
+        bar.setStyle(STYLE);
+        bar.setPrefSize(width, height);
+        bar.setMaxWidth(width);
+        return bar;
+    }
+
+    /**
+     * A column of text-line placeholders of varying width.
+     */
+    public static VBox lines(int count) {
+        VBox box = new VBox(10);
+        for (int i = 0; i < count; i++) {
+            box.getChildren().add(bar(LINE_WIDTHS[i % LINE_WIDTHS.length], 14));
+        }
+        return box;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.financeapp.util;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records when each start-up phase finishes, from JVM launch to the first rendered frame,
+ * and prints the breakdown once.
+ *
+ * Times are wall-clock milliseconds; the JVM launch time comes from the OS process info,
+ * so class loading and module resolution before main() are included.
+ */
+public final class StartupTimeline {
+
+    private static final String JVM_START = "JVM start";
+
+    private static final List<String> phases = new ArrayList<>();
+    private static final List<Long> times = new ArrayList<>();
+    private static boolean reported;
+
+    static {
+        ProcessHandle.current().info().startInstant()
+                .map(Instant::toEpochMilli)
+                .ifPresent(start -> {
+                    phases.add(JVM_START);
+                    times.add(start);
+                });
+    }
+
+    private StartupTimeline() {}
+
+    /**
+     * Marks the end of a phase (e.g. "schema ready").
+     */
+    public static synchronized void mark(String phase) {
+        phases.add(phase);
+        times.add(System.currentTimeMillis());
+    }
+
+    /**
+     * Prints the timeline the first time it is called; later calls do nothing.
+     */
+    public static synchronized void report() {
+        if (reported || times.isEmpty()) return;
+        reported = true;
+
+        long first = times.get(0);
+        System.out.printf("[Startup] Time to first frame: %d ms (since %s)%n",
+                times.get(times.size() - 1) - first, phases.get(0));
+        for (int i = 1; i < phases.size(); i++) {
+            System.out.printf("[Startup]   %-28s +%5d ms  (at %5d ms)%n",
+                    phases.get(i), times.get(i) - times.get(i - 1), times.get(i) - first);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.financeapp.benchmark;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.models.AnalyticsService;
+import com.example.financeapp.models.MonthOverMonth;
+import com.example.financeapp.models.MonthlySummary;
+import com.example.financeapp.models.TransactionColumns;
+import com.example.financeapp.models.TransactionManager;
+import com.example.financeapp.models.UserManager;
+
+import javax.management.ObjectName;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Time and bytes allocated per call for the month-over-month category aggregation:
+ * the boxed-map pipeline AnalyticsService used before (two summaries, name-keyed maps,
+ * set union, abs copies, stream sums) against the reused {@link MonthOverMonth} accumulator.
+ * Allocation is read from the JVM's per-thread allocation counter.
+ *
+ * Not a unit test; run manually:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.example.financeapp.benchmark.AnalyticsAllocationBenchmark
+ */
+public class AnalyticsAllocationBenchmark {
+
+    private static final String FILE = "bench_analytics.db";
+    private static final int ROWS = 100_000;
+    private static final int WARMUP = 20_000;
+    private static final int RUNS = 100_000;
+
+    // read as a JMX attribute so the module needs no jdk.management for the com.sun interface
+    private static final String ALLOCATED_BYTES = "CurrentThreadAllocatedBytes";
+
+    public static void main(String[] args) throws Exception {
+        deleteDbFiles();
+        Database.useDatabaseFile(FILE);
+
+        UserManager users = new UserManager();
+        users.register("bench", "bench@example.com", "secret123", null);
+        int userId = users.getUserByEmailOrUsername("bench").getId();
+
+        TransactionManager tm = new TransactionManager();
+        tm.importTransactions(BulkInsertBenchmark.generate(ROWS).stream()
+                .peek(t -> t.setUserId(userId)).iterator(), TransactionManager.DEFAULT_IMPORT_CHUNK_SIZE, null);
+
+        TransactionColumns columns = tm.getColumns(userId);
+        YearMonth month = YearMonth.now().minusMonths(1);
+        MonthOverMonth months = new MonthOverMonth();
+
+        measure("boxed maps (previous pipeline)", () -> boxedPipeline(columns, month));
+        measure("MonthOverMonth, reused", () -> {
+            columns.compareMonths(month, months);
+            return months.getCurrentSpendTotal();
+        });
+
+        AnalyticsService analytics = new AnalyticsService(tm);
+        measure("generateMonthlyRecommendations", () -> analytics.generateMonthlyRecommendations(userId, month).size());
+
+        Database.shutdown();
+        deleteDbFiles();
+    }
+
+    /**
+     * What the recommendations did per call before: totals per category as boxed maps,
+     * iterated several times.
+     */
+    private static long boxedPipeline(TransactionColumns columns, YearMonth month) {
+        MonthlySummary current = columns.summarize(month);
+        MonthlySummary previous = columns.summarize(month.minusMonths(1));
+        Map<String, Double> currentAbs = new HashMap<>();
+        current.getExpenseByCategory().forEach((k, v) -> currentAbs.put(k, Math.abs(v)));
+        Map<String, Double> prevAbs = new HashMap<>();
+        previous.getExpenseByCategory().forEach((k, v) -> prevAbs.put(k, Math.abs(v)));
+
+        Set<String> all = new HashSet<>(currentAbs.keySet());
+        all.addAll(prevAbs.keySet());
+        double delta = 0;
+        for (String c : all) {
+            delta += currentAbs.getOrDefault(c, 0.0) - prevAbs.getOrDefault(c, 0.0);
+        }
+        double total = currentAbs.values().stream().mapToDouble(Double::doubleValue).sum();
+        return (long) (delta + total);
+    }
+
+    private static void measure(String label, LongSupplier call) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += call.getAsLong();
+        }
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            sink += call.getAsLong();
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / RUNS;
+        double bytes = (double) (allocatedBytes() - bytesBefore) / RUNS;
+        System.out.printf("%-34s %8.2f us/call %10.1f B/call   (sink %d)%n", label, micros, bytes, sink % 10);
+    }
+
+    /**
+     * Bytes allocated so far by the calling thread (HotSpot's Threading MBean attribute).
+     */
+    private static long allocatedBytes() throws Exception {
+        return (Long) ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME), ALLOCATED_BYTES);
+    }
+
+    private static void deleteDbFiles() {
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            new File(FILE + suffix).delete();
+        }
+    }
+}
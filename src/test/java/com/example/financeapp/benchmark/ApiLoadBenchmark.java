@@ -0,0 +1,179 @@
+package com.example.financeapp.benchmark;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.models.Transaction;
+import com.example.financeapp.models.TransactionManager;
+import com.example.financeapp.models.UserManager;
+import com.example.financeapp.server.ApiServer;
+import com.example.financeapp.server.Json;
+import com.example.financeapp.services.ServiceRegistry;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load test of the API server: closed-loop clients on virtual threads, each sending one
+ * request and waiting for the answer before the next, at increasing concurrency. Every
+ * tenth request adds a transaction, the rest alternate between a transaction page and a
+ * monthly summary. Prints requests/s and p50/p99 latency per level.
+ *
+ * Not a unit test; run manually:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.example.financeapp.benchmark.ApiLoadBenchmark
+ */
+public class ApiLoadBenchmark {
+
+    private static final String FILE = "bench_api.db";
+    private static final int SEED_ROWS = 50_000;
+    private static final int[] CONCURRENCY = {1, 4, 16, 64, 256};
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(10);
+
+    public static void main(String[] args) throws Exception {
+        deleteDbFiles();
+        Database.useDatabaseFile(FILE);
+
+        UserManager users = new UserManager();
+        users.register("bench", "bench@example.com", "secret123", null);
+        int userId = users.getUserByEmailOrUsername("bench").getId();
+        new TransactionManager().importTransactions(rows(userId), TransactionManager.DEFAULT_IMPORT_CHUNK_SIZE, null);
+
+        ApiServer server = new ApiServer(ServiceRegistry.createDefault());
+        server.start(0);
+        String base = "http://localhost:" + server.getPort();
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(base + "/api/login"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"bench\",\"password\":\"secret123\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        String token = (String) Json.parseObject(login.body()).get("token");
+
+        System.out.printf("%d seeded rows, %d CPUs%n", SEED_ROWS, Runtime.getRuntime().availableProcessors());
+        for (int clients : CONCURRENCY) {
+            run(client, base, token, clients, WARMUP);
+            long[] latencies = run(client, base, token, clients, MEASURE);
+            Arrays.sort(latencies);
+            System.out.printf("%4d clients: %8.0f req/s  p50 %7.2f ms  p99 %7.2f ms%n",
+                    clients, latencies.length / (MEASURE.toNanos() / 1e9),
+                    percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6);
+        }
+
+        server.stop();
+        Database.shutdown();
+        deleteDbFiles();
+    }
+
+    /**
+     * Runs {@code clients} closed-loop clients for {@code duration}; returns every request's
+     * latency in nanoseconds. An error response aborts the run.
+     */
+    private static long[] run(HttpClient client, String base, String token, int clients, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> perClient = new ArrayList<>();
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int clientId = c;
+                perClient.add(pool.submit(() -> {
+                    long[] samples = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = request(base, token, clientId, n);
+                        long start = System.nanoTime();
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() >= 300) {
+                            throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+                        }
+                        if (n == samples.length) {
+                            samples = Arrays.copyOf(samples, n * 2);
+                        }
+                        samples[n++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(samples, n);
+                }));
+            }
+        }
+
+        List<long[]> results = new ArrayList<>(clients);
+        int total = 0;
+        for (Future<long[]> f : perClient) {
+            long[] samples = f.get(); // rethrows a client's failure
+            results.add(samples);
+            total += samples.length;
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (long[] samples : results) {
+            System.arraycopy(samples, 0, all, at, samples.length);
+            at += samples.length;
+        }
+        return all;
+    }
+
+    private static HttpRequest request(String base, String token, int clientId, int n) {
+        HttpRequest.Builder builder;
+        if (n % 10 == 9) {
+            builder = HttpRequest.newBuilder(URI.create(base + "/api/transactions"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"date\":\"" + LocalDate.now()
+                            + "\",\"title\":\"Load " + clientId + "\",\"amount\":4.5,\"income\":false,\"category\":\"Food\"}"));
+        } else if (n % 2 == 0) {
+            builder = HttpRequest.newBuilder(URI.create(base + "/api/transactions?limit=50")).GET();
+        } else {
+            builder = HttpRequest.newBuilder(URI.create(base + "/api/summary?month="
+                    + LocalDate.now().minusMonths(n % 12).toString().substring(0, 7))).GET();
+        }
+        return builder.header("Authorization", "Bearer " + token).build();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    /**
+     * SEED_ROWS transactions over the last two years, generated lazily.
+     */
+    private static Iterator<Transaction> rows(int userId) {
+        String[] categories = {"Food", "Transport", "Entertainment", "Bills", "Subscriptions", "Others"};
+        LocalDate start = LocalDate.now().minusYears(2);
+        return new Iterator<>() {
+            private int i;
+
+            @Override
+            public boolean hasNext() {
+                return i < SEED_ROWS;
+            }
+
+            @Override
+            public Transaction next() {
+                boolean income = i % 20 == 0;
+                Transaction t = new Transaction(userId, start.plusDays((long) i * 730 / SEED_ROWS), "Row " + i,
+                        income ? 2500 : -((i % 300) + 1) / 4.0, income,
+                        income ? "Salary" : categories[i % categories.length], "Card", null, false, null);
+                i++;
+                return t;
+            }
+        };
+    }
+
+    private static void deleteDbFiles() {
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            new File(FILE + suffix).delete();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.financeapp.benchmark;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.models.ImportResult;
+import com.example.financeapp.models.Transaction;
+import com.example.financeapp.models.TransactionManager;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-row addTransaction() against batched importTransactions() at 10k and 100k rows.
+ *
+ * Not a unit test; run manually:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.example.financeapp.benchmark.BulkInsertBenchmark
+ */
+public class BulkInsertBenchmark {
+
+    private static final int USER_ID = 1;
+
+    public static void main(String[] args) {
+        for (int rows : new int[]{10_000, 100_000}) {
+            double single = singleRow(rows);
+            ImportResult batched = batched(rows);
+            System.out.printf("%,7d rows | single-row: %8.0f rows/s | batched: %8.0f rows/s | speedup x%.1f%n",
+                    rows, single, batched.getRowsPerSecond(), batched.getRowsPerSecond() / single);
+        }
+        Database.shutdown();
+    }
+
+    private static double singleRow(int rows) {
+        TransactionManager tm = freshDatabase("bench_single.db");
+        List<Transaction> data = generate(rows);
+
+        long start = System.nanoTime();
+        for (Transaction t : data) {
+            tm.addTransaction(t);
+        }
+        return rows / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static ImportResult batched(int rows) {
+        TransactionManager tm = freshDatabase("bench_batched.db");
+        return tm.importTransactions(generate(rows).iterator(), TransactionManager.DEFAULT_IMPORT_CHUNK_SIZE, null);
+    }
+
+    private static TransactionManager freshDatabase(String file) {
+        Database.shutdown();
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            new File(file + suffix).delete();
+        }
+        Database.useDatabaseFile(file);
+        return new TransactionManager();
+    }
+
+    static List<Transaction> generate(int rows) {
+        List<Transaction> list = new ArrayList<>(rows);
+        LocalDate start = LocalDate.now().minusYears(1);
+        for (int i = 0; i < rows; i++) {
+            boolean income = i % 10 == 0;
+            list.add(new Transaction(USER_ID, start.plusDays(i % 365), "Row " + i,
+                    income ? 1500 : -((i % 200) + 1), income,
+                    income ? "Salary" : "Food", "Card", null, false, null));
+        }
+        return list;
+    }
+}
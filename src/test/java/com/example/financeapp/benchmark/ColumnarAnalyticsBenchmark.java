@@ -0,0 +1,123 @@
+package com.example.financeapp.benchmark;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.models.Granularity;
+import com.example.financeapp.models.Transaction;
+import com.example.financeapp.models.TransactionColumns;
+import com.example.financeapp.models.TransactionManager;
+import com.example.financeapp.models.UserManager;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Analytics over the SQL path (rollups and GROUP BY queries) against the in-memory
+ * {@link TransactionColumns} snapshot, at 10k, 100k and 1M rows for one user.
+ *
+ * Not a unit test; run manually:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.example.financeapp.benchmark.ColumnarAnalyticsBenchmark
+ */
+public class ColumnarAnalyticsBenchmark {
+
+    private static final String FILE = "bench_columns.db";
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+    private static final String[] CATEGORIES = {"Food", "Transport", "Entertainment", "Bills", "Subscriptions", "Others"};
+    private static final int WARMUP = 20;
+    private static final int RUNS = 100;
+
+    public static void main(String[] args) {
+        for (int rows : SIZES) {
+            run(rows);
+        }
+    }
+
+    private static void run(int rows) {
+        deleteDbFiles();
+        Database.useDatabaseFile(FILE);
+
+        UserManager users = new UserManager();
+        users.register("bench", "bench@example.com", "secret123", null);
+        int userId = users.getUserByEmailOrUsername("bench").getId();
+
+        TransactionManager tm = new TransactionManager();
+        tm.importTransactions(generate(userId, rows), TransactionManager.DEFAULT_IMPORT_CHUNK_SIZE, null);
+
+        YearMonth now = YearMonth.now();
+        LocalDate yearAgo = LocalDate.now().minusYears(1);
+        System.out.printf("--- %,d rows ---%n", rows);
+
+        // SQL path: month summaries from the rollups (cache cleared so every call queries),
+        // 12-month trend from the rollups, weekly series from a GROUP BY over raw rows
+        time("SQL      two month summaries", () -> {
+            TransactionManager.getAggregateCache().clear();
+            tm.getMonthlySummary(userId, now);
+            return tm.getMonthlySummary(userId, now.minusMonths(1));
+        });
+        time("SQL      12-month trend", () -> tm.getMonthlyTotals(userId, now.minusMonths(11), now));
+        time("SQL      weekly series (1 year)",
+                () -> tm.getTotalsSeries(userId, yearAgo, LocalDate.now(), Granularity.WEEK));
+
+        long start = System.nanoTime();
+        TransactionColumns columns = tm.getColumns(userId);
+        System.out.printf("%-34s %10.2f ms (one scan, ~%,d KB)%n", "Columns  load",
+                (System.nanoTime() - start) / 1e6, (long) columns.size() * 20 / 1024);
+
+        time("Columns  two month summaries", () -> {
+            columns.summarize(now);
+            return columns.summarize(now.minusMonths(1));
+        });
+        time("Columns  12-month trend", () -> columns.monthlyTotals(now.minusMonths(11), now));
+        time("Columns  weekly series (1 year)",
+                () -> columns.totalsSeries(yearAgo, LocalDate.now(), Granularity.WEEK));
+
+        Database.shutdown();
+        TransactionManager.getColumnsCache().clear();
+        deleteDbFiles();
+    }
+
+    private static void time(String label, Supplier<Object> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            query.get();
+        }
+        System.out.printf("%-34s %10.3f ms/call%n", label, (System.nanoTime() - start) / 1e6 / RUNS);
+    }
+
+    /**
+     * Rows spread over the last year, generated lazily so 1M rows never sit in memory at once.
+     */
+    private static Iterator<Transaction> generate(int userId, int rows) {
+        LocalDate start = LocalDate.now().minusYears(1);
+        return new Iterator<>() {
+            private int i;
+
+            @Override
+            public boolean hasNext() {
+                return i < rows;
+            }
+
+            @Override
+            public Transaction next() {
+                boolean income = i % 10 == 0;
+                Transaction t = new Transaction(userId, start.plusDays(i % 365), "Row " + i,
+                        income ? 1500 : -((i % 200) + 1) - (i % 100) / 100.0, income,
+                        income ? "Salary" : CATEGORIES[i % CATEGORIES.length], "Card", null, false, null);
+                i++;
+                return t;
+            }
+        };
+    }
+
+    private static void deleteDbFiles() {
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            new File(FILE + suffix).delete();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.financeapp.benchmark;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.database.EngineProfile;
+import com.example.financeapp.models.Transaction;
+import com.example.financeapp.models.TransactionManager;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the legacy (rollback journal) and tuned (WAL) engine profiles.
+ *
+ * Not a unit test; run manually:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.example.financeapp.benchmark.EngineProfileBenchmark
+ *
+ * Phase 1: autocommit inserts through TransactionManager.addTransaction.
+ * Phase 2: reader threads run the dashboard's monthly total query while one
+ *          thread keeps inserting; reports reads/s and writes/s.
+ */
+public class EngineProfileBenchmark {
+
+    private static final int USER_ID = 1;
+    private static final int INSERTS = 2_000;
+    private static final int READER_THREADS = 4;
+    private static final long MIXED_MILLIS = 3_000;
+
+    public static void main(String[] args) throws Exception {
+        for (EngineProfile profile : List.of(EngineProfile.legacy(), EngineProfile.tuned())) {
+            run(profile);
+        }
+        Database.shutdown();
+    }
+
+    private static void run(EngineProfile profile) throws Exception {
+        String file = "bench_engine_" + profile.getName() + ".db";
+        deleteDbFiles(file);
+
+        Database.useDatabaseFile(file);
+        Database.useEngineProfile(profile);
+        TransactionManager tm = new TransactionManager();
+
+        // ---- Phase 1: single-row autocommit inserts ----
+        long start = System.nanoTime();
+        for (int i = 0; i < INSERTS; i++) {
+            tm.addTransaction(sample(i));
+        }
+        double insertSecs = (System.nanoTime() - start) / 1e9;
+
+        // ---- Phase 2: concurrent reads while writing ----
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        YearMonth month = YearMonth.now();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int r = 0; r < READER_THREADS; r++) {
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    tm.getTotalExpenseForMonth(USER_ID, month);
+                    reads.increment();
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            int i = INSERTS;
+            while (running.get()) {
+                tm.addTransaction(sample(i++));
+                writes.increment();
+            }
+        }));
+
+        threads.forEach(Thread::start);
+        Thread.sleep(MIXED_MILLIS);
+        running.set(false);
+        for (Thread t : threads) {
+            t.join();
+        }
+        double mixedSecs = MIXED_MILLIS / 1000.0;
+
+        System.out.printf("%-7s inserts: %8.0f rows/s | mixed: %8.0f reads/s, %6.0f writes/s%n",
+                profile.getName(),
+                INSERTS / insertSecs,
+                reads.sum() / mixedSecs,
+                writes.sum() / mixedSecs);
+
+        Database.shutdown();
+        deleteDbFiles(file);
+    }
+
+    private static Transaction sample(int i) {
+        return new Transaction(USER_ID, LocalDate.now().withDayOfMonth(1 + (i % 28)), "Bench " + i,
+                -(i % 100) - 1, false, "Food", null, null, false, null);
+    }
+
+    private static void deleteDbFiles(String file) {
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            new File(file + suffix).delete();
+        }
+    }
+}
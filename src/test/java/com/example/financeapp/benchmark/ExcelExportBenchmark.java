@@ -0,0 +1,123 @@
+package com.example.financeapp.benchmark;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.export.ExcelReportExporter;
+import com.example.financeapp.export.RangeReport;
+import com.example.financeapp.models.PeriodTotals;
+import com.example.financeapp.models.Transaction;
+import com.example.financeapp.models.TransactionColumns;
+import com.example.financeapp.models.TransactionManager;
+import com.example.financeapp.models.UserManager;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Iterator;
+
+/**
+ * Rows per second and peak heap of the streaming Excel export over a 500k-row history,
+ * for a few SXSSF row windows. Peak heap is the sum of the heap pools' peak usage, reset
+ * before each run; run with a small fixed heap to check the budget holds, e.g.
+ *   MAVEN_OPTS=-Xmx256m
+ *
+ * Not a unit test; run manually:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.example.financeapp.benchmark.ExcelExportBenchmark
+ */
+public class ExcelExportBenchmark {
+
+    private static final String FILE = "bench_excel.db";
+    private static final File OUTPUT = new File("bench_export.xlsx");
+    private static final int ROWS = 500_000;
+    private static final int YEARS = 5;
+    private static final int[] WINDOWS = {10, 100, 1_000};
+
+    public static void main(String[] args) throws Exception {
+        deleteDbFiles();
+        Database.useDatabaseFile(FILE);
+
+        UserManager users = new UserManager();
+        users.register("bench", "bench@example.com", "secret123", null);
+        int userId = users.getUserByEmailOrUsername("bench").getId();
+
+        TransactionManager tm = new TransactionManager();
+        LocalDate from = LocalDate.now().minusYears(YEARS).withDayOfMonth(1);
+        LocalDate to = LocalDate.now();
+        tm.importTransactions(rows(userId, from, (int) from.until(to, ChronoUnit.DAYS)),
+                TransactionManager.DEFAULT_IMPORT_CHUNK_SIZE, null);
+
+        TransactionColumns columns = tm.getColumns(userId);
+        PeriodTotals totals = columns.totalsBetween(from, to);
+        RangeReport report = new RangeReport(from, to, "bench", "$", columns.getScale(),
+                totals.getIncome(), totals.getExpense(), columns.countBetween(from, to),
+                handler -> tm.forEachTransaction(userId, from, to, handler));
+        System.out.printf("%d rows, max heap %d MB%n", report.getTransactionCount(),
+                Runtime.getRuntime().maxMemory() >> 20);
+
+        for (int window : WINDOWS) {
+            System.gc();
+            resetPeaks();
+            long start = System.nanoTime();
+            long written = new ExcelReportExporter(window).export(report, OUTPUT, null);
+            double secs = (System.nanoTime() - start) / 1e9;
+            System.out.printf("window %5d: %8.0f rows/s  %6.2f s  peak heap %5d MB  file %4d MB%n",
+                    window, written / secs, secs, peakHeap() >> 20, OUTPUT.length() >> 20);
+        }
+
+        OUTPUT.delete();
+        Database.shutdown();
+        deleteDbFiles();
+    }
+
+    /**
+     * ROWS transactions spread evenly over {@code days} days, generated lazily.
+     */
+    private static Iterator<Transaction> rows(int userId, LocalDate start, int days) {
+        String[] categories = {"Food", "Transport", "Entertainment", "Bills", "Subscriptions", "Others"};
+        return new Iterator<>() {
+            private int i;
+
+            @Override
+            public boolean hasNext() {
+                return i < ROWS;
+            }
+
+            @Override
+            public Transaction next() {
+                boolean income = i % 20 == 0;
+                Transaction t = new Transaction(userId, start.plusDays((long) i * days / ROWS), "Row " + i,
+                        income ? 2500 : -((i % 300) + 1) / 4.0, income,
+                        income ? "Salary" : categories[i % categories.length], "Card", null, false, null);
+                i++;
+                return t;
+            }
+        };
+    }
+
+    private static void resetPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static void deleteDbFiles() {
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            new File(FILE + suffix).delete();
+        }
+    }
+}
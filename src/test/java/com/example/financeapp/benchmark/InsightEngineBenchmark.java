@@ -0,0 +1,121 @@
+package com.example.financeapp.benchmark;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.models.InsightEngine;
+import com.example.financeapp.models.InsightRule;
+import com.example.financeapp.models.MonthlyAggregates;
+import com.example.financeapp.models.Transaction;
+import com.example.financeapp.models.TransactionColumns;
+import com.example.financeapp.models.TransactionManager;
+import com.example.financeapp.models.UserManager;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cost of the insight rule engine on ten years of history with 30 categories:
+ * building the per-month aggregates once, then evaluating a few hundred rules
+ * (a quarter of them expanding to every category) for one month and for every month.
+ *
+ * Not a unit test; run manually:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.example.financeapp.benchmark.InsightEngineBenchmark
+ */
+public class InsightEngineBenchmark {
+
+    private static final String FILE = "bench_insights.db";
+    private static final int YEARS = 10;
+    private static final int CATEGORIES = 30;
+    private static final int ROWS_PER_DAY = 30;
+    private static final int RULES = 300;
+    private static final int RUNS = 200;
+
+    public static void main(String[] args) {
+        deleteDbFiles();
+        Database.useDatabaseFile(FILE);
+
+        UserManager users = new UserManager();
+        users.register("bench", "bench@example.com", "secret123", null);
+        int userId = users.getUserByEmailOrUsername("bench").getId();
+
+        TransactionManager tm = new TransactionManager();
+        List<Transaction> rows = generate(userId);
+        tm.importTransactions(rows.iterator(), TransactionManager.DEFAULT_IMPORT_CHUNK_SIZE, null);
+        System.out.printf("%d rows over %d years, %d categories, %d rules%n", rows.size(), YEARS, CATEGORIES, RULES);
+
+        long start = System.nanoTime();
+        TransactionColumns columns = tm.getColumns(userId);
+        System.out.printf("%-34s %10.2f ms%n", "load column snapshot", (System.nanoTime() - start) / 1e6);
+
+        start = System.nanoTime();
+        MonthlyAggregates aggregates = columns.monthlyAggregates();
+        System.out.printf("%-34s %10.2f ms%n", "build monthly aggregates", (System.nanoTime() - start) / 1e6);
+
+        List<InsightRule> rules = rules(userId);
+        YearMonth last = aggregates.getFirstMonth().plusMonths(aggregates.getMonthCount() - 1);
+
+        int fired = 0;
+        for (int i = 0; i < RUNS; i++) { // warm-up
+            fired += InsightEngine.evaluate(aggregates, last, rules, columns::categoryName).size();
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            fired += InsightEngine.evaluate(aggregates, last, rules, columns::categoryName).size();
+        }
+        System.out.printf("%-34s %10.3f ms%n", "all rules, one month", (System.nanoTime() - start) / 1e6 / RUNS);
+
+        start = System.nanoTime();
+        for (int m = 0; m < aggregates.getMonthCount(); m++) {
+            fired += InsightEngine.evaluate(aggregates, aggregates.getFirstMonth().plusMonths(m), rules,
+                    columns::categoryName).size();
+        }
+        System.out.printf("%-34s %10.2f ms   (fired %d)%n", "all rules, every month",
+                (System.nanoTime() - start) / 1e6, fired);
+
+        Database.shutdown();
+        deleteDbFiles();
+    }
+
+    private static List<Transaction> generate(int userId) {
+        List<Transaction> list = new ArrayList<>();
+        LocalDate start = LocalDate.now().minusYears(YEARS).withDayOfMonth(1);
+        int i = 0;
+        for (LocalDate d = start; d.isBefore(LocalDate.now()); d = d.plusDays(1)) {
+            if (d.getDayOfMonth() == 1) {
+                list.add(new Transaction(userId, d, "Salary", 3000, true, "Salary", "Bank transfer",
+                        null, false, null));
+            }
+            int seasonal = d.getMonthValue() == 12 ? 2 : 1;
+            for (int r = 0; r < ROWS_PER_DAY; r++, i++) {
+                double amount = -(((i * 31) % 97) + 1) * seasonal;
+                list.add(new Transaction(userId, d, "Row " + i, amount, false,
+                        "Category " + (i % CATEGORIES), "Card", null, false, null));
+            }
+        }
+        return list;
+    }
+
+    private static List<InsightRule> rules(int userId) {
+        InsightRule.Metric[] metrics = InsightRule.Metric.values();
+        InsightRule.Baseline[] baselines = InsightRule.Baseline.values();
+        InsightRule.Direction[] directions = InsightRule.Direction.values();
+        int[] windows = {3, 6, 12};
+
+        List<InsightRule> rules = new ArrayList<>(RULES);
+        for (int i = 0; i < RULES; i++) {
+            rules.add(new InsightRule(userId, "Rule " + i, metrics[i % metrics.length], 0,
+                    baselines[(i / metrics.length) % baselines.length], windows[i % windows.length], 0.1 + (i % 5) * 0.05,
+                    directions[i % directions.length], 10));
+        }
+        return rules;
+    }
+
+    private static void deleteDbFiles() {
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            new File(FILE + suffix).delete();
+        }
+    }
+}
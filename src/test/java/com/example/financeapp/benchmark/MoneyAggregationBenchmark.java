@@ -0,0 +1,104 @@
+package com.example.financeapp.benchmark;
+
+import com.example.financeapp.models.Money;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Random;
+
+/**
+ * REAL amounts (the old schema) against INTEGER minor units (the current one):
+ * time for the monthly SUM query, how far each result is from the exact decimal
+ * total, and the size of the database file.
+ *
+ * Not a unit test; run manually:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.example.financeapp.benchmark.MoneyAggregationBenchmark
+ */
+public class MoneyAggregationBenchmark {
+
+    private static final int ROWS = 500_000;
+    private static final int RUNS = 20;
+    private static final String[] CATEGORIES = {"Food", "Transport", "Bills", "Shopping", "Health", "Others"};
+
+    public static void main(String[] args) throws Exception {
+        Class.forName("org.sqlite.JDBC");
+
+        // Amounts with two decimals, like card payments; the exact total is kept as BigDecimal
+        Random random = new Random(42);
+        long[] cents = new long[ROWS];
+        BigDecimal exact = BigDecimal.ZERO;
+        for (int i = 0; i < ROWS; i++) {
+            cents[i] = -(1 + random.nextInt(20_000));
+            exact = exact.add(BigDecimal.valueOf(cents[i], 2));
+        }
+
+        System.out.printf("%,d rows, exact total %s%n", ROWS, exact.toPlainString());
+        run("REAL", cents, exact);
+        run("INTEGER", cents, exact);
+    }
+
+    private static void run(String columnType, long[] cents, BigDecimal exact) throws Exception {
+        String file = "bench_money_" + columnType.toLowerCase() + ".db";
+        new File(file).delete();
+        boolean integer = columnType.equals("INTEGER");
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + file)) {
+            try (Statement st = conn.createStatement()) {
+                st.execute("CREATE TABLE tx (id INTEGER PRIMARY KEY, category TEXT NOT NULL, amount "
+                        + columnType + " NOT NULL)");
+            }
+
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement("INSERT INTO tx (category, amount) VALUES (?, ?)")) {
+                for (int i = 0; i < cents.length; i++) {
+                    ps.setString(1, CATEGORIES[i % CATEGORIES.length]);
+                    if (integer) {
+                        ps.setLong(2, cents[i]);
+                    } else {
+                        ps.setDouble(2, Money.toMajor(cents[i], 2));
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            conn.commit();
+            conn.setAutoCommit(true);
+
+            try (Statement st = conn.createStatement()) {
+                st.execute("VACUUM");
+            }
+
+            // per-category sums, then the total across categories (what the dashboard does)
+            BigDecimal result = BigDecimal.ZERO;
+            long start = System.nanoTime();
+            for (int r = 0; r < RUNS; r++) {
+                double total = 0;
+                long totalMinor = 0;
+                try (Statement st = conn.createStatement();
+                     ResultSet rs = st.executeQuery("SELECT category, SUM(amount) FROM tx GROUP BY category")) {
+                    while (rs.next()) {
+                        if (integer) {
+                            totalMinor += rs.getLong(2);
+                        } else {
+                            total += rs.getDouble(2);
+                        }
+                    }
+                }
+                result = integer ? BigDecimal.valueOf(totalMinor, 2) : BigDecimal.valueOf(total);
+            }
+            double millis = (System.nanoTime() - start) / 1e6 / RUNS;
+
+            BigDecimal error = result.subtract(exact).abs();
+            System.out.printf("%-7s | SUM by category: %7.2f ms | result %s | error %s | file %,d KB%n",
+                    columnType, millis, result.toPlainString(), error.stripTrailingZeros().toPlainString(),
+                    new File(file).length() / 1024);
+        }
+        new File(file).delete();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.financeapp.benchmark;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.database.PoolConfig;
+import com.example.financeapp.models.BudgetManager;
+import com.example.financeapp.models.TransactionManager;
+import com.example.financeapp.models.User;
+import com.example.financeapp.models.UserManager;
+
+import java.io.File;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-call latency of the hot manager queries with the per-connection statement cache
+ * switched off and on.
+ *
+ * Not a unit test; run manually:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.example.financeapp.benchmark.StatementCacheBenchmark
+ */
+public class StatementCacheBenchmark {
+
+    private static final String FILE = "bench_statements.db";
+    private static final int WARMUP_CALLS = 2_000;
+    private static final int MEASURED_CALLS = 20_000;
+
+    public static void main(String[] args) {
+        deleteDbFiles();
+        Database.useDatabaseFile(FILE);
+
+        UserManager users = new UserManager();
+        users.register("bench", "bench@example.com", "secret123", null);
+        User user = users.getUserByEmailOrUsername("bench");
+        int userId = user.getId();
+
+        TransactionManager tm = new TransactionManager();
+        tm.importTransactions(BulkInsertBenchmark.generate(5_000).stream()
+                .peek(t -> t.setUserId(userId)).iterator(), TransactionManager.DEFAULT_IMPORT_CHUNK_SIZE, null);
+        BudgetManager bm = new BudgetManager();
+        bm.setBudget(userId, "Food", 400);
+
+        YearMonth now = YearMonth.now();
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("getUserById", () -> users.getUserById(userId));
+        queries.put("getRecentTransactions(10)", () -> tm.getRecentTransactions(userId, 10));
+        queries.put("getBudgetsForUser", () -> bm.getBudgetsForUser(userId));
+        queries.put("getMonthlyTotals(12 months)", () -> tm.getMonthlyTotals(userId, now.minusMonths(11), now));
+
+        for (int cacheSize : new int[]{0, new PoolConfig().getStatementCacheSize()}) {
+            Database.configureStatementCache(cacheSize);
+            System.out.println(cacheSize == 0 ? "--- statement cache off ---" : "--- statement cache on (" + cacheSize + ") ---");
+
+            for (Map.Entry<String, Runnable> q : queries.entrySet()) {
+                for (int i = 0; i < WARMUP_CALLS; i++) {
+                    q.getValue().run();
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < MEASURED_CALLS; i++) {
+                    q.getValue().run();
+                }
+                double micros = (System.nanoTime() - start) / 1e3 / MEASURED_CALLS;
+                System.out.printf("%-28s %8.1f us/call%n", q.getKey(), micros);
+            }
+
+            try {
+                System.out.println(Database.getReaderPoolMetrics());
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+
+        Database.shutdown();
+        deleteDbFiles();
+    }
+
+    private static void deleteDbFiles() {
+        for (String suffix : new String[]{"", "-wal", "-shm", "-journal"}) {
+            new File(FILE + suffix).delete();
+        }
+    }
+}
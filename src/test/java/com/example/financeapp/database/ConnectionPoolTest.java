@@ -0,0 +1,195 @@
+package com.example.financeapp.database;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+
+    private ConnectionPool pool;
+
+    @BeforeAll
+    static void loadDriver() throws Exception {
+        Class.forName("org.sqlite.JDBC");
+    }
+
+    @AfterEach
+    void closePool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private ConnectionPool newPool(int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis) {
+        PoolConfig config = new PoolConfig(maxSize);
+        config.setBorrowTimeoutMillis(borrowTimeoutMillis);
+        config.setIdleTimeoutMillis(idleTimeoutMillis);
+        return new ConnectionPool("test", () -> DriverManager.getConnection("jdbc:sqlite::memory:"), config);
+    }
+
+    @Test
+    void closedConnection_shouldBeReusedInsteadOfReopened() throws Exception {
+        pool = newPool(2, 1_000, 60_000);
+
+        try (Connection c = pool.borrow()) {
+            assertFalse(c.isClosed());
+        }
+        try (Connection c = pool.borrow()) {
+            assertFalse(c.isClosed());
+        }
+
+        PoolMetrics m = pool.getMetrics();
+        assertEquals(2, m.getBorrowCount());
+        assertEquals(1, m.getCreatedCount());
+        assertEquals(0, m.getActive());
+        assertEquals(1, m.getIdle());
+    }
+
+    @Test
+    void borrow_shouldTimeOutWhenPoolIsExhausted() throws Exception {
+        pool = newPool(1, 100, 60_000);
+
+        try (Connection held = pool.borrow()) {
+            assertEquals(1, pool.getMetrics().getActive());
+            assertThrows(SQLException.class, () -> pool.borrow());
+        }
+
+        // Slot is free again once the holder returns it
+        try (Connection c = pool.borrow()) {
+            assertNotNull(c);
+        }
+    }
+
+    @Test
+    void returnedConnection_shouldRollBackOpenTransaction() throws Exception {
+        pool = newPool(1, 1_000, 60_000);
+
+        try (Connection c = pool.borrow()) {
+            c.setAutoCommit(false);
+        }
+        try (Connection c = pool.borrow()) {
+            assertTrue(c.getAutoCommit());
+        }
+    }
+
+    @Test
+    void evictIdle_shouldCloseExpiredConnections() throws Exception {
+        pool = newPool(2, 1_000, 1);
+
+        try (Connection c = pool.borrow()) {
+            assertNotNull(c);
+        }
+        Thread.sleep(20);
+
+        assertEquals(1, pool.evictIdle());
+        assertEquals(0, pool.getMetrics().getIdle());
+        assertEquals(1, pool.getMetrics().getEvictedCount());
+    }
+
+    @Test
+    void useAfterClose_shouldFail() throws Exception {
+        pool = newPool(1, 1_000, 60_000);
+
+        Connection c = pool.borrow();
+        c.close();
+
+        assertTrue(c.isClosed());
+        assertThrows(SQLException.class, c::createStatement);
+    }
+
+    @Test
+    void preparedStatement_shouldBeReusedAfterClose() throws Exception {
+        pool = newPool(1, 1_000, 60_000);
+
+        for (int i = 0; i < 3; i++) {
+            try (Connection c = pool.borrow();
+                 PreparedStatement ps = c.prepareStatement("SELECT ? + 1")) {
+                ps.setInt(1, i);
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(i + 1, rs.getInt(1));
+                }
+            }
+        }
+
+        PoolMetrics m = pool.getMetrics();
+        assertEquals(1, m.getStatementMisses());
+        assertEquals(2, m.getStatementHits());
+        assertEquals(1, m.getCachedStatements());
+    }
+
+    @Test
+    void statementCache_shouldCloseLeastRecentlyUsedWhenFull() throws Exception {
+        PoolConfig config = new PoolConfig(1);
+        config.setStatementCacheSize(2);
+        pool = new ConnectionPool("test", () -> DriverManager.getConnection("jdbc:sqlite::memory:"), config);
+
+        try (Connection c = pool.borrow()) {
+            for (String sql : new String[]{"SELECT 1", "SELECT 2", "SELECT 3", "SELECT 3"}) {
+                try (PreparedStatement ps = c.prepareStatement(sql)) {
+                    ps.executeQuery().close();
+                }
+            }
+        }
+
+        PoolMetrics m = pool.getMetrics();
+        assertEquals(2, m.getCachedStatements());
+        assertEquals(1, m.getStatementEvictions());
+        assertEquals(1, m.getStatementHits());
+    }
+
+    @Test
+    void sameSqlPreparedTwice_shouldGiveIndependentStatements() throws Exception {
+        pool = newPool(1, 1_000, 60_000);
+
+        try (Connection c = pool.borrow();
+             PreparedStatement outer = c.prepareStatement("SELECT ?");
+             PreparedStatement inner = c.prepareStatement("SELECT ?")) {
+            outer.setString(1, "outer");
+            inner.setString(1, "inner");
+            try (ResultSet a = outer.executeQuery(); ResultSet b = inner.executeQuery()) {
+                assertTrue(a.next() && b.next());
+                assertEquals("outer", a.getString(1));
+                assertEquals("inner", b.getString(1));
+            }
+            assertSame(c, outer.getConnection());
+        }
+    }
+
+    @Test
+    void closedStatement_shouldRejectFurtherUse() throws Exception {
+        pool = newPool(1, 1_000, 60_000);
+
+        try (Connection c = pool.borrow()) {
+            PreparedStatement ps = c.prepareStatement("SELECT 1");
+            ps.close();
+
+            assertTrue(ps.isClosed());
+            assertThrows(SQLException.class, ps::executeQuery);
+        }
+    }
+
+    @Test
+    void statementCacheSizeZero_shouldPrepareEveryTime() throws Exception {
+        PoolConfig config = new PoolConfig(1);
+        config.setStatementCacheSize(0);
+        pool = new ConnectionPool("test", () -> DriverManager.getConnection("jdbc:sqlite::memory:"), config);
+
+        for (int i = 0; i < 2; i++) {
+            try (Connection c = pool.borrow();
+                 PreparedStatement ps = c.prepareStatement("SELECT 1")) {
+                ps.executeQuery().close();
+            }
+        }
+
+        PoolMetrics m = pool.getMetrics();
+        assertEquals(0, m.getStatementHits());
+        assertEquals(0, m.getCachedStatements());
+    }
+}
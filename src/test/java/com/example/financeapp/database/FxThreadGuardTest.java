@@ -0,0 +1,44 @@
+package com.example.financeapp.database;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FxThreadGuardTest {
+
+    @BeforeAll
+    static void initDb() {
+        Database.useTestDatabase();
+    }
+
+    @Test
+    void borrowOnFxThread_shouldBeCounted() throws Exception {
+        long before = FxThreadGuard.getViolationCount();
+
+        Thread fx = new Thread(() -> {
+            try (Connection ignored = Database.getReadConnection()) {
+                // borrowing is enough
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }, "JavaFX Application Thread");
+        fx.start();
+        fx.join();
+
+        assertEquals(before + 1, FxThreadGuard.getViolationCount());
+    }
+
+    @Test
+    void borrowOnWorkerThread_shouldNotBeCounted() throws Exception {
+        long before = FxThreadGuard.getViolationCount();
+
+        try (Connection ignored = Database.getReadConnection()) {
+            // test thread is not the FX thread
+        }
+
+        assertEquals(before, FxThreadGuard.getViolationCount());
+    }
+}
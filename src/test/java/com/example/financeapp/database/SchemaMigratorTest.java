@@ -0,0 +1,160 @@
+package com.example.financeapp.database;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigratorTest {
+
+    private Connection conn;
+
+    @BeforeEach
+    void openInMemoryDb() throws Exception {
+        Class.forName("org.sqlite.JDBC");
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+    }
+
+    @AfterEach
+    void closeDb() throws Exception {
+        conn.close();
+    }
+
+    @Test
+    void migrate_shouldApplyEachStepOnlyOnce() throws Exception {
+        SchemaMigrator migrator = new SchemaMigrator(Migrations.all());
+
+        int first = migrator.migrate(conn);
+        int second = migrator.migrate(conn);
+
+        assertEquals(Migrations.all().size(), first);
+        assertEquals(0, second);
+        assertEquals(migrator.getLatestVersion(), SchemaMigrator.getUserVersion(conn));
+        assertTrue(SchemaMigrator.columnExists(conn, "transactions", "title"));
+    }
+
+    @Test
+    void migrate_shouldUpgradeLegacyTableWithoutTitleColumn() throws Exception {
+        try (Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE transactions (id INTEGER PRIMARY KEY AUTOINCREMENT, user_id INTEGER NOT NULL, "
+                    + "date TEXT NOT NULL, amount REAL NOT NULL, is_income INTEGER NOT NULL, category TEXT NOT NULL, "
+                    + "payment_method TEXT, notes TEXT, recurring INTEGER DEFAULT 0, recurrence_rule TEXT)");
+        }
+
+        new SchemaMigrator(Migrations.all()).migrate(conn);
+
+        assertTrue(SchemaMigrator.columnExists(conn, "transactions", "title"));
+    }
+
+    @Test
+    void migrate_shouldConvertRealAmountsToMinorUnitsOfEachUsersCurrency() throws Exception {
+        new SchemaMigrator(Migrations.all().subList(0, 6)).migrate(conn);
+        try (Statement st = conn.createStatement()) {
+            st.execute("INSERT INTO users (id, username, email, password_hash, salt, currency_code) VALUES "
+                    + "(1, 'a', 'a@x', 'h', 's', 'USD'), (2, 'b', 'b@x', 'h', 's', 'JPY')");
+            st.execute("INSERT INTO transactions (user_id, date, amount, is_income, category) VALUES "
+                    + "(1, '2024-01-05', 0.1, 0, 'Food'), (1, '2024-01-06', 0.2, 0, 'Food'), "
+                    + "(1, '2024-01-07', -19.99, 0, 'Food'), (2, '2024-01-05', -1500, 0, 'Food')");
+        }
+
+        new SchemaMigrator(Migrations.all()).migrate(conn);
+
+        try (Statement st = conn.createStatement()) {
+            ResultSet rs = st.executeQuery("SELECT typeof(amount), amount FROM transactions ORDER BY id");
+            long[] expected = {10, 20, -1999, -1500};
+            for (long amount : expected) {
+                assertTrue(rs.next());
+                assertEquals("integer", rs.getString(1));
+                assertEquals(amount, rs.getLong(2));
+            }
+
+            rs = st.executeQuery("SELECT amount_sum FROM monthly_rollups WHERE user_id = 1");
+            assertTrue(rs.next());
+            assertEquals(-1969, rs.getLong(1)); // 10 + 20 - 1999, exactly
+
+            // triggers survive the table copy
+            st.execute("INSERT INTO transactions (user_id, date, amount, is_income, category_id) "
+                    + "VALUES (2, '2024-01-09', -500, 0, (SELECT id FROM categories WHERE owner_id = 0 AND name = 'Food'))");
+            rs = st.executeQuery("SELECT amount_sum, tx_count FROM monthly_rollups WHERE user_id = 2");
+            assertTrue(rs.next());
+            assertEquals(-2000, rs.getLong(1));
+            assertEquals(2, rs.getInt(2));
+        }
+    }
+
+    @Test
+    void migrate_shouldEncodeCategoriesAndPaymentMethodsAsIds() throws Exception {
+        new SchemaMigrator(Migrations.all().subList(0, 7)).migrate(conn);
+        try (Statement st = conn.createStatement()) {
+            st.execute("INSERT INTO users (id, username, email, password_hash, salt) VALUES "
+                    + "(1, 'a', 'a@x', 'h', 's'), (2, 'b', 'b@x', 'h', 's')");
+            st.execute("INSERT INTO transactions (user_id, date, amount, is_income, category, payment_method) VALUES "
+                    + "(1, '2024-01-05', -100, 0, 'food', 'card'), (1, '2024-01-06', -200, 0, 'Food', 'Card'), "
+                    + "(1, '2024-01-07', -300, 0, 'Groceries ', NULL), (1, '2024-01-08', -400, 0, 'groceries', 'Revolut'), "
+                    + "(2, '2024-01-05', -500, 0, 'Groceries', 'Cash')");
+            st.execute("INSERT INTO budgets (user_id, category, monthly_limit) VALUES "
+                    + "(1, 'food', 100), (1, 'Food', 200), (1, 'Groceries', 50)");
+        }
+
+        new SchemaMigrator(Migrations.all()).migrate(conn);
+
+        try (Statement st = conn.createStatement()) {
+            // each user gets their own 'Groceries'; 'food' is the built-in 'Food'
+            ResultSet rs = st.executeQuery("SELECT owner_id, name FROM categories WHERE owner_id <> 0 ORDER BY owner_id");
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+            assertEquals("Groceries", rs.getString(2));
+            assertTrue(rs.next());
+            assertEquals(2, rs.getInt(1));
+            assertFalse(rs.next());
+
+            rs = st.executeQuery("SELECT COUNT(DISTINCT category_id), COUNT(DISTINCT payment_method_id), "
+                    + "COUNT(payment_method_id) FROM transactions WHERE user_id = 1");
+            assertTrue(rs.next());
+            assertEquals(2, rs.getInt(1));  // Food, Groceries
+            assertEquals(2, rs.getInt(2));  // Card, Revolut
+            assertEquals(3, rs.getInt(3));  // one row had no payment method
+
+            rs = st.executeQuery("SELECT c.name, r.amount_sum, r.tx_count FROM monthly_rollups r "
+                    + "JOIN categories c ON c.id = r.category_id WHERE r.user_id = 1 ORDER BY c.name");
+            assertTrue(rs.next());
+            assertEquals("Food", rs.getString(1));
+            assertEquals(-300, rs.getLong(2));
+            assertEquals(2, rs.getInt(3));
+            assertTrue(rs.next());
+            assertEquals("Groceries", rs.getString(1));
+            assertEquals(-700, rs.getLong(2));
+
+            // 'food' and 'Food' budgets collapse into one, keeping the larger limit
+            rs = st.executeQuery("SELECT COUNT(*), MAX(monthly_limit) FROM budgets WHERE user_id = 1 "
+                    + "AND category_id = (SELECT id FROM categories WHERE owner_id = 0 AND name = 'Food')");
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+            assertEquals(200.0, rs.getDouble(2));
+        }
+    }
+
+    @Test
+    void failingStep_shouldRollBackAndKeepPreviousVersion() throws Exception {
+        SchemaMigrator migrator = new SchemaMigrator(List.of(
+                new Migration(1, "create table", c -> SchemaMigrator.execute(c, "CREATE TABLE t (x INTEGER)")),
+                new Migration(2, "broken", c -> {
+                    SchemaMigrator.execute(c, "INSERT INTO t VALUES (1)");
+                    throw new SQLException("boom");
+                })
+        ));
+
+        assertThrows(SQLException.class, () -> migrator.migrate(conn));
+
+        assertEquals(1, SchemaMigrator.getUserVersion(conn));
+        try (Statement st = conn.createStatement()) {
+            assertFalse(st.executeQuery("SELECT * FROM t").next());
+        }
+    }
+}
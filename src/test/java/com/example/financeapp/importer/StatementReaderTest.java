@@ -0,0 +1,169 @@
+package com.example.financeapp.importer;
+
+import com.example.financeapp.models.Transaction;
+import org.junit.jupiter.api.*;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementReaderTest {
+
+    private static final int USER_ID = 42;
+
+    @Test
+    void csv_shouldDetectColumnsAndSignExpenses() throws Exception {
+        String csv = """
+                Date;Description;Amount;Type;Category
+                2024-03-01;"Rent; March";1.200,00;debit;Bills
+                2024-03-02;Payroll;2500.00;credit;
+                2024-03-03;"Coffee ""to go""\";-3.50;;Food
+                """;
+
+        List<Transaction> rows = readAll(CsvStatementReader.withDetectedColumns(reader(csv), USER_ID));
+
+        assertEquals(3, rows.size());
+
+        Transaction rent = rows.get(0);
+        assertEquals(LocalDate.of(2024, 3, 1), rent.getDate());
+        assertEquals("Rent; March", rent.getTitle());
+        assertEquals(-1200.00, rent.getAmount(), 0.001);
+        assertFalse(rent.isIncome());
+        assertEquals("Bills", rent.getCategory());
+
+        Transaction salary = rows.get(1);
+        assertTrue(salary.isIncome());
+        assertEquals(2500.00, salary.getAmount(), 0.001);
+        assertEquals("Others", salary.getCategory());
+
+        Transaction coffee = rows.get(2);
+        assertEquals("Coffee \"to go\"", coffee.getTitle());
+        assertEquals(-3.50, coffee.getAmount(), 0.001);
+        assertEquals(USER_ID, coffee.getUserId());
+    }
+
+    @Test
+    void csv_shouldSkipMalformedRows() throws Exception {
+        String csv = """
+                date,title,amount
+                2024-01-05,Lunch,-12.00
+                not-a-date,Broken,-1.00
+                2024-01-06,Bus,abc
+                2024-01-07,Cinema,-9.00
+                """;
+
+        CsvStatementReader reader = CsvStatementReader.withDetectedColumns(reader(csv), USER_ID);
+        List<Transaction> rows = readAll(reader);
+
+        assertEquals(2, rows.size());
+        assertEquals(2, reader.getRejectedCount());
+    }
+
+    @Test
+    void csv_shouldRejectUnterminatedQuoteAndKeepReading() throws Exception {
+        StringBuilder csv = new StringBuilder("date,title,amount\n");
+        csv.append("2024-01-05,\"Lunch,-12.00\n"); // quote never closed
+        for (int day = 1; day <= CsvStatementReader.MAX_RECORD_LINES + 10; day++) {
+            csv.append(LocalDate.of(2024, 2, 1).plusDays(day)).append(",Bus,-2.00\n");
+        }
+
+        CsvStatementReader reader = CsvStatementReader.withDetectedColumns(reader(csv.toString()), USER_ID);
+        List<Transaction> rows = readAll(reader);
+
+        assertEquals(CsvStatementReader.MAX_RECORD_LINES + 10, rows.size());
+        assertEquals(1, reader.getRejectedCount());
+        assertEquals(LocalDate.of(2024, 2, 2), rows.get(0).getDate());
+    }
+
+    @Test
+    void csv_shouldDetectTheDateFormat() throws Exception {
+        String csv = """
+                Date,Description,Amount
+                03/04/2024,Bakery,-4.20
+                15/04/2024,Books,-18.00
+                """;
+
+        List<Transaction> rows = readAll(CsvStatementReader.withDetectedColumns(reader(csv), USER_ID));
+
+        assertEquals(LocalDate.of(2024, 4, 3), rows.get(0).getDate());
+        assertEquals(LocalDate.of(2024, 4, 15), rows.get(1).getDate());
+
+        String us = """
+                Date,Description,Amount
+                04/03/2024,Bakery,-4.20
+                04/15/2024,Books,-18.00
+                """;
+
+        rows = readAll(CsvStatementReader.withDetectedColumns(reader(us), USER_ID));
+
+        assertEquals(LocalDate.of(2024, 4, 3), rows.get(0).getDate());
+        assertEquals(LocalDate.of(2024, 4, 15), rows.get(1).getDate());
+    }
+
+    @Test
+    void ofx_shouldReadSgmlStatementTransactions() throws Exception {
+        String ofx = """
+                OFXHEADER:100
+                DATA:OFXSGML
+
+                <OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>
+                <STMTTRN>
+                <TRNTYPE>DEBIT
+                <DTPOSTED>20240215120000.000[-5:EST]
+                <TRNAMT>-42.10
+                <FITID>1
+                <NAME>GROCERY &amp; CO
+                <MEMO>card 1234
+                </STMTTRN>
+                <STMTTRN>
+                <TRNTYPE>CREDIT
+                <DTPOSTED>20240216
+                <TRNAMT>1000.00
+                <FITID>2
+                <MEMO>Salary Feb
+                </STMTTRN>
+                </BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>
+                """;
+
+        List<Transaction> rows = readAll(new OfxStatementReader(reader(ofx), USER_ID));
+
+        assertEquals(2, rows.size());
+
+        Transaction grocery = rows.get(0);
+        assertEquals(LocalDate.of(2024, 2, 15), grocery.getDate());
+        assertEquals(-42.10, grocery.getAmount(), 0.001);
+        assertEquals("GROCERY & CO", grocery.getTitle());
+        assertEquals("card 1234", grocery.getNotes());
+        assertFalse(grocery.isIncome());
+
+        Transaction salary = rows.get(1);
+        assertTrue(salary.isIncome());
+        assertEquals("Salary Feb", salary.getTitle());
+    }
+
+    @Test
+    void amountParser_shouldHandleCommonFormats() {
+        assertEquals(1234.56, AmountParser.parse("1,234.56"), 0.001);
+        assertEquals(1234.56, AmountParser.parse("1.234,56"), 0.001);
+        assertEquals(12.5, AmountParser.parse("12,50"), 0.001);
+        assertEquals(-45.10, AmountParser.parse("(45.10)"), 0.001);
+        assertEquals(-7.0, AmountParser.parse("-$7.00"), 0.001);
+        assertEquals(1234567, AmountParser.parse("1,234,567"), 0.001);
+    }
+
+    private static BufferedReader reader(String s) {
+        return new BufferedReader(new StringReader(s));
+    }
+
+    private static List<Transaction> readAll(StatementReader reader) throws Exception {
+        List<Transaction> list = new ArrayList<>();
+        try (reader) {
+            reader.forEachRemaining(list::add);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.financeapp.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregateCacheTest {
+
+    private static final YearMonth JAN = YearMonth.of(2024, 1);
+    private static final YearMonth FEB = YearMonth.of(2024, 2);
+    private static final YearMonth MAR = YearMonth.of(2024, 3);
+
+    @Test
+    void get_shouldCountHitsAndMisses() {
+        AggregateCache cache = new AggregateCache(10);
+
+        assertNull(cache.get(1, JAN));
+        cache.put(1, MonthlySummary.empty(JAN), cache.stamp());
+        assertNotNull(cache.get(1, JAN));
+        assertNull(cache.get(2, JAN)); // other user
+
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsedMonth() {
+        AggregateCache cache = new AggregateCache(2);
+        cache.put(1, MonthlySummary.empty(JAN), cache.stamp());
+        cache.put(1, MonthlySummary.empty(FEB), cache.stamp());
+
+        cache.get(1, JAN); // JAN is now more recent than FEB
+        cache.put(1, MonthlySummary.empty(MAR), cache.stamp());
+
+        assertEquals(1, cache.getEvictions());
+        assertNotNull(cache.get(1, JAN));
+        assertNull(cache.get(1, FEB));
+        assertNotNull(cache.get(1, MAR));
+    }
+
+    @Test
+    void invalidate_shouldOnlyDropThatUsersMonth() {
+        AggregateCache cache = new AggregateCache(10);
+        cache.put(1, MonthlySummary.empty(JAN), cache.stamp());
+        cache.put(1, MonthlySummary.empty(FEB), cache.stamp());
+        cache.put(2, MonthlySummary.empty(JAN), cache.stamp());
+
+        cache.invalidate(1, JAN);
+
+        assertNull(cache.get(1, JAN));
+        assertNotNull(cache.get(1, FEB));
+        assertNotNull(cache.get(2, JAN));
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    void put_shouldDropLoadThatRacedWithAWrite() {
+        AggregateCache cache = new AggregateCache(10);
+
+        long stamp = cache.stamp();       // reader starts loading
+        cache.invalidate(1, JAN);         // writer commits meanwhile
+        cache.put(1, MonthlySummary.empty(JAN), stamp);
+
+        assertNull(cache.get(1, JAN));
+    }
+}
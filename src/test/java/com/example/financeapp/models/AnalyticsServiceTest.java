@@ -30,6 +30,8 @@ class AnalyticsServiceTest {
              Statement st = conn.createStatement()) {
             st.executeUpdate("DELETE FROM transactions WHERE user_id = " + TEST_USER_ID);
         }
+        TransactionManager.getAggregateCache().clear(); // raw SQL above bypasses invalidation
+        TransactionManager.getColumnsCache().clear();
     }
 
     @Test
@@ -52,6 +54,24 @@ class AnalyticsServiceTest {
         assertTrue(recs.stream().anyMatch(r -> r.contains("Food")));
     }
 
+    @Test
+    void recommendations_shouldScanOnceThenRunFromTheColumnSnapshot() throws Exception {
+        YearMonth now = YearMonth.now();
+        tm.addTransaction(buildTx(-80, "Food", now.minusMonths(1).atDay(3)));
+        tm.addTransaction(buildTx(-120, "Food", now.atDay(3)));
+
+        long before = Database.getReaderPoolMetrics().getBorrowCount();
+        analytics.generateMonthlyRecommendations(TEST_USER_ID, now);
+        long queries = Database.getReaderPoolMetrics().getBorrowCount() - before;
+        assertEquals(1, queries, "one scan loads the snapshot");
+
+        tm.addTransaction(buildTx(-40, "Transport", now.atDay(4))); // patches the snapshot
+        before = Database.getReaderPoolMetrics().getBorrowCount();
+        List<String> recs = analytics.generateMonthlyRecommendations(TEST_USER_ID, now);
+        assertEquals(0, Database.getReaderPoolMetrics().getBorrowCount() - before);
+        assertTrue(recs.stream().anyMatch(r -> r.contains("Transport")));
+    }
+
     private Transaction buildTx(double amount, String category, LocalDate date) {
         Transaction t = new Transaction();
         t.setUserId(TEST_USER_ID);
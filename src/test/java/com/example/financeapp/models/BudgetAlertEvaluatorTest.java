@@ -0,0 +1,204 @@
+package com.example.financeapp.models;
+
+import com.example.financeapp.database.Database;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BudgetAlertEvaluatorTest {
+
+    private static final int TEST_USER_ID = 9999;
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+
+    private BudgetAlertEvaluator evaluator;
+    private BudgetManager budgetManager;
+    private TransactionManager transactionManager;
+
+    @BeforeAll
+    static void initDb() {
+        Database.useTestDatabase();
+    }
+
+    @BeforeEach
+    void clean() throws Exception {
+        try (Connection conn = Database.getConnection();
+             Statement st = conn.createStatement()) {
+            st.executeUpdate("DELETE FROM budget_alerts WHERE user_id = " + TEST_USER_ID);
+            st.executeUpdate("DELETE FROM budgets WHERE user_id = " + TEST_USER_ID);
+            st.executeUpdate("DELETE FROM transactions WHERE user_id = " + TEST_USER_ID);
+        }
+        evaluator = new BudgetAlertEvaluator();
+        budgetManager = new BudgetManager(evaluator);
+        transactionManager = new TransactionManager(evaluator);
+    }
+
+    @Test
+    void crossingThresholds_shouldRaiseEachOnceAndReportTheHighest() throws Exception {
+        budgetManager.setBudget(TEST_USER_ID, "Food", 100.0);
+
+        transactionManager.addTransaction(expense(MONTH.atDay(2), "Food", 40.0));
+        assertEquals(0, alertRows());
+
+        transactionManager.addTransaction(expense(MONTH.atDay(5), "Food", 15.0)); // 55%
+        assertEquals(1, alertRows());
+
+        transactionManager.addTransaction(expense(MONTH.atDay(9), "Food", 5.0));  // 60%, no new threshold
+        assertEquals(1, alertRows());
+
+        transactionManager.addTransaction(expense(MONTH.atDay(12), "Food", 40.0)); // exactly 100%
+        assertEquals(3, alertRows());
+
+        List<BudgetAlert> pending = budgetManager.getPendingAlerts(TEST_USER_ID);
+        assertEquals(1, pending.size());
+        BudgetAlert alert = pending.get(0);
+        assertEquals("Food", alert.getCategory());
+        assertEquals(MONTH, alert.getMonth());
+        assertEquals(100, alert.getThreshold());
+        assertTrue(alert.isExceeded());
+        assertEquals(100.0, alert.getSpent(), 0.001);
+        assertEquals(100.0, alert.getMonthlyLimit(), 0.001);
+    }
+
+    @Test
+    void spendingOutsideBudgetedBuckets_shouldRaiseNothing() throws Exception {
+        budgetManager.setBudget(TEST_USER_ID, "Food", 10.0);
+
+        transactionManager.addTransaction(expense(MONTH.atDay(2), "Transport", 500.0)); // no budget
+        transactionManager.addTransaction(new Transaction(TEST_USER_ID, MONTH.atDay(3), "Refund", 50.0, true,
+                "Food", "Card", null, false, null)); // income
+
+        assertEquals(0, alertRows());
+        assertTrue(budgetManager.getPendingAlerts(TEST_USER_ID).isEmpty());
+    }
+
+    @Test
+    void deletingSpending_shouldWithdrawPendingAlertsNoLongerReached() {
+        budgetManager.setBudget(TEST_USER_ID, "Bills", 100.0);
+        transactionManager.addTransaction(expense(MONTH.atDay(1), "Bills", 60.0));
+        int id = transactionManager.addTransaction(expense(MONTH.atDay(2), "Bills", 50.0)); // 110%
+
+        assertTrue(transactionManager.deleteTransaction(id, TEST_USER_ID)); // back to 60%
+
+        List<BudgetAlert> pending = budgetManager.getPendingAlerts(TEST_USER_ID);
+        assertEquals(1, pending.size());
+        assertEquals(50, pending.get(0).getThreshold());
+    }
+
+    @Test
+    void updatingIntoAnotherMonth_shouldReevaluateBothBuckets() {
+        budgetManager.setBudget(TEST_USER_ID, "Food", 100.0);
+        Transaction t = expense(MONTH.atDay(10), "Food", 90.0);
+        transactionManager.addTransaction(t);
+
+        t.setDate(MONTH.plusMonths(1).atDay(10));
+        assertTrue(transactionManager.updateTransaction(t));
+
+        List<BudgetAlert> pending = budgetManager.getPendingAlerts(TEST_USER_ID);
+        assertEquals(1, pending.size());
+        assertEquals(MONTH.plusMonths(1), pending.get(0).getMonth());
+        assertEquals(80, pending.get(0).getThreshold());
+    }
+
+    @Test
+    void dismissedAlerts_shouldNotBeRaisedAgainThatMonth() throws Exception {
+        budgetManager.setBudget(TEST_USER_ID, "Food", 100.0);
+        int id = transactionManager.addTransaction(expense(MONTH.atDay(3), "Food", 85.0));
+
+        BudgetAlert alert = budgetManager.getPendingAlerts(TEST_USER_ID).get(0);
+        assertFalse(budgetManager.dismissAlert(TEST_USER_ID + 1, alert.getId()), "Other users cannot dismiss it");
+        assertTrue(budgetManager.dismissAlert(TEST_USER_ID, alert.getId()));
+        assertTrue(budgetManager.getPendingAlerts(TEST_USER_ID).isEmpty());
+
+        transactionManager.deleteTransaction(id, TEST_USER_ID);
+        transactionManager.addTransaction(expense(MONTH.atDay(4), "Food", 85.0));
+
+        assertTrue(budgetManager.getPendingAlerts(TEST_USER_ID).isEmpty());
+        assertEquals(2, alertRows());
+    }
+
+    @Test
+    void raisingTheLimit_shouldWithdrawThisMonthsPendingAlerts() {
+        YearMonth now = YearMonth.now();
+        budgetManager.setBudget(TEST_USER_ID, "Food", 100.0);
+        transactionManager.addTransaction(expense(now.atDay(1), "Food", 90.0));
+        assertEquals(80, budgetManager.getPendingAlerts(TEST_USER_ID).get(0).getThreshold());
+
+        budgetManager.setBudget(TEST_USER_ID, "Food", 1000.0);
+
+        assertTrue(budgetManager.getPendingAlerts(TEST_USER_ID).isEmpty());
+    }
+
+    @Test
+    void movingABudget_shouldDropTheOldCategorysAlertsAndCheckTheNewOne() {
+        YearMonth now = YearMonth.now();
+        budgetManager.setBudget(TEST_USER_ID, "Food", 100.0);
+        transactionManager.addTransaction(expense(now.atDay(1), "Food", 90.0));
+        transactionManager.addTransaction(expense(now.atDay(1), "Transport", 60.0));
+        assertEquals("Food", budgetManager.getPendingAlerts(TEST_USER_ID).get(0).getCategory());
+
+        Budget budget = budgetManager.getBudgetsForUser(TEST_USER_ID).get(0);
+        budget.setCategory("Transport");
+        assertTrue(budgetManager.updateBudget(budget));
+
+        List<BudgetAlert> pending = budgetManager.getPendingAlerts(TEST_USER_ID);
+        assertEquals(1, pending.size());
+        assertEquals("Transport", pending.get(0).getCategory());
+        assertEquals(50, pending.get(0).getThreshold());
+    }
+
+    @Test
+    void customThresholds_shouldBeUsedInsteadOfTheDefaults() {
+        BudgetAlertEvaluator custom = new BudgetAlertEvaluator(90, 25);
+        assertArrayEquals(new int[]{25, 90}, custom.getThresholds());
+        new BudgetManager(custom).setBudget(TEST_USER_ID, "Food", 100.0);
+
+        new TransactionManager(custom).addTransaction(expense(MONTH.atDay(1), "Food", 60.0));
+
+        assertEquals(25, budgetManager.getPendingAlerts(TEST_USER_ID).get(0).getThreshold());
+        assertThrows(IllegalArgumentException.class, () -> new BudgetAlertEvaluator(0, 50));
+    }
+
+    @Test
+    void importedRows_shouldRaiseAlertsPerChunk() {
+        budgetManager.setBudget(TEST_USER_ID, "Food", 100.0);
+
+        transactionManager.addTransactions(List.of(
+                expense(MONTH.atDay(1), "Food", 30.0),
+                expense(MONTH.atDay(2), "Food", 30.0),
+                expense(MONTH.atDay(3), "Transport", 30.0)));
+
+        assertEquals(50, budgetManager.getPendingAlerts(TEST_USER_ID).get(0).getThreshold());
+    }
+
+    @Test
+    void alertQueries_shouldSeekIndexes() throws Exception {
+        String spend = TransactionQueryPlanTest.explain(BudgetAlertEvaluator.SQL_SPEND_AGAINST_BUDGET,
+                "2024-03", TEST_USER_ID, 1);
+        assertTrue(spend.contains("SEARCH r USING PRIMARY KEY"), spend);
+        assertFalse(spend.contains("SCAN"), spend);
+
+        String pending = TransactionQueryPlanTest.explain(BudgetManager.SQL_PENDING_ALERTS, TEST_USER_ID);
+        assertTrue(pending.contains("SEARCH a USING INDEX"), pending);
+        assertFalse(pending.contains("GROUP BY"), pending);
+    }
+
+    private static Transaction expense(LocalDate date, String category, double amount) {
+        return new Transaction(TEST_USER_ID, date, "Spend", -amount, false, category, "Card", null, false, null);
+    }
+
+    private static int alertRows() throws Exception {
+        try (Connection conn = Database.getReadConnection();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM budget_alerts WHERE user_id = " + TEST_USER_ID)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
 import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,7 +27,9 @@ class BudgetManagerTest {
     void cleanBudgets() throws Exception {
         try (Connection conn = Database.getConnection();
              Statement st = conn.createStatement()) {
+            st.executeUpdate("DELETE FROM budget_alerts WHERE user_id = " + TEST_USER_ID);
             st.executeUpdate("DELETE FROM budgets WHERE user_id = " + TEST_USER_ID);
+            st.executeUpdate("DELETE FROM transactions WHERE user_id = " + TEST_USER_ID);
         }
     }
 
@@ -96,4 +100,86 @@ class BudgetManagerTest {
         assertEquals(200.0, food.getMonthlyLimit(), 0.001);
         assertEquals(40.0, subs.getMonthlyLimit(), 0.001);
     }
-}
\ No newline at end of file
+
+    @Test
+    void setBudget_shouldUpdateExistingBudgetWhateverTheCase() {
+        budgetManager.setBudget(TEST_USER_ID, "Food", 200.0);
+        budgetManager.setBudget(TEST_USER_ID, "food", 250.0);
+
+        List<Budget> budgets = budgetManager.getBudgetsForUser(TEST_USER_ID);
+        assertEquals(1, budgets.size());
+        assertEquals("Food", budgets.get(0).getCategory());
+        assertEquals(250.0, budgets.get(0).getMonthlyLimit(), 0.001);
+    }
+
+    @Test
+    void addBudget_shouldCreateCustomCategoryForUnknownName() {
+        assertTrue(budgetManager.addBudget(TEST_USER_ID, "Pet care", 60.0));
+
+        Budget b = budgetManager.getBudgetsForUser(TEST_USER_ID).get(0);
+        assertEquals("Pet care", b.getCategory());
+        assertTrue(b.getCategoryId() > 0);
+        assertFalse(budgetManager.addBudget(TEST_USER_ID, "PET CARE", 80.0)); // same category
+    }
+
+    @Test
+    void setBudget_shouldInsertThenReplaceLimitInPlace() {
+        assertTrue(budgetManager.setBudget(TEST_USER_ID, "Bills", 100.0));
+        int id = budgetManager.getBudgetsForUser(TEST_USER_ID).get(0).getId();
+
+        assertTrue(budgetManager.setBudget(TEST_USER_ID, "BILLS", 120.0));
+
+        List<Budget> budgets = budgetManager.getBudgetsForUser(TEST_USER_ID);
+        assertEquals(1, budgets.size());
+        assertEquals(id, budgets.get(0).getId(), "Upsert keeps the existing row");
+        assertEquals(120.0, budgets.get(0).getMonthlyLimit(), 0.001);
+    }
+
+    @Test
+    void getBudgetStatus_shouldReportSpendingOfTheMonthOnly() {
+        TransactionManager tm = new TransactionManager();
+        YearMonth month = YearMonth.of(2024, 3);
+        budgetManager.setBudget(TEST_USER_ID, "Food", 100.0);
+        budgetManager.setBudget(TEST_USER_ID, "Transport", 50.0);
+        budgetManager.setBudget(TEST_USER_ID, "Bills", 200.0);
+
+        tm.addTransaction(expense(month.atDay(3), "Food", 60.0));
+        tm.addTransaction(expense(month.atDay(20), "food", 25.5));
+        tm.addTransaction(expense(month.atDay(9), "Transport", 55.0));
+        tm.addTransaction(expense(month.minusMonths(1).atDay(28), "Bills", 500.0)); // other month
+        tm.addTransaction(new Transaction(TEST_USER_ID, month.atDay(1), "Pay", 1000.0, true,
+                "Salary", "Bank transfer", null, false, null));
+
+        List<BudgetStatus> statuses = budgetManager.getBudgetStatus(TEST_USER_ID, month);
+        assertEquals(List.of("Bills", "Food", "Transport"),
+                statuses.stream().map(BudgetStatus::getCategory).toList());
+
+        BudgetStatus bills = statuses.get(0);
+        assertEquals(0.0, bills.getSpent(), 0.001);
+        assertEquals(200.0, bills.getRemaining(), 0.001);
+        assertEquals(BudgetStatus.AlertLevel.OK, bills.getAlertLevel());
+
+        BudgetStatus food = statuses.get(1);
+        assertEquals(85.5, food.getSpent(), 0.001);
+        assertEquals(14.5, food.getRemaining(), 0.001);
+        assertEquals(0.855, food.getRatio(), 0.0001);
+        assertEquals(BudgetStatus.AlertLevel.WARNING, food.getAlertLevel());
+
+        BudgetStatus transport = statuses.get(2);
+        assertEquals(-5.0, transport.getRemaining(), 0.001);
+        assertEquals(BudgetStatus.AlertLevel.EXCEEDED, transport.getAlertLevel());
+    }
+
+    @Test
+    void budgetStatusQuery_shouldSeekIndexesWithoutScanningTransactions() throws Exception {
+        String plan = TransactionQueryPlanTest.explain(BudgetManager.SQL_BUDGET_STATUS, "2024-03", TEST_USER_ID);
+
+        assertTrue(plan.contains("SEARCH r USING PRIMARY KEY"), plan);
+        assertFalse(plan.contains("SCAN b"), plan);
+        assertFalse(plan.contains("transactions"), plan);
+    }
+
+    private static Transaction expense(LocalDate date, String category, double amount) {
+        return new Transaction(TEST_USER_ID, date, "Spend", -amount, false, category, "Card", null, false, null);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.financeapp.models;
+
+import org.junit.jupiter.api.*;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InsightEngineTest {
+
+    private static final YearMonth FIRST = YearMonth.of(2023, 1);
+    private static final String[] NAMES = {"Others", "Food", "Transport"};
+
+    @Test
+    void rollingAverage_shouldFireWhenTheMonthIsAboveTheWindow() {
+        long[] spend = flat(13, 1_000);
+        spend[12] = 1_500;
+        MonthlyAggregates aggregates = aggregates(new long[13], spend, new long[13]);
+
+        List<Insight> insights = evaluate(aggregates, 12,
+                rule(InsightRule.Metric.SPEND, InsightRule.Baseline.ROLLING_AVERAGE, 3, 0.15, InsightRule.Direction.UP));
+
+        assertEquals(1, insights.size());
+        assertEquals(1_500, insights.get(0).getCurrent(), 1e-9);
+        assertEquals(1_000, insights.get(0).getBaseline(), 1e-9);
+        assertEquals(0.5, insights.get(0).getRatio(), 1e-9);
+        assertTrue(insights.get(0).getMessage().contains("50% above your 3-month average"));
+
+        assertTrue(evaluate(aggregates, 12, rule(InsightRule.Metric.SPEND, InsightRule.Baseline.ROLLING_AVERAGE,
+                3, 0.60, InsightRule.Direction.UP)).isEmpty());
+        assertTrue(evaluate(aggregates, 12, rule(InsightRule.Metric.SPEND, InsightRule.Baseline.ROLLING_AVERAGE,
+                3, 0.15, InsightRule.Direction.DOWN)).isEmpty());
+    }
+
+    @Test
+    void yearOverYear_shouldCompareWithTheSameMonthLastYear() {
+        long[] spend = flat(25, 1_000);
+        spend[12] = 2_000; // January 2024
+        spend[24] = 1_000; // January 2025
+        MonthlyAggregates aggregates = aggregates(new long[25], spend, new long[25]);
+        InsightRule yoy = rule(InsightRule.Metric.SPEND, InsightRule.Baseline.YEAR_OVER_YEAR, 0, 0.20,
+                InsightRule.Direction.EITHER);
+
+        List<Insight> insights = evaluate(aggregates, 24, yoy);
+
+        assertEquals(1, insights.size());
+        assertEquals(-0.5, insights.get(0).getRatio(), 1e-9);
+        assertTrue(insights.get(0).getMessage().contains("below the same month last year"));
+        assertTrue(evaluate(aggregates, 11, yoy).isEmpty(), "less than a year of history");
+    }
+
+    @Test
+    void seasonal_shouldExpectTheUsualDecemberSpike() {
+        long[] spend = flat(24, 1_000);
+        for (int m = 12; m < 24; m++) spend[m] = 1_100; // everything 10% higher in 2024
+        spend[11] = 2_000;                              // December 2023
+        spend[23] = 2_200;                              // December 2024: same spike, same growth
+        MonthlyAggregates aggregates = aggregates(new long[24], spend, new long[24]);
+
+        InsightRule seasonal = rule(InsightRule.Metric.SPEND, InsightRule.Baseline.SEASONAL, 3, 0.15,
+                InsightRule.Direction.UP);
+        assertTrue(evaluate(aggregates, 23, seasonal).isEmpty());
+        assertEquals(1, evaluate(aggregates, 23, rule(InsightRule.Metric.SPEND,
+                InsightRule.Baseline.ROLLING_AVERAGE, 3, 0.15, InsightRule.Direction.UP)).size());
+
+        spend[23] = 3_000;
+        List<Insight> insights = evaluate(aggregates(new long[24], spend, new long[24]), 23, seasonal);
+        assertEquals(1, insights.size());
+        assertEquals(2_200, insights.get(0).getBaseline(), 1e-6);
+    }
+
+    @Test
+    void categoryRuleWithoutCategory_shouldRunForEveryCategory() {
+        long[] food = flat(7, 200);
+        long[] transport = flat(7, 100);
+        food[6] = 400;
+        MonthlyAggregates aggregates = aggregates(new long[7], sum(food, transport), interleave(food, transport));
+        InsightRule perCategory = rule(InsightRule.Metric.CATEGORY_SPEND, InsightRule.Baseline.ROLLING_AVERAGE,
+                6, 0.30, InsightRule.Direction.UP);
+
+        List<Insight> insights = evaluate(aggregates, 6, perCategory);
+
+        assertEquals(1, insights.size());
+        assertEquals(1, insights.get(0).getCategoryId());
+        assertTrue(insights.get(0).getMessage().startsWith("Spending on Food is 100% above"));
+
+        perCategory.setCategoryId(2);
+        assertTrue(evaluate(aggregates, 6, perCategory).isEmpty());
+    }
+
+    @Test
+    void smallOrDisabledRules_shouldStaySilent() {
+        long[] income = flat(13, 3_000);
+        income[12] = 2_000;
+        MonthlyAggregates aggregates = aggregates(income, new long[13], new long[13]);
+        InsightRule incomeDrop = rule(InsightRule.Metric.INCOME, InsightRule.Baseline.ROLLING_AVERAGE, 12, 0.15,
+                InsightRule.Direction.DOWN);
+        assertEquals(1, evaluate(aggregates, 12, incomeDrop).size());
+
+        incomeDrop.setMinAmount(5_000);
+        assertTrue(evaluate(aggregates, 12, incomeDrop).isEmpty());
+
+        incomeDrop.setMinAmount(0);
+        incomeDrop.setEnabled(false);
+        assertTrue(evaluate(aggregates, 12, incomeDrop).isEmpty());
+        assertTrue(evaluate(aggregates, 12, rule(InsightRule.Metric.SPEND, InsightRule.Baseline.PREVIOUS_MONTH,
+                0, 0.10, InsightRule.Direction.EITHER)).isEmpty(), "no spending at all");
+    }
+
+    // ==========================
+    // Helpers
+    // ==========================
+
+    private static List<Insight> evaluate(MonthlyAggregates aggregates, int monthIndex, InsightRule rule) {
+        return InsightEngine.evaluate(aggregates, FIRST.plusMonths(monthIndex), List.of(rule), id -> NAMES[id]);
+    }
+
+    private static InsightRule rule(InsightRule.Metric metric, InsightRule.Baseline baseline, int window,
+                                    double threshold, InsightRule.Direction direction) {
+        return new InsightRule(9999, "test", metric, 0, baseline, window, threshold, direction, 0);
+    }
+
+    /**
+     * Amounts in whole currency units; categories as [month * 3 + id] with ids 1 and 2 in use.
+     */
+    private static MonthlyAggregates aggregates(long[] income, long[] spend, long[] categories) {
+        long[] perCategory = categories.length == spend.length * NAMES.length
+                ? categories : new long[spend.length * NAMES.length];
+        return new MonthlyAggregates(FIRST, NAMES.length, 2, cents(income), cents(spend), cents(perCategory));
+    }
+
+    private static long[] flat(int months, long amount) {
+        long[] values = new long[months];
+        Arrays.fill(values, amount);
+        return values;
+    }
+
+    private static long[] sum(long[] a, long[] b) {
+        long[] out = new long[a.length];
+        for (int i = 0; i < a.length; i++) out[i] = a[i] + b[i];
+        return out;
+    }
+
+    private static long[] interleave(long[] food, long[] transport) {
+        long[] out = new long[food.length * NAMES.length];
+        for (int m = 0; m < food.length; m++) {
+            out[m * NAMES.length + 1] = food[m];
+            out[m * NAMES.length + 2] = transport[m];
+        }
+        return out;
+    }
+
+    private static long[] cents(long[] amounts) {
+        long[] out = new long[amounts.length];
+        for (int i = 0; i < amounts.length; i++) out[i] = amounts[i] * 100;
+        return out;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.financeapp.models;
+
+import com.example.financeapp.database.Database;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InsightRuleManagerTest {
+
+    private static final int TEST_USER_ID = 9999;
+    private static InsightRuleManager ruleManager;
+
+    @BeforeAll
+    static void initDb() {
+        Database.useTestDatabase();
+        ruleManager = new InsightRuleManager();
+    }
+
+    @BeforeEach
+    void cleanRules() throws Exception {
+        try (Connection conn = Database.getConnection();
+             Statement st = conn.createStatement()) {
+            st.executeUpdate("DELETE FROM insight_rules WHERE user_id = " + TEST_USER_ID);
+        }
+        InsightRuleManager.forget(TEST_USER_ID); // raw SQL above bypasses the cache
+    }
+
+    @Test
+    void getActiveRules_shouldFallBackToDefaults() {
+        assertTrue(ruleManager.getRulesForUser(TEST_USER_ID).isEmpty());
+        assertEquals(InsightRule.defaults(TEST_USER_ID).size(), ruleManager.getActiveRules(TEST_USER_ID).size());
+    }
+
+    @Test
+    void addUpdateDelete_shouldRoundTripAndRefreshActiveRules() {
+        ruleManager.getActiveRules(TEST_USER_ID); // cache the defaults first
+
+        InsightRule rule = new InsightRule(TEST_USER_ID, "Food vs last year", InsightRule.Metric.CATEGORY_SPEND, 1,
+                InsightRule.Baseline.YEAR_OVER_YEAR, 0, 0.25, InsightRule.Direction.EITHER, 20);
+        assertTrue(ruleManager.addRule(rule));
+        assertTrue(rule.getId() > 0);
+
+        List<InsightRule> active = ruleManager.getActiveRules(TEST_USER_ID);
+        assertEquals(1, active.size());
+        InsightRule stored = active.get(0);
+        assertEquals("Food vs last year", stored.getName());
+        assertEquals(InsightRule.Metric.CATEGORY_SPEND, stored.getMetric());
+        assertEquals(1, stored.getCategoryId());
+        assertEquals(InsightRule.Baseline.YEAR_OVER_YEAR, stored.getBaseline());
+        assertEquals(0.25, stored.getThreshold(), 1e-9);
+        assertEquals(InsightRule.Direction.EITHER, stored.getDirection());
+        assertEquals(20, stored.getMinAmount(), 1e-9);
+        assertTrue(stored.isEnabled());
+
+        stored.setEnabled(false);
+        stored.setThreshold(0.5);
+        assertTrue(ruleManager.updateRule(stored));
+        assertFalse(ruleManager.getActiveRules(TEST_USER_ID).get(0).isEnabled());
+        assertEquals(0.5, ruleManager.getActiveRules(TEST_USER_ID).get(0).getThreshold(), 1e-9);
+
+        assertFalse(ruleManager.deleteRule(rule.getId(), TEST_USER_ID + 1), "other users' rules are untouched");
+        assertTrue(ruleManager.deleteRule(rule.getId(), TEST_USER_ID));
+        assertEquals(InsightRule.defaults(TEST_USER_ID).size(), ruleManager.getActiveRules(TEST_USER_ID).size());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.financeapp.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void toMinor_shouldUseTheDecimalValueTheUserTyped() {
+        assertEquals(29, Money.toMinor(0.29, 2));      // 0.29 * 100 is 28.999999999999996
+        assertEquals(101, Money.toMinor(1.005, 2));    // half-up, not the binary value below 1.005
+        assertEquals(-1999, Money.toMinor(-19.99, 2));
+        assertEquals(1235, Money.toMinor(1234.5, 0));  // JPY/HUF have no minor unit
+    }
+
+    @Test
+    void scale_shouldFollowCurrency() {
+        assertEquals(0, Money.of(1500, "JPY").getScale());
+        assertEquals(0, Money.of(1500, "HUF").getScale());
+        assertEquals(2, Money.of(15, "EUR").getScale());
+        assertEquals(2, Money.of(15, "XYZ").getScale()); // unknown codes default to 2
+    }
+
+    @Test
+    void arithmetic_shouldBeExact() {
+        Money sum = Money.zero(2);
+        for (int i = 0; i < 1_000; i++) {
+            sum = sum.plus(Money.of(0.1, 2));
+        }
+
+        assertEquals(Money.ofMinor(10_000, 2), sum);
+        assertEquals(new BigDecimal("100.00"), sum.toBigDecimal());
+        assertEquals(100.0, sum.toDouble(), 0.0);
+        assertEquals("-100.00", sum.negate().toString());
+    }
+
+    @Test
+    void mixingScales_shouldFail() {
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(1, 2).plus(Money.ofMinor(1, 0)));
+        assertEquals(0, Money.ofMinor(100, 2).compareTo(Money.ofMinor(1, 0)));
+        assertEquals(Money.ofMinor(13, 0), Money.ofMinor(1250, 2).withScale(0));
+    }
+}
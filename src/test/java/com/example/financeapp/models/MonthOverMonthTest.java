@@ -0,0 +1,61 @@
+package com.example.financeapp.models;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthOverMonthTest {
+
+    @Test
+    void finish_shouldSortCategoriesAndPickTopBySpend() {
+        MonthOverMonth months = new MonthOverMonth();
+        months.reset(9, 2);
+        months.addExpense(9, -5_000, true);
+        months.addExpense(5, -30_000, true);
+        months.addExpense(3, -10_000, true);
+        months.addExpense(7, -20_000, true);
+        months.addExpense(3, -40_000, false);
+        months.addIncome(100_000, true);
+        months.finish();
+
+        assertEquals(4, months.getCategoryCount());
+        assertArrayEquals(new int[]{3, 5, 7, 9}, categoryIds(months));
+        assertEquals(3, months.getTopCount());
+        assertEquals(5, months.getTopCategory(0));
+        assertEquals(7, months.getTopCategory(1));
+        assertEquals(3, months.getTopCategory(2));
+
+        assertEquals(65_000, months.getCurrentSpendTotal());
+        assertEquals(-65_000, months.getCurrentExpense());
+        assertEquals(40_000, months.getPreviousSpend(3));
+        assertEquals(30_000.0 / 65_000, months.getCurrentShare(5), 1e-9);
+        assertEquals(1_000.0, months.toMajor(months.getCurrentIncome()), 1e-9);
+    }
+
+    @Test
+    void reset_shouldClearEverySlotTheLastFillTouched() {
+        MonthOverMonth months = new MonthOverMonth();
+        months.reset(40, 2);
+        months.addExpense(3, -100, true);
+        months.addExpense(40, -200, false);
+        months.finish();
+
+        months.reset(40, 0);
+        months.addExpense(40, -7, true);
+        months.finish();
+
+        assertEquals(1, months.getCategoryCount());
+        assertEquals(0, months.getCurrentSpend(3));
+        assertEquals(0, months.getPreviousSpend(40));
+        assertEquals(7, months.getCurrentSpend(40));
+        assertEquals(0, months.getScale());
+    }
+
+    private static int[] categoryIds(MonthOverMonth months) {
+        int[] ids = new int[months.getCategoryCount()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = months.getCategoryId(i);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.financeapp.models;
+
+import com.example.financeapp.database.Database;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionColumnsTest {
+
+    private static final int TEST_USER_ID = 9998;
+    private static final String[] CATEGORIES = {"Food", "Transport", "Bills", "Salary"};
+    private static TransactionManager tm;
+
+    @BeforeAll
+    static void initDb() {
+        Database.useTestDatabase();
+        tm = new TransactionManager();
+    }
+
+    @BeforeEach
+    void clean() throws Exception {
+        try (Connection conn = Database.getConnection();
+             Statement st = conn.createStatement()) {
+            st.executeUpdate("DELETE FROM transactions WHERE user_id = " + TEST_USER_ID);
+        }
+        TransactionManager.getAggregateCache().clear(); // raw SQL above bypasses invalidation
+        TransactionManager.getColumnsCache().clear();
+    }
+
+    @Test
+    void aggregates_shouldMatchTheSqlPath() {
+        tm.addTransactions(sampleRows(300));
+        TransactionColumns columns = tm.getColumns(TEST_USER_ID);
+        assertEquals(300, columns.size());
+
+        for (YearMonth m = YearMonth.of(2024, 1); !m.isAfter(YearMonth.of(2024, 6)); m = m.plusMonths(1)) {
+            assertSameSummary(tm.getMonthlySummary(TEST_USER_ID, m), columns.summarize(m));
+        }
+
+        LocalDate from = LocalDate.of(2024, 1, 10);
+        LocalDate to = LocalDate.of(2024, 5, 20);
+        for (Granularity g : Granularity.values()) {
+            assertSameSeries(tm.getTotalsSeries(TEST_USER_ID, from, to, g), columns.totalsSeries(from, to, g));
+        }
+        assertSameSeries(tm.getMonthlyTotals(TEST_USER_ID, YearMonth.of(2023, 12), YearMonth.of(2024, 7)),
+                columns.monthlyTotals(YearMonth.of(2023, 12), YearMonth.of(2024, 7)));
+    }
+
+    @Test
+    void compareMonths_shouldMatchBothMonthSummaries() {
+        tm.addTransactions(sampleRows(300));
+        TransactionColumns columns = tm.getColumns(TEST_USER_ID);
+        MonthOverMonth months = new MonthOverMonth();
+
+        for (YearMonth m = YearMonth.of(2024, 2); !m.isAfter(YearMonth.of(2024, 6)); m = m.plusMonths(1)) {
+            columns.compareMonths(m, months); // same instance every time, like AnalyticsService
+            MonthlySummary current = columns.summarize(m);
+            MonthlySummary previous = columns.summarize(m.minusMonths(1));
+
+            assertEquals(current.getIncomeMoney().getMinorUnits(), months.getCurrentIncome());
+            assertEquals(current.getExpenseMoney().getMinorUnits(), months.getCurrentExpense());
+            assertEquals(previous.getExpenseMoney().getMinorUnits(), months.getPreviousExpense());
+            for (int i = 0; i < months.getCategoryCount(); i++) {
+                int id = months.getCategoryId(i);
+                assertEquals(Math.abs(current.getExpenseForCategory(id)),
+                        months.toMajor(months.getCurrentSpend(id)), 0.0001);
+            }
+        }
+    }
+
+    @Test
+    void monthlyAggregates_shouldMatchMonthSummaries() {
+        tm.addTransactions(sampleRows(300));
+        TransactionColumns columns = tm.getColumns(TEST_USER_ID);
+        MonthlyAggregates aggregates = columns.monthlyAggregates();
+
+        assertEquals(YearMonth.of(2024, 1), aggregates.getFirstMonth());
+        assertSame(aggregates, columns.monthlyAggregates());
+        for (YearMonth m = YearMonth.of(2024, 1); !m.isAfter(YearMonth.of(2024, 6)); m = m.plusMonths(1)) {
+            MonthlySummary summary = columns.summarize(m);
+            int i = aggregates.indexOf(m);
+            assertEquals(summary.getIncomeMoney().getMinorUnits(),
+                    aggregates.sum(InsightRule.Metric.INCOME, 0, i, i + 1));
+            assertEquals(-summary.getExpenseMoney().getMinorUnits(),
+                    aggregates.sum(InsightRule.Metric.SPEND, 0, i, i + 1));
+            for (int c = 0; c < aggregates.getCategoryCount(); c++) {
+                int id = aggregates.getCategoryId(c);
+                assertEquals(Math.abs(summary.getExpenseForCategory(id)),
+                        Money.toMajor(aggregates.sum(InsightRule.Metric.CATEGORY_SPEND, id, i, i + 1), 2), 0.0001);
+            }
+        }
+    }
+
+    @Test
+    void cachedSnapshot_shouldFollowSingleRowWrites() {
+        tm.addTransactions(sampleRows(50));
+        tm.getColumns(TEST_USER_ID); // load, then patch through the writes below
+
+        Transaction added = buildTx(-42.5, "Coffee", LocalDate.of(2024, 3, 15));
+        tm.addTransaction(added);
+        Transaction moved = tm.getRecentTransactions(TEST_USER_ID, 5).get(2);
+        moved.setDate(LocalDate.of(2024, 1, 1));
+        moved.setAmount(99);
+        moved.setIncome(true);
+        assertTrue(tm.updateTransaction(moved));
+        Transaction removed = tm.getRecentTransactions(TEST_USER_ID, 5).stream()
+                .filter(t -> t.getId() != added.getId() && t.getId() != moved.getId())
+                .findFirst()
+                .orElseThrow(); // a sample row, so the new Coffee category stays
+        assertTrue(tm.deleteTransaction(removed.getId(), TEST_USER_ID));
+
+        TransactionColumns patched = tm.getColumns(TEST_USER_ID);
+        TransactionManager.getColumnsCache().clear();
+        TransactionColumns reloaded = tm.getColumns(TEST_USER_ID);
+
+        assertEquals(reloaded.size(), patched.size());
+        assertEquals(50, patched.size());
+        for (YearMonth m = YearMonth.of(2024, 1); !m.isAfter(YearMonth.of(2024, 6)); m = m.plusMonths(1)) {
+            assertSameSummary(reloaded.summarize(m), patched.summarize(m));
+        }
+        assertEquals(-42.5, patched.summarize(YearMonth.of(2024, 3)).getExpenseByCategory().get("Coffee"), 0.001);
+    }
+
+    @Test
+    void bulkImport_shouldDropTheSnapshot() {
+        tm.getColumns(TEST_USER_ID);
+        tm.addTransactions(sampleRows(20));
+
+        assertNull(TransactionManager.getColumnsCache().get(TEST_USER_ID));
+        assertEquals(20, tm.getColumns(TEST_USER_ID).size());
+    }
+
+    private static void assertSameSummary(MonthlySummary expected, MonthlySummary actual) {
+        assertEquals(expected.getIncomeMoney(), actual.getIncomeMoney());
+        assertEquals(expected.getExpenseMoney(), actual.getExpenseMoney());
+        assertEquals(expected.getTransactionCount(), actual.getTransactionCount());
+        assertEquals(expected.getExpenseByCategory(), actual.getExpenseByCategory());
+        assertEquals(expected.getIncomeByCategory(), actual.getIncomeByCategory());
+    }
+
+    private static <K> void assertSameSeries(Map<K, PeriodTotals> expected, Map<K, PeriodTotals> actual) {
+        assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()));
+        expected.forEach((k, e) -> {
+            assertEquals(e.getIncome(), actual.get(k).getIncome(), 0.0001, k.toString());
+            assertEquals(e.getExpense(), actual.get(k).getExpense(), 0.0001, k.toString());
+        });
+    }
+
+    private static List<Transaction> sampleRows(int n) {
+        List<Transaction> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String category = CATEGORIES[i % CATEGORIES.length];
+            double amount = category.equals("Salary") ? 1000 + i : -(1 + i * 0.37);
+            rows.add(buildTx(Math.round(amount * 100) / 100.0, category, LocalDate.of(2024, 1, 1).plusDays(i % 170)));
+        }
+        return rows;
+    }
+
+    private static Transaction buildTx(double amount, String category, LocalDate date) {
+        return new Transaction(TEST_USER_ID, date, "Columns", amount, amount > 0,
+                category, null, "", false, null);
+    }
+}
@@ -0,0 +1,327 @@
+package com.example.financeapp.models;
+
+import com.example.financeapp.database.Database;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionManagerTest {
+
+    private static final int TEST_USER_ID = 9998;
+    private static TransactionManager tm;
+
+    @BeforeAll
+    static void initDb() {
+        Database.useTestDatabase();
+        tm = new TransactionManager();
+    }
+
+    @BeforeEach
+    void clean() throws Exception {
+        try (Connection conn = Database.getConnection();
+             Statement st = conn.createStatement()) {
+            st.executeUpdate("DELETE FROM transactions WHERE user_id = " + TEST_USER_ID);
+        }
+        TransactionManager.getAggregateCache().clear(); // raw SQL above bypasses invalidation
+        TransactionManager.getColumnsCache().clear();
+    }
+
+    @Test
+    void addTransactions_shouldInsertAllRowsAndReturnTheirIds() {
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < 2_500; i++) {
+            batch.add(buildTx(-(i + 1), "Food", LocalDate.of(2024, 1, 1 + (i % 28))));
+        }
+
+        int[] ids = tm.addTransactions(batch);
+
+        assertEquals(2_500, ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            assertTrue(ids[i] > 0);
+            assertEquals(ids[i], batch.get(i).getId());
+            if (i > 0) {
+                assertEquals(ids[i - 1] + 1, ids[i]);
+            }
+        }
+        assertEquals(2_500, tm.getTransactionsForUser(TEST_USER_ID).size());
+    }
+
+    @Test
+    void importTransactions_shouldReportProgressPerChunk() {
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            batch.add(buildTx(10, "Salary", LocalDate.of(2024, 2, 1)));
+        }
+
+        List<Long> progress = new ArrayList<>();
+        ImportResult result = tm.importTransactions(batch.iterator(), 100,
+                (chunkIds, rowsSoFar, rate) -> progress.add(rowsSoFar));
+
+        assertTrue(result.isComplete());
+        assertEquals(250, result.getInsertedCount());
+        assertEquals(3, result.getChunkCount());
+        assertEquals(List.of(100L, 200L, 250L), progress);
+    }
+
+    @Test
+    void importTransactions_shouldReleaseTheWriterBetweenChunks() {
+        // The source writes through the manager while it is drained, like a UI save
+        // during a long import; this only works if no chunk holds the writer meanwhile.
+        Iterator<Transaction> source = new Iterator<>() {
+            private int i;
+
+            @Override
+            public boolean hasNext() {
+                return i < 250;
+            }
+
+            @Override
+            public Transaction next() {
+                if (i++ == 150) {
+                    assertTrue(tm.addTransaction(buildTx(-5, "Food", LocalDate.of(2024, 2, 2))) > 0);
+                }
+                return buildTx(10, "Salary", LocalDate.of(2024, 2, 1));
+            }
+        };
+
+        ImportResult result = tm.importTransactions(source, 100, null);
+
+        assertTrue(result.isComplete());
+        assertEquals(250, result.getInsertedCount());
+        assertEquals(251, tm.getTransactionsForUser(TEST_USER_ID).size());
+    }
+
+    @Test
+    void monthlySummary_shouldGroupIncomeAndExpensesInOneQuery() throws Exception {
+        YearMonth month = YearMonth.of(2024, 3);
+        tm.addTransaction(buildTx(2000, "Salary", month.atDay(1)));
+        tm.addTransaction(buildTx(-50, "Food", month.atDay(2)));
+        tm.addTransaction(buildTx(-25, "Food", month.atDay(3)));
+        tm.addTransaction(buildTx(-100, "Bills", month.atDay(4)));
+        tm.addTransaction(buildTx(-999, "Bills", month.plusMonths(1).atDay(1))); // other month
+
+        long borrowsBefore = Database.getReaderPoolMetrics().getBorrowCount();
+        MonthlySummary summary = tm.getMonthlySummary(TEST_USER_ID, month);
+        long borrows = Database.getReaderPoolMetrics().getBorrowCount() - borrowsBefore;
+
+        assertEquals(1, borrows, "summary should be a single query");
+        assertEquals(2000.0, summary.getIncome(), 0.001);
+        assertEquals(-175.0, summary.getExpense(), 0.001);
+        assertEquals(1825.0, summary.getNet(), 0.001);
+        assertEquals(-75.0, summary.getExpenseByCategory().get("Food"), 0.001);
+        assertEquals(-100.0, summary.getExpenseByCategory().get("Bills"), 0.001);
+        assertEquals(4, summary.getTransactionCount());
+
+        // Same numbers as the per-metric methods
+        assertEquals(tm.getTotalIncomeForMonth(TEST_USER_ID, month), summary.getIncome(), 0.001);
+        assertEquals(tm.getTotalExpenseForMonth(TEST_USER_ID, month), summary.getExpense(), 0.001);
+        assertEquals(tm.getCategoryTotalsForMonth(TEST_USER_ID, month, false), summary.getExpenseByCategory());
+    }
+
+    @Test
+    void monthlyTotals_shouldReturnZeroFilledSeries() {
+        tm.addTransaction(buildTx(1000, "Salary", LocalDate.of(2023, 11, 10)));
+        tm.addTransaction(buildTx(-40, "Food", LocalDate.of(2023, 11, 12)));
+        tm.addTransaction(buildTx(-60, "Food", LocalDate.of(2024, 1, 31)));
+
+        Map<YearMonth, PeriodTotals> series =
+                tm.getMonthlyTotals(TEST_USER_ID, YearMonth.of(2023, 10), YearMonth.of(2024, 1));
+
+        assertEquals(List.of(YearMonth.of(2023, 10), YearMonth.of(2023, 11),
+                YearMonth.of(2023, 12), YearMonth.of(2024, 1)), List.copyOf(series.keySet()));
+        assertEquals(0.0, series.get(YearMonth.of(2023, 10)).getIncome(), 0.001);
+        assertEquals(1000.0, series.get(YearMonth.of(2023, 11)).getIncome(), 0.001);
+        assertEquals(-40.0, series.get(YearMonth.of(2023, 11)).getExpense(), 0.001);
+        assertEquals(0.0, series.get(YearMonth.of(2023, 12)).getExpense(), 0.001);
+        assertEquals(-60.0, series.get(YearMonth.of(2024, 1)).getExpense(), 0.001);
+    }
+
+    @Test
+    void weeklyTotals_shouldBucketByMonday() {
+        tm.addTransaction(buildTx(-10, "Food", LocalDate.of(2024, 4, 1)));  // Monday
+        tm.addTransaction(buildTx(-20, "Food", LocalDate.of(2024, 4, 7)));  // Sunday, same week
+        tm.addTransaction(buildTx(-30, "Food", LocalDate.of(2024, 4, 8)));  // next Monday
+
+        Map<LocalDate, PeriodTotals> weeks = tm.getTotalsSeries(TEST_USER_ID,
+                LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 21), Granularity.WEEK);
+
+        assertEquals(3, weeks.size());
+        assertEquals(-30.0, weeks.get(LocalDate.of(2024, 4, 1)).getExpense(), 0.001);
+        assertEquals(-30.0, weeks.get(LocalDate.of(2024, 4, 8)).getExpense(), 0.001);
+        assertEquals(0.0, weeks.get(LocalDate.of(2024, 4, 15)).getExpense(), 0.001);
+    }
+
+    @Test
+    void rollups_shouldFollowInsertUpdateAndDelete() {
+        Transaction t = buildTx(-25, "Food", LocalDate.of(2024, 3, 10));
+        tm.addTransaction(t);
+        tm.addTransaction(buildTx(-15, "Food", LocalDate.of(2024, 3, 11)));
+
+        assertEquals(-40.0, tm.getTotalExpenseForMonth(TEST_USER_ID, YearMonth.of(2024, 3)), 0.001);
+
+        // edit moves the row to another month and category
+        t.setDate(LocalDate.of(2024, 4, 2));
+        t.setCategory("Transport");
+        assertTrue(tm.updateTransaction(t));
+
+        assertEquals(Map.of("Food", -15.0), tm.getCategoryTotalsForMonth(TEST_USER_ID, YearMonth.of(2024, 3), false));
+        assertEquals(Map.of("Transport", -25.0), tm.getCategoryTotalsForMonth(TEST_USER_ID, YearMonth.of(2024, 4), false));
+
+        assertTrue(tm.deleteTransaction(t.getId(), TEST_USER_ID));
+        assertEquals(0.0, tm.getTotalExpenseForMonth(TEST_USER_ID, YearMonth.of(2024, 4)), 0.001);
+        assertTrue(tm.getMonthlySummary(TEST_USER_ID, YearMonth.of(2024, 4)).isEmpty());
+    }
+
+    @Test
+    void monthlyTotals_shouldBeExactForDecimalAmounts() throws Exception {
+        YearMonth month = YearMonth.of(2024, 7);
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            batch.add(buildTx(-0.1, "Food", month.atDay(1 + i % 28)));
+        }
+        tm.addTransactions(batch);
+
+        // 1000 x 0.1 summed as doubles drifts to 99.9999999999986
+        assertEquals(-100.0, tm.getTotalExpenseForMonth(TEST_USER_ID, month), 0.0);
+        assertEquals(-10_000, tm.getMonthlySummary(TEST_USER_ID, month).getExpenseMoney().getMinorUnits());
+
+        try (Connection conn = Database.getReadConnection();
+             Statement st = conn.createStatement()) {
+            ResultSet rs = st.executeQuery("SELECT DISTINCT typeof(amount) FROM transactions WHERE user_id = " + TEST_USER_ID);
+            assertTrue(rs.next());
+            assertEquals("integer", rs.getString(1));
+        }
+    }
+
+    @Test
+    void rollupRebuild_shouldReportAndRepairDrift() throws Exception {
+        tm.addTransaction(buildTx(-30, "Food", LocalDate.of(2024, 5, 1)));
+        RollupManager rollups = new RollupManager();
+        assertTrue(rollups.verify().isEmpty());
+
+        try (Connection conn = Database.getConnection();
+             Statement st = conn.createStatement()) {
+            st.executeUpdate("UPDATE monthly_rollups SET amount_sum = 999 WHERE user_id = " + TEST_USER_ID);
+        }
+
+        List<RollupDrift> drift = rollups.verify();
+        assertEquals(1, drift.size());
+        assertEquals(-3000, drift.get(0).getExpectedSum()); // cents
+        assertEquals(999, drift.get(0).getActualSum());
+
+        assertEquals(1, rollups.rebuild().size());
+        assertTrue(rollups.verify().isEmpty());
+        assertEquals(-30.0, tm.getTotalExpenseForMonth(TEST_USER_ID, YearMonth.of(2024, 5)), 0.001);
+    }
+
+    @Test
+    void categoriesAndPaymentMethods_shouldBeStoredAsDictionaryIds() {
+        Transaction food = buildTx(-12, "food", LocalDate.of(2024, 8, 1));
+        food.setPaymentMethod("card");
+        Transaction custom = buildTx(-5, "Coffee", LocalDate.of(2024, 8, 2));
+        Transaction sameCustom = buildTx(-7, "coffee ", LocalDate.of(2024, 8, 3));
+        tm.addTransaction(food);
+        tm.addTransaction(custom);
+        tm.addTransaction(sameCustom);
+
+        assertEquals(custom.getCategoryId(), sameCustom.getCategoryId());
+        assertNotEquals(food.getCategoryId(), custom.getCategoryId());
+
+        Transaction loaded = tm.getRecentTransactions(TEST_USER_ID, 3).get(2);
+        assertEquals("Food", loaded.getCategory());   // the built-in, not a new 'food'
+        assertEquals("Card", loaded.getPaymentMethod());
+
+        MonthlySummary summary = tm.getMonthlySummary(TEST_USER_ID, YearMonth.of(2024, 8));
+        assertEquals(-12.0, summary.getExpenseForCategory(food.getCategoryId()), 0.001);
+        assertEquals(-12.0, summary.getExpenseForCategory(custom.getCategoryId()), 0.001);
+        assertEquals(-12.0, summary.getExpenseByCategory().get("Coffee"), 0.001);
+    }
+
+    @Test
+    void monthlySummary_shouldBeCachedUntilThatMonthIsWritten() {
+        YearMonth month = YearMonth.of(2024, 6);
+        AggregateCache cache = TransactionManager.getAggregateCache();
+        tm.addTransaction(buildTx(-10, "Food", month.atDay(1)));
+
+        tm.getMonthlySummary(TEST_USER_ID, month);
+        long hits = cache.getHits();
+        assertEquals(-10.0, tm.getTotalExpenseForMonth(TEST_USER_ID, month), 0.001);
+        assertEquals(hits + 1, cache.getHits());
+
+        tm.addTransaction(buildTx(-5, "Food", month.atDay(2)));
+        assertEquals(-15.0, tm.getTotalExpenseForMonth(TEST_USER_ID, month), 0.001);
+
+        // a write to another month leaves this one cached
+        tm.addTransaction(buildTx(-1, "Food", month.plusMonths(1).atDay(1)));
+        hits = cache.getHits();
+        tm.getMonthlySummary(TEST_USER_ID, month);
+        assertEquals(hits + 1, cache.getHits());
+    }
+
+    @Test
+    void transactionsPage_shouldWalkAllRowsNewestFirstWithoutGapsOrRepeats() {
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < 95; i++) {
+            // several rows share a date, so the id tie-breaker matters
+            batch.add(buildTx(-(i + 1), "Food", LocalDate.of(2024, 1, 1 + (i % 10))));
+        }
+        tm.addTransactions(batch);
+
+        List<Transaction> walked = new ArrayList<>();
+        PageCursor cursor = null;
+        int pages = 0;
+        do {
+            TransactionPage page = tm.getTransactionsPage(TEST_USER_ID, cursor, 20);
+            walked.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(5, pages);
+        List<Transaction> all = tm.getTransactionsForUser(TEST_USER_ID);
+        assertEquals(all.size(), walked.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.get(i).getId(), walked.get(i).getId());
+        }
+    }
+
+    @Test
+    void forEachTransaction_shouldStreamOnlyTheRangeOldestFirst() throws Exception {
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < 90; i++) {
+            batch.add(buildTx(-(i + 1), "Food", LocalDate.of(2024, 1, 1).plusDays(i)));
+        }
+        tm.addTransactions(batch);
+        LocalDate from = LocalDate.of(2024, 2, 1);
+        LocalDate to = LocalDate.of(2024, 2, 29);
+
+        List<Transaction> streamed = new ArrayList<>();
+        long rows = tm.forEachTransaction(TEST_USER_ID, from, to, streamed::add);
+
+        assertEquals(29, rows);
+        assertEquals(29, streamed.size());
+        assertEquals(from, streamed.get(0).getDate());
+        assertEquals(to, streamed.get(28).getDate());
+        assertEquals(29, tm.getColumns(TEST_USER_ID).countBetween(from, to));
+        assertEquals(streamed.stream().mapToDouble(Transaction::getAmount).sum(),
+                tm.getColumns(TEST_USER_ID).totalsBetween(from, to).getExpense(), 0.001);
+
+        List<Transaction> firstFive = new ArrayList<>();
+        assertEquals(5, tm.forEachTransaction(TEST_USER_ID, from, to, t -> firstFive.add(t) && firstFive.size() < 5));
+    }
+
+    private Transaction buildTx(double amount, String category, LocalDate date) {
+        return new Transaction(TEST_USER_ID, date, "Bulk", amount, amount > 0,
+                category, null, "", false, null);
+    }
+}
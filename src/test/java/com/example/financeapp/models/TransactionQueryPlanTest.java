@@ -0,0 +1,94 @@
+package com.example.financeapp.models;
+
+import com.example.financeapp.database.Database;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks with EXPLAIN QUERY PLAN that the hot TransactionManager queries use the
+ * indexes and rollup table created by the schema migrations instead of scanning.
+ */
+class TransactionQueryPlanTest {
+
+    @BeforeAll
+    static void initDb() throws Exception {
+        Database.useTestDatabase();
+        Database.migrate();
+    }
+
+    @Test
+    void recentTransactions_shouldSeekDateIndexWithoutSorting() throws Exception {
+        String plan = explain(TransactionManager.SQL_RECENT_TRANSACTIONS, 1, 5);
+
+        assertTrue(plan.contains("idx_transactions_user_date"), plan);
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+    }
+
+    @Test
+    void transactionsForUser_shouldSeekDateIndexWithoutSorting() throws Exception {
+        String plan = explain(TransactionManager.SQL_TRANSACTIONS_FOR_USER, 1);
+
+        assertTrue(plan.contains("idx_transactions_user_date"), plan);
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+    }
+
+    @Test
+    void transactionsPage_shouldSeekDateIndexWithoutSorting() throws Exception {
+        String plan = explain(TransactionManager.SQL_TRANSACTIONS_PAGE_AFTER, 1, "2024-01-15", 100, 50);
+
+        assertTrue(plan.contains("idx_transactions_user_date"), plan);
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+    }
+
+    @Test
+    void monthlySummary_shouldSeekRollupPrimaryKey() throws Exception {
+        String plan = explain(TransactionManager.SQL_MONTHLY_SUMMARY, 1, "2024-01");
+
+        assertTrue(plan.contains("monthly_rollups USING PRIMARY KEY"), plan);
+    }
+
+    @Test
+    void monthlyTotalsRange_shouldSeekRollupPrimaryKey() throws Exception {
+        String plan = explain(TransactionManager.SQL_MONTHLY_TOTALS_RANGE, 1, "2023-07", "2024-01");
+
+        assertTrue(plan.contains("monthly_rollups USING PRIMARY KEY"), plan);
+        assertFalse(plan.contains("SCAN"), plan);
+    }
+
+    @Test
+    void columnsLoad_shouldWalkDateIndexWithoutSorting() throws Exception {
+        String plan = explain(TransactionColumns.SQL_LOAD, 1);
+
+        assertTrue(plan.contains("idx_transactions_user_date"), plan);
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+    }
+
+    @Test
+    void transactionsBetween_shouldSeekDateIndexWithoutSorting() throws Exception {
+        String plan = explain(TransactionManager.SQL_TRANSACTIONS_BETWEEN, 1, "2024-01-01", "2024-03-31");
+
+        assertTrue(plan.contains("idx_transactions_user_date"), plan);
+        assertFalse(plan.contains("TEMP B-TREE"), plan);
+    }
+
+    static String explain(String sql, Object... params) throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (Connection conn = Database.getReadConnection();
+             PreparedStatement ps = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString("detail")).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
 import java.sql.Statement;
+import java.time.YearMonth;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,6 +25,7 @@ class UserManagerTest {
              Statement st = conn.createStatement()) {
             st.executeUpdate("DELETE FROM users");
         }
+        UserCurrencyScales.clear(); // raw SQL above bypasses UserManager
     }
 
     @Test
@@ -53,4 +55,32 @@ class UserManagerTest {
         assertNull(userManager.login("john@example.com", "oldpass"));
         assertNotNull(userManager.login("john@example.com", "newpass"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateCurrency_shouldKeepAmountsAcrossARoundTrip() {
+        userManager.register("john", "john@example.com", "secret123", "");
+        int userId = userManager.getUserByEmailOrUsername("john").getId();
+        TransactionManager tm = new TransactionManager();
+        YearMonth month = YearMonth.of(2024, 6);
+        tm.addTransaction(new Transaction(userId, month.atDay(3), "Sushi", -12.5, false,
+                "Food", null, null, false, null));
+        tm.addTransaction(new Transaction(userId, YearMonth.now().atDay(1), "Ramen", -9.5, false,
+                "Food", null, null, false, null));
+        BudgetManager budgets = new BudgetManager();
+        assertTrue(budgets.setBudget(userId, "Food", 10)); // raises the 50/80% alerts for this month
+
+        assertTrue(userManager.updateCurrency(userId, "JPY"));
+        assertEquals(-12.5, tm.getTotalExpenseForMonth(userId, month), 0.0); // cents kept, not rounded to yen
+
+        assertTrue(userManager.updateCurrency(userId, "USD"));
+        assertEquals(-12.5, tm.getTotalExpenseForMonth(userId, month), 0.0);
+        assertEquals(-12.5, tm.getTransactionsForUser(userId).stream()
+                .filter(t -> "Sushi".equals(t.getTitle())).findFirst().orElseThrow().getAmount(), 0.0);
+
+        assertTrue(userManager.updateCurrency(userId, "BHD")); // three decimals: scale grows
+        assertEquals(-12.5, tm.getTotalExpenseForMonth(userId, month), 0.0);
+        assertEquals(9.5, budgets.getPendingAlerts(userId).get(0).getSpent(), 0.0);
+
+        userManager.deleteUser(userId);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.financeapp.server;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.models.UserCurrencyScales;
+import com.example.financeapp.models.UserManager;
+import com.example.financeapp.services.ServiceRegistry;
+import org.junit.jupiter.api.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiServerTest {
+
+    private static ApiServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        Database.useTestDatabase();
+        server = new ApiServer(ServiceRegistry.createDefault());
+        server.start(0);
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @BeforeEach
+    void cleanUsers() throws Exception {
+        try (Connection conn = Database.getConnection();
+             Statement st = conn.createStatement()) {
+            st.executeUpdate("DELETE FROM transactions WHERE user_id IN (SELECT id FROM users WHERE username IN ('api1', 'api2'))");
+            st.executeUpdate("DELETE FROM budgets WHERE user_id IN (SELECT id FROM users WHERE username IN ('api1', 'api2'))");
+            st.executeUpdate("DELETE FROM users WHERE username IN ('api1', 'api2')");
+        }
+        UserCurrencyScales.clear(); // raw SQL above bypasses UserManager
+        UserManager users = new UserManager();
+        users.register("api1", "api1@example.com", "secret123", "");
+        users.register("api2", "api2@example.com", "secret123", "");
+    }
+
+    @Test
+    void health_shouldNotNeedAToken() throws Exception {
+        HttpResponse<String> response = send("GET", "/api/health", null, null);
+
+        assertEquals(200, response.statusCode());
+        assertEquals(Map.of("status", "ok"), Json.parse(response.body()));
+    }
+
+    @Test
+    void requests_withoutValidToken_shouldBeRejected() throws Exception {
+        assertEquals(401, send("GET", "/api/transactions", null, null).statusCode());
+        assertEquals(401, send("GET", "/api/transactions", "not-a-token", null).statusCode());
+        assertEquals(401, send("POST", "/api/login", null, "{\"username\":\"api1\",\"password\":\"wrong\"}").statusCode());
+    }
+
+    @Test
+    void addedTransactions_shouldBeListedForTheirOwnerOnly() throws Exception {
+        String token1 = login("api1");
+        String token2 = login("api2");
+
+        HttpResponse<String> added = send("POST", "/api/transactions", token1,
+                "{\"date\":\"2024-03-05\",\"title\":\"Lunch\",\"amount\":12.5,\"income\":false,\"category\":\"Food\"}");
+        assertEquals(201, added.statusCode());
+
+        List<?> items = (List<?>) Json.parseObject(send("GET", "/api/transactions", token1, null).body()).get("items");
+        assertEquals(1, items.size());
+        Map<?, ?> item = (Map<?, ?>) items.get(0);
+        assertEquals("Lunch", item.get("title"));
+        assertEquals(-12.5, (Double) item.get("amount"), 0.001, "Expenses are stored negative");
+
+        List<?> other = (List<?>) Json.parseObject(send("GET", "/api/transactions", token2, null).body()).get("items");
+        assertTrue(other.isEmpty());
+
+        int id = ((Double) Json.parseObject(added.body()).get("id")).intValue();
+        assertEquals(404, send("DELETE", "/api/transactions/" + id, token2, null).statusCode());
+        assertEquals(200, send("DELETE", "/api/transactions/" + id, token1, null).statusCode());
+    }
+
+    @Test
+    void update_shouldKeepRecurrenceTheBodyLeavesOut() throws Exception {
+        String token = login("api1");
+        HttpResponse<String> added = send("POST", "/api/transactions", token,
+                "{\"date\":\"2024-03-01\",\"title\":\"Rent\",\"amount\":900,\"income\":false,"
+                        + "\"category\":\"Bills\",\"recurring\":true,\"recurrenceRule\":\"MONTHLY\"}");
+        int id = ((Double) Json.parseObject(added.body()).get("id")).intValue();
+
+        assertEquals(200, send("PUT", "/api/transactions/" + id, token,
+                "{\"date\":\"2024-03-02\",\"title\":\"Rent\",\"amount\":950,\"income\":false,\"category\":\"Bills\"}")
+                .statusCode());
+
+        Map<?, ?> item = (Map<?, ?>) ((List<?>) Json.parseObject(
+                send("GET", "/api/transactions", token, null).body()).get("items")).get(0);
+        assertEquals(-950.0, (Double) item.get("amount"), 0.001);
+        assertEquals(true, item.get("recurring"));
+        assertEquals("MONTHLY", item.get("recurrenceRule"));
+
+        assertEquals(404, send("PUT", "/api/transactions/" + id, login("api2"),
+                "{\"date\":\"2024-03-02\",\"amount\":1,\"category\":\"Bills\"}").statusCode());
+    }
+
+    @Test
+    void partialUpdate_shouldOnlyChangeTheFieldsSent() throws Exception {
+        String token = login("api1");
+        HttpResponse<String> added = send("POST", "/api/transactions", token,
+                "{\"date\":\"2024-03-01\",\"title\":\"Payroll\",\"amount\":2500,\"income\":true,"
+                        + "\"category\":\"Salary\",\"paymentMethod\":\"Bank transfer\",\"notes\":\"March\"}");
+        int id = ((Double) Json.parseObject(added.body()).get("id")).intValue();
+
+        assertEquals(200, send("PUT", "/api/transactions/" + id, token, "{\"title\":\"March payroll\"}").statusCode());
+
+        Map<?, ?> item = (Map<?, ?>) ((List<?>) Json.parseObject(
+                send("GET", "/api/transactions", token, null).body()).get("items")).get(0);
+        assertEquals("March payroll", item.get("title"));
+        assertEquals(2500.0, (Double) item.get("amount"), 0.001);
+        assertEquals(true, item.get("income"));
+        assertEquals("2024-03-01", item.get("date"));
+        assertEquals("Salary", item.get("category"));
+        assertEquals("Bank transfer", item.get("paymentMethod"));
+        assertEquals("March", item.get("notes"));
+
+        assertEquals(200, send("PUT", "/api/transactions/" + id, token, "{\"income\":false}").statusCode());
+        item = (Map<?, ?>) ((List<?>) Json.parseObject(
+                send("GET", "/api/transactions", token, null).body()).get("items")).get(0);
+        assertEquals(-2500.0, (Double) item.get("amount"), 0.001, "Sign follows the new income flag");
+
+        assertEquals(400, send("PUT", "/api/transactions/" + id, token, "{\"date\":null}").statusCode());
+    }
+
+    @Test
+    void badRequests_shouldReturnJsonErrors() throws Exception {
+        String token = login("api1");
+
+        HttpResponse<String> missing = send("POST", "/api/transactions", token, "{\"title\":\"No date\"}");
+        assertEquals(400, missing.statusCode());
+        assertNotNull(Json.parseObject(missing.body()).get("error"));
+
+        assertEquals(400, send("POST", "/api/transactions", token, "{not json").statusCode());
+        assertEquals(404, send("GET", "/api/nothing", token, null).statusCode());
+    }
+
+    @Test
+    void logout_shouldInvalidateTheToken() throws Exception {
+        String token = login("api1");
+
+        assertEquals(200, send("POST", "/api/logout", token, null).statusCode());
+        assertEquals(401, send("GET", "/api/budgets", token, null).statusCode());
+    }
+
+    private static String login(String username) throws Exception {
+        HttpResponse<String> response = send("POST", "/api/login", null,
+                "{\"username\":\"" + username + "\",\"password\":\"secret123\"}");
+        assertEquals(200, response.statusCode());
+        return (String) Json.parseObject(response.body()).get("token");
+    }
+
+    private static HttpResponse<String> send(String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.financeapp.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTest {
+
+    @Test
+    void write_shouldEncodeNestedValues() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("name", "Caf\u00e9 \"Bar\"\n");
+        value.put("amount", -12.5);
+        value.put("count", 3);
+        value.put("ok", true);
+        value.put("date", LocalDate.of(2024, 3, 1));
+        value.put("tags", List.of("a", "b"));
+        value.put("none", null);
+
+        assertEquals("{\"name\":\"Caf\u00e9 \\\"Bar\\\"\\n\",\"amount\":-12.5,\"count\":3,\"ok\":true,"
+                + "\"date\":\"2024-03-01\",\"tags\":[\"a\",\"b\"],\"none\":null}", Json.write(value));
+    }
+
+    @Test
+    void parse_shouldReadWhatWriteProduces() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("title", "Tab\there \\ \u0001");
+        value.put("amount", 1.0E-3);
+        value.put("items", List.of(Map.of("id", 1.0), List.of()));
+        value.put("income", false);
+        value.put("notes", null);
+
+        assertEquals(value, Json.parse(Json.write(value)));
+    }
+
+    @Test
+    void parse_shouldHandleWhitespaceAndEscapes() {
+        Map<String, Object> map = Json.parseObject(" { \"a\" : [ 1 , 2.5e1 ] , \"b\" : \"\\u0041\\/\" } ");
+
+        assertEquals(List.of(1.0, 25.0), map.get("a"));
+        assertEquals("A/", map.get("b"));
+    }
+
+    @Test
+    void parse_shouldRejectMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\":1"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\" 1}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[1,]"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("tru"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{} x"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("[1]"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.financeapp.services;
+
+import com.example.financeapp.database.Database;
+import com.example.financeapp.models.AnalyticsService;
+import com.example.financeapp.models.BudgetManager;
+import com.example.financeapp.models.TransactionManager;
+import com.example.financeapp.models.UserManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceRegistryTest {
+
+    @BeforeAll
+    static void initDb() {
+        Database.useTestDatabase();
+    }
+
+    @Test
+    void createDefault_shouldRegisterOneInstanceOfEachManager() {
+        ServiceRegistry registry = ServiceRegistry.createDefault();
+
+        assertNotNull(registry.lookup(UserManager.class));
+        assertNotNull(registry.lookup(BudgetManager.class));
+        assertNotNull(registry.lookup(AnalyticsService.class));
+        assertSame(registry.lookup(TransactionManager.class), registry.require(TransactionManager.class));
+    }
+
+    @Test
+    void require_shouldFailForUnknownService() {
+        ServiceRegistry registry = new ServiceRegistry();
+
+        assertNull(registry.lookup(UserManager.class));
+        assertThrows(IllegalStateException.class, () -> registry.require(UserManager.class));
+    }
+
+    @Test
+    void get_shouldReturnTheSameRegistryEveryTime() {
+        assertSame(ServiceRegistry.get(), ServiceRegistry.get());
+    }
+}